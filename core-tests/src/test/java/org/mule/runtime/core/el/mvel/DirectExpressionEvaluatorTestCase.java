@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.el.mvel.DirectExpressionEvaluator.analyse;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class DirectExpressionEvaluatorTestCase extends AbstractMuleContextTestCase {
+
+  private MVELExpressionLanguage mvel;
+  private Event event;
+
+  @Before
+  public void before() throws Exception {
+    mvel = new MVELExpressionLanguage(muleContext);
+    mvel.initialise();
+
+    event = eventBuilder().message(InternalMessage.builder().payload("hello").addInboundProperty("h", "header").build())
+        .addVariable("x", "flowVar").build();
+  }
+
+  @Test
+  public void recognisesTrivialExpressions() {
+    assertThat(analyse("payload"), is(notNullValue()));
+    assertThat(analyse("message.payload"), is(notNullValue()));
+    assertThat(analyse("flowVars.x"), is(notNullValue()));
+    assertThat(analyse("flowVars['x']"), is(notNullValue()));
+    assertThat(analyse("message.inboundProperties[\"h\"]"), is(notNullValue()));
+    assertThat(analyse("'literal'"), is(notNullValue()));
+    assertThat(analyse("42"), is(notNullValue()));
+  }
+
+  @Test
+  public void leavesOtherExpressionsToMvel() {
+    assertThat(analyse("payload.length()"), is(nullValue()));
+    assertThat(analyse("flowVars.empty"), is(nullValue()));
+    assertThat(analyse("flowVars.x.y"), is(nullValue()));
+    assertThat(analyse("'a' + 'b'"), is(nullValue()));
+    assertThat(analyse("'it\\'s'"), is(nullValue()));
+    assertThat(analyse("2*2"), is(nullValue()));
+  }
+
+  @Test
+  public void evaluatesLikeMvel() throws Exception {
+    assertThat(mvel.evaluate("#[payload]", event, null), is("hello"));
+    assertThat(mvel.evaluate("message.payload", event, null), is("hello"));
+    assertThat(mvel.evaluate("flowVars.x", event, null), is("flowVar"));
+    assertThat(mvel.evaluate("flowVars['missing']", event, null), is(nullValue()));
+    assertThat(mvel.evaluate("message.inboundProperties['h']", event, null), is("header"));
+    assertThat(mvel.evaluate("'literal'", event, null), is("literal"));
+    assertThat(mvel.evaluate("42", event, null), is(42));
+  }
+
+  @Test
+  public void reportsDirectEvaluations() throws Exception {
+    DirectExpressionEvaluator evaluator = mvel.getDirectExpressionEvaluator();
+
+    mvel.evaluate("payload", event, null);
+    mvel.evaluate("flowVars.x", event, null);
+    mvel.evaluate("flowVars.x", event, null);
+    mvel.evaluate("payload.length()", event, null);
+
+    assertThat(evaluator.getDirectEvaluations(), is(3L));
+    assertThat(evaluator.getInterpretedEvaluations(), is(1L));
+    assertThat(evaluator.getDirectEvaluationRatio(), is(0.75));
+  }
+}
@@ -13,6 +13,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mule.runtime.core.el.mvel.MVELExpressionStatistics.OptimizationMode.OPTIMIZED;
+import static org.mule.runtime.core.el.mvel.MVELExpressionStatistics.OptimizationMode.REFLECTIVE;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import org.mule.mvel2.CompileException;
 import org.mule.mvel2.ParserConfiguration;
@@ -156,6 +158,66 @@ public class MVELExpressionExecutorTestCase extends AbstractELTestCase {
                                          });
   }
 
+  @Test
+  public void recordsExpressionStatistics() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.MEL_EXPRESSION_STATISTICS, "true", () -> {
+      setupMVEL();
+      mvel.execute("2*2", null);
+      mvel.execute("2*2", null);
+
+      MVELExpressionStatistics statistics = mvel.getExpressionStatistics().get("2*2");
+      assertThat(statistics.isEnabled(), is(true));
+      assertThat(statistics.getEvaluationCount(), is(2L));
+      assertThat(statistics.getMode(), is(REFLECTIVE));
+    });
+  }
+
+  @Test
+  public void doesNotRecordExpressionStatisticsByDefault() throws Exception {
+    mvel.execute("2*2", null);
+
+    MVELExpressionStatistics statistics = mvel.getExpressionStatistics().get("2*2");
+    assertThat(statistics.isEnabled(), is(false));
+    assertThat(statistics.getEvaluationCount(), is(0L));
+  }
+
+  @Test
+  public void optimizesHotExpressions() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.MEL_ADAPTIVE_OPTIMIZER, "true", () -> {
+      MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.MEL_ADAPTIVE_OPTIMIZER_THRESHOLD, "3", () -> {
+        setupMVEL();
+        final String expression = "['key' : 'value'].key";
+
+        for (int i = 0; i < 5; ++i) {
+          assertEquals("value", mvel.execute(expression, context));
+        }
+
+        MVELExpressionStatistics statistics = mvel.getExpressionStatistics().get(expression);
+        assertThat(statistics.getEvaluationCount(), is(5L));
+        assertThat(statistics.getMode(), is(OPTIMIZED));
+        assertThat(mvel.getCompiledExpression(expression), is(mvel.getCompiledExpression(expression)));
+      });
+    });
+  }
+
+  @Test
+  public void doesNotOptimizeExpressionsWithSideEffects() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.MEL_ADAPTIVE_OPTIMIZER, "true", () -> {
+      MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.MEL_ADAPTIVE_OPTIMIZER_THRESHOLD, "3", () -> {
+        setupMVEL();
+        final String expression = "'value'.toUpperCase()";
+
+        for (int i = 0; i < 5; ++i) {
+          assertEquals("VALUE", mvel.execute(expression, context));
+        }
+
+        MVELExpressionStatistics statistics = mvel.getExpressionStatistics().get(expression);
+        assertThat(statistics.getEvaluationCount(), is(5L));
+        assertThat(statistics.getMode(), is(REFLECTIVE));
+      });
+    });
+  }
+
   static class MyClassClassLoader extends ClassLoader {
 
     @Override
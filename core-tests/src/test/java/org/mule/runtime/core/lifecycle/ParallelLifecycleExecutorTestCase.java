@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.lifecycle;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.core.api.lifecycle.LifecycleException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class ParallelLifecycleExecutorTestCase extends AbstractMuleTestCase {
+
+  private final ParallelLifecycleExecutor executor = new ParallelLifecycleExecutor("test");
+  private final List<Object> applied = new CopyOnWriteArrayList<>();
+  private final Map<Object, Collection<Object>> dependencies = new IdentityHashMap<>();
+
+  @After
+  public void after() {
+    executor.dispose();
+  }
+
+  @Test
+  public void dependenciesGoThroughThePhaseFirst() throws Exception {
+    Object first = "first";
+    Object second = "second";
+    Object third = "third";
+    dependencies.put(third, singletonList(second));
+    dependencies.put(second, singletonList(first));
+
+    executor.apply(asList(third, second, first), dependencies, applied::add);
+
+    assertThat(applied, containsInAnyOrder(first, second, third));
+    assertThat(applied.indexOf(first), lessThan(applied.indexOf(second)));
+    assertThat(applied.indexOf(second), lessThan(applied.indexOf(third)));
+  }
+
+  @Test
+  public void failureIsThrownAndDependentsAreSkipped() throws Exception {
+    Object failing = "failing";
+    Object dependent = "dependent";
+    dependencies.put(dependent, singletonList(failing));
+    LifecycleException failure = new LifecycleException(createStaticMessage("Expected"), failing);
+
+    try {
+      executor.apply(asList(dependent, failing), dependencies, target -> {
+        if (target == failing) {
+          throw failure;
+        }
+        applied.add(target);
+      });
+      fail();
+    } catch (LifecycleException e) {
+      assertThat(e, sameInstance(failure));
+    }
+    assertThat(applied, not(hasItem(dependent)));
+  }
+
+  @Test
+  public void circularDependenciesAreBroken() throws Exception {
+    Object first = "first";
+    Object second = "second";
+    dependencies.put(first, singletonList(second));
+    dependencies.put(second, singletonList(first));
+
+    executor.apply(asList(first, second), dependencies, applied::add);
+
+    assertThat(applied, containsInAnyOrder(first, second));
+  }
+
+  @Test
+  public void duplicateTargetsGoThroughThePhaseOnce() throws Exception {
+    Object target = "target";
+    Object other = "other";
+    dependencies.put(other, asList(target, "notATarget"));
+
+    executor.apply(asList(target, other, target), dependencies, applied::add);
+
+    assertThat(applied, containsInAnyOrder(target, other));
+  }
+}
@@ -35,6 +35,8 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.api.timer.TimerService;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.exception.ErrorTypeLocator;
 import org.mule.runtime.core.exception.MessagingException;
@@ -45,9 +47,7 @@ import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
-import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -79,7 +79,7 @@ public class AsynchronousUntilSuccessfulProcessingStrategyTestCase extends Abstr
   private Processor mockRoute = mock(Processor.class, RETURNS_DEEP_STUBS.get());
   private ExpressionFilter mockAlwaysTrueFailureExpressionFilter = mock(ExpressionFilter.class, RETURNS_DEEP_STUBS.get());
   private ThreadPoolExecutor mockPool = mock(ThreadPoolExecutor.class, RETURNS_DEEP_STUBS.get());
-  private ScheduledThreadPoolExecutor mockScheduledPool = mock(ScheduledThreadPoolExecutor.class, RETURNS_DEEP_STUBS.get());
+  private TimerService mockTimerService = mock(TimerService.class, RETURNS_DEEP_STUBS.get());
   private SimpleMemoryObjectStore<Event> objectStore = new SimpleMemoryObjectStore<>();
   private Processor mockDLQ = mock(Processor.class);
   private FailCallback failRoute = () -> {
@@ -99,11 +99,11 @@ public class AsynchronousUntilSuccessfulProcessingStrategyTestCase extends Abstr
     final InternalMessage mockMessage = InternalMessage.builder().payload("").build();
     event = Event.builder(DefaultEventContext.create(mockFlow, TEST_CONNECTOR)).message(mockMessage).build();
     when(mockUntilSuccessfulConfiguration.getThreadingProfile().createPool(anyString())).thenReturn(mockPool);
-    when(mockUntilSuccessfulConfiguration.createScheduledRetriesPool(anyString())).thenReturn(mockScheduledPool);
+    when(mockUntilSuccessfulConfiguration.getMuleContext().getTimerService()).thenReturn(mockTimerService);
     when(mockUntilSuccessfulConfiguration.getObjectStore()).thenReturn(objectStore);
     objectStore.clear();
     configureMockPoolToInvokeRunnableInNewThread();
-    configureMockScheduledPoolToInvokeRunnableInNewThread();
+    configureMockTimerServiceToInvokeRunnableInNewThread();
     configureMockRouteToCountDownRouteLatch();
     configureExceptionStrategyToReleaseLatchWhenExecuted();
     configureDLQToReleaseLatchWhenExecuted();
@@ -332,19 +332,14 @@ public class AsynchronousUntilSuccessfulProcessingStrategyTestCase extends Abstr
     }).when(mockPool).execute(any(Runnable.class));
   }
 
-  private void configureMockScheduledPoolToInvokeRunnableInNewThread() {
-    when(mockScheduledPool.schedule(any(Callable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocationOnMock -> {
-      assertThat((Long) invocationOnMock.getArguments()[1], is(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()));
-      assertThat((TimeUnit) invocationOnMock.getArguments()[2], is(MILLISECONDS));
-      new Thread(() -> {
-        try {
-          ((Callable) invocationOnMock.getArguments()[0]).call();
-        } catch (Exception e) {
-          // Do nothing.
-        }
-      }).start();
-      return null;
-    });
+  private void configureMockTimerServiceToInvokeRunnableInNewThread() {
+    when(mockTimerService.schedule(anyString(), any(Runnable.class), anyLong(), any(TimeUnit.class)))
+        .thenAnswer(invocationOnMock -> {
+          assertThat((Long) invocationOnMock.getArguments()[2], is(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()));
+          assertThat((TimeUnit) invocationOnMock.getArguments()[3], is(MILLISECONDS));
+          new Thread((Runnable) invocationOnMock.getArguments()[1]).start();
+          return mock(Timeout.class);
+        });
   }
 
   private void waitUntilRouteIsExecuted() throws InterruptedException {
@@ -11,12 +11,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
 
 import org.mule.runtime.core.VoidMuleEvent;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.MuleException;
@@ -27,15 +30,19 @@ import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
 import org.mule.runtime.core.session.DefaultMuleSession;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
@@ -130,6 +137,26 @@ public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCa
     assertRouted(new IteratorMessageSequence(TEST_LIST_SINGLE.iterator()), 1, false);
   }
 
+  @Test
+  public void closeableSequenceIsClosedWhenRoutingFails() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    Iterator<String> iterator = new CloseableIterator(TEST_LIST_MULTIPLE.iterator(), closed);
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setListener(event -> {
+      throw new DefaultMuleException(createStaticMessage("Expected"));
+    });
+
+    InternalMessage toSplit = InternalMessage.builder().payload(new IteratorMessageSequence(iterator)).build();
+    try {
+      splitter.process(eventBuilder().message(toSplit).build());
+      fail();
+    } catch (MuleException e) {
+      // expected
+    }
+    assertThat(closed.get(), is(true));
+  }
+
   private void assertRouted(Object payload, int count, boolean counted) throws Exception, MuleException {
     MuleSession session = new DefaultMuleSession();
 
@@ -202,6 +229,32 @@ public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCa
     }
   }
 
+  private static class CloseableIterator implements Iterator<String>, Closeable {
+
+    private final Iterator<String> delegate;
+    private final AtomicBoolean closed;
+
+    private CloseableIterator(Iterator<String> delegate, AtomicBoolean closed) {
+      this.delegate = delegate;
+      this.closed = closed;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public String next() {
+      return delegate.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed.set(true);
+    }
+  }
+
   private static class Grabber implements Processor {
 
     private List<Event> events = new ArrayList<>();
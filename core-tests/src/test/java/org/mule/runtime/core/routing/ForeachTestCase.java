@@ -6,24 +6,37 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.apache.commons.lang.exception.ExceptionUtils.getRootCause;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.MuleSession;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.MessageProcessorPathElement;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.exception.MessagingException;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.testmodels.mule.TestMessageProcessor;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -197,6 +210,134 @@ public class ForeachTestCase extends AbstractMuleContextTestCase {
     assertNestedProcessedMessages();
   }
 
+  @Test
+  public void parallelProcessesAllElementsWithBoundedConcurrency() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    Set<Object> processed = ConcurrentHashMap.newKeySet();
+    Foreach foreach = createParallelForeach(4, true, event -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processed.add(event.getMessage().getPayload().getValue());
+      running.decrementAndGet();
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(numbers(20).iterator())).build());
+    } finally {
+      foreach.dispose();
+    }
+
+    assertThat(processed.size(), is(20));
+    assertThat(maxRunning.get(), lessThanOrEqualTo(4));
+    assertThat(maxRunning.get(), greaterThan(1));
+  }
+
+  @Test
+  public void parallelFailFastStopsTakingElements() throws Exception {
+    Set<Object> processed = ConcurrentHashMap.newKeySet();
+    Foreach foreach = createParallelForeach(2, true, event -> {
+      processed.add(event.getMessage().getPayload().getValue());
+      if (event.getMessage().getPayload().getValue().equals(1)) {
+        throw new DefaultMuleException("Failed element");
+      }
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(numbers(10))).build());
+      fail("Expected the failure of an element");
+    } catch (MuleException e) {
+      assertThat(processed.size(), lessThan(10));
+    } finally {
+      foreach.dispose();
+    }
+  }
+
+  @Test
+  public void parallelCollectsAllFailures() throws Exception {
+    Set<Object> processed = ConcurrentHashMap.newKeySet();
+    Foreach foreach = createParallelForeach(3, false, event -> {
+      Object value = event.getMessage().getPayload().getValue();
+      processed.add(value);
+      if (value.equals(2) || value.equals(7)) {
+        throw new DefaultMuleException("Failed element " + value);
+      }
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(numbers(10))).build());
+      fail("Expected the failures of the elements");
+    } catch (MessagingException e) {
+      CompositeRoutingException composite = (CompositeRoutingException) getRootCause(e);
+      assertThat(composite.getExceptions().size(), is(2));
+      assertThat(processed.size(), is(10));
+    } finally {
+      foreach.dispose();
+    }
+  }
+
+  @Test
+  public void parallelElementsDoNotShareTheSession() throws Exception {
+    Set<MuleSession> sessions = ConcurrentHashMap.newKeySet();
+    Foreach foreach = createParallelForeach(4, true, event -> {
+      sessions.add(event.getSession());
+      return event;
+    });
+    Event event = eventBuilder().message(InternalMessage.of(numbers(10))).build();
+    try {
+      foreach.process(event);
+    } finally {
+      foreach.dispose();
+    }
+
+    assertThat(sessions.size(), is(10));
+    assertThat(sessions.contains(event.getSession()), is(false));
+  }
+
+  @Test
+  public void parallelProcessesAfterRestart() throws Exception {
+    AtomicInteger processed = new AtomicInteger();
+    Foreach foreach = createParallelForeach(4, true, event -> {
+      processed.incrementAndGet();
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(numbers(10))).build());
+      foreach.stop();
+      foreach.start();
+      foreach.process(eventBuilder().message(InternalMessage.of(numbers(10))).build());
+    } finally {
+      foreach.dispose();
+    }
+
+    assertThat(processed.get(), is(20));
+  }
+
+  private Foreach createParallelForeach(int maxConcurrency, boolean failFast, Processor processor) throws MuleException {
+    Foreach foreachMp = new Foreach();
+    List<Processor> processors = new ArrayList<>();
+    processors.add(processor);
+    foreachMp.setMessageProcessors(processors);
+    foreachMp.setMaxConcurrency(maxConcurrency);
+    foreachMp.setFailFast(failFast);
+    foreachMp.setMuleContext(muleContext);
+    foreachMp.initialise();
+    foreachMp.start();
+    return foreachMp;
+  }
+
+  private List<Integer> numbers(int count) {
+    List<Integer> numbers = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      numbers.add(i);
+    }
+    return numbers;
+  }
+
   @Test
   public void addProcessorPathElementsBeforeInit() throws MuleException {
     Foreach foreachMp = new Foreach();
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class StreamingMessageChunkAggregatorTestCase extends AbstractMuleContextTestCase {
+
+  private static final int CHUNK_SIZE = 100;
+
+  private final List<Event> results = new ArrayList<>();
+
+  @Test
+  public void streamIsSplitAndReassembledInMemory() throws Exception {
+    byte[] data = createData(1050);
+    StreamingMessageChunkAggregator aggregator = createAggregator(StreamingMessageChunkAggregator.DEFAULT_MAX_IN_MEMORY_SIZE);
+    createSplitter(aggregator).process(eventWithPayload(new ByteArrayInputStream(data)));
+
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0).getMessage().getPayload().getValue(), equalTo(data));
+    assertThat(aggregator.getPendingGroupsCount(), is(0));
+  }
+
+  @Test
+  public void bigMessageIsSpilledToFile() throws Exception {
+    byte[] data = createData(1050);
+    StreamingMessageChunkAggregator aggregator = createAggregator(500);
+    createSplitter(aggregator).process(eventWithPayload(new ByteArrayInputStream(data)));
+
+    assertThat(results.size(), is(1));
+    Object payload = results.get(0).getMessage().getPayload().getValue();
+    assertThat(payload, instanceOf(InputStream.class));
+    try (InputStream input = (InputStream) payload) {
+      assertThat(IOUtils.toByteArray(input), equalTo(data));
+    }
+  }
+
+  @Test
+  public void chunksOfKnownSizeDeclareGroupSize() throws Exception {
+    List<Event> chunks = new ArrayList<>();
+    StreamingMessageChunkSplitter splitter = new StreamingMessageChunkSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMessageSize(CHUNK_SIZE);
+    splitter.setListener(event -> {
+      chunks.add(event);
+      return event;
+    });
+    splitter.initialise();
+
+    splitter.process(eventWithPayload(createData(250)));
+
+    assertThat(chunks.size(), is(3));
+    for (Event chunk : chunks) {
+      assertThat(chunk.getGroupCorrelation().getGroupSize(), is(Optional.of(3)));
+    }
+    assertThat(((byte[]) chunks.get(2).getMessage().getPayload().getValue()).length, is(50));
+  }
+
+  @Test
+  public void outOfOrderChunks() throws Exception {
+    StreamingMessageChunkAggregator aggregator = createAggregator(StreamingMessageChunkAggregator.DEFAULT_MAX_IN_MEMORY_SIZE);
+    Event event = eventWithPayload("");
+
+    assertThat(aggregator.process(chunk(event, "C", null, 3)), is(nullValue()));
+    assertThat(aggregator.process(chunk(event, "D", 4, 4)), is(nullValue()));
+    assertThat(aggregator.process(chunk(event, "B", null, 2)), is(nullValue()));
+    aggregator.process(chunk(event, "A", null, 1));
+
+    assertThat(results.size(), is(1));
+    assertThat(new String((byte[]) results.get(0).getMessage().getPayload().getValue(), UTF_8), is("ABCD"));
+  }
+
+  @Test
+  public void lateChunkOfAggregatedGroupIsDropped() throws Exception {
+    StreamingMessageChunkAggregator aggregator = createAggregator(StreamingMessageChunkAggregator.DEFAULT_MAX_IN_MEMORY_SIZE);
+    Event event = eventWithPayload("");
+
+    aggregator.process(chunk(event, "A", 2, 1));
+    aggregator.process(chunk(event, "B", 2, 2));
+    assertThat(results.size(), is(1));
+
+    // with no timeout, a group started by the duplicate would never complete
+    assertThat(aggregator.process(chunk(event, "B", 2, 2)), is(nullValue()));
+    assertThat(aggregator.getPendingGroupsCount(), is(0));
+    assertThat(results.size(), is(1));
+  }
+
+  private Event chunk(Event event, String data, Integer groupSize, int sequence) {
+    return Event.builder(event).message(InternalMessage.of(data.getBytes(UTF_8)))
+        .groupCorrelation(new GroupCorrelation(groupSize, sequence)).build();
+  }
+
+  private StreamingMessageChunkAggregator createAggregator(int maxInMemorySize) throws Exception {
+    StreamingMessageChunkAggregator aggregator = new StreamingMessageChunkAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setFlowConstruct(getTestFlow(muleContext));
+    aggregator.setMaxInMemorySize(maxInMemorySize);
+    aggregator.setListener(event -> {
+      results.add(event);
+      return event;
+    });
+    aggregator.initialise();
+    return aggregator;
+  }
+
+  private StreamingMessageChunkSplitter createSplitter(Processor listener) throws Exception {
+    StreamingMessageChunkSplitter splitter = new StreamingMessageChunkSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMessageSize(CHUNK_SIZE);
+    splitter.setListener(listener);
+    splitter.initialise();
+    return splitter;
+  }
+
+  private Event eventWithPayload(Object payload) throws Exception {
+    return eventBuilder().message(InternalMessage.of(payload)).build();
+  }
+
+  private byte[] createData(int size) {
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; ++i) {
+      data[i] = (byte) ('a' + i % 26);
+    }
+    return data;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.EventContext;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.testmodels.fruit.Apple;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingResequencerTestCase extends AbstractMuleContextTestCase {
+
+  private final List<String> received = new CopyOnWriteArrayList<>();
+  private final List<String> releasingThreads = new CopyOnWriteArrayList<>();
+  private StreamingResequencer resequencer;
+  private EventContext context;
+
+  @Before
+  public void before() throws Exception {
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+    context = DefaultEventContext.create(flow, TEST_CONNECTOR, "group");
+
+    resequencer = new StreamingResequencer();
+    resequencer.setMuleContext(muleContext);
+    resequencer.setFlowConstruct(flow);
+    resequencer.setListener(event -> {
+      received.add((String) event.getMessage().getPayload().getValue());
+      releasingThreads.add(Thread.currentThread().getName());
+      return event;
+    });
+  }
+
+  @After
+  public void after() {
+    resequencer.dispose();
+  }
+
+  @Test
+  public void releasesAsSoonAsGapCloses() throws Exception {
+    resequencer.initialise();
+
+    assertThat(resequencer.process(event(2, 4)), is(nullValue()));
+    assertThat(resequencer.process(event(4, 4)), is(nullValue()));
+    assertThat(received, is(empty()));
+
+    resequencer.process(event(1, 4));
+    assertThat(received, contains("1", "2"));
+
+    resequencer.process(event(3, 4));
+    assertThat(received, contains("1", "2", "3", "4"));
+    assertThat(resequencer.getPendingGroupsCount(), is(0));
+  }
+
+  @Test
+  public void spillsWhenBufferIsFull() throws Exception {
+    resequencer.setMaxBufferSize(1);
+    resequencer.initialise();
+
+    resequencer.process(event(3, 4));
+    resequencer.process(event(4, 4));
+    resequencer.process(event(2, 4));
+    assertThat(received, is(empty()));
+
+    resequencer.process(event(1, 4));
+    assertThat(received, contains("1", "2", "3", "4"));
+  }
+
+  @Test
+  public void dropsDuplicates() throws Exception {
+    resequencer.initialise();
+
+    resequencer.process(event(1, 3));
+    resequencer.process(event(1, 3));
+    resequencer.process(event(3, 3));
+    resequencer.process(event(3, 3));
+    resequencer.process(event(2, 3));
+    assertThat(received, contains("1", "2", "3"));
+  }
+
+  @Test
+  public void skipsGapOnTimeout() throws Exception {
+    resequencer.setTimeout(100);
+    resequencer.setFailOnTimeout(false);
+    resequencer.initialise();
+
+    resequencer.process(event(1, 4));
+    resequencer.process(event(3, 4));
+    resequencer.process(event(4, 4));
+    assertThat(received, contains("1"));
+
+    new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> received.size() == 3));
+    assertThat(received, contains("1", "3", "4"));
+    // the timer threads only hand the timed out gap over
+    assertThat(releasingThreads, not(hasItem(containsString("timer"))));
+  }
+
+  @Test
+  public void lateEventDuringCloseIsDropped() throws Exception {
+    CountDownLatch closing = new CountDownLatch(1);
+    CountDownLatch lateEventChecked = new CountDownLatch(1);
+    resequencer.setProcessedGroupsObjectStore(new SimpleMemoryObjectStore<Long>() {
+
+      @Override
+      protected boolean doContains(Serializable key) {
+        if (closing.getCount() == 0) {
+          lateEventChecked.countDown();
+        }
+        return super.doContains(key);
+      }
+
+      @Override
+      protected void doStore(Serializable key, Long value) throws ObjectStoreException {
+        closing.countDown();
+        try {
+          // let the late event find the group not processed yet
+          lateEventChecked.await(RECEIVE_TIMEOUT, MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.doStore(key, value);
+      }
+    });
+    resequencer.initialise();
+
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+    Thread late = new Thread(() -> {
+      try {
+        closing.await(RECEIVE_TIMEOUT, MILLISECONDS);
+        resequencer.process(event(1, 1));
+      } catch (Throwable e) {
+        failures.add(e);
+      }
+    });
+    late.start();
+
+    resequencer.process(event(1, 1));
+    late.join(SECONDS.toMillis(10));
+
+    assertThat(failures, is(empty()));
+    assertThat(received, contains("1"));
+    assertThat(resequencer.getPendingGroupsCount(), is(0));
+  }
+
+  private Event event(int sequence, int groupSize) throws Exception {
+    return Event.builder(context).message(InternalMessage.builder().payload(String.valueOf(sequence)).build())
+        .groupCorrelation(new GroupCorrelation(groupSize, sequence)).flow(getTestFlow(muleContext)).build();
+  }
+}
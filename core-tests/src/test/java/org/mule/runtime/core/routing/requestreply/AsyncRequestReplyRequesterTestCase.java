@@ -6,14 +6,22 @@
  */
 package org.mule.runtime.core.routing.requestreply;
 
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static junit.framework.Assert.assertNull;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mule.runtime.core.MessageExchangePattern.ONE_WAY;
+import static org.mule.runtime.core.MessageExchangePattern.REQUEST_RESPONSE;
 
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.NonBlockingVoidMuleEvent;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleException;
@@ -22,16 +30,22 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.routing.ResponseTimeoutException;
 import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.processor.LaxAsyncInterceptingMessageProcessor;
+import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
 import org.mule.runtime.core.util.concurrent.Latch;
 import org.mule.runtime.core.util.store.MuleObjectStoreManager;
+import org.mule.tck.MuleTestUtils;
 import org.mule.tck.SensingNullMessageProcessor;
+import org.mule.tck.SensingNullReplyToHandler;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.beans.ExceptionListener;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.resource.spi.work.Work;
 
@@ -110,6 +124,64 @@ public class AsyncRequestReplyRequesterTestCase extends AbstractMuleContextTestC
     }
   }
 
+  @Test
+  public void nonBlockingReplyResumesFlowOnReplyThread() throws Exception {
+    asyncReplyMP = new TestAsyncRequestReplyRequester(muleContext);
+    asyncReplyMP.setNonBlocking(true);
+    ExecutorService replyExecutor = newSingleThreadExecutor();
+    try {
+      TestReplySource replySource = new TestReplySource();
+      asyncReplyMP.setListener(event -> {
+        replyExecutor.submit(() -> replySource.listener.process(event));
+        return null;
+      });
+      asyncReplyMP.setReplySource(replySource);
+
+      SensingNullReplyToHandler replyToHandler = new SensingNullReplyToHandler();
+      Event response = asyncReplyMP.process(createNonBlockingTestEvent(replyToHandler));
+
+      assertThat(response, is(instanceOf(NonBlockingVoidMuleEvent.class)));
+      assertTrue(replyToHandler.latch.await(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS));
+      assertEquals(TEST_MESSAGE, replyToHandler.event.getMessage().getPayload().getValue());
+      assertEquals(0, asyncReplyMP.getPendingRepliesCount());
+      assertEquals(1, asyncReplyMP.getStatistics().getReceivedReplies());
+    } finally {
+      replyExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void nonBlockingReplyTimeout() throws Exception {
+    asyncReplyMP = new TestAsyncRequestReplyRequester(muleContext);
+    asyncReplyMP.setNonBlocking(true);
+    asyncReplyMP.setTimeout(100);
+    AtomicReference<Event> request = new AtomicReference<>();
+    asyncReplyMP.setListener(event -> {
+      request.set(event);
+      return null;
+    });
+    asyncReplyMP.setReplySource(new TestReplySource());
+
+    SensingNullReplyToHandler replyToHandler = new SensingNullReplyToHandler();
+    Event response = asyncReplyMP.process(createNonBlockingTestEvent(replyToHandler));
+
+    assertThat(response, is(instanceOf(NonBlockingVoidMuleEvent.class)));
+    // only the requester may resume the flow
+    assertThat(request.get().getReplyToHandler(), is(nullValue()));
+    assertTrue(replyToHandler.latch.await(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS));
+    assertThat(replyToHandler.exception.getCause(), is(instanceOf(ResponseTimeoutException.class)));
+    assertEquals(0, asyncReplyMP.getPendingRepliesCount());
+    assertEquals(1, asyncReplyMP.getStatistics().getTimedOutReplies());
+  }
+
+  private Event createNonBlockingTestEvent(SensingNullReplyToHandler replyToHandler) throws Exception {
+    Flow flow = MuleTestUtils.getTestFlow(muleContext);
+    flow.setProcessingStrategy(new NonBlockingProcessingStrategy());
+    return Event.builder(DefaultEventContext.create(flow, TEST_CONNECTOR))
+        .message(InternalMessage.builder().payload(TEST_MESSAGE).build())
+        .exchangePattern(REQUEST_RESPONSE).replyToHandler(replyToHandler).flow(flow).build();
+  }
+
   @Test
   @Ignore("See MULE-8830")
   public void returnsNullWhenInterruptedWhileWaitingForReply() throws Exception {
@@ -203,6 +275,16 @@ public class AsyncRequestReplyRequesterTestCase extends AbstractMuleContextTestC
     fail(e.getMessage());
   }
 
+  class TestReplySource implements MessageSource {
+
+    Processor listener;
+
+    @Override
+    public void setListener(Processor listener) {
+      this.listener = listener;
+    }
+  }
+
   class TestAsyncRequestReplyRequester extends AbstractAsyncRequestReplyRequester {
 
     TestAsyncRequestReplyRequester(MuleContext muleContext) throws MuleException {
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.message.DefaultMessageBuilder;
+import org.mule.runtime.core.metadata.DefaultTypedValue;
+import org.mule.runtime.core.serialization.internal.CompactObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CompactObjectSerializerTestCase extends AbstractObjectSerializerContractTestCase {
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactObjectSerializer compactSerializer = new CompactObjectSerializer();
+    compactSerializer.setMuleContext(muleContext);
+    serializer = compactSerializer;
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializer.serialize(new Object());
+  }
+
+  @Test
+  public void values() throws Exception {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("string", "Hello World");
+    map.put("int", -42);
+    map.put("long", Long.MAX_VALUE);
+    map.put("boolean", true);
+    map.put("double", 1.5d);
+    map.put("decimal", new BigDecimal("12345.6789"));
+    map.put("date", new Date());
+    map.put("unit", TimeUnit.SECONDS);
+    map.put("array", new String[] {"a", null, "b"});
+    List<Object> list = new ArrayList<>();
+    list.add(map);
+    list.add(null);
+    list.add(new HashMap<>());
+
+    List<Object> deserialized = serializer.deserialize(serializer.serialize(list));
+
+    Map<String, Object> deserializedMap = (Map<String, Object>) deserialized.get(0);
+    assertThat(deserializedMap.keySet(), equalTo(map.keySet()));
+    for (String key : map.keySet()) {
+      if (!key.equals("array")) {
+        assertThat(deserializedMap.get(key), equalTo(map.get(key)));
+      }
+    }
+    assertThat((String[]) deserializedMap.get("array"), equalTo(map.get("array")));
+    assertThat(deserialized.subList(1, 3), equalTo(list.subList(1, 3)));
+  }
+
+  @Test
+  public void sharedAndSelfReferencingCollections() throws Exception {
+    Map<String, Object> shared = new HashMap<>();
+    shared.put("key", "value");
+    List<Object> list = new ArrayList<>();
+    list.add(shared);
+    list.add(shared);
+    list.add(list);
+
+    List<Object> deserialized = serializer.deserialize(serializer.serialize(list));
+
+    assertThat(deserialized.get(0), equalTo((Object) shared));
+    assertThat(deserialized.get(1), sameInstance(deserialized.get(0)));
+    assertThat(deserialized.get(2), sameInstance((Object) deserialized));
+  }
+
+  @Test
+  public void eventReferencingItselfIsWrittenThroughJavaSerialization() throws Exception {
+    List<Object> events = new ArrayList<>();
+    Event event = eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).addVariable("events", events).build();
+    events.add(event);
+
+    Event deserialized = serializer.deserialize(serializer.serialize(event));
+
+    List<Object> deserializedEvents = (List<Object>) deserialized.getVariable("events").getValue();
+    assertThat(deserializedEvents.get(0), instanceOf(Event.class));
+    assertThat(((Event) deserializedEvents.get(0)).getContext().getId(), equalTo(event.getContext().getId()));
+  }
+
+  @Test
+  public void messageKeepsPayloadDataType() throws Exception {
+    DataType dataType = DataType.builder().type(CharSequence.class).mediaType(APPLICATION_JSON).charset("UTF-16").build();
+    InternalMessage message = new DefaultMessageBuilder().typedPayload(new DefaultTypedValue<>("[]", dataType)).build();
+
+    InternalMessage deserialized = serializer.deserialize(serializer.serialize(message));
+
+    assertThat(deserialized.getPayload().getDataType(), equalTo(dataType));
+  }
+
+  @Test
+  public void message() throws Exception {
+    InternalMessage message = InternalMessage.builder().payload("{\"hello\": \"world\"}").mediaType(APPLICATION_JSON)
+        .addOutboundProperty("count", 3).addInboundProperty("origin", "test").build();
+
+    byte[] bytes = serializer.serialize(message);
+    InternalMessage deserialized = serializer.deserialize(bytes);
+
+    assertThat(deserialized.getPayload().getValue(), equalTo(message.getPayload().getValue()));
+    assertThat(deserialized.getPayload().getDataType(), equalTo(message.getPayload().getDataType()));
+    assertThat(deserialized.getOutboundProperty("count"), equalTo(3));
+    assertThat(deserialized.getInboundProperty("origin"), equalTo("test"));
+    assertThat(bytes.length, lessThan(javaSerializer().serialize(message).length));
+  }
+
+  @Test
+  public void event() throws Exception {
+    Event event = eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).addVariable("variable", "value").build();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.serialize(event, out);
+    Event deserialized = serializer.deserialize(out.toByteArray());
+
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo(TEST_PAYLOAD));
+    assertThat(deserialized.getVariable("variable").getValue(), equalTo("value"));
+    assertThat(deserialized.getContext().getId(), equalTo(event.getContext().getId()));
+    assertThat(deserialized.getFlowConstruct().getName(), equalTo(event.getFlowConstruct().getName()));
+  }
+
+  private JavaObjectSerializer javaSerializer() {
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    return javaSerializer;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.timer;
+
+import static java.lang.Thread.State.WAITING;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.management.stats.TimerStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HierarchicalTimingWheelTestCase extends AbstractMuleTestCase {
+
+  private static final String OWNER = "test";
+  private static final int TIMEOUT = 5000;
+
+  private HierarchicalTimingWheel timer;
+
+  @Before
+  public void before() {
+    timer = new HierarchicalTimingWheel("test.", 1, MILLISECONDS, 1);
+  }
+
+  @After
+  public void after() {
+    timer.dispose();
+  }
+
+  @Test
+  public void runsOnceAfterDelay() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.currentTimeMillis();
+    timer.schedule(OWNER, latch::countDown, 50, MILLISECONDS);
+
+    assertThat(latch.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(50L));
+  }
+
+  @Test
+  public void cascadesFromUpperWheels() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.currentTimeMillis();
+    timer.schedule(OWNER, latch::countDown, 300, MILLISECONDS);
+
+    assertThat(latch.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(300L));
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    Timeout timeout = timer.schedule(OWNER, runs::incrementAndGet, 100, MILLISECONDS);
+
+    assertThat(timeout.cancel(), is(true));
+    assertThat(timeout.isCancelled(), is(true));
+    assertThat(timeout.cancel(), is(false));
+
+    Thread.sleep(200);
+    assertThat(runs.get(), is(0));
+  }
+
+  @Test
+  public void fixedDelayRunsUntilCancelled() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    Timeout timeout = timer.scheduleWithFixedDelay(OWNER, runs::incrementAndGet, 0, 10, MILLISECONDS);
+
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> runs.get() >= 3));
+    timeout.cancel();
+    Thread.sleep(50);
+    int runsAfterCancel = runs.get();
+    Thread.sleep(100);
+    assertThat(runs.get(), is(runsAfterCancel));
+  }
+
+  @Test
+  public void failingTaskKeepsBeingScheduled() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    timer.scheduleWithFixedDelay(OWNER, () -> {
+      runs.incrementAndGet();
+      throw new IllegalStateException();
+    }, 0, 10, MILLISECONDS);
+
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> runs.get() >= 2));
+    assertThat(timer.getStatistics().get(OWNER).getFailedExecutions(), greaterThanOrEqualTo(2L));
+  }
+
+  @Test
+  public void statistics() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    Timeout pending = timer.schedule(OWNER, () -> {
+    }, 1, HOURS);
+    TimerStatistics statistics = timer.getStatistics().get(OWNER);
+    timer.schedule(OWNER, latch::countDown, 10, MILLISECONDS);
+
+    assertThat(latch.await(TIMEOUT, MILLISECONDS), is(true));
+    pending.cancel();
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> statistics.getActiveTimers() == 0));
+    assertThat(statistics.getScheduledTimers(), is(2L));
+    assertThat(statistics.getCancelledTimers(), is(1L));
+    assertThat(statistics.getExecutions(), is(1L));
+  }
+
+  @Test
+  public void statisticsAreDiscardedOnceOwnerHasNoActiveTimers() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    Timeout cancelled = timer.schedule(OWNER, () -> {
+    }, 1, HOURS);
+    timer.schedule(OWNER, latch::countDown, 10, MILLISECONDS);
+    assertThat(timer.getStatistics().containsKey(OWNER), is(true));
+
+    assertThat(latch.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(timer.getStatistics().containsKey(OWNER), is(true));
+    cancelled.cancel();
+    assertThat(timer.getStatistics().containsKey(OWNER), is(false));
+  }
+
+  @Test
+  public void tickerIsParkedWhileNoTimerIsActive() throws Exception {
+    Thread ticker = Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("test.timer"))
+        .filter(thread -> !thread.getName().startsWith("test.timer.worker")).findFirst().get();
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> ticker.getState() == WAITING));
+
+    CountDownLatch latch = new CountDownLatch(1);
+    timer.schedule(OWNER, latch::countDown, 10, MILLISECONDS);
+    assertThat(latch.await(TIMEOUT, MILLISECONDS), is(true));
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> ticker.getState() == WAITING));
+  }
+}
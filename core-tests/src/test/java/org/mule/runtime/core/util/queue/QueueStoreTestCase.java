@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
@@ -21,6 +23,7 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.hamcrest.core.Is;
 import org.junit.Rule;
@@ -116,6 +119,28 @@ public abstract class QueueStoreTestCase extends AbstractMuleContextTestCase {
     }
   }
 
+  @Test
+  public void drainTakesAvailableItemsUpToMax() throws Exception {
+    QueueStore queue = createQueue();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queue.putNow(String.valueOf(i));
+    }
+    List<Serializable> drained = queue.drain(NUMBER_OF_ITEMS - 1, SHORT_POLL_TIMEOUT);
+    assertThat(drained.size(), is(NUMBER_OF_ITEMS - 1));
+    for (int i = 0; i < drained.size(); i++) {
+      assertThat((String) drained.get(i), is(String.valueOf(i)));
+    }
+    assertThat(queue.drain(NUMBER_OF_ITEMS, SHORT_POLL_TIMEOUT), contains((Serializable) String.valueOf(NUMBER_OF_ITEMS - 1)));
+  }
+
+  @Test
+  public void drainDoesNotReturnUntilPollTimeout() throws Exception {
+    QueueStore queue = createQueue();
+    long initialTime = System.currentTimeMillis();
+    assertThat(queue.drain(NUMBER_OF_ITEMS, LONG_POLL_TIMEOUT), empty());
+    assertThat(System.currentTimeMillis() - initialTime >= LONG_POLL_TIMEOUT, is(true));
+  }
+
   @Test
   public void offerSeveralRetrieveAllMuleEvents() throws Exception {
     QueueStore queue = createQueue();
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TransientQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final int PRODUCERS = 4;
+  private static final int CONSUMERS = 4;
+  private static final int ITEMS_PER_PRODUCER = 2000;
+  private static final int CAPACITY = 16;
+  private static final int BATCH_SIZE = 5;
+  private static final long TIMEOUT = 100;
+
+  @Test
+  public void concurrentProducersAndConsumers() throws Exception {
+    TransientQueueStoreDelegate delegate = new TransientQueueStoreDelegate(CAPACITY);
+    int total = PRODUCERS * ITEMS_PER_PRODUCER;
+    Set<Serializable> consumed = ConcurrentHashMap.newKeySet();
+    AtomicInteger consumedCount = new AtomicInteger();
+    CountDownLatch producersDone = new CountDownLatch(PRODUCERS);
+
+    ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+    try {
+      for (int p = 0; p < PRODUCERS; ++p) {
+        final int producer = p;
+        executor.submit(() -> {
+          for (int i = 0; i < ITEMS_PER_PRODUCER; ++i) {
+            while (!delegate.offer(producer + "-" + i, 0, TIMEOUT)) {
+              // retry until there is room
+            }
+          }
+          producersDone.countDown();
+          return null;
+        });
+      }
+
+      Future<?>[] consumers = new Future<?>[CONSUMERS];
+      for (int c = 0; c < CONSUMERS; ++c) {
+        consumers[c] = executor.submit(() -> {
+          while (producersDone.getCount() > 0 || delegate.getSize() > 0) {
+            List<Serializable> drained = delegate.drain(BATCH_SIZE, TIMEOUT);
+            assertThat(drained.size() <= BATCH_SIZE, is(true));
+            consumed.addAll(drained);
+            consumedCount.addAndGet(drained.size());
+          }
+          return null;
+        });
+      }
+
+      for (Future<?> consumer : consumers) {
+        consumer.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(consumedCount.get(), is(total));
+    assertThat(consumed.size(), is(total));
+    assertThat(delegate.getSize(), is(0));
+  }
+
+  @Test
+  public void waitingConsumerIsWokenUpByProducer() throws Exception {
+    TransientQueueStoreDelegate delegate = new TransientQueueStoreDelegate(0);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Serializable> polled = executor.submit(() -> delegate.poll(Long.MAX_VALUE));
+      Thread.sleep(TIMEOUT);
+      delegate.putNow("value");
+      assertThat(polled.get(10, SECONDS), is((Serializable) "value"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void untakeAddsFirstEvenWhenFull() throws Exception {
+    TransientQueueStoreDelegate delegate = new TransientQueueStoreDelegate(1);
+    assertThat(delegate.offer("first", 0, TIMEOUT), is(true));
+    assertThat(delegate.offer("second", 0, 0), is(false));
+    delegate.untake("untaken");
+    assertThat(delegate.getSize(), is(2));
+    assertThat(delegate.poll(0), is((Serializable) "untaken"));
+    assertThat(delegate.poll(0), is((Serializable) "first"));
+  }
+}
@@ -38,6 +38,7 @@ import static org.mule.runtime.core.context.notification.MuleContextNotification
 import static org.mule.runtime.core.context.notification.MuleContextNotification.CONTEXT_STOPPED;
 import static org.mule.runtime.core.context.notification.MuleContextNotification.CONTEXT_STOPPING;
 import static org.mule.runtime.core.util.JdkVersionUtils.getSupportedJdks;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 
 import org.mule.runtime.config.spring.DefaultCustomizationService;
 import org.mule.runtime.core.api.CustomizationService;
@@ -72,6 +73,7 @@ import org.mule.runtime.core.api.security.SecurityManager;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.timer.TimerService;
 import org.mule.runtime.core.api.util.StreamCloserService;
 import org.mule.runtime.core.client.DefaultLocalMuleClient;
 import org.mule.runtime.core.config.ClusterConfiguration;
@@ -94,6 +96,7 @@ import org.mule.runtime.core.management.stats.AllStatistics;
 import org.mule.runtime.core.management.stats.ProcessingTimeWatcher;
 import org.mule.runtime.core.registry.DefaultRegistryBroker;
 import org.mule.runtime.core.registry.MuleRegistryHelper;
+import org.mule.runtime.core.timer.HierarchicalTimingWheel;
 import org.mule.runtime.core.util.ApplicationShutdownSplashScreen;
 import org.mule.runtime.core.util.ApplicationStartupSplashScreen;
 import org.mule.runtime.core.util.JdkVersionUtils;
@@ -201,6 +204,8 @@ public class DefaultMuleContext implements MuleContext {
 
   private LockFactory lockFactory;
 
+  private HierarchicalTimingWheel timerService;
+
   private ExpressionLanguage expressionLanguage;
 
   private ProcessingTimeWatcher processingTimeWatcher;
@@ -390,6 +395,12 @@ public class DefaultMuleContext implements MuleContext {
   private void disposeManagers() {
     notificationManager.dispose();
     workManager.dispose();
+    synchronized (this) {
+      if (timerService != null) {
+        timerService.dispose();
+        timerService = null;
+      }
+    }
   }
 
   /**
@@ -907,6 +918,14 @@ public class DefaultMuleContext implements MuleContext {
     return this.processingTimeWatcher;
   }
 
+  @Override
+  public synchronized TimerService getTimerService() {
+    if (timerService == null && !isDisposed()) {
+      timerService = new HierarchicalTimingWheel(getPrefix(this));
+    }
+    return timerService;
+  }
+
   @Override
   public boolean waitUntilStarted(int timeout) throws InterruptedException {
     return startLatch.await(timeout, TimeUnit.MILLISECONDS);
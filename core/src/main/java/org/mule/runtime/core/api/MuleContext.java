@@ -30,6 +30,7 @@ import org.mule.runtime.core.api.security.SecurityManager;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.timer.TimerService;
 import org.mule.runtime.core.api.util.StreamCloserService;
 import org.mule.runtime.core.config.bootstrap.ArtifactType;
 import org.mule.runtime.core.config.bootstrap.BootstrapServiceDiscoverer;
@@ -333,6 +334,11 @@ public interface MuleContext extends Lifecycle {
    */
   ProcessingTimeWatcher getProcessorTimeWatcher();
 
+  /**
+   * @return the {@link TimerService} shared by the components of this context to run delayed and periodic tasks
+   */
+  TimerService getTimerService();
+
   /**
    * Makes the caller wait until the {@link MuleContext} was started
    *
@@ -195,4 +195,8 @@ public class MuleProperties {
   public static final String MULE_DEFAULT_PROCESSING_STRATEGY = SYSTEM_PROPERTY_PREFIX + "default.processing.strategy";
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
+  public static final String MULE_PARALLEL_LIFECYCLE = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallel";
+  public static final String MULE_PARALLEL_LIFECYCLE_THREADS = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallel.threads";
+  public static final String MULE_TIMER_TICK_DURATION = SYSTEM_PROPERTY_PREFIX + "timer.tick";
+  public static final String MULE_TIMER_WORKER_THREADS = SYSTEM_PROPERTY_PREFIX + "timer.workers";
 }
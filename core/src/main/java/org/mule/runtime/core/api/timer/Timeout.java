@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.timer;
+
+/**
+ * A handle to a task scheduled through a {@link TimerService}.
+ *
+ * @since 4.0
+ */
+public interface Timeout {
+
+  /**
+   * Cancels the task so that it does not run again. A task which is already running is not interrupted.
+   *
+   * @return {@code true} if the task was cancelled by this call, {@code false} if it was already cancelled or completed
+   */
+  boolean cancel();
+
+  /**
+   * @return whether {@link #cancel()} was successfully invoked on this timeout
+   */
+  boolean isCancelled();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.timer;
+
+import org.mule.runtime.core.management.stats.TimerStatistics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks after a delay, or periodically, sharing the same threads among all the components of a
+ * {@link org.mule.runtime.core.api.MuleContext} instead of each of them keeping its own timer threads.
+ * <p>
+ * Tasks are meant to be short lived, such as expiring entries or checking for timeouts. Each task is associated with an owner,
+ * which is used to keep the {@link TimerStatistics} of the timers it schedules.
+ * <p>
+ * Tasks are executed with the context {@link ClassLoader} of the thread which scheduled them.
+ *
+ * @since 4.0
+ */
+public interface TimerService {
+
+  /**
+   * Runs the given {@code task} once, after the given {@code delay}.
+   *
+   * @param owner the name of the component scheduling the task
+   * @param task the task to run
+   * @param delay the time to wait before running the task
+   * @param unit the unit of {@code delay}
+   * @return a {@link Timeout} to cancel the task
+   */
+  Timeout schedule(String owner, Runnable task, long delay, TimeUnit unit);
+
+  /**
+   * Runs the given {@code task} after {@code initialDelay}, and then again {@code delay} after each run completes, until the
+   * returned {@link Timeout} is cancelled.
+   *
+   * @param owner the name of the component scheduling the task
+   * @param task the task to run
+   * @param initialDelay the time to wait before the first run of the task
+   * @param delay the time to wait between the end of a run and the start of the next one
+   * @param unit the unit of {@code initialDelay} and {@code delay}
+   * @return a {@link Timeout} to cancel the task
+   */
+  Timeout scheduleWithFixedDelay(String owner, Runnable task, long initialDelay, long delay, TimeUnit unit);
+
+  /**
+   * @return the {@link TimerStatistics} of each of the owners which have scheduled tasks on this service
+   */
+  Map<String, TimerStatistics> getStatistics();
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import static org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation.getVariableValueOrNull;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.el.context.FlowVariableMapContext;
+import org.mule.runtime.core.el.context.InboundPropertiesMapContext;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recognises trivial MEL expressions, such as {@code payload}, {@code flowVars.x}, {@code message.inboundProperties['h']} or
+ * literals, and evaluates them straight against the {@link Event}, without building a {@link MVELExpressionLanguageContext}
+ * nor going through the MVEL interpreter. Any other expression is left to MVEL.
+ * <p>
+ * Expressions are analysed once, the result being cached. The count of evaluations that did or did not take the direct path
+ * are kept so the share of direct evaluations can be monitored.
+ *
+ * @since 4.0
+ */
+public class DirectExpressionEvaluator {
+
+  private static final Logger logger = LoggerFactory.getLogger(DirectExpressionEvaluator.class);
+
+  protected static final String DISABLE_DIRECT_EVALUATION =
+      MuleProperties.SYSTEM_PROPERTY_PREFIX + "mel.disableDirectEvaluation";
+
+  private static final int DIRECT_EXPRESSION_MAX_CACHE_SIZE = 1000;
+
+  private static final String IDENTIFIER = "[A-Za-z_$][A-Za-z0-9_$]*";
+  private static final String MAP_KEY = "(?:\\.(" + IDENTIFIER + ")|\\[\\s*'([^'\\\\]*)'\\s*\\]|\\[\\s*\"([^\"\\\\]*)\"\\s*\\])";
+
+  private static final Pattern FLOW_VAR = Pattern.compile("flowVars" + MAP_KEY);
+  private static final Pattern INBOUND_PROPERTY = Pattern.compile("message\\.inboundProperties" + MAP_KEY);
+  private static final Pattern STRING_LITERAL = Pattern.compile("'([^'\\\\]*)'|\"([^\"\\\\]*)\"");
+  private static final Pattern INTEGER_LITERAL = Pattern.compile("0|[1-9][0-9]{0,8}");
+
+  /**
+   * An expression that can be evaluated without MVEL.
+   */
+  @FunctionalInterface
+  public interface DirectExpression {
+
+    Object evaluate(Event event);
+  }
+
+  private static final DirectExpression NOT_DIRECT = event -> {
+    throw new IllegalStateException("Expression cannot be evaluated directly");
+  };
+
+  private final LoadingCache<String, DirectExpression> expressionsCache =
+      CacheBuilder.newBuilder().maximumSize(DIRECT_EXPRESSION_MAX_CACHE_SIZE).build(new CacheLoader<String, DirectExpression>() {
+
+        @Override
+        public DirectExpression load(String key) throws Exception {
+          DirectExpression directExpression = analyse(key.trim());
+          if (logger.isDebugEnabled()) {
+            logger.debug("MEL expression '" + key + "' " + (directExpression != null ? "will" : "won't")
+                + " be evaluated directly");
+          }
+          return directExpression != null ? directExpression : NOT_DIRECT;
+        }
+      });
+
+  private final LongAdder directEvaluations = new LongAdder();
+  private final LongAdder interpretedEvaluations = new LongAdder();
+
+  /**
+   * @return whether direct evaluation was not disabled through the {@link #DISABLE_DIRECT_EVALUATION} system property
+   */
+  public static boolean isDirectEvaluationEnabled() {
+    return System.getProperty(DISABLE_DIRECT_EVALUATION) == null;
+  }
+
+  /**
+   * Looks up the direct form of the given expression, accounting for the evaluation that is about to happen.
+   *
+   * @param expression an expression without the expression markers
+   * @return the {@link DirectExpression} for {@code expression}, or {@code null} if it has to be evaluated by MVEL
+   */
+  public DirectExpression lookup(String expression) {
+    DirectExpression directExpression = expressionsCache.getUnchecked(expression);
+    if (directExpression == NOT_DIRECT) {
+      interpretedEvaluations.increment();
+      return null;
+    }
+    directEvaluations.increment();
+    return directExpression;
+  }
+
+  /**
+   * @return the count of evaluations that went through a {@link DirectExpression}
+   */
+  public long getDirectEvaluations() {
+    return directEvaluations.sum();
+  }
+
+  /**
+   * @return the count of evaluations that had to go through MVEL
+   */
+  public long getInterpretedEvaluations() {
+    return interpretedEvaluations.sum();
+  }
+
+  /**
+   * @return the share, between 0 and 1, of the evaluations that went through a {@link DirectExpression}
+   */
+  public double getDirectEvaluationRatio() {
+    long direct = getDirectEvaluations();
+    long total = direct + getInterpretedEvaluations();
+    return total == 0 ? 0 : (double) direct / total;
+  }
+
+  /**
+   * Clears the evaluation counters.
+   */
+  public void clear() {
+    directEvaluations.reset();
+    interpretedEvaluations.reset();
+  }
+
+  static DirectExpression analyse(String expression) {
+    switch (expression) {
+      case MessageVariableResolverFactory.PAYLOAD:
+      case MessageVariableResolverFactory.MESSAGE_PAYLOAD:
+        return event -> event.getMessage().getPayload() != null ? event.getMessage().getPayload().getValue() : null;
+      case "message.attributes":
+        return event -> event.getMessage().getAttributes();
+      case "true":
+        return event -> Boolean.TRUE;
+      case "false":
+        return event -> Boolean.FALSE;
+      case "null":
+        return event -> null;
+      default:
+        break;
+    }
+
+    Matcher matcher = FLOW_VAR.matcher(expression);
+    if (matcher.matches()) {
+      final String key = mapKey(matcher, FlowVariableMapContext.class);
+      return key != null ? event -> getVariableValueOrNull(key, event) : null;
+    }
+
+    matcher = INBOUND_PROPERTY.matcher(expression);
+    if (matcher.matches()) {
+      final String key = mapKey(matcher, InboundPropertiesMapContext.class);
+      return key != null ? event -> event.getMessage().getInboundProperty(key) : null;
+    }
+
+    matcher = STRING_LITERAL.matcher(expression);
+    if (matcher.matches()) {
+      final String value = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+      return event -> value;
+    }
+
+    if (INTEGER_LITERAL.matcher(expression).matches()) {
+      final Integer value = Integer.valueOf(expression);
+      return event -> value;
+    }
+
+    return null;
+  }
+
+  /**
+   * MVEL resolves {@code map.name} to a property of the map itself when the map has no such key, so that form is only taken
+   * directly when {@code mapType} has no member the name could resolve to.
+   */
+  private static String mapKey(Matcher matcher, Class<?> mapType) {
+    if (matcher.group(1) == null) {
+      return matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+    }
+
+    String name = matcher.group(1);
+    String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    for (Method method : mapType.getMethods()) {
+      String methodName = method.getName();
+      if (methodName.equals(name) || methodName.equals("get" + capitalized) || methodName.equals("is" + capitalized)) {
+        return null;
+      }
+    }
+    for (Field field : mapType.getFields()) {
+      if (field.getName().equals(name)) {
+        return null;
+      }
+    }
+    return name;
+  }
+}
@@ -7,15 +7,21 @@
 
 package org.mule.runtime.core.el.mvel;
 
+import static java.util.regex.Pattern.compile;
+import static org.mule.runtime.core.el.mvel.MVELExpressionStatistics.OptimizationMode.DEOPTIMIZED;
+import static org.mule.runtime.core.el.mvel.MVELExpressionStatistics.OptimizationMode.OPTIMIZED;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.el.ExpressionExecutor;
 import org.mule.runtime.core.api.expression.InvalidExpressionException;
 import org.mule.mvel2.MVEL;
+import org.mule.mvel2.OptimizationFailedException;
 import org.mule.mvel2.ParserConfiguration;
 import org.mule.mvel2.ParserContext;
+import org.mule.mvel2.compiler.ExecutableLiteral;
 import org.mule.mvel2.optimizers.OptimizerFactory;
 import org.mule.mvel2.optimizers.dynamic.DynamicOptimizer;
+import org.mule.mvel2.optimizers.impl.asm.ASMAccessorOptimizer;
 import org.mule.mvel2.optimizers.impl.refl.ReflectiveAccessorOptimizer;
 
 import com.google.common.cache.CacheBuilder;
@@ -24,6 +30,10 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +42,15 @@ import org.slf4j.LoggerFactory;
  * This MVEL executor uses MVEL {@link ReflectiveAccessorOptimizer} implementation rather than the default
  * {@link DynamicOptimizer} (which generates byte-code accessors using ASM) because we found that, at least with JDK7, the
  * {@link ReflectiveAccessorOptimizer} was fastest in typical Mule use cases.
+ * <p>
+ * When the {@link #MEL_ADAPTIVE_OPTIMIZER} system property is set, each expression which is evaluated more than
+ * {@link #MEL_ADAPTIVE_OPTIMIZER_THRESHOLD} times is recompiled with {@link ASMAccessorOptimizer} accessors. Accessors are
+ * generated while evaluating the expression, so only expressions with no method calls nor assignments are optimized: if
+ * generating the accessors fails, those can be evaluated again with the reflective accessors without applying any side effect
+ * twice. Such an expression goes back to the reflective accessors for good.
+ * <p>
+ * When the {@link #MEL_EXPRESSION_STATISTICS} system property or the adaptive optimizer are enabled, the
+ * {@link MVELExpressionStatistics} of each cached expression are available through {@link #getExpressionStatistics()}.
  */
 public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpressionLanguageContext> {
 
@@ -39,24 +58,40 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
   protected static final String DISABLE_MEL_EXPRESSION_CACHE =
       MuleProperties.SYSTEM_PROPERTY_PREFIX + "disableMelExpressionCache";
 
+  protected static final String MEL_ADAPTIVE_OPTIMIZER = MuleProperties.SYSTEM_PROPERTY_PREFIX + "mel.adaptiveOptimizer";
+  protected static final String MEL_ADAPTIVE_OPTIMIZER_THRESHOLD =
+      MuleProperties.SYSTEM_PROPERTY_PREFIX + "mel.adaptiveOptimizer.threshold";
+  protected static final String MEL_EXPRESSION_STATISTICS = MuleProperties.SYSTEM_PROPERTY_PREFIX + "mel.expressionStatistics";
+
+  // method calls and assignments, conservatively matched anywhere in the expression
+  private static final Pattern SIDE_EFFECTS = compile("\\(|\\+\\+|--|(^|[^=!<>])=(?!=)");
+
   protected static final int COMPILED_EXPRESSION_MAX_CACHE_SIZE = 1000;
+  protected static final int DEFAULT_ADAPTIVE_OPTIMIZER_THRESHOLD = 1000;
 
   protected ParserConfiguration parserConfiguration;
 
-  protected LoadingCache<String, Serializable> compiledExpressionsCache;
+  protected LoadingCache<String, CompiledExpression> compiledExpressionsCache;
+
+  private final boolean adaptiveOptimizer;
+  private final long adaptiveOptimizerThreshold;
+  private final boolean statisticsEnabled;
 
   public MVELExpressionExecutor(final ParserConfiguration parserConfiguration) {
     this.parserConfiguration = parserConfiguration;
+    this.adaptiveOptimizer = Boolean.getBoolean(MEL_ADAPTIVE_OPTIMIZER);
+    this.adaptiveOptimizerThreshold = Long.getLong(MEL_ADAPTIVE_OPTIMIZER_THRESHOLD, DEFAULT_ADAPTIVE_OPTIMIZER_THRESHOLD);
+    this.statisticsEnabled = adaptiveOptimizer || Boolean.getBoolean(MEL_EXPRESSION_STATISTICS);
 
     MVEL.COMPILER_OPT_PROPERTY_ACCESS_DOESNT_FAIL = true;
     OptimizerFactory.setDefaultOptimizer(OptimizerFactory.SAFE_REFLECTIVE);
 
-    compiledExpressionsCache =
-        CacheBuilder.newBuilder().maximumSize(getCompiledExpressionMaxCacheSize()).build(new CacheLoader<String, Serializable>() {
+    compiledExpressionsCache = CacheBuilder.newBuilder().maximumSize(getCompiledExpressionMaxCacheSize())
+        .build(new CacheLoader<String, CompiledExpression>() {
 
           @Override
-          public Serializable load(String key) throws Exception {
-            return MVEL.compileExpression(key, new ParserContext(parserConfiguration));
+          public CompiledExpression load(String key) throws Exception {
+            return new CompiledExpression(key, MVEL.compileExpression(key, new ParserContext(parserConfiguration)));
           }
         });
   }
@@ -75,7 +110,17 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
     if (log.isTraceEnabled()) {
       log.trace("Executing MVEL expression '" + expression + "' with context: \n" + context.toString());
     }
-    return MVEL.executeExpression(getCompiledExpression(expression), context);
+    CompiledExpression compiledExpression = getCachedExpression(expression);
+    if (!statisticsEnabled) {
+      return compiledExpression.execute(context);
+    }
+
+    long start = System.nanoTime();
+    try {
+      return compiledExpression.execute(context);
+    } finally {
+      compiledExpression.statistics.record(System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -90,6 +135,21 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
    * @return A {@link Serializable} object representing the compiled expression
    */
   public Serializable getCompiledExpression(final String expression) {
+    return getCachedExpression(expression).reflective;
+  }
+
+  /**
+   * @return the {@link MVELExpressionStatistics} of each of the expressions currently in the cache, by expression
+   */
+  public Map<String, MVELExpressionStatistics> getExpressionStatistics() {
+    Map<String, MVELExpressionStatistics> statistics = new HashMap<>();
+    for (CompiledExpression compiledExpression : compiledExpressionsCache.asMap().values()) {
+      statistics.put(compiledExpression.expression, compiledExpression.statistics);
+    }
+    return statistics;
+  }
+
+  private CompiledExpression getCachedExpression(final String expression) {
     try {
       return compiledExpressionsCache.getUnchecked(expression);
     } catch (UncheckedExecutionException e) {
@@ -102,4 +162,80 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
       }
     }
   }
+
+  /**
+   * A cached expression. Keeps the expression compiled with reflective accessors, which is what {@link #getCompiledExpression}
+   * exposes, and the one compiled with bytecode accessors once the expression gets hot.
+   */
+  protected class CompiledExpression {
+
+    private final String expression;
+    private final Serializable reflective;
+    private final MVELExpressionStatistics statistics;
+    private final AtomicLong pendingEvaluations = new AtomicLong();
+    private volatile Serializable optimized;
+
+    CompiledExpression(String expression, Serializable reflective) {
+      this.expression = expression;
+      this.reflective = reflective;
+      this.statistics = new MVELExpressionStatistics(expression, statisticsEnabled);
+      // literals have no accessors to optimize
+      boolean optimizable = adaptiveOptimizer && !(reflective instanceof ExecutableLiteral)
+          && !SIDE_EFFECTS.matcher(expression).find();
+      pendingEvaluations.set(optimizable ? adaptiveOptimizerThreshold : -1);
+    }
+
+    Object execute(MVELExpressionLanguageContext context) {
+      Serializable optimized = this.optimized;
+      if (optimized != null) {
+        // the accessors themselves go back to reflection if the types they were generated for change
+        return MVEL.executeExpression(optimized, context);
+      }
+
+      if (pendingEvaluations.get() >= 0 && pendingEvaluations.decrementAndGet() == 0) {
+        return optimize(context);
+      }
+      return MVEL.executeExpression(reflective, context);
+    }
+
+    private Object optimize(MVELExpressionLanguageContext context) {
+      Serializable candidate;
+      Object result;
+      OptimizerFactory.setThreadAccessorOptimizer(ASMAccessorOptimizer.class);
+      try {
+        candidate = MVEL.compileExpression(expression, new ParserContext(parserConfiguration));
+        // accessors are generated during the first evaluation, which has no side effects to undo if it fails
+        result = MVEL.executeExpression(candidate, context);
+      } catch (OptimizationFailedException | LinkageError e) {
+        candidate = null;
+        result = null;
+        deoptimize(e);
+      } catch (RuntimeException e) {
+        // the reflective accessors would fail the same way, so just keep using them from now on
+        statistics.setMode(DEOPTIMIZED);
+        throw e;
+      } finally {
+        OptimizerFactory.clearThreadAccessorOptimizer();
+      }
+
+      if (candidate == null) {
+        return MVEL.executeExpression(reflective, context);
+      }
+
+      optimized = candidate;
+      statistics.setMode(OPTIMIZED);
+      if (log.isDebugEnabled()) {
+        log.debug("Generated bytecode accessors for MEL expression '" + expression + "'");
+      }
+      return result;
+    }
+
+    private void deoptimize(Throwable cause) {
+      optimized = null;
+      statistics.setMode(DEOPTIMIZED);
+      if (log.isDebugEnabled()) {
+        log.debug("Falling back to reflective accessors for MEL expression '" + expression + "'", cause);
+      }
+    }
+  }
 }
@@ -28,6 +28,7 @@ import org.mule.runtime.core.api.expression.InvalidExpressionException;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.el.mvel.DirectExpressionEvaluator.DirectExpression;
 import org.mule.runtime.core.el.mvel.datatype.MvelDataTypeResolver;
 import org.mule.runtime.core.el.mvel.datatype.MvelEnricherDataTypePropagator;
 import org.mule.runtime.core.metadata.DefaultTypedValue;
@@ -61,6 +62,7 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
   protected ParserConfiguration parserConfiguration;
   protected MuleContext muleContext;
   protected MVELExpressionExecutor expressionExecutor;
+  protected DirectExpressionEvaluator directExpressionEvaluator;
 
   protected VariableResolverFactory staticContext;
   protected VariableResolverFactory globalContext;
@@ -83,6 +85,9 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     this.muleContext = muleContext;
     parserConfiguration = createParserConfiguration(imports);
     expressionExecutor = new MVELExpressionExecutor(parserConfiguration);
+    if (DirectExpressionEvaluator.isDirectEvaluationEnabled()) {
+      directExpressionEvaluator = new DirectExpressionEvaluator();
+    }
   }
 
   @Override
@@ -155,6 +160,13 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     if (event == null) {
       return evaluate(expression, vars);
     }
+    // variables provided by the caller may shadow the ones taken from the event
+    if (vars == null && directExpressionEvaluator != null) {
+      DirectExpression directExpression = directExpressionEvaluator.lookup(removeExpressionMarker(expression));
+      if (directExpression != null) {
+        return (T) directExpression.evaluate(event);
+      }
+    }
     MVELExpressionLanguageContext context = createExpressionLanguageContext();
     final DelegateVariableResolverFactory innerDelegate =
         new DelegateVariableResolverFactory(globalContext, createVariableVariableResolverFactory(event, eventBuilder));
@@ -362,6 +374,21 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     return parserConfiguration;
   }
 
+  /**
+   * @return the {@link MVELExpressionStatistics} of the expressions currently compiled by this expression language
+   */
+  public Map<String, MVELExpressionStatistics> getExpressionStatistics() {
+    return expressionExecutor.getExpressionStatistics();
+  }
+
+  /**
+   * @return the {@link DirectExpressionEvaluator} used to evaluate trivial expressions, or {@code null} if direct evaluation
+   *         is disabled
+   */
+  public DirectExpressionEvaluator getDirectExpressionEvaluator() {
+    return directExpressionEvaluator;
+  }
+
   @Override
   public String parse(String expression, final Event event, FlowConstruct flowConstruct) throws ExpressionRuntimeException {
     return parse(expression, event, Event.builder(event), flowConstruct);
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation statistics of a single compiled MEL expression.
+ *
+ * @since 4.0
+ */
+public class MVELExpressionStatistics implements Statistics {
+
+  private static final long serialVersionUID = 5283659914271403715L;
+
+  /**
+   * How the property accessors of an expression are evaluated.
+   */
+  public enum OptimizationMode {
+    /**
+     * Evaluated through reflective accessors.
+     */
+    REFLECTIVE,
+
+    /**
+     * Evaluated through generated bytecode accessors.
+     */
+    OPTIMIZED,
+
+    /**
+     * Generating or evaluating bytecode accessors failed, so the expression is permanently evaluated through reflective
+     * accessors.
+     */
+    DEOPTIMIZED
+  }
+
+  private final String expression;
+  private final boolean enabled;
+  private final LongAdder evaluations = new LongAdder();
+  private final LongAdder totalEvaluationTime = new LongAdder();
+  private volatile OptimizationMode mode = OptimizationMode.REFLECTIVE;
+
+  public MVELExpressionStatistics(String expression, boolean enabled) {
+    this.expression = expression;
+    this.enabled = enabled;
+  }
+
+  void record(long evaluationNanos) {
+    evaluations.increment();
+    totalEvaluationTime.add(evaluationNanos);
+  }
+
+  void setMode(OptimizationMode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void clear() {
+    evaluations.reset();
+    totalEvaluationTime.reset();
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  public long getEvaluationCount() {
+    return evaluations.sum();
+  }
+
+  public OptimizationMode getMode() {
+    return mode;
+  }
+
+  /**
+   * @return the mean time it took to evaluate the expression, in nanoseconds
+   */
+  public long getMeanEvaluationTime() {
+    long count = evaluations.sum();
+    return count == 0 ? 0 : totalEvaluationTime.sum() / count;
+  }
+}
@@ -6,13 +6,14 @@
  */
 package org.mule.runtime.core.lifecycle;
 
+import static java.util.Collections.newSetFromMap;
 import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecyclePhase;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,8 +28,8 @@ public class InitDisposeLifecycleInterceptor implements LifecycleInterceptor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(InitDisposeLifecycleInterceptor.class);
 
-  private Set<Integer> initialisedObjects = new HashSet<>();
-  private boolean initialiseCompleted = false;
+  private Set<Integer> initialisedObjects = newSetFromMap(new ConcurrentHashMap<>());
+  private volatile boolean initialiseCompleted = false;
 
   /**
    * Evaluates the following conditions in order to determine if the phase should be skipped:
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.lifecycle;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Provides the dependencies between objects on which a lifecycle phase is about to be applied, so that independent objects can
+ * go through the phase concurrently.
+ * <p>
+ * Implemented by registries which know how their objects are wired together.
+ *
+ * @since 4.0
+ */
+public interface LifecycleDependencyResolver {
+
+  /**
+   * Resolves, for each of the given {@code objects}, which of the other {@code objects} must go through a lifecycle phase before
+   * it does. Both direct and indirect dependencies are to be considered.
+   *
+   * @param objects the objects on which the lifecycle phase is to be applied
+   * @return an identity based {@link Map} which has an entry for each object known by this resolver. Objects which are not in the
+   *         map are unknown to this resolver, and nothing can be assumed about their dependencies.
+   */
+  Map<Object, Collection<Object>> resolveDependencies(Collection<?> objects);
+}
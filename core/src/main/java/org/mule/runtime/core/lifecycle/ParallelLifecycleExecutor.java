@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.lifecycle;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PARALLEL_LIFECYCLE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PARALLEL_LIFECYCLE_THREADS;
+import static org.mule.runtime.core.config.i18n.CoreMessages.failedToInvokeLifecycle;
+import org.mule.runtime.core.api.lifecycle.LifecycleException;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies a lifecycle phase over a group of objects concurrently, on a bounded pool of threads, making sure that no object goes
+ * through the phase before all of its dependencies did.
+ * <p>
+ * This mode is enabled through the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_PARALLEL_LIFECYCLE} system
+ * property, and the size of the pool can be set through
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_PARALLEL_LIFECYCLE_THREADS}, which defaults to the number of
+ * available processors.
+ * <p>
+ * Once an object fails, the objects which were not yet processed are skipped and the first failure is thrown after the ones
+ * already in progress finish.
+ *
+ * @since 4.0
+ */
+class ParallelLifecycleExecutor {
+
+  /**
+   * Applies the lifecycle phase on a single object.
+   */
+  interface LifecycleTask {
+
+    void apply(Object target) throws LifecycleException;
+  }
+
+  static boolean isParallelLifecycleEnabled() {
+    return Boolean.getBoolean(MULE_PARALLEL_LIFECYCLE);
+  }
+
+  private final String phaseName;
+  private final int threads;
+  private ExecutorService executor;
+
+  ParallelLifecycleExecutor(String phaseName) {
+    this.phaseName = phaseName;
+    this.threads = Integer.getInteger(MULE_PARALLEL_LIFECYCLE_THREADS, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Applies the {@code task} over all the {@code targets}, honouring the given {@code dependencies}. Circular dependencies are
+   * broken arbitrarily.
+   *
+   * @param targets the objects on which to apply the phase
+   * @param dependencies for each target, the targets that must be processed before it
+   * @param task the lifecycle application
+   * @throws LifecycleException the first exception thrown by the {@code task}
+   */
+  void apply(List<Object> targets, Map<Object, Collection<Object>> dependencies, LifecycleTask task) throws LifecycleException {
+    final Map<Object, CompletableFuture<Void>> scheduled = new IdentityHashMap<>();
+    final Set<Object> visiting = newSetFromMap(new IdentityHashMap<>());
+    final AtomicBoolean failed = new AtomicBoolean(false);
+
+    for (Object target : targets) {
+      scheduled.put(target, null);
+    }
+    for (Object target : targets) {
+      schedule(target, dependencies, task, scheduled, visiting, failed);
+    }
+
+    try {
+      allOf(scheduled.values().toArray(new CompletableFuture[scheduled.size()])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof LifecycleException) {
+        throw (LifecycleException) cause;
+      }
+      throw new LifecycleException(failedToInvokeLifecycle(phaseName, targets), cause, this);
+    }
+  }
+
+  private CompletableFuture<Void> schedule(Object target, Map<Object, Collection<Object>> dependencies, LifecycleTask task,
+                                           Map<Object, CompletableFuture<Void>> scheduled, Set<Object> visiting,
+                                           AtomicBoolean failed) {
+    CompletableFuture<Void> future = scheduled.get(target);
+    if (future != null || !scheduled.containsKey(target) || !visiting.add(target)) {
+      // either already scheduled, not part of the targets or part of a dependency cycle
+      return future;
+    }
+
+    List<CompletableFuture<Void>> prerequisites = new ArrayList<>();
+    for (Object dependency : dependencies.getOrDefault(target, emptyList())) {
+      CompletableFuture<Void> prerequisite = schedule(dependency, dependencies, task, scheduled, visiting, failed);
+      if (prerequisite != null) {
+        prerequisites.add(prerequisite);
+      }
+    }
+
+    future = allOf(prerequisites.toArray(new CompletableFuture[prerequisites.size()])).thenRunAsync(() -> {
+      if (failed.get()) {
+        return;
+      }
+      try {
+        task.apply(target);
+      } catch (LifecycleException | RuntimeException e) {
+        failed.set(true);
+        throw new CompletionException(e);
+      }
+    }, getExecutor());
+
+    visiting.remove(target);
+    scheduled.put(target, future);
+    return future;
+  }
+
+  private ExecutorService getExecutor() {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("lifecycle." + phaseName,
+                                                                              Thread.currentThread().getContextClassLoader()));
+    }
+    return executor;
+  }
+
+  /**
+   * Releases the threads used by this executor.
+   */
+  void dispose() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.lifecycle;
 
+import static java.util.Collections.newSetFromMap;
+import static org.mule.runtime.core.lifecycle.ParallelLifecycleExecutor.isParallelLifecycleEnabled;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.lifecycle.HasLifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
@@ -13,11 +15,17 @@ import org.mule.runtime.core.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.api.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecyclePhase;
 import org.mule.runtime.core.api.registry.Registry;
+import org.mule.runtime.core.api.registry.RegistryProvider;
 import org.mule.runtime.core.lifecycle.phases.ContainerManagedLifecyclePhase;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -25,6 +33,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of {@link LifecycleCallback} for applying {@link Registry} lifecycles
+ * <p>
+ * When the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_PARALLEL_LIFECYCLE} system property is set, the objects
+ * of each of the phase's ordered lifecycle types are processed concurrently as long as the registry can tell their dependencies
+ * through a {@link LifecycleDependencyResolver}. The ordering between the lifecycle types is always respected.
  *
  * @since 3.7.0
  */
@@ -55,48 +67,61 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     // overlapping interfaces can cause duplicates
     // TODO: each LifecycleManager should keep this set per executing phase
     // and clear it when the phase is fully applied
-    Set<Object> duplicates = new HashSet<>();
-
-    for (LifecycleObject lifecycleObject : phase.getOrderedLifecycleObjects()) {
-      lifecycleObject.firePreNotification(registryLifecycleManager.muleContext);
+    Set<Object> duplicates = newSetFromMap(new ConcurrentHashMap<>());
+    ParallelLifecycleExecutor parallelExecutor = isParallelLifecycleEnabled() ? new ParallelLifecycleExecutor(phaseName) : null;
+    long phaseStart = System.currentTimeMillis();
+    int parallelCount = 0;
+
+    try {
+      for (LifecycleObject lifecycleObject : phase.getOrderedLifecycleObjects()) {
+        lifecycleObject.firePreNotification(registryLifecycleManager.muleContext);
+
+        // TODO Collection -> List API refactoring
+        Collection<?> targetsObj = lookupObjectsForLifecycle(lifecycleObject);
+        parallelCount += doApplyLifecycle(phase, duplicates, lifecycleObject, targetsObj, parallelExecutor);
+        lifecycleObject.firePostNotification(registryLifecycleManager.muleContext);
+      }
+    } finally {
+      if (parallelExecutor != null) {
+        parallelExecutor.dispose();
+      }
+    }
 
-      // TODO Collection -> List API refactoring
-      Collection<?> targetsObj = lookupObjectsForLifecycle(lifecycleObject);
-      doApplyLifecycle(phase, duplicates, lifecycleObject, targetsObj);
-      lifecycleObject.firePostNotification(registryLifecycleManager.muleContext);
+    if (parallelExecutor != null && LOGGER.isInfoEnabled()) {
+      LOGGER.info(String.format("Lifecycle phase '%s' applied in parallel on %d objects in %d ms", phaseName, parallelCount,
+                                System.currentTimeMillis() - phaseStart));
     }
 
     interceptor.onPhaseCompleted(phase);
   }
 
-  private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, LifecycleObject lifecycleObject,
-                                Collection<?> targetObjects)
+  /**
+   * @return the number of objects which went through the phase in parallel, as opposed to sequentially
+   */
+  private int doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, LifecycleObject lifecycleObject,
+                               Collection<?> targetObjects, ParallelLifecycleExecutor parallelExecutor)
       throws LifecycleException {
     if (CollectionUtils.isEmpty(targetObjects)) {
-      return;
+      return 0;
     }
 
+    List<Object> pendingTargets = new ArrayList<>(targetObjects.size());
+    Set<Object> pending = new HashSet<>();
     for (Object target : targetObjects) {
-      if (duplicates.contains(target)) {
-        continue;
-      }
-
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("lifecycle phase: " + phase.getName() + " for object: " + target);
+      if (!duplicates.contains(target) && pending.add(target)) {
+        pendingTargets.add(target);
       }
+    }
 
-      if (interceptor.beforeLifecycle(phase, target)) {
-        phase.applyLifecycle(target);
-        duplicates.add(target);
-        interceptor.afterLifecycle(phase, target);
-      } else {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(String.format(
-                                     "Skipping the application of the '%s' lifecycle phase over a certain object "
-                                         + "because a %s interceptor of type [%s] indicated so. Object is: %s",
-                                     phase.getName(), LifecycleInterceptor.class.getSimpleName(),
-                                     interceptor.getClass().getName(), target));
-        }
+    Map<Object, Collection<Object>> dependencies =
+        parallelExecutor != null && pendingTargets.size() > 1 ? resolveDependencies(pendingTargets) : null;
+    int parallelCount = 0;
+    if (dependencies != null) {
+      parallelExecutor.apply(pendingTargets, dependencies, target -> applyLifecycle(phase, duplicates, target));
+      parallelCount = pendingTargets.size();
+    } else {
+      for (Object target : pendingTargets) {
+        applyLifecycle(phase, duplicates, target);
       }
     }
 
@@ -106,8 +131,73 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     int originalTargetCount = targetObjects.size();
     targetObjects = lookupObjectsForLifecycle(lifecycleObject);
     if (targetObjects.size() > originalTargetCount) {
-      doApplyLifecycle(phase, duplicates, lifecycleObject, targetObjects);
+      parallelCount += doApplyLifecycle(phase, duplicates, lifecycleObject, targetObjects, parallelExecutor);
+    }
+    return parallelCount;
+  }
+
+  private void applyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Object target) throws LifecycleException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("lifecycle phase: " + phase.getName() + " for object: " + target);
+    }
+
+    if (interceptor.beforeLifecycle(phase, target)) {
+      long start = System.nanoTime();
+      phase.applyLifecycle(target);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("lifecycle phase: %s for object: %s took %d ms", phase.getName(), target,
+                                   (System.nanoTime() - start) / 1000000));
+      }
+      duplicates.add(target);
+      interceptor.afterLifecycle(phase, target);
+    } else {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format(
+                                   "Skipping the application of the '%s' lifecycle phase over a certain object "
+                                       + "because a %s interceptor of type [%s] indicated so. Object is: %s",
+                                   phase.getName(), LifecycleInterceptor.class.getSimpleName(),
+                                   interceptor.getClass().getName(), target));
+      }
+    }
+  }
+
+  /**
+   * Resolves the dependencies between the given {@code targets} using the {@link LifecycleDependencyResolver}s available
+   * through the managed registry.
+   *
+   * @param targets the objects about to go through the lifecycle phase
+   * @return the dependencies of each target, or {@code null} if they cannot be known for every target
+   */
+  private Map<Object, Collection<Object>> resolveDependencies(List<Object> targets) {
+    Map<Object, Collection<Object>> dependencies = new IdentityHashMap<>();
+    for (LifecycleDependencyResolver resolver : getDependencyResolvers()) {
+      dependencies.putAll(resolver.resolveDependencies(targets));
+    }
+
+    for (Object target : targets) {
+      if (!dependencies.containsKey(target)) {
+        return null;
+      }
+    }
+    return dependencies;
+  }
+
+  /**
+   * @return the {@link LifecycleDependencyResolver}s that know about the objects going through the lifecycle
+   */
+  protected List<LifecycleDependencyResolver> getDependencyResolvers() {
+    Object lifecycleObject = registryLifecycleManager.getLifecycleObject();
+    List<LifecycleDependencyResolver> resolvers = new ArrayList<>();
+    if (lifecycleObject instanceof LifecycleDependencyResolver) {
+      resolvers.add((LifecycleDependencyResolver) lifecycleObject);
+    } else if (lifecycleObject instanceof RegistryProvider) {
+      for (Registry registry : ((RegistryProvider) lifecycleObject).getRegistries()) {
+        if (registry instanceof LifecycleDependencyResolver) {
+          resolvers.add((LifecycleDependencyResolver) registry);
+        }
+      }
     }
+    return resolvers;
   }
 
   protected Collection<?> lookupObjectsForLifecycle(LifecycleObject lo) {
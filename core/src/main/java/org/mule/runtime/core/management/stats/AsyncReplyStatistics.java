@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the replies awaited by an asynchronous request-reply requester.
+ * <p>
+ * Latency is the time elapsed between sending a request and receiving its reply. Besides its average and maximum, latencies are
+ * counted in a histogram with fixed buckets, each one holding the replies received within its upper bound but after the bound of
+ * the previous bucket. The last bucket holds any reply slower than the greatest bound.
+ *
+ * @since 4.0
+ */
+public class AsyncReplyStatistics implements Statistics {
+
+  private static final long serialVersionUID = 6513084957297406412L;
+
+  private static final long[] LATENCY_BUCKET_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000,
+      60000};
+
+  private final LongAdder receivedReplies = new LongAdder();
+  private final LongAdder timedOutReplies = new LongAdder();
+  private final LongAdder totalLatency = new LongAdder();
+  private final AtomicLong maxLatency = new AtomicLong();
+  private final LongAdder[] latencyHistogram = new LongAdder[LATENCY_BUCKET_BOUNDS.length + 1];
+
+  public AsyncReplyStatistics() {
+    for (int i = 0; i < latencyHistogram.length; ++i) {
+      latencyHistogram[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a reply received in time.
+   *
+   * @param latencyNanos the time elapsed since the request was sent, in nanoseconds
+   */
+  public void incReceived(long latencyNanos) {
+    long latency = Math.max(latencyNanos, 0);
+    receivedReplies.increment();
+    totalLatency.add(latency);
+    maxLatency.accumulateAndGet(latency, Math::max);
+    latencyHistogram[bucketOf(NANOSECONDS.toMillis(latency))].increment();
+  }
+
+  private static int bucketOf(long latencyMillis) {
+    int bucket = 0;
+    while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+      ++bucket;
+    }
+    return bucket;
+  }
+
+  public void incTimedOut() {
+    timedOutReplies.increment();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Resets all the counters.
+   */
+  public void clear() {
+    receivedReplies.reset();
+    timedOutReplies.reset();
+    totalLatency.reset();
+    maxLatency.set(0);
+    for (LongAdder bucket : latencyHistogram) {
+      bucket.reset();
+    }
+  }
+
+  public long getReceivedReplies() {
+    return receivedReplies.sum();
+  }
+
+  public long getTimedOutReplies() {
+    return timedOutReplies.sum();
+  }
+
+  /**
+   * @return the average latency of the replies received, in milliseconds
+   */
+  public long getAverageLatency() {
+    long count = receivedReplies.sum();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(totalLatency.sum() / count);
+  }
+
+  /**
+   * @return the maximum latency of the replies received, in milliseconds
+   */
+  public long getMaxLatency() {
+    return NANOSECONDS.toMillis(maxLatency.get());
+  }
+
+  /**
+   * @return the upper bounds of the buckets of the {@link #getLatencyHistogram() latency histogram}, in milliseconds
+   */
+  public long[] getLatencyBucketBounds() {
+    return LATENCY_BUCKET_BOUNDS.clone();
+  }
+
+  /**
+   * @return the number of replies in each latency bucket. It has one more element than the
+   *         {@link #getLatencyBucketBounds() bounds}, for the replies slower than the greatest bound.
+   */
+  public long[] getLatencyHistogram() {
+    long[] histogram = new long[latencyHistogram.length];
+    for (int i = 0; i < histogram.length; ++i) {
+      histogram[i] = latencyHistogram[i].sum();
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the timers scheduled by a single owner on a {@link org.mule.runtime.core.api.timer.TimerService}.
+ * <p>
+ * Lateness is the time elapsed between the moment a task was due and the moment it actually started running.
+ *
+ * @since 4.0
+ */
+public class TimerStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2787623462405245012L;
+
+  private final String owner;
+  private final AtomicLong activeTimers = new AtomicLong();
+  private final LongAdder scheduledTimers = new LongAdder();
+  private final LongAdder cancelledTimers = new LongAdder();
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder failedExecutions = new LongAdder();
+  private final LongAdder totalLateness = new LongAdder();
+  private final AtomicLong maxLateness = new AtomicLong();
+
+  public TimerStatistics(String owner) {
+    this.owner = owner;
+  }
+
+  public void incScheduled() {
+    scheduledTimers.increment();
+    activeTimers.incrementAndGet();
+  }
+
+  public void incCancelled() {
+    cancelledTimers.increment();
+    activeTimers.decrementAndGet();
+  }
+
+  public void incCompleted() {
+    activeTimers.decrementAndGet();
+  }
+
+  /**
+   * Records a run of a task.
+   *
+   * @param latenessNanos how late the task started, in nanoseconds
+   */
+  public void incExecuted(long latenessNanos) {
+    long lateness = Math.max(latenessNanos, 0);
+    executions.increment();
+    totalLateness.add(lateness);
+    maxLateness.accumulateAndGet(lateness, Math::max);
+  }
+
+  public void incFailed() {
+    failedExecutions.increment();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Resets all the counters except for the number of active timers.
+   */
+  public void clear() {
+    scheduledTimers.reset();
+    cancelledTimers.reset();
+    executions.reset();
+    failedExecutions.reset();
+    totalLateness.reset();
+    maxLateness.set(0);
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * @return the number of timers which are waiting to be run, including periodic ones which were not cancelled
+   */
+  public long getActiveTimers() {
+    return activeTimers.get();
+  }
+
+  public long getScheduledTimers() {
+    return scheduledTimers.sum();
+  }
+
+  public long getCancelledTimers() {
+    return cancelledTimers.sum();
+  }
+
+  public long getExecutions() {
+    return executions.sum();
+  }
+
+  public long getFailedExecutions() {
+    return failedExecutions.sum();
+  }
+
+  /**
+   * @return the average lateness of the executions, in milliseconds
+   */
+  public long getAverageLateness() {
+    long count = executions.sum();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(totalLateness.sum() / count);
+  }
+
+  /**
+   * @return the maximum lateness of the executions, in milliseconds
+   */
+  public long getMaxLateness() {
+    return NANOSECONDS.toMillis(maxLateness.get());
+  }
+}
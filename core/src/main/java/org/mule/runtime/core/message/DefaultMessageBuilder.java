@@ -66,6 +66,7 @@ public class DefaultMessageBuilder
 
   private Object payload;
   private DataType dataType;
+  private boolean exactDataType;
   private Attributes attributes = NULL_ATTRIBUTES;
 
   private ExceptionPayload exceptionPayload;
@@ -115,12 +116,28 @@ public class DefaultMessageBuilder
   @Override
   public InternalMessage.Builder nullPayload() {
     this.payload = null;
+    this.exactDataType = false;
     return this;
   }
 
   @Override
   public InternalMessage.Builder payload(Object payload) {
     this.payload = payload;
+    this.exactDataType = false;
+    return this;
+  }
+
+  /**
+   * Sets the payload along with its {@link DataType}, which is kept as it is instead of being resolved again from the payload
+   * when the message is built. Meant for restoring a message that was serialized.
+   *
+   * @param typedValue the payload and its data type
+   * @return this builder
+   */
+  public InternalMessage.Builder typedPayload(TypedValue<?> typedValue) {
+    this.payload = typedValue.getValue();
+    this.dataType = typedValue.getDataType();
+    this.exactDataType = true;
     return this;
   }
 
@@ -129,6 +146,7 @@ public class DefaultMessageBuilder
     requireNonNull(payload);
     this.payload = payload;
     this.dataType = DataType.builder().streamType(payload.getClass()).itemType(clazz).build();
+    this.exactDataType = false;
     return this;
   }
 
@@ -137,6 +155,7 @@ public class DefaultMessageBuilder
     requireNonNull(payload);
     this.payload = payload;
     this.dataType = DataType.builder().collectionType(payload.getClass()).itemType(clazz).build();
+    this.exactDataType = false;
     return this;
   }
 
@@ -160,6 +179,7 @@ public class DefaultMessageBuilder
   @Override
   public InternalMessage.Builder mediaType(MediaType mediaType) {
     this.dataType = DataType.builder().mediaType(mediaType).build();
+    this.exactDataType = false;
     return this;
   }
 
@@ -287,7 +307,9 @@ public class DefaultMessageBuilder
   }
 
   private DataType resolveDataType() {
-    if (dataType == null) {
+    if (exactDataType) {
+      return dataType;
+    } else if (dataType == null) {
       return DataType.fromObject(payload);
     } else {
       return DataType.builder(dataType).fromObject(payload).build();
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.config.i18n.CoreMessages.correlationTimedOut;
+import static org.mule.runtime.core.config.i18n.CoreMessages.propertyHasInvalidValue;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.context.notification.RoutingNotification.CORRELATION_TIMEOUT;
+import static org.mule.runtime.core.context.notification.RoutingNotification.MISSED_AGGREGATION_GROUP_EVENT;
+import static org.mule.runtime.core.execution.ErrorHandlingExecutionTemplate.createErrorHandlingExecutionTemplate;
+import static org.mule.runtime.core.routing.AbstractAggregator.MAX_PROCESSED_GROUPS;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.execution.ExecutionTemplate;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.context.notification.RoutingNotification;
+import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.model.streaming.DeleteOnCloseFileInputStream;
+import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
+import org.mule.runtime.core.routing.correlation.CorrelationTimeoutException;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+
+/**
+ * Base class for aggregators that write each message of a correlation group to the output as soon as it arrives in sequence
+ * instead of collecting the whole group first. The output is kept in memory up to {@link #setMaxInMemorySize(int)
+ * maxInMemorySize} bytes and spilled to a temporary file in the working directory beyond that, in which case the aggregated
+ * payload is a stream over that file, which is deleted once the stream is closed.
+ * <p>
+ * The group is complete once as many messages as the group size declared by any of them were written, so only the last message
+ * of a stream needs to declare it. Messages that arrive ahead of their sequence are held until the missing ones arrive. Messages
+ * with no correlation sequence are passed on as they are.
+ * <p>
+ * If a {@link #setTimeout(long) timeout} is set, incomplete groups are either discarded, firing a
+ * {@link RoutingNotification#CORRELATION_TIMEOUT} notification and handing a {@link CorrelationTimeoutException} to the exception
+ * strategy of the flow, or passed on with the messages written so far if {@code failOnTimeout} is {@code false}. Either way,
+ * this happens in the work manager of the flow rather than in the timer thread.
+ * <p>
+ * The ids of the groups already aggregated or discarded are kept, so messages arriving for them late are dropped instead of
+ * starting a group that would never complete.
+ * <p>
+ * Implementations only define how each message is framed in the output, through {@link #writeMessage(OutputStream, Event, int)}
+ * and {@link #writeEnd(OutputStream, int)}, and how the aggregated event is built.
+ *
+ * @since 4.0
+ */
+public abstract class AbstractStreamingAggregator extends AbstractInterceptingMessageProcessor
+    implements Initialisable, Disposable {
+
+  public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 1024 * 1024;
+
+  private final Map<String, AggregationGroup> groups = new ConcurrentHashMap<>();
+  private final String spillFilePrefix;
+  private final String spillFileSuffix;
+
+  private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+  private long timeout = 0;
+  private boolean failOnTimeout = true;
+  private boolean persistentStores;
+  private String storePrefix;
+  private File spillDirectory;
+
+  private ObjectStore<Long> processedGroupsObjectStore;
+
+  /**
+   * @param spillFilePrefix the prefix of the name of the files the output is spilled to
+   * @param spillFileSuffix the suffix of the name of the files the output is spilled to
+   */
+  protected AbstractStreamingAggregator(String spillFilePrefix, String spillFileSuffix) {
+    this.spillFilePrefix = spillFilePrefix;
+    this.spillFileSuffix = spillFileSuffix;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxInMemorySize < 0) {
+      throw new InitialisationException(propertyHasInvalidValue("maxInMemorySize", maxInMemorySize), this);
+    }
+    spillDirectory = new File(muleContext.getConfiguration().getWorkingDirectory());
+
+    if (storePrefix == null) {
+      storePrefix =
+          String.format("%s%s.%s.", ThreadNameHelper.getPrefix(muleContext), flowConstruct.getName(), this.getClass().getName());
+    }
+    if (processedGroupsObjectStore == null) {
+      ObjectStoreManager objectStoreManager = muleContext.getRegistry().get(OBJECT_STORE_MANAGER);
+      processedGroupsObjectStore =
+          objectStoreManager.getObjectStore(storePrefix + ".processedGroups", persistentStores, MAX_PROCESSED_GROUPS, -1, 1000);
+    }
+  }
+
+  @Override
+  public Event process(Event event) throws MuleException {
+    GroupCorrelation groupCorrelation = event.getGroupCorrelation();
+    Optional<Integer> sequence = groupCorrelation != null ? groupCorrelation.getSequence() : Optional.empty();
+    String groupId = event.getCorrelationId();
+    if (!sequence.isPresent() || groupId == null) {
+      return processNext(event);
+    }
+
+    // spinloop in case the group gets completed or discarded by another thread
+    while (true) {
+      if (isGroupAlreadyProcessed(groupId)) {
+        return dropLateEvent(event, groupId);
+      }
+
+      AggregationGroup group = groups.computeIfAbsent(groupId, this::createGroup);
+      Event aggregated;
+      synchronized (group) {
+        if (group.closed) {
+          continue;
+        }
+        if (!group.started) {
+          // the group may have been closed and removed after the check above, so this one would never complete
+          group.started = true;
+          if (isGroupAlreadyProcessed(groupId)) {
+            group.close();
+            groups.remove(groupId, group);
+            return dropLateEvent(event, groupId);
+          }
+        }
+
+        try {
+          group.updateExpectedSize(groupCorrelation);
+          group.add(sequence.get(), event);
+          if (!group.isComplete()) {
+            return null;
+          }
+          aggregated = closeGroup(group);
+        } catch (IOException | MuleException e) {
+          discardGroup(group);
+          throw new RoutingException(createStaticMessage("Could not aggregate the messages of group " + groupId), this, e);
+        }
+      }
+      return processNext(aggregated);
+    }
+  }
+
+  private Event dropLateEvent(Event event, String groupId) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("A message was received for an aggregation group that has already been processed or discarded. "
+          + "Group id is: " + groupId + ". Dropping message");
+    }
+    muleContext.fireNotification(new RoutingNotification(event.getMessage(), null, MISSED_AGGREGATION_GROUP_EVENT));
+    return null;
+  }
+
+  private boolean isGroupAlreadyProcessed(String groupId) throws RoutingException {
+    try {
+      return processedGroupsObjectStore.contains(groupId);
+    } catch (ObjectStoreException e) {
+      throw new RoutingException(this, e);
+    }
+  }
+
+  /**
+   * Writes a message of the group to the output, right after the previous one in the sequence.
+   *
+   * @param output the output of the group
+   * @param event the message to write
+   * @param position the position of the message in the output, starting at 1. It differs from its sequence if any message before
+   *        it timed out.
+   */
+  protected abstract void writeMessage(OutputStream output, Event event, int position) throws IOException, MuleException;
+
+  /**
+   * Writes whatever has to follow the last message of the group to the output. Does nothing by default.
+   *
+   * @param output the output of the group
+   * @param count the number of messages written to the output
+   */
+  protected void writeEnd(OutputStream output, int count) throws IOException {
+    // Nothing to do
+  }
+
+  /**
+   * @param data the aggregated output, when it fits in memory
+   * @return the aggregated payload. The {@code data} itself by default.
+   */
+  protected Object getInMemoryPayload(byte[] data) throws MuleException {
+    return data;
+  }
+
+  /**
+   * @param firstEvent the first message written to the output, or the last one received if none was written
+   * @param lastEvent the last message received
+   * @param payload the aggregated payload, either as returned by {@link #getInMemoryPayload(byte[])} or as an {@link InputStream}
+   * @return the aggregated event, its correlation is cleared afterwards
+   */
+  protected abstract Event createAggregatedEvent(Event firstEvent, Event lastEvent, Object payload);
+
+  private AggregationGroup createGroup(String groupId) {
+    AggregationGroup group = new AggregationGroup(groupId);
+    if (timeout > 0) {
+      group.timeout = getTimerService(muleContext).schedule(getClass().getName(), () -> expireGroup(group), timeout,
+                                                            MILLISECONDS);
+    }
+    return group;
+  }
+
+  /**
+   * Runs in the work manager of the flow rather than in the timer thread, since the rest of the flow is run from here.
+   */
+  private void expireGroup(AggregationGroup group) {
+    ExecutionTemplate<Event> executionTemplate =
+        createErrorHandlingExecutionTemplate(muleContext, flowConstruct, flowConstruct.getExceptionListener());
+    try {
+      getExecutor().execute(() -> {
+        try {
+          executionTemplate.execute(() -> {
+            Event aggregated;
+            synchronized (group) {
+              if (group.closed) {
+                return null;
+              }
+              group.timeout = null;
+              if (failOnTimeout) {
+                muleContext.fireNotification(new RoutingNotification(group.lastEvent.getMessage(), null, CORRELATION_TIMEOUT));
+                discardGroup(group);
+                throw new CorrelationTimeoutException(correlationTimedOut(group.groupId));
+              }
+              aggregated = closeGroup(group);
+            }
+            return processNext(aggregated);
+          });
+        } catch (MessagingException e) {
+          // Already handled by TransactionTemplate
+        } catch (Exception e) {
+          muleContext.getExceptionListener().handleException(e);
+        }
+      });
+    } catch (Exception e) {
+      muleContext.getExceptionListener().handleException(e);
+    }
+  }
+
+  private Executor getExecutor() {
+    if (flowConstruct instanceof Flow && ((Flow) flowConstruct).getWorkManager() != null) {
+      return ((Flow) flowConstruct).getWorkManager();
+    }
+    return muleContext.getWorkManager();
+  }
+
+  private Event closeGroup(AggregationGroup group) throws IOException, MuleException {
+    try {
+      Object payload = group.finish();
+      Event firstEvent = group.firstEvent != null ? group.firstEvent : group.lastEvent;
+      return Event.builder(createAggregatedEvent(firstEvent, group.lastEvent, payload))
+          .groupCorrelation(GroupCorrelation.NO_CORRELATION).build();
+    } finally {
+      group.close();
+      removeProcessedGroup(group);
+    }
+  }
+
+  private void discardGroup(AggregationGroup group) {
+    group.close();
+    group.deleteSpillFile();
+    removeProcessedGroup(group);
+  }
+
+  /**
+   * Must be called holding the lock of {@code group}. The group is recorded as processed before it is removed, so a late message
+   * either finds the closed group or the processed record, and never starts the group over.
+   */
+  private void removeProcessedGroup(AggregationGroup group) {
+    try {
+      processedGroupsObjectStore.store(group.groupId, System.currentTimeMillis());
+    } catch (ObjectStoreException e) {
+      logger.warn("Could not record aggregation group " + group.groupId + " as processed: " + e.getMessage());
+    } finally {
+      groups.remove(group.groupId, group);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    for (AggregationGroup group : groups.values()) {
+      synchronized (group) {
+        group.close();
+        group.deleteSpillFile();
+      }
+    }
+    groups.clear();
+  }
+
+  public int getMaxInMemorySize() {
+    return maxInMemorySize;
+  }
+
+  /**
+   * @param maxInMemorySize the size in bytes up to which the output of each group is kept in memory
+   */
+  public void setMaxInMemorySize(int maxInMemorySize) {
+    this.maxInMemorySize = maxInMemorySize;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * @param timeout the time in milliseconds to wait for a group to be complete since its first message arrived. {@code 0} means
+   *        forever.
+   */
+  public void setTimeout(long timeout) {
+    this.timeout = timeout;
+  }
+
+  public boolean isFailOnTimeout() {
+    return failOnTimeout;
+  }
+
+  public void setFailOnTimeout(boolean failOnTimeout) {
+    this.failOnTimeout = failOnTimeout;
+  }
+
+  public boolean isPersistentStores() {
+    return persistentStores;
+  }
+
+  public void setPersistentStores(boolean persistentStores) {
+    this.persistentStores = persistentStores;
+  }
+
+  public String getStorePrefix() {
+    return storePrefix;
+  }
+
+  public void setStorePrefix(String storePrefix) {
+    this.storePrefix = storePrefix;
+  }
+
+  public void setProcessedGroupsObjectStore(ObjectStore<Long> processedGroupsObjectStore) {
+    this.processedGroupsObjectStore = processedGroupsObjectStore;
+  }
+
+  /**
+   * @return the number of groups being aggregated
+   */
+  public int getPendingGroupsCount() {
+    return groups.size();
+  }
+
+  /**
+   * State of a correlation group. All access must be synchronized on the group itself.
+   */
+  private class AggregationGroup {
+
+    private final String groupId;
+    private final DeferredFileOutputStream output;
+    private final TreeMap<Integer, Event> outOfOrder = new TreeMap<>();
+    private Integer expectedSize;
+    private int nextSequence = 1;
+    private int written;
+    private Event firstEvent;
+    private Event lastEvent;
+    private Timeout timeout;
+    private boolean closed;
+    // whether the processed groups were checked again once this group was registered
+    private boolean started;
+
+    AggregationGroup(String groupId) {
+      this.groupId = groupId;
+      this.output = new DeferredFileOutputStream(maxInMemorySize, spillFilePrefix, spillFileSuffix, spillDirectory);
+    }
+
+    void updateExpectedSize(GroupCorrelation groupCorrelation) {
+      if (expectedSize == null && groupCorrelation.getGroupSize().isPresent()) {
+        expectedSize = groupCorrelation.getGroupSize().get();
+      }
+    }
+
+    void add(int sequence, Event event) throws IOException, MuleException {
+      lastEvent = event;
+      if (sequence < nextSequence || outOfOrder.containsKey(sequence)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug(String.format("Dropping message with sequence %d of group %s since it was already received", sequence,
+                                     groupId));
+        }
+        return;
+      }
+
+      if (sequence != nextSequence) {
+        outOfOrder.put(sequence, event);
+        return;
+      }
+
+      write(event);
+      ++nextSequence;
+      Event next;
+      while ((next = outOfOrder.remove(nextSequence)) != null) {
+        write(next);
+        ++nextSequence;
+      }
+    }
+
+    private void write(Event event) throws IOException, MuleException {
+      if (firstEvent == null) {
+        firstEvent = event;
+      }
+      writeMessage(output, event, ++written);
+    }
+
+    boolean isComplete() {
+      return expectedSize != null && nextSequence > expectedSize;
+    }
+
+    /**
+     * Appends the messages still held after a gap in the sequence, skipping the missing ones.
+     *
+     * @return the aggregated payload
+     */
+    Object finish() throws IOException, MuleException {
+      for (Event event : outOfOrder.values()) {
+        write(event);
+      }
+      outOfOrder.clear();
+      writeEnd(output, written);
+      output.close();
+
+      if (output.isInMemory()) {
+        return getInMemoryPayload(output.getData());
+      }
+      return new DeleteOnCloseFileInputStream(output.getFile());
+    }
+
+    void close() {
+      closed = true;
+      if (timeout != null) {
+        timeout.cancel();
+        timeout = null;
+      }
+      outOfOrder.clear();
+      IOUtils.closeQuietly(output);
+    }
+
+    void deleteSpillFile() {
+      if (!output.isInMemory()) {
+        output.getFile().delete();
+      }
+    }
+  }
+}
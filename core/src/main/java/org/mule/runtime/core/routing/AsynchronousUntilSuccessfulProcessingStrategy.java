@@ -9,6 +9,7 @@ package org.mule.runtime.core.routing;
 import static org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation.getVariableValueOrNull;
 import static org.mule.runtime.core.routing.UntilSuccessful.DEFAULT_PROCESS_ATTEMPT_COUNT_PROPERTY_VALUE;
 import static org.mule.runtime.core.routing.UntilSuccessful.PROCESS_ATTEMPT_COUNT_PROPERTY_NAME;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
 import static org.mule.runtime.core.util.StringUtils.DASH;
 import static org.mule.runtime.core.util.store.QueuePersistenceObjectStore.DEFAULT_QUEUE_STORE;
 
@@ -25,6 +26,7 @@ import org.mule.runtime.core.api.lifecycle.Startable;
 import org.mule.runtime.core.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.core.config.ExceptionHelper;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
@@ -36,9 +38,10 @@ import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 import org.mule.runtime.core.util.queue.objectstore.QueueKey;
 
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -52,6 +55,9 @@ import org.slf4j.LoggerFactory;
  * After that it will asynchronously try to process the message through the internal route. If route was not successfully executed
  * after the configured retry count then the message will be routed to the defined dead letter queue route or in case there is no
  * dead letter queue route then it will be handled by the flow exception strategy.
+ * <p/>
+ * Retries are delayed through the {@link org.mule.runtime.core.api.timer.TimerService} of the {@link MuleContext}. Delayed
+ * retries are cancelled on stop, and picked up again from the object store on start.
  */
 public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntilSuccessfulProcessingStrategy
     implements Initialisable, Startable, Stoppable, MessagingExceptionHandlerAware {
@@ -61,7 +67,8 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
   protected transient Logger logger = LoggerFactory.getLogger(getClass());
   private MessagingExceptionHandler messagingExceptionHandler;
   private ExecutorService pool;
-  private ScheduledExecutorService scheduledRetriesPool;
+  private final Map<Serializable, Timeout> scheduledRetries = new ConcurrentHashMap<>();
+  private String retriesOwner;
 
   @Override
   public void initialise() throws InitialisationException {
@@ -79,15 +86,17 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
         String.format("%s%s.%s", ThreadNameHelper.getPrefix(getUntilSuccessfulConfiguration().getMuleContext()),
                       getUntilSuccessfulConfiguration().getFlowConstruct().getName(), "until-successful");
     pool = getUntilSuccessfulConfiguration().getThreadingProfile().createPool(threadPrefix);
-    scheduledRetriesPool = getUntilSuccessfulConfiguration().createScheduledRetriesPool(threadPrefix);
+    retriesOwner = threadPrefix + ".retries";
 
     scheduleAllPendingEventsForProcessing();
   }
 
   @Override
   public void stop() {
-    scheduledRetriesPool.shutdown();
-    scheduledRetriesPool = null;
+    for (Timeout retry : scheduledRetries.values()) {
+      retry.cancel();
+    }
+    scheduledRetries.clear();
     pool.shutdown();
     pool = null;
   }
@@ -131,10 +140,11 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     if (firstTime) {
       submitForProcessing(eventStoreKey);
     } else {
-      this.scheduledRetriesPool.schedule(() -> {
+      Timeout retry = getTimerService(getUntilSuccessfulConfiguration().getMuleContext()).schedule(retriesOwner, () -> {
+        scheduledRetries.remove(eventStoreKey);
         submitForProcessing(eventStoreKey);
-        return null;
       }, getUntilSuccessfulConfiguration().getMillisBetweenRetries(), TimeUnit.MILLISECONDS);
+      scheduledRetries.put(eventStoreKey, retry);
     }
   }
 
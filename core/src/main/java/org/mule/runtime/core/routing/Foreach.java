@@ -14,6 +14,8 @@ import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.api.context.WorkManager;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
@@ -27,7 +29,9 @@ import org.mule.runtime.core.processor.chain.DefaultMessageProcessorChain;
 import org.mule.runtime.core.processor.chain.DefaultMessageProcessorChainBuilder;
 import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
 import org.mule.runtime.core.routing.outbound.CollectionMessageSequence;
+import org.mule.runtime.core.routing.outbound.PartitionedMessageSequence;
 import org.mule.runtime.core.util.NotificationUtils;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -50,6 +54,10 @@ import org.w3c.dom.Document;
  * <p>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
+ * Defining a maxConcurrency greater than one processes up to that number of elements in parallel. In that case each element is
+ * processed with the variables of the event that arrived to foreach, instead of the ones left by the previous element, and
+ * {@link #setFailFast(boolean) failFast} determines how failures are handled.
+ * <p>
  * The {@link Event} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Processor {
@@ -69,6 +77,11 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String rootMessageVariableName;
   private String counterVariableName;
   private boolean xpathCollection;
+  private int maxConcurrency = 1;
+  private boolean failFast = true;
+  private ThreadingProfile threadingProfile;
+  private WorkManager workManager;
+  private ParallelPartsProcessor parallelPartsProcessor;
 
   @Override
   public Event process(Event event) throws MuleException {
@@ -116,7 +129,8 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     try {
       return ownedMessageProcessor.process(event);
     } catch (MessagingException e) {
-      if (splitter.equals(e.getFailingMessageProcessor()) || filter.equals(e.getFailingMessageProcessor())) {
+      if (splitter.equals(e.getFailingMessageProcessor())
+          || (filter != null && filter.equals(e.getFailingMessageProcessor()))) {
         // Make sure the context information for the exception is relative to the ForEach.
         e.getInfo().remove(INFO_LOCATION_KEY);
         throw new MessagingException(event, e, this);
@@ -155,10 +169,33 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
 
   @Override
   public void initialise() throws InitialisationException {
+    if (maxConcurrency > 1) {
+      if (threadingProfile == null) {
+        threadingProfile = muleContext.getDefaultThreadingProfile();
+      }
+      try {
+        workManager = threadingProfile.createWorkManager(ThreadNameHelper.getPrefix(muleContext) + "ForeachWorkManager",
+                                                         muleContext.getConfiguration().getShutdownTimeout());
+      } catch (Exception e) {
+        throw new InitialisationException(e, this);
+      }
+      parallelPartsProcessor = new ParallelPartsProcessor(muleContext, workManager, maxConcurrency, failFast);
+    }
+
     if (collectionExpression != null) {
       expressionConfig.setExpression(collectionExpression);
       splitter = new ExpressionSplitter(expressionConfig) {
 
+        @Override
+        protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
+          if (parallelPartsProcessor == null) {
+            return super.processParts(seq, originalEvent);
+          }
+          return processPartsInParallel(seq, (part, sequence, count) -> createPartEvent(part, originalEvent, null, sequence,
+                                                                                        count),
+                                        event -> processNext(event));
+        }
+
         @Override
         protected void propagateFlowVars(Event previousResult, final Builder builder) {
           for (String flowVarName : resolvePropagatedFlowVars(previousResult)) {
@@ -195,6 +232,50 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    if (workManager != null && !workManager.isStarted()) {
+      workManager.start();
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    try {
+      super.stop();
+    } finally {
+      // the work manager has no stopped state, so its threads are released here and created again if restarted
+      if (workManager != null) {
+        workManager.dispose();
+      }
+    }
+  }
+
+  @Override
+  public void dispose() {
+    try {
+      if (workManager != null) {
+        workManager.dispose();
+      }
+    } catch (Exception e) {
+      logger.error("Exception found while trying to dispose work manager. Will continue with the disposal", e);
+    } finally {
+      super.dispose();
+    }
+  }
+
+  /**
+   * Routes the elements of {@code seq}, grouped by {@code batchSize}, through the {@link ParallelPartsProcessor}. Both splitters
+   * delegate here, providing the means to create and route each element that they only have access to.
+   */
+  private List<Event> processPartsInParallel(MessageSequence<?> seq, ParallelPartsProcessor.PartEventFactory partEventFactory,
+                                             Processor route)
+      throws MuleException {
+    return parallelPartsProcessor.processParts(batchSize > 1 ? new PartitionedMessageSequence(seq, batchSize) : seq,
+                                               partEventFactory, route, flowConstruct);
+  }
+
   private boolean isXPathExpression(String expression) {
     return expression.matches("^xpath\\(.+\\)$") || expression.matches("^xpath3\\(.+\\)$");
   }
@@ -215,7 +296,27 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.counterVariableName = counterVariableName;
   }
 
-  private static class CollectionMapSplitter extends CollectionSplitter {
+  /**
+   * @param maxConcurrency the maximum number of elements to process in parallel. Values lower than or equal to one process
+   *        elements sequentially, which is the default.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * @param failFast whether to stop taking elements processed in parallel after the first failure, or to process all of them
+   *        and then fail with a {@link CompositeRoutingException} holding every failure. Defaults to {@code true}.
+   */
+  public void setFailFast(boolean failFast) {
+    this.failFast = failFast;
+  }
+
+  public void setThreadingProfile(ThreadingProfile threadingProfile) {
+    this.threadingProfile = threadingProfile;
+  }
+
+  private class CollectionMapSplitter extends CollectionSplitter {
 
     @Override
     protected MessageSequence<?> splitMessageIntoSequence(Event event) {
@@ -232,6 +333,15 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
       return super.splitMessageIntoSequence(event);
     }
 
+    @Override
+    protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
+      if (parallelPartsProcessor == null) {
+        return super.processParts(seq, originalEvent);
+      }
+      return processPartsInParallel(seq, (part, sequence, count) -> createPartEvent(part, originalEvent, null, sequence, count),
+                                    event -> processNext(event));
+    }
+
     @Override
     protected void propagateFlowVars(Event previousResult, final Builder builder) {
       for (String flowVarName : resolvePropagatedFlowVars(previousResult)) {
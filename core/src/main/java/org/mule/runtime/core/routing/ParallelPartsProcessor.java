@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.core.VoidMuleEvent;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.work.ProcessingMuleEventWork;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.resource.spi.work.WorkException;
+
+/**
+ * Routes the elements of a {@link MessageSequence} concurrently, with up to a maximum number of them being processed at any time.
+ * <p>
+ * Elements are taken from the sequence only as processing capacity becomes available, so the sequence is never materialised and
+ * no more than {@code maxConcurrency} elements and their results are held at once. Only the result of the last element of the
+ * sequence is kept, since it is the one whose variables a sequential iteration would leave in the event. Results are collected
+ * as they complete, so a slow element does not delay taking new ones. Each element gets a copy of the session, since elements
+ * processed concurrently must not share it.
+ * <p>
+ * When {@code failFast}, no more elements are taken after a failure, and the failure is thrown once the elements already being
+ * processed are done. Otherwise every element is processed and all the failures are thrown together in a
+ * {@link CompositeRoutingException}, keyed by the position of the element in the sequence.
+ *
+ * @since 4.0
+ */
+class ParallelPartsProcessor {
+
+  /**
+   * Creates the event for one element of the sequence.
+   */
+  interface PartEventFactory {
+
+    Event create(Object part, int correlationSequence, Integer count) throws MuleException;
+  }
+
+  private final MuleContext muleContext;
+  private final WorkManager workManager;
+  private final int maxConcurrency;
+  private final boolean failFast;
+
+  ParallelPartsProcessor(MuleContext muleContext, WorkManager workManager, int maxConcurrency, boolean failFast) {
+    this.muleContext = muleContext;
+    this.workManager = workManager;
+    this.maxConcurrency = maxConcurrency;
+    this.failFast = failFast;
+  }
+
+  /**
+   * Routes each element of {@code sequence} through {@code route}.
+   *
+   * @return the result of the last element of the sequence, if any
+   */
+  List<Event> processParts(MessageSequence<?> sequence, PartEventFactory partEventFactory, Processor route,
+                           FlowConstruct flowConstruct)
+      throws MuleException {
+    Execution execution = new Execution();
+    Integer count = sequence.size();
+    int correlationSequence = 0;
+    try {
+      while (sequence.hasNext() && !execution.mustStop()) {
+        if (execution.inFlight.size() >= maxConcurrency) {
+          execution.awaitOne();
+          continue;
+        }
+        correlationSequence++;
+        Event event = partEventFactory.create(sequence.next(), correlationSequence, count);
+        event = Event.builder(event).session(new DefaultMuleSession(event.getSession())).build();
+        execution.schedule(new PartWork(correlationSequence, route, event, flowConstruct, execution.completed));
+      }
+      execution.awaitAll();
+    } catch (MuleException e) {
+      // the elements already scheduled must not outlive the routing of the sequence
+      try {
+        execution.awaitAll();
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DefaultMuleException(createStaticMessage("Was interrupted while waiting for the elements being processed"), e);
+    }
+
+    return execution.result();
+  }
+
+  /**
+   * The state of processing one sequence.
+   */
+  private class Execution {
+
+    private final Set<PartWork> inFlight = new HashSet<>(maxConcurrency * 2);
+    private final BlockingQueue<PartWork> completed = new LinkedBlockingQueue<>();
+    private final Map<Integer, Throwable> exceptions = new LinkedHashMap<>();
+    private MuleException firstException;
+    private Event lastResult;
+    private int lastResultSequence;
+
+    void schedule(PartWork work) throws MuleException {
+      try {
+        workManager.scheduleWork(work);
+      } catch (WorkException e) {
+        throw new DefaultMuleException(createStaticMessage("Could not schedule work for element " + work.sequence), e);
+      }
+      inFlight.add(work);
+    }
+
+    boolean mustStop() {
+      return failFast && firstException != null;
+    }
+
+    void awaitAll() throws InterruptedException {
+      while (!inFlight.isEmpty()) {
+        awaitOne();
+      }
+    }
+
+    void awaitOne() throws InterruptedException {
+      PartWork work = completed.take();
+      inFlight.remove(work);
+
+      try {
+        Event result = work.getResult(Long.MAX_VALUE, MILLISECONDS);
+        if (result != null && !(result instanceof VoidMuleEvent) && work.sequence > lastResultSequence) {
+          lastResult = result;
+          lastResultSequence = work.sequence;
+        }
+      } catch (MuleException e) {
+        if (firstException == null) {
+          firstException = e;
+        }
+        exceptions.put(work.sequence, e);
+      }
+    }
+
+    List<Event> result() throws MuleException {
+      if (firstException != null) {
+        if (failFast) {
+          throw firstException;
+        }
+        throw new CompositeRoutingException(exceptions);
+      }
+      return lastResult != null ? singletonList(lastResult) : emptyList();
+    }
+  }
+
+  /**
+   * Processes one element and, once done, announces it in the queue of completed elements.
+   */
+  private class PartWork extends ProcessingMuleEventWork {
+
+    private final int sequence;
+    private final BlockingQueue<PartWork> completed;
+
+    PartWork(int sequence, Processor route, Event event, FlowConstruct flowConstruct, BlockingQueue<PartWork> completed) {
+      super(route, event, muleContext, flowConstruct);
+      this.sequence = sequence;
+      this.completed = completed;
+    }
+
+    @Override
+    protected void doRun() {
+      try {
+        super.doRun();
+      } finally {
+        completed.add(this);
+      }
+    }
+  }
+}
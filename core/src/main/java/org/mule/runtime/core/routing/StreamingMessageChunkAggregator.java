@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Reassembles the chunks of a correlation group, writing each chunk to the output as soon as it arrives in sequence instead of
+ * collecting the whole group first, as the {@link MessageChunkAggregator} does. See {@link AbstractStreamingAggregator} for how
+ * the output is buffered and how groups are completed or timed out.
+ * <p>
+ * Just like the {@link MessageChunkAggregator}, an aggregated payload kept in memory is deserialized if it is a serialized
+ * object, and left as a {@code byte[]} otherwise.
+ * <p>
+ * Since a group is complete once as many chunks as the group size declared by any of them were written, it works with the
+ * chunks of a {@link StreamingMessageChunkSplitter}, where only the last chunk of a stream declares it.
+ *
+ * @since 4.0
+ */
+public class StreamingMessageChunkAggregator extends AbstractStreamingAggregator {
+
+  public StreamingMessageChunkAggregator() {
+    super("mule-chunk-aggregator-", ".tmp");
+  }
+
+  @Override
+  protected void writeMessage(OutputStream output, Event event, int position) throws IOException, MuleException {
+    Object chunk = event.getMessage().getPayload().getValue();
+    if (chunk instanceof byte[]) {
+      output.write((byte[]) chunk);
+    } else if (chunk instanceof InputStream) {
+      try (InputStream input = (InputStream) chunk) {
+        IOUtils.copy(input, output);
+      }
+    } else {
+      output.write(event.getMessageAsBytes(muleContext));
+    }
+  }
+
+  @Override
+  protected Object getInMemoryPayload(byte[] data) {
+    try {
+      // the chunks might be of a serialized object
+      return muleContext.getObjectSerializer().deserialize(data);
+    } catch (SerializationException e) {
+      return data;
+    }
+  }
+
+  @Override
+  protected Event createAggregatedEvent(Event firstEvent, Event lastEvent, Object payload) {
+    return Event.builder(firstEvent).message(InternalMessage.builder(firstEvent.getMessage()).payload(payload).build()).build();
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static org.mule.runtime.core.config.i18n.CoreMessages.failedToReadPayload;
+import static org.mule.runtime.core.config.i18n.CoreMessages.propertyHasInvalidValue;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
+import org.mule.runtime.core.routing.outbound.EventBuilderConfigurer;
+import org.mule.runtime.core.routing.outbound.EventBuilderConfigurerIterator;
+import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Splits the payload into chunks of {@link #setMessageSize(int) messageSize} bytes, reading each chunk from the payload only
+ * when it is routed, so a streaming payload is never loaded in memory as a whole, unlike the {@link MessageChunkSplitter}.
+ * <p>
+ * {@code byte[]}, {@link File} and {@link InputStream} payloads are read as they are, any other payload is first converted to
+ * bytes. When the size of the payload is known in advance, every chunk declares the size of the correlation group, so they can be
+ * aggregated by a {@link MessageChunkAggregator}. The size of a stream is only known once it is exhausted, so only the last
+ * chunk declares it, which is enough for a {@link StreamingMessageChunkAggregator}.
+ *
+ * @since 4.0
+ */
+public class StreamingMessageChunkSplitter extends AbstractMessageSequenceSplitter implements Initialisable {
+
+  private int messageSize = 0;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (messageSize < 0) {
+      throw new InitialisationException(propertyHasInvalidValue("messageSize", messageSize), this);
+    }
+  }
+
+  @Override
+  protected boolean isSplitRequired(Event event) {
+    return messageSize != 0;
+  }
+
+  @Override
+  protected MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException {
+    Object payload = event.getMessage().getPayload().getValue();
+    try {
+      if (payload instanceof InputStream) {
+        return new IteratorMessageSequence(new ChunksIterator(event, (InputStream) payload, null));
+      } else if (payload instanceof File) {
+        File file = (File) payload;
+        return new IteratorMessageSequence(new ChunksIterator(event, new FileInputStream(file), file.length()));
+      }
+
+      byte[] data = payload instanceof byte[] ? (byte[]) payload : event.getMessageAsBytes(muleContext);
+      return new IteratorMessageSequence(new ChunksIterator(event, new ByteArrayInputStream(data), (long) data.length));
+    } catch (Exception e) {
+      throw new RoutingException(failedToReadPayload(), this, e);
+    }
+  }
+
+  public int getMessageSize() {
+    return messageSize;
+  }
+
+  /**
+   * @param messageSize the size in bytes of each chunk. {@code 0} means the message is not split.
+   */
+  public void setMessageSize(int messageSize) {
+    this.messageSize = messageSize;
+  }
+
+  /**
+   * Reads one chunk ahead of the one being routed, in order to know whether that one is the last.
+   */
+  private class ChunksIterator implements EventBuilderConfigurerIterator<byte[]>, Closeable {
+
+    private final Event event;
+    private final InputStream input;
+    private final Integer groupSize;
+    private byte[] nextChunk;
+    private int sequence;
+
+    private ChunksIterator(Event event, InputStream input, Long length) throws IOException {
+      this.event = event;
+      this.input = input;
+      this.groupSize = length != null ? (int) ((length + messageSize - 1) / messageSize) : null;
+      try {
+        this.nextChunk = readChunk();
+      } catch (IOException e) {
+        IOUtils.closeQuietly(input);
+        throw e;
+      }
+    }
+
+    private byte[] readChunk() throws IOException {
+      byte[] chunk = new byte[messageSize];
+      int read = IOUtils.read(input, chunk);
+      if (read < messageSize) {
+        IOUtils.closeQuietly(input);
+        if (read == 0) {
+          return null;
+        }
+        return Arrays.copyOf(chunk, read);
+      }
+      return chunk;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextChunk != null;
+    }
+
+    @Override
+    public byte[] next() {
+      if (nextChunk == null) {
+        throw new NoSuchElementException();
+      }
+      byte[] chunk = nextChunk;
+      ++sequence;
+      try {
+        nextChunk = readChunk();
+      } catch (IOException e) {
+        IOUtils.closeQuietly(input);
+        throw new MuleRuntimeException(createStaticMessage("Could not read chunk " + (sequence + 1) + " of the payload"), e);
+      }
+      return chunk;
+    }
+
+    @Override
+    public EventBuilderConfigurer nextEventBuilderConfigurer() {
+      final byte[] chunk = next();
+      final int chunkSequence = sequence;
+      final Integer chunkGroupSize = groupSize != null ? groupSize : (nextChunk == null ? (Integer) chunkSequence : null);
+      return builder -> builder.message(InternalMessage.builder(event.getMessage()).payload(chunk).build())
+          .groupCorrelation(new GroupCorrelation(chunkGroupSize, chunkSequence));
+    }
+
+    @Override
+    public void close() throws IOException {
+      nextChunk = null;
+      input.close();
+    }
+  }
+}
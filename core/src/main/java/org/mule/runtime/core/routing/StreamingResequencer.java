@@ -0,0 +1,505 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.config.i18n.CoreMessages.correlationTimedOut;
+import static org.mule.runtime.core.config.i18n.CoreMessages.propertyHasInvalidValue;
+import static org.mule.runtime.core.context.notification.RoutingNotification.CORRELATION_TIMEOUT;
+import static org.mule.runtime.core.context.notification.RoutingNotification.MISSED_AGGREGATION_GROUP_EVENT;
+import static org.mule.runtime.core.execution.ErrorHandlingExecutionTemplate.createErrorHandlingExecutionTemplate;
+import static org.mule.runtime.core.routing.AbstractAggregator.MAX_PROCESSED_GROUPS;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.execution.ExecutionCallback;
+import org.mule.runtime.core.api.execution.ExecutionTemplate;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.context.notification.RoutingNotification;
+import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
+import org.mule.runtime.core.routing.correlation.CorrelationTimeoutException;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <code>StreamingResequencer</code> resequences events according to their correlation sequence as they arrive, instead of
+ * holding back the whole correlation group like the {@link Resequencer} does. Each event is passed on as soon as all the events
+ * with a lower sequence in its group were passed on.
+ * <p>
+ * Out of order events are kept in a reorder buffer of up to {@link #setMaxBufferSize(int) maxBufferSize} events per group. When
+ * the buffer is full, the events furthest away in the sequence are spilled to an object store, and are read back when their turn
+ * comes.
+ * <p>
+ * The {@link #setTimeout(long) timeout} applies to each gap in the sequence: it starts when an event arrives ahead of the
+ * missing ones and is reset every time the sequence advances. When a gap times out, the missing events are skipped if
+ * {@code failOnTimeout} is {@code false}. Otherwise the pending events of the group are discarded, a
+ * {@link RoutingNotification#CORRELATION_TIMEOUT} notification is fired and a {@link CorrelationTimeoutException} is handed to the
+ * exception strategy of the flow.
+ * <p>
+ * Events with no correlation sequence are passed on right away.
+ * <p>
+ * Events are passed on outside of the lock of their group, so other threads can keep adding events to the group meanwhile, and by
+ * a single thread at a time per group, so they are passed on in order. Timed out gaps are handled in the work manager of the flow,
+ * so the threads of the shared {@link org.mule.runtime.core.api.timer.TimerService} never pass events on.
+ * <p>
+ * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Resequencer.html">http:// www.eaipatterns.com/Resequencer.html<a/>
+ *
+ * @since 4.0
+ */
+public class StreamingResequencer extends AbstractInterceptingMessageProcessor implements Initialisable, Disposable {
+
+  public static final int DEFAULT_MAX_BUFFER_SIZE = 100;
+
+  private final Map<String, ResequencingGroup> groups = new ConcurrentHashMap<>();
+
+  private int maxBufferSize = DEFAULT_MAX_BUFFER_SIZE;
+  private long timeout = 0;
+  private boolean failOnTimeout = true;
+  private boolean persistentStores;
+  private String storePrefix;
+
+  private ObjectStore<Event> spillObjectStore;
+  private ObjectStore<Long> processedGroupsObjectStore;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxBufferSize <= 0) {
+      throw new InitialisationException(propertyHasInvalidValue("maxBufferSize", maxBufferSize), this);
+    }
+
+    if (storePrefix == null) {
+      storePrefix =
+          String.format("%s%s.%s.", ThreadNameHelper.getPrefix(muleContext), flowConstruct.getName(), this.getClass().getName());
+    }
+
+    ObjectStoreManager objectStoreManager = muleContext.getRegistry().get(OBJECT_STORE_MANAGER);
+    if (spillObjectStore == null) {
+      spillObjectStore = objectStoreManager.getObjectStore(storePrefix + ".spilledEvents", persistentStores);
+    }
+    if (processedGroupsObjectStore == null) {
+      processedGroupsObjectStore =
+          objectStoreManager.getObjectStore(storePrefix + ".processedGroups", persistentStores, MAX_PROCESSED_GROUPS, -1, 1000);
+    }
+  }
+
+  @Override
+  public Event process(Event event) throws MuleException {
+    GroupCorrelation groupCorrelation = event.getGroupCorrelation();
+    Optional<Integer> sequence = groupCorrelation != null ? groupCorrelation.getSequence() : Optional.empty();
+    String groupId = event.getCorrelationId();
+    if (!sequence.isPresent() || groupId == null) {
+      return processNext(event);
+    }
+
+    // spinloop in case the group gets completed or discarded by another thread
+    while (true) {
+      if (isGroupAlreadyProcessed(groupId)) {
+        return dropLateEvent(event, groupId);
+      }
+
+      ResequencingGroup group = groups.computeIfAbsent(groupId, ResequencingGroup::new);
+      boolean release;
+      synchronized (group) {
+        if (group.closed) {
+          continue;
+        }
+        if (!group.started) {
+          // the group may have been closed and removed after the check above, so this one would never complete
+          group.started = true;
+          if (isGroupAlreadyProcessed(groupId)) {
+            group.closed = true;
+            groups.remove(groupId, group);
+            return dropLateEvent(event, groupId);
+          }
+        }
+
+        group.updateExpectedSize(groupCorrelation);
+        group.add(sequence.get(), event);
+        if (group.isComplete()) {
+          closeGroup(group);
+        } else {
+          updateGapTimeout(group);
+        }
+        release = group.startReleasing();
+      }
+      return release ? releaseReadyEvents(group) : null;
+    }
+  }
+
+  private Event dropLateEvent(Event event, String groupId) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("An event was received for a resequencing group that has already been processed or discarded. "
+          + "Group id is: " + groupId + ". Dropping event");
+    }
+    muleContext.fireNotification(new RoutingNotification(event.getMessage(), null, MISSED_AGGREGATION_GROUP_EVENT));
+    return null;
+  }
+
+  /**
+   * Passes on the events of {@code group} which are ready, until there are none left. Must be called only by the thread which
+   * {@link ResequencingGroup#startReleasing() started releasing} the events of the group.
+   *
+   * @return the result of the last event passed on
+   */
+  private Event releaseReadyEvents(ResequencingGroup group) throws MuleException {
+    Event last = null;
+    boolean released = false;
+    try {
+      while (true) {
+        Event next;
+        synchronized (group) {
+          next = group.ready.poll();
+          if (next == null) {
+            group.releasing = false;
+            released = true;
+            return last;
+          }
+        }
+        last = processNext(next);
+      }
+    } finally {
+      if (!released) {
+        // the events after the failed one still have to be passed on
+        boolean pending;
+        synchronized (group) {
+          group.releasing = false;
+          pending = !group.ready.isEmpty();
+        }
+        if (pending) {
+          releaseLater(group);
+        }
+      }
+    }
+  }
+
+  private void releaseLater(ResequencingGroup group) {
+    synchronized (group) {
+      if (!group.startReleasing()) {
+        return;
+      }
+    }
+    processInBackground(() -> releaseReadyEvents(group));
+  }
+
+  /**
+   * Runs {@code callback} in the work manager of the flow, handing its failures to the exception strategy of the flow.
+   */
+  private void processInBackground(ExecutionCallback<Event> callback) {
+    ExecutionTemplate<Event> executionTemplate =
+        createErrorHandlingExecutionTemplate(muleContext, flowConstruct, flowConstruct.getExceptionListener());
+    try {
+      getExecutor().execute(() -> {
+        try {
+          executionTemplate.execute(callback);
+        } catch (MessagingException e) {
+          // Already handled by TransactionTemplate
+        } catch (Exception e) {
+          muleContext.getExceptionListener().handleException(e);
+        }
+      });
+    } catch (Exception e) {
+      muleContext.getExceptionListener().handleException(e);
+    }
+  }
+
+  private Executor getExecutor() {
+    if (flowConstruct instanceof Flow && ((Flow) flowConstruct).getWorkManager() != null) {
+      return ((Flow) flowConstruct).getWorkManager();
+    }
+    return muleContext.getWorkManager();
+  }
+
+  private void updateGapTimeout(ResequencingGroup group) {
+    if (!group.hasPendingEvents()) {
+      group.cancelGapTimeout();
+    } else if (group.gapTimeout == null || group.gapSequence != group.nextSequence) {
+      group.cancelGapTimeout();
+      if (timeout > 0) {
+        final int gapSequence = group.nextSequence;
+        group.gapSequence = gapSequence;
+        group.gapTimeout = getTimerService(muleContext)
+            .schedule(storePrefix + "resequencer", () -> processInBackground(() -> expireGap(group, gapSequence)), timeout,
+                      MILLISECONDS);
+      }
+    }
+  }
+
+  private Event expireGap(ResequencingGroup group, int gapSequence) throws MuleException {
+    boolean release;
+    synchronized (group) {
+      if (group.closed || group.nextSequence != gapSequence) {
+        return null;
+      }
+      group.gapTimeout = null;
+      handleGapTimeout(group);
+      release = group.startReleasing();
+    }
+    return release ? releaseReadyEvents(group) : null;
+  }
+
+  private void handleGapTimeout(ResequencingGroup group) throws MuleException {
+    int firstPending = group.firstPendingSequence();
+    if (failOnTimeout) {
+      Event pending = group.poll(firstPending);
+      muleContext.fireNotification(new RoutingNotification(pending.getMessage(), null, CORRELATION_TIMEOUT));
+      closeGroup(group);
+      throw new CorrelationTimeoutException(correlationTimedOut(group.groupId));
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Resequencing gap timed out for group %s. Skipping sequence numbers %d to %d", group.groupId,
+                                 group.nextSequence, firstPending - 1));
+    }
+    group.nextSequence = firstPending;
+    group.moveReadyEvents();
+    if (group.isComplete()) {
+      closeGroup(group);
+    } else {
+      updateGapTimeout(group);
+    }
+  }
+
+  /**
+   * Must be called holding the lock of {@code group}. The group is recorded as processed before it is removed, so a late event
+   * either finds the closed group or the processed record, and never starts the group over.
+   */
+  private void closeGroup(ResequencingGroup group) throws ObjectStoreException {
+    group.closed = true;
+    group.cancelGapTimeout();
+    try {
+      group.discardPendingEvents();
+    } finally {
+      try {
+        processedGroupsObjectStore.store(group.groupId, System.currentTimeMillis());
+      } finally {
+        groups.remove(group.groupId, group);
+      }
+    }
+  }
+
+  private boolean isGroupAlreadyProcessed(String groupId) throws RoutingException {
+    try {
+      return processedGroupsObjectStore.contains(groupId);
+    } catch (ObjectStoreException e) {
+      throw new RoutingException(this, e);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    for (ResequencingGroup group : groups.values()) {
+      synchronized (group) {
+        group.cancelGapTimeout();
+      }
+    }
+    groups.clear();
+  }
+
+  public int getMaxBufferSize() {
+    return maxBufferSize;
+  }
+
+  /**
+   * @param maxBufferSize the maximum number of out of order events kept in memory for each group
+   */
+  public void setMaxBufferSize(int maxBufferSize) {
+    this.maxBufferSize = maxBufferSize;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * @param timeout the time in milliseconds to wait for the missing events of a gap in the sequence. {@code 0} means forever.
+   */
+  public void setTimeout(long timeout) {
+    this.timeout = timeout;
+  }
+
+  public boolean isFailOnTimeout() {
+    return failOnTimeout;
+  }
+
+  public void setFailOnTimeout(boolean failOnTimeout) {
+    this.failOnTimeout = failOnTimeout;
+  }
+
+  public boolean isPersistentStores() {
+    return persistentStores;
+  }
+
+  public void setPersistentStores(boolean persistentStores) {
+    this.persistentStores = persistentStores;
+  }
+
+  public String getStorePrefix() {
+    return storePrefix;
+  }
+
+  public void setStorePrefix(String storePrefix) {
+    this.storePrefix = storePrefix;
+  }
+
+  public void setSpillObjectStore(ObjectStore<Event> spillObjectStore) {
+    this.spillObjectStore = spillObjectStore;
+  }
+
+  public void setProcessedGroupsObjectStore(ObjectStore<Long> processedGroupsObjectStore) {
+    this.processedGroupsObjectStore = processedGroupsObjectStore;
+  }
+
+  /**
+   * @return the number of groups which have events waiting for a gap in their sequence to close
+   */
+  public int getPendingGroupsCount() {
+    return groups.size();
+  }
+
+  /**
+   * State of a correlation group. All access must be synchronized on the group itself.
+   */
+  private class ResequencingGroup {
+
+    private final String groupId;
+    private final TreeMap<Integer, Event> buffer = new TreeMap<>();
+    private final TreeSet<Integer> spilled = new TreeSet<>();
+    // events whose turn has come, waiting to be passed on outside of the lock
+    private final Deque<Event> ready = new ArrayDeque<>();
+    private boolean releasing;
+    private Integer expectedSize;
+    private int nextSequence = 1;
+    private Timeout gapTimeout;
+    private int gapSequence;
+    private boolean closed;
+    // whether the processed groups were checked again once this group was registered
+    private boolean started;
+
+    ResequencingGroup(String groupId) {
+      this.groupId = groupId;
+    }
+
+    void updateExpectedSize(GroupCorrelation groupCorrelation) {
+      if (expectedSize == null && groupCorrelation.getGroupSize().isPresent()) {
+        expectedSize = groupCorrelation.getGroupSize().get();
+      }
+    }
+
+    void add(int sequence, Event event) throws MuleException {
+      if (sequence < nextSequence || buffer.containsKey(sequence) || spilled.contains(sequence)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug(String.format("Dropping event with sequence %d of group %s since it was already received", sequence,
+                                     groupId));
+        }
+        return;
+      }
+
+      if (sequence == nextSequence) {
+        ++nextSequence;
+        ready.add(event);
+        moveReadyEvents();
+        return;
+      }
+
+      if (buffer.size() < maxBufferSize) {
+        buffer.put(sequence, event);
+      } else if (sequence > buffer.lastKey()) {
+        spill(sequence, event);
+      } else {
+        Map.Entry<Integer, Event> furthest = buffer.pollLastEntry();
+        spill(furthest.getKey(), furthest.getValue());
+        buffer.put(sequence, event);
+      }
+    }
+
+    void moveReadyEvents() throws ObjectStoreException {
+      Event next;
+      while ((next = poll(nextSequence)) != null) {
+        ++nextSequence;
+        ready.add(next);
+      }
+    }
+
+    /**
+     * @return {@code true} if the calling thread has to pass on the ready events, {@code false} if there are none or another
+     *         thread is already passing them on
+     */
+    boolean startReleasing() {
+      if (releasing || ready.isEmpty()) {
+        return false;
+      }
+      releasing = true;
+      return true;
+    }
+
+    Event poll(int sequence) throws ObjectStoreException {
+      Event event = buffer.remove(sequence);
+      if (event == null && spilled.remove(sequence)) {
+        event = spillObjectStore.remove(spillKey(sequence));
+      }
+      return event;
+    }
+
+    private void spill(int sequence, Event event) throws ObjectStoreException {
+      spillObjectStore.store(spillKey(sequence), event);
+      spilled.add(sequence);
+    }
+
+    private String spillKey(int sequence) {
+      return groupId + "." + sequence;
+    }
+
+    boolean hasPendingEvents() {
+      return !buffer.isEmpty() || !spilled.isEmpty();
+    }
+
+    int firstPendingSequence() {
+      if (spilled.isEmpty()) {
+        return buffer.firstKey();
+      }
+      return buffer.isEmpty() ? spilled.first() : Math.min(buffer.firstKey(), spilled.first());
+    }
+
+    boolean isComplete() {
+      return expectedSize != null && nextSequence > expectedSize;
+    }
+
+    void cancelGapTimeout() {
+      if (gapTimeout != null) {
+        gapTimeout.cancel();
+        gapTimeout = null;
+      }
+    }
+
+    void discardPendingEvents() throws ObjectStoreException {
+      buffer.clear();
+      for (Integer sequence : spilled) {
+        spillObjectStore.remove(spillKey(sequence));
+      }
+      spilled.clear();
+    }
+  }
+}
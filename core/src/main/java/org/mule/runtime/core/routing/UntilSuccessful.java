@@ -22,9 +22,7 @@ import org.mule.runtime.core.processor.chain.DefaultMessageProcessorChain;
 import org.mule.runtime.core.routing.filters.ExpressionFilter;
 import org.mule.runtime.core.routing.outbound.AbstractOutboundRouter;
 import org.mule.runtime.core.util.Preconditions;
-import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -155,12 +153,6 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     }
   }
 
-  @Override
-  public ScheduledThreadPoolExecutor createScheduledRetriesPool(final String threadPrefix) {
-    return new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(threadPrefix + "_retries",
-                                                                     Thread.currentThread().getContextClassLoader()));
-  }
-
   @Override
   public void stop() throws MuleException {
     if (untilSuccessfulStrategy instanceof Stoppable) {
@@ -14,8 +14,6 @@ import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.routing.filters.ExpressionFilter;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-
 /**
  * Configuration required for UntilSuccessful router processing strategy.
  */
@@ -26,12 +24,6 @@ public interface UntilSuccessfulConfiguration {
    */
   ThreadingProfile getThreadingProfile();
 
-  /**
-   * @param threadPrefix the prefix for the name of the threads of this executor's pool.
-   * @return an executor responsible for calling the retries for this processing strategy.
-   */
-  ScheduledThreadPoolExecutor createScheduledRetriesPool(final String threadPrefix);
-
   /**
    * @return an ObjectStore to store until successful internal data. Always returns a not null value.
    */
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.routing.outbound;
 
 import static java.util.Collections.emptySet;
+import static org.apache.commons.io.IOUtils.closeQuietly;
 
 import org.mule.runtime.core.VoidMuleEvent;
 import org.mule.runtime.core.api.MuleContext;
@@ -22,6 +23,7 @@ import org.mule.runtime.core.routing.AbstractSplitter;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -76,7 +78,21 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
    */
   protected abstract MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException;
 
+  /**
+   * Routes each element of the sequence. A {@link Closeable} sequence is closed once done, since it is not read to its end if
+   * routing an element fails.
+   */
   protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
+    try {
+      return doProcessParts(seq, originalEvent);
+    } finally {
+      if (seq instanceof Closeable) {
+        closeQuietly((Closeable) seq);
+      }
+    }
+  }
+
+  private List<Event> doProcessParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
     List<Event> resultEvents = new ArrayList<>();
     int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
@@ -88,16 +104,7 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     for (; messageSequence.hasNext();) {
       correlationSequence++;
 
-      final Builder builder = Event.builder(originalEvent);
-
-      propagateFlowVars(lastResult, builder);
-      if (counterVariableName != null) {
-        builder.addVariable(counterVariableName, correlationSequence);
-      }
-
-      builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
-      initEventBuilder(messageSequence.next(), originalEvent, builder, resolvePropagatedFlowVars(lastResult));
-      final Event event = builder.build();
+      final Event event = createPartEvent(messageSequence.next(), originalEvent, lastResult, correlationSequence, count);
       Event resultEvent = processNext(event);
       if (resultEvent != null && !VoidMuleEvent.getInstance().equals(resultEvent)) {
         resultEvents.add(resultEvent);
@@ -110,6 +117,29 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     return resultEvents;
   }
 
+  /**
+   * Creates the event for one element of the sequence.
+   *
+   * @param part the element of the sequence
+   * @param originalEvent the event that was split
+   * @param lastResult the result of processing the previous element, if any
+   * @param correlationSequence the position of the element in the sequence, starting at 1
+   * @param count the size of the sequence, or {@link MessageSequence#UNKNOWN_SIZE} if it is unknown
+   * @return the event to route for the element
+   */
+  protected Event createPartEvent(Object part, Event originalEvent, Event lastResult, int correlationSequence, Integer count) {
+    final Builder builder = Event.builder(originalEvent);
+
+    propagateFlowVars(lastResult, builder);
+    if (counterVariableName != null) {
+      builder.addVariable(counterVariableName, correlationSequence);
+    }
+
+    builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
+    initEventBuilder(part, originalEvent, builder, resolvePropagatedFlowVars(lastResult));
+    return builder.build();
+  }
+
   protected Set<String> resolvePropagatedFlowVars(Event lastResult) {
     return emptySet();
   }
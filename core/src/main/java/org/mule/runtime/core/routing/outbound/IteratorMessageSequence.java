@@ -9,18 +9,20 @@ package org.mule.runtime.core.routing.outbound;
 import org.mule.runtime.core.routing.AbstractMessageSequence;
 import org.mule.runtime.core.routing.MessageSequence;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Iterator;
 
 import org.apache.commons.lang.Validate;
 
 /**
  * A {@link MessageSequence} that delegates its {@link #hasNext()} and {@link #next()} methods to an {@link Iterator}, and has no
- * estimated size
+ * estimated size. Closing it closes the {@link Iterator} if it is {@link Closeable}.
  * 
  * @author flbulgarelli
  * @param <T>
  */
-public final class IteratorMessageSequence extends AbstractMessageSequence {
+public final class IteratorMessageSequence extends AbstractMessageSequence implements Closeable {
 
   private final Iterator iter;
 
@@ -48,4 +50,10 @@ public final class IteratorMessageSequence extends AbstractMessageSequence {
     }
   }
 
+  @Override
+  public void close() throws IOException {
+    if (iter instanceof Closeable) {
+      ((Closeable) iter).close();
+    }
+  }
 }
@@ -6,15 +6,20 @@
  */
 package org.mule.runtime.core.routing.requestreply;
 
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation.setCurrentEvent;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_SESSION_PROPERTY;
 import static org.mule.runtime.core.config.i18n.CoreMessages.responseTimedOutWaitingForId;
 import static org.mule.runtime.core.context.notification.RoutingNotification.MISSED_ASYNC_REPLY;
 import static org.mule.runtime.core.message.GroupCorrelation.NOT_SET;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import org.mule.runtime.core.NonBlockingVoidMuleEvent;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.api.connector.ReplyToHandler;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.FlowConstructAware;
 import org.mule.runtime.core.api.lifecycle.Disposable;
@@ -29,9 +34,13 @@ import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.context.notification.RoutingNotification;
 import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.management.stats.AsyncReplyStatistics;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessorBase;
+import org.mule.runtime.core.processor.NonBlockingMessageProcessor;
 import org.mule.runtime.core.routing.EventProcessingThread;
 import org.mule.runtime.core.util.ObjectUtils;
 import org.mule.runtime.core.util.concurrent.Latch;
@@ -43,12 +52,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.buffer.BoundedFifoBuffer;
 
+/**
+ * Sends requests through the next message processor and waits for their replies from a reply {@link MessageSource}, matching
+ * replies and requests by correlation id.
+ * <p>
+ * By default the thread sending the request waits for its reply. When {@link #setNonBlocking(boolean) non-blocking} replies are
+ * enabled and the flow is being processed non-blocking, a continuation is registered for the request instead, and the flow is
+ * resumed on the thread of the reply source once the reply arrives. Timeouts of non-blocking requests are handled by the
+ * shared {@link org.mule.runtime.core.api.timer.TimerService}, which hands the continuation over to the work manager of the flow
+ * so that its threads are never kept busy processing flows.
+ */
 public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterceptingMessageProcessorBase
-    implements RequestReplyRequesterMessageProcessor, FlowConstructAware, Initialisable, Startable, Stoppable, Disposable {
+    implements RequestReplyRequesterMessageProcessor, NonBlockingMessageProcessor, FlowConstructAware, Initialisable, Startable,
+    Stoppable, Disposable {
 
   public static final int MAX_PROCESSED_GROUPS = 50000;
   public static final int UNCLAIMED_TIME_TO_LIVE = 60000;
@@ -60,11 +81,14 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
 
   protected volatile long timeout = -1;
   protected volatile boolean failOnTimeout = true;
+  protected volatile boolean nonBlocking = false;
   protected MessageSource replyMessageSource;
   protected FlowConstruct flowConstruct;
   private final Processor internalAsyncReplyMessageProcessor = new InternalAsyncReplyMessageProcessor();
   private AsyncReplyMonitoringThread replyThread;
   protected final Map<String, Latch> locks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, PendingReply> pendingReplies = new ConcurrentHashMap<>();
+  private final AsyncReplyStatistics statistics = new AsyncReplyStatistics();
   private String storePrefix = "";
 
   protected final ConcurrentMap<String, Event> responseEvents = new ConcurrentHashMap<>();
@@ -78,7 +102,13 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
   public Event process(Event event) throws MuleException {
     if (replyMessageSource == null) {
       return processNext(event);
+    } else if (isNonBlocking(event)) {
+      processNonBlocking(event);
+      // Clear event as we are done with this thread.
+      setCurrentEvent(null);
+      return NonBlockingVoidMuleEvent.getInstance();
     } else {
+      long start = nanoTime();
       locks.put(getAsyncReplyCorrelationId(event), createEventLock());
 
       sendAsyncRequest(event);
@@ -86,18 +116,115 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
       Event resultEvent = receiveAsyncReply(event);
 
       if (resultEvent != null) {
-        // If result has MULE_SESSION property then merge session properties returned with existing
-        // session properties. See MULE-5852
-        if (resultEvent.getMessage().getInboundProperty(MULE_SESSION_PROPERTY) != null) {
-          event.getSession().merge(resultEvent.getSession());
-        }
-        resultEvent = Event.builder(event).message(resultEvent.getMessage()).build();
+        statistics.incReceived(nanoTime() - start);
+        resultEvent = mergeReply(event, resultEvent);
         setCurrentEvent(resultEvent);
       }
       return resultEvent;
     }
   }
 
+  private Event mergeReply(Event event, Event reply) {
+    // If result has MULE_SESSION property then merge session properties returned with existing
+    // session properties. See MULE-5852
+    if (reply.getMessage().getInboundProperty(MULE_SESSION_PROPERTY) != null) {
+      event.getSession().merge(reply.getSession());
+    }
+    return Event.builder(event).message(reply.getMessage()).build();
+  }
+
+  protected boolean isNonBlocking(Event event) {
+    return nonBlocking && event.isAllowNonBlocking() && event.getReplyToHandler() != null;
+  }
+
+  /**
+   * Registers a continuation for the reply of {@code event} and sends the request, without waiting for the reply.
+   */
+  private void processNonBlocking(Event event) throws MuleException {
+    String asyncReplyCorrelationId = getAsyncReplyCorrelationId(event);
+    PendingReply pendingReply = new PendingReply(event);
+    pendingReplies.put(asyncReplyCorrelationId, pendingReply);
+    if (timeout > 0) {
+      pendingReply.timeout = getTimerService(muleContext)
+          .schedule(name, () -> expire(asyncReplyCorrelationId, pendingReply), timeout, MILLISECONDS);
+    }
+
+    try {
+      // The continuation belongs to this requester, the request must not resume the flow on its own
+      sendAsyncRequest(Event.builder(event).replyToHandler(null).build());
+    } catch (MuleException e) {
+      if (pendingReplies.remove(asyncReplyCorrelationId, pendingReply)) {
+        pendingReply.cancelTimeout();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Resumes the flow of a non-blocking request with its reply, in the current thread.
+   */
+  private void resume(String asyncReplyCorrelationId, PendingReply pendingReply, Event reply) {
+    pendingReply.cancelTimeout();
+    addProcessed(asyncReplyCorrelationId);
+    statistics.incReceived(nanoTime() - pendingReply.start);
+
+    Event event = pendingReply.event;
+    ReplyToHandler replyToHandler = event.getReplyToHandler();
+    try {
+      Event resultEvent = mergeReply(event, reply);
+      setCurrentEvent(resultEvent);
+      replyToHandler.processReplyTo(resultEvent, null, null);
+    } catch (MessagingException e) {
+      replyToHandler.processExceptionReplyTo(e, null);
+    } catch (Exception e) {
+      replyToHandler.processExceptionReplyTo(new MessagingException(event, e, this), null);
+    }
+  }
+
+  /**
+   * Fails or, if not {@link #setFailOnTimeout(boolean) failing on timeout}, resumes with no result the flow of a non-blocking
+   * request whose reply did not arrive in time. The flow is resumed in a thread of the work manager of the flow, since this is
+   * called by the threads of the timer service.
+   */
+  private void expire(String asyncReplyCorrelationId, PendingReply pendingReply) {
+    if (!pendingReplies.remove(asyncReplyCorrelationId, pendingReply)) {
+      // The reply arrived just in time
+      return;
+    }
+    addProcessed(asyncReplyCorrelationId);
+    statistics.incTimedOut();
+
+    try {
+      getContinuationExecutor().execute(() -> resumeExpired(asyncReplyCorrelationId, pendingReply));
+    } catch (Exception e) {
+      logger.warn("Could not resume flow after async reply timeout for id: " + asyncReplyCorrelationId, e);
+    }
+  }
+
+  private void resumeExpired(String asyncReplyCorrelationId, PendingReply pendingReply) {
+    Event event = pendingReply.event;
+    ReplyToHandler replyToHandler = event.getReplyToHandler();
+    try {
+      if (failOnTimeout) {
+        muleContext.fireNotification(new RoutingNotification(event.getMessage(), null, RoutingNotification.ASYNC_REPLY_TIMEOUT));
+        ResponseTimeoutException timeoutException =
+            new ResponseTimeoutException(responseTimedOutWaitingForId((int) timeout, asyncReplyCorrelationId), null);
+        replyToHandler.processExceptionReplyTo(new MessagingException(event, timeoutException, this), null);
+      } else {
+        replyToHandler.processReplyTo(null, null, null);
+      }
+    } catch (Exception e) {
+      logger.warn("Could not resume flow after async reply timeout for id: " + asyncReplyCorrelationId, e);
+    }
+  }
+
+  private Executor getContinuationExecutor() {
+    if (flowConstruct instanceof Flow && ((Flow) flowConstruct).getWorkManager() != null) {
+      return ((Flow) flowConstruct).getWorkManager();
+    }
+    return muleContext.getWorkManager();
+  }
+
   /**
    * Creates the lock used to synchronize a given event
    * 
@@ -115,6 +242,28 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
     this.failOnTimeout = failOnTimeout;
   }
 
+  /**
+   * @param nonBlocking whether to wait for replies without blocking the requesting thread when the flow is processed
+   *        non-blocking
+   */
+  public void setNonBlocking(boolean nonBlocking) {
+    this.nonBlocking = nonBlocking;
+  }
+
+  /**
+   * @return the number of requests whose reply is being waited for, either blocking or not
+   */
+  public int getPendingRepliesCount() {
+    return locks.size() + pendingReplies.size();
+  }
+
+  /**
+   * @return the statistics of the replies to the requests of this requester
+   */
+  public AsyncReplyStatistics getStatistics() {
+    return statistics;
+  }
+
   @Override
   public void setReplySource(MessageSource messageSource) {
     verifyReplyMessageSource(messageSource);
@@ -145,6 +294,10 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
 
   @Override
   public void dispose() {
+    for (PendingReply pendingReply : pendingReplies.values()) {
+      pendingReply.cancelTimeout();
+    }
+    pendingReplies.clear();
     if (store != null) {
       try {
         ((ObjectStoreManager) muleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER)).disposeStore(store);
@@ -175,7 +328,6 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
 
   protected Event receiveAsyncReply(Event event) throws MuleException {
     String asyncReplyCorrelationId = getAsyncReplyCorrelationId(event);
-    System.out.println("receiveAsyncReply: " + asyncReplyCorrelationId);
     Latch asyncReplyLatch = locks.get(asyncReplyCorrelationId);
     // flag for catching the interrupted status of the Thread waiting for a
     // result
@@ -223,6 +375,7 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
       return result;
     } else {
       addProcessed(asyncReplyCorrelationId);
+      statistics.incTimedOut();
 
       if (failOnTimeout) {
         muleContext.fireNotification(new RoutingNotification(event.getMessage(), null, RoutingNotification.ASYNC_REPLY_TIMEOUT));
@@ -257,12 +410,39 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
 
     @Override
     public Event process(Event event) throws MuleException {
-      store.store(getAsyncReplyCorrelationId(event), event);
-      replyThread.processNow();
+      String asyncReplyCorrelationId = getAsyncReplyCorrelationId(event);
+      PendingReply pendingReply = pendingReplies.remove(asyncReplyCorrelationId);
+      if (pendingReply != null) {
+        resume(asyncReplyCorrelationId, pendingReply, event);
+      } else {
+        store.store(asyncReplyCorrelationId, event);
+        replyThread.processNow();
+      }
       return null;
     }
   }
 
+  /**
+   * The continuation of a non-blocking request.
+   */
+  private static class PendingReply {
+
+    private final Event event;
+    private final long start = nanoTime();
+    private volatile Timeout timeout;
+
+    PendingReply(Event event) {
+      this.event = event;
+    }
+
+    void cancelTimeout() {
+      Timeout timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return ObjectUtils.toString(this);
@@ -303,7 +483,11 @@ public abstract class AbstractAsyncRequestReplyRequester extends AbstractInterce
                                                             MISSED_ASYNC_REPLY));
             } else {
               Latch l = locks.get(correlationId);
-              if (l != null) {
+              PendingReply pendingReply;
+              if (l == null && (pendingReply = pendingReplies.remove(correlationId)) != null) {
+                deleteEvent = true;
+                resume(correlationId, pendingReply, retrieveEvent(correlationId));
+              } else if (l != null) {
                 Event event = retrieveEvent(correlationId);
 
                 Event previousResult = responseEvents.putIfAbsent(correlationId, event);
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+/**
+ * Writes and reads the instances of a class registered in a {@link CompactObjectSerializer}, instead of relying on Java
+ * serialization for them.
+ *
+ * @param <T> the type of the values handled by this codec
+ * @since 4.0
+ */
+public interface CompactCodec<T> {
+
+  /**
+   * Writes the state of {@code value}. Nested values may be written through {@link CompactOutput#writeObject(Object)}.
+   *
+   * @param out the output to write to
+   * @param value the value to write, never {@code null}
+   * @throws Exception if the value cannot be written
+   */
+  void write(CompactOutput out, T value) throws Exception;
+
+  /**
+   * Reads a value written by {@link #write(CompactOutput, Object)}.
+   *
+   * @param in the input to read from
+   * @return the value read
+   * @throws Exception if the value cannot be read
+   */
+  T read(CompactInput in) throws Exception;
+}
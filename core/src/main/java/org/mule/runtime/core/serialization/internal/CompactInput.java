@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.ARRAY_LIST;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.BIG_DECIMAL;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.BIG_INTEGER;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.BYTE;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.BYTE_ARRAY;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.CHARACTER;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.CODEC;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.DATE;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.DOUBLE;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.ENUM;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.FALSE;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.FLOAT;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.HASH_MAP;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.HASH_SET;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.INTEGER;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.JAVA;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.LINKED_HASH_MAP;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.LINKED_HASH_SET;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.LINKED_LIST;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.LONG;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.NULL;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.OBJECT_ARRAY;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.REFERENCE;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.SHORT;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.STRING;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.TREE_MAP;
+import static org.mule.runtime.core.serialization.internal.CompactOutput.TRUE;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.util.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * The input of a {@link CompactObjectSerializer}, reading the values written by a {@link CompactOutput}. Classes are resolved
+ * with the class loader given to the serializer, and values read through Java serialization are post initialised just like the
+ * {@link JavaObjectSerializer} does.
+ *
+ * @since 4.0
+ */
+public class CompactInput extends DataInputStream {
+
+  private final CompactObjectSerializer serializer;
+  private final ClassLoader classLoader;
+  private final List<Class<?>> streamClasses = new ArrayList<>();
+  private final List<Object> references = new ArrayList<>();
+
+  CompactInput(InputStream in, ClassLoader classLoader, CompactObjectSerializer serializer) {
+    super(in);
+    this.classLoader = classLoader;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Reads a value written by {@link CompactOutput#writeObject(Object)}.
+   *
+   * @return the value read, may be {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T readObject() throws Exception {
+    return (T) doReadObject();
+  }
+
+  private Object doReadObject() throws Exception {
+    byte tag = readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString();
+      case INTEGER:
+        return unZigZag(readVarInt());
+      case LONG:
+        return unZigZag(readVarLong());
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case DOUBLE:
+        return readDouble();
+      case FLOAT:
+        return readFloat();
+      case SHORT:
+        return readShort();
+      case BYTE:
+        return readByte();
+      case CHARACTER:
+        return readChar();
+      case BYTE_ARRAY:
+        return readBytes();
+      case ARRAY_LIST:
+        int size = readVarInt();
+        return readCollection(new ArrayList<>(size), size);
+      case LINKED_LIST:
+        return readCollection(new LinkedList<>(), readVarInt());
+      case HASH_SET:
+        size = readVarInt();
+        return readCollection(new HashSet<>(capacity(size)), size);
+      case LINKED_HASH_SET:
+        size = readVarInt();
+        return readCollection(new LinkedHashSet<>(capacity(size)), size);
+      case HASH_MAP:
+        size = readVarInt();
+        return readMap(new HashMap<>(capacity(size)), size);
+      case LINKED_HASH_MAP:
+        size = readVarInt();
+        return readMap(new LinkedHashMap<>(capacity(size)), size);
+      case TREE_MAP:
+        return readMap(new TreeMap<>(), readVarInt());
+      case OBJECT_ARRAY:
+        Class<?> componentType = readClass();
+        Object[] array = (Object[]) Array.newInstance(componentType, readVarInt());
+        references.add(array);
+        for (int i = 0; i < array.length; ++i) {
+          array[i] = doReadObject();
+        }
+        return array;
+      case BIG_DECIMAL:
+        return new BigDecimal(readString());
+      case BIG_INTEGER:
+        return new BigInteger(readBytes());
+      case DATE:
+        return new Date(readLong());
+      case ENUM:
+        return readEnum(readClass(), readString());
+      case CODEC:
+        Class<?> type = readClass();
+        CompactCodec<Object> codec = serializer.getCodec(type);
+        if (codec == null) {
+          throw new SerializationException(String.format("No codec registered for class %s", type.getName()));
+        }
+        // the value can only be referenced once it is read
+        int reference = references.size();
+        references.add(null);
+        Object value = codec.read(this);
+        references.set(reference, value);
+        return value;
+      case JAVA:
+        return readSerializable();
+      case REFERENCE:
+        return references.get(readVarInt());
+      default:
+        throw new SerializationException(String.format("Unknown value tag %d", tag));
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object readEnum(Class<?> type, String name) {
+    return Enum.valueOf((Class<? extends Enum>) type, name);
+  }
+
+  /**
+   * Reads a value written by {@link CompactOutput#writeSerializable(Object)}.
+   */
+  public Object readSerializable() throws IOException {
+    return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes()), classLoader, getMuleContext());
+  }
+
+  private Collection<Object> readCollection(Collection<Object> collection, int size) throws Exception {
+    references.add(collection);
+    for (int i = 0; i < size; ++i) {
+      collection.add(doReadObject());
+    }
+    return collection;
+  }
+
+  private Map<Object, Object> readMap(Map<Object, Object> map, int size) throws Exception {
+    references.add(map);
+    for (int i = 0; i < size; ++i) {
+      map.put(doReadObject(), doReadObject());
+    }
+    return map;
+  }
+
+  private static int capacity(int size) {
+    return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+  }
+
+  /**
+   * Reads a string written by {@link CompactOutput#writeString(String)}.
+   */
+  public String readString() throws IOException {
+    return new String(readBytes(), UTF_8);
+  }
+
+  /**
+   * Reads a string written by {@link CompactOutput#writeNullableString(String)}.
+   */
+  public String readNullableString() throws IOException {
+    return readBoolean() ? readString() : null;
+  }
+
+  /**
+   * Reads a byte array written by {@link CompactOutput#writeBytes(byte[])}.
+   */
+  public byte[] readBytes() throws IOException {
+    byte[] bytes = new byte[readVarInt()];
+    readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Reads a class written by {@link CompactOutput#writeClass(Class)}, loading it with the class loader of this input the first
+   * time it appears.
+   */
+  public Class<?> readClass() throws IOException, ClassNotFoundException {
+    int id = readVarInt();
+    if (id == 0) {
+      Class<?> type = ClassUtils.getClass(classLoader, readString());
+      streamClasses.add(type);
+      return type;
+    }
+
+    --id;
+    int registeredCount = serializer.getRegisteredClassesCount();
+    if (id < registeredCount) {
+      return serializer.getRegisteredClass(id);
+    }
+    return streamClasses.get(id - registeredCount);
+  }
+
+  /**
+   * Reads an integer written by {@link CompactOutput#writeVarInt(int)}.
+   */
+  public int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length integer");
+  }
+
+  /**
+   * Reads a long written by {@link CompactOutput#writeVarLong(long)}.
+   */
+  public long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length long");
+  }
+
+  /**
+   * Reads an integer written by {@link CompactOutput#writeNullableInt(Integer)}.
+   */
+  public Integer readNullableInt() throws IOException {
+    return readBoolean() ? unZigZag(readVarInt()) : null;
+  }
+
+  private static int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * @return the class loader used to resolve the classes read
+   */
+  public ClassLoader getClassLoader() {
+    return classLoader;
+  }
+
+  /**
+   * @return the context of the serializer reading this input
+   */
+  public MuleContext getMuleContext() {
+    return serializer.getMuleContext();
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.serialization.internal.CompactOutput.CyclicReferenceException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An {@link org.mule.runtime.core.api.serialization.ObjectSerializer} with a compact binary format, meant to replace
+ * {@link JavaObjectSerializer} where the size of the serialized objects and the time spent serializing them matter, such as in
+ * persistent queues and object stores.
+ * <p>
+ * Strings, boxed primitives, byte arrays, the common {@link java.util} collections, enums and arrays are written without any
+ * class metadata. Events, messages, typed values and data types are written field by field through {@link CompactCodec}s. Any
+ * other {@link Serializable} value is written through Java serialization.
+ * <p>
+ * Classes are written by name the first time they appear in each serialized object. Classes {@link #register(Class) registered}
+ * in the serializer are written as a small number instead, and custom codecs can be {@link #register(Class, CompactCodec)
+ * registered} for any class. Both ends must register the same classes in the same order.
+ * <p>
+ * Shared collections, maps and arrays are written once, so graphs with shared references or self containing collections are
+ * supported. The rare graphs where an event or a message ends up containing itself are written through Java serialization as a
+ * whole instead.
+ * <p>
+ * As with the {@link JavaObjectSerializer}, classes are resolved with the given class loader, or the execution class loader of
+ * the {@link MuleContext}, and deserialized {@link org.mule.runtime.core.util.store.DeserializationPostInitialisable} objects
+ * are initialised.
+ *
+ * @since 4.0
+ */
+public class CompactObjectSerializer extends AbstractObjectSerializer {
+
+  private static final byte FORMAT_VERSION = 2;
+
+  private final List<Class<?>> registeredClasses = new CopyOnWriteArrayList<>();
+  private final Map<Class<?>, Integer> registeredClassIds = new ConcurrentHashMap<>();
+  private final Map<Class<?>, CompactCodec<?>> codecs = new ConcurrentHashMap<>();
+
+  public CompactObjectSerializer() {
+    register(Object.class);
+    register(String.class);
+    register(Integer.class);
+    register(Long.class);
+    register(Boolean.class);
+    register(Double.class);
+    register(byte[].class);
+    register(BigDecimal.class);
+    register(Date.class);
+    register(ArrayList.class);
+    register(HashMap.class);
+    register(List.class);
+    register(Map.class);
+    MuleTypeCodecs.registerAll(this);
+  }
+
+  /**
+   * Registers a class so it is written as a number instead of by name.
+   *
+   * @param type the class to register
+   */
+  public synchronized void register(Class<?> type) {
+    if (!registeredClassIds.containsKey(type)) {
+      registeredClassIds.put(type, registeredClasses.size());
+      registeredClasses.add(type);
+    }
+  }
+
+  /**
+   * Registers a codec to write and read the instances of a class, and the class itself.
+   *
+   * @param type the exact class of the instances to handle with {@code codec}
+   * @param codec the codec for the instances of {@code type}
+   */
+  public synchronized <T> void register(Class<? extends T> type, CompactCodec<T> codec) {
+    register(type);
+    codecs.put(type, codec);
+  }
+
+  @SuppressWarnings("unchecked")
+  CompactCodec<Object> getCodec(Class<?> type) {
+    return (CompactCodec<Object>) codecs.get(type);
+  }
+
+  Integer getRegisteredClassId(Class<?> type) {
+    return registeredClassIds.get(type);
+  }
+
+  Class<?> getRegisteredClass(int id) {
+    return registeredClasses.get(id);
+  }
+
+  int getRegisteredClassesCount() {
+    return registeredClasses.size();
+  }
+
+  MuleContext getMuleContext() {
+    return muleContext;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    CompactOutput output = new CompactOutput(bytes, this);
+    output.writeByte(FORMAT_VERSION);
+    try {
+      output.writeObject(object);
+    } catch (CyclicReferenceException e) {
+      bytes.reset();
+      output = new CompactOutput(bytes, this);
+      output.writeByte(FORMAT_VERSION);
+      output.writeSerializable(object);
+    }
+    output.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    checkArgument(inputStream != null, "Cannot deserialize a null stream");
+    checkArgument(classLoader != null, "Cannot deserialize with a null classloader");
+
+    if (!(inputStream instanceof ByteArrayInputStream || inputStream instanceof BufferedInputStream)) {
+      inputStream = new BufferedInputStream(inputStream);
+    }
+    CompactInput input = new CompactInput(inputStream, classLoader, this);
+    byte version = input.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new SerializationException(String.format("Unsupported serialization format version %d", version));
+    }
+    return input.readObject();
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since the values are initialised as they are read
+    return object;
+  }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.newSetFromMap;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.util.SerializationUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The output of a {@link CompactObjectSerializer}. Each value is written as a one byte tag followed by its state. Integers and
+ * lengths are written as variable length integers, and classes are written by name only the first time they appear in the
+ * stream, or never if they were registered in the serializer.
+ * <p>
+ * Collections, maps, arrays and the values written by a {@link CompactCodec} are written only the first time they appear in
+ * the stream, and as a reference to that first occurrence afterwards, so shared values are read back as shared and collections
+ * may contain themselves. A value written by a codec cannot be referenced while it is being written though, since it can only
+ * be created once all its state is read: such cycles fail with a {@link CyclicReferenceException}.
+ *
+ * @since 4.0
+ */
+public class CompactOutput extends DataOutputStream {
+
+  static final byte NULL = 0;
+  static final byte STRING = 1;
+  static final byte INTEGER = 2;
+  static final byte LONG = 3;
+  static final byte TRUE = 4;
+  static final byte FALSE = 5;
+  static final byte DOUBLE = 6;
+  static final byte FLOAT = 7;
+  static final byte SHORT = 8;
+  static final byte BYTE = 9;
+  static final byte CHARACTER = 10;
+  static final byte BYTE_ARRAY = 11;
+  static final byte ARRAY_LIST = 12;
+  static final byte LINKED_LIST = 13;
+  static final byte HASH_MAP = 14;
+  static final byte LINKED_HASH_MAP = 15;
+  static final byte TREE_MAP = 16;
+  static final byte HASH_SET = 17;
+  static final byte LINKED_HASH_SET = 18;
+  static final byte OBJECT_ARRAY = 19;
+  static final byte BIG_DECIMAL = 20;
+  static final byte BIG_INTEGER = 21;
+  static final byte DATE = 22;
+  static final byte ENUM = 23;
+  static final byte CODEC = 24;
+  static final byte JAVA = 25;
+  static final byte REFERENCE = 26;
+
+  private final CompactObjectSerializer serializer;
+  private final Map<Class<?>, Integer> streamClasses = new HashMap<>();
+  private final Map<Object, Integer> references = new IdentityHashMap<>();
+  private final Set<Object> codecValuesInProgress = newSetFromMap(new IdentityHashMap<>());
+
+  CompactOutput(OutputStream out, CompactObjectSerializer serializer) {
+    super(out);
+    this.serializer = serializer;
+  }
+
+  /**
+   * Writes any value, using the compact format for the types it knows about, a registered {@link CompactCodec}, or Java
+   * serialization for any other {@link Serializable} value.
+   *
+   * @param value the value to write, may be {@code null}
+   * @throws SerializationException if the value is neither supported nor {@link Serializable}
+   */
+  public void writeObject(Object value) throws Exception {
+    if (value == null) {
+      writeByte(NULL);
+      return;
+    }
+
+    Class<?> type = value.getClass();
+    if (type == String.class) {
+      writeByte(STRING);
+      writeString((String) value);
+    } else if (type == Integer.class) {
+      writeByte(INTEGER);
+      writeVarInt(zigZag((Integer) value));
+    } else if (type == Long.class) {
+      writeByte(LONG);
+      writeVarLong(zigZag((Long) value));
+    } else if (type == Boolean.class) {
+      writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (type == Double.class) {
+      writeByte(DOUBLE);
+      writeDouble((Double) value);
+    } else if (type == Float.class) {
+      writeByte(FLOAT);
+      writeFloat((Float) value);
+    } else if (type == Short.class) {
+      writeByte(SHORT);
+      writeShort((Short) value);
+    } else if (type == Byte.class) {
+      writeByte(BYTE);
+      writeByte((Byte) value);
+    } else if (type == Character.class) {
+      writeByte(CHARACTER);
+      writeChar((Character) value);
+    } else if (type == byte[].class) {
+      writeByte(BYTE_ARRAY);
+      writeBytes((byte[]) value);
+    } else if (writeReference(value)) {
+      return;
+    } else if (type == ArrayList.class) {
+      writeCollection(ARRAY_LIST, (Collection<?>) value);
+    } else if (type == LinkedList.class) {
+      writeCollection(LINKED_LIST, (Collection<?>) value);
+    } else if (type == HashSet.class) {
+      writeCollection(HASH_SET, (Collection<?>) value);
+    } else if (type == LinkedHashSet.class) {
+      writeCollection(LINKED_HASH_SET, (Collection<?>) value);
+    } else if (type == HashMap.class) {
+      writeMap(HASH_MAP, (Map<?, ?>) value);
+    } else if (type == LinkedHashMap.class) {
+      writeMap(LINKED_HASH_MAP, (Map<?, ?>) value);
+    } else if (type == TreeMap.class && ((TreeMap<?, ?>) value).comparator() == null) {
+      writeMap(TREE_MAP, (Map<?, ?>) value);
+    } else if (type == BigDecimal.class) {
+      writeByte(BIG_DECIMAL);
+      writeString(value.toString());
+    } else if (type == BigInteger.class) {
+      writeByte(BIG_INTEGER);
+      writeBytes(((BigInteger) value).toByteArray());
+    } else if (type == Date.class) {
+      writeByte(DATE);
+      writeLong(((Date) value).getTime());
+    } else if (value instanceof Enum) {
+      writeByte(ENUM);
+      writeClass(((Enum<?>) value).getDeclaringClass());
+      writeString(((Enum<?>) value).name());
+    } else if (type.isArray() && !type.getComponentType().isPrimitive()) {
+      Object[] array = (Object[]) value;
+      writeByte(OBJECT_ARRAY);
+      writeClass(type.getComponentType());
+      writeVarInt(array.length);
+      for (Object element : array) {
+        writeObject(element);
+      }
+    } else {
+      CompactCodec<Object> codec = serializer.getCodec(type);
+      if (codec != null) {
+        writeByte(CODEC);
+        writeClass(type);
+        codecValuesInProgress.add(value);
+        codec.write(this, value);
+        codecValuesInProgress.remove(value);
+      } else {
+        writeSerializable(value);
+      }
+    }
+  }
+
+  /**
+   * Writes a reference to {@code value} if it was already written to this stream. Otherwise, registers it so its next
+   * occurrences are written as references, if it is {@link #isReferenceable(Object) referenceable}.
+   *
+   * @return whether a reference was written
+   * @throws CyclicReferenceException if {@code value} is being written by a {@link CompactCodec}
+   */
+  private boolean writeReference(Object value) throws IOException {
+    Integer reference = references.get(value);
+    if (reference != null) {
+      if (codecValuesInProgress.contains(value)) {
+        throw new CyclicReferenceException(value);
+      }
+      writeByte(REFERENCE);
+      writeVarInt(reference);
+      return true;
+    }
+
+    if (isReferenceable(value)) {
+      references.put(value, references.size());
+    }
+    return false;
+  }
+
+  /**
+   * @return whether {@code value} is written in the compact format and may be shared or contain itself. Values written through
+   *         Java serialization keep their own references.
+   */
+  private boolean isReferenceable(Object value) {
+    Class<?> type = value.getClass();
+    return type == ArrayList.class || type == LinkedList.class || type == HashSet.class || type == LinkedHashSet.class
+        || type == HashMap.class || type == LinkedHashMap.class
+        || (type == TreeMap.class && ((TreeMap<?, ?>) value).comparator() == null)
+        || (type.isArray() && !type.getComponentType().isPrimitive()) || serializer.getCodec(type) != null;
+  }
+
+  /**
+   * Writes a value through Java serialization, as a length prefixed block.
+   *
+   * @param value the value to write
+   * @throws SerializationException if the value is not {@link Serializable}
+   */
+  public void writeSerializable(Object value) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(String.format("Was expecting a Serializable type. %s was found instead",
+                                                     value.getClass().getName()));
+    }
+    writeByte(JAVA);
+    writeBytes(SerializationUtils.serialize((Serializable) value));
+  }
+
+  private void writeCollection(byte tag, Collection<?> collection) throws Exception {
+    writeByte(tag);
+    writeVarInt(collection.size());
+    for (Object element : collection) {
+      writeObject(element);
+    }
+  }
+
+  private void writeMap(byte tag, Map<?, ?> map) throws Exception {
+    writeByte(tag);
+    writeVarInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      writeObject(entry.getKey());
+      writeObject(entry.getValue());
+    }
+  }
+
+  /**
+   * Writes a non {@code null} string as its length in bytes followed by its UTF-8 encoding.
+   */
+  public void writeString(String value) throws IOException {
+    writeBytes(value.getBytes(UTF_8));
+  }
+
+  /**
+   * Writes a possibly {@code null} string.
+   */
+  public void writeNullableString(String value) throws IOException {
+    writeBoolean(value != null);
+    if (value != null) {
+      writeString(value);
+    }
+  }
+
+  /**
+   * Writes a byte array as its length followed by its contents.
+   */
+  public void writeBytes(byte[] value) throws IOException {
+    writeVarInt(value.length);
+    write(value);
+  }
+
+  /**
+   * Writes a class as a reference to a registered class or a class already written to this stream, or by name the first time it
+   * appears.
+   */
+  public void writeClass(Class<?> type) throws IOException {
+    Integer id = serializer.getRegisteredClassId(type);
+    if (id == null) {
+      id = streamClasses.get(type);
+      if (id != null) {
+        id += serializer.getRegisteredClassesCount();
+      }
+    }
+
+    if (id != null) {
+      writeVarInt(id + 1);
+    } else {
+      streamClasses.put(type, streamClasses.size());
+      writeVarInt(0);
+      writeString(type.getName());
+    }
+  }
+
+  /**
+   * Writes a non negative integer in 1 to 5 bytes, 7 bits at a time.
+   */
+  public void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    writeByte(value);
+  }
+
+  /**
+   * Writes a non negative long in 1 to 10 bytes, 7 bits at a time.
+   */
+  public void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    writeByte((int) value);
+  }
+
+  /**
+   * Writes a possibly {@code null} {@link Integer}.
+   */
+  public void writeNullableInt(Integer value) throws IOException {
+    writeBoolean(value != null);
+    if (value != null) {
+      writeVarInt(zigZag(value));
+    }
+  }
+
+  private static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * @return the context of the serializer writing this output
+   */
+  public MuleContext getMuleContext() {
+    return serializer.getMuleContext();
+  }
+
+  /**
+   * Thrown when a value written by a {@link CompactCodec} contains itself, which the compact format cannot represent.
+   */
+  static final class CyclicReferenceException extends SerializationException {
+
+    private static final long serialVersionUID = -3526357542395743712L;
+
+    CyclicReferenceException(Object value) {
+      super(String.format("Value of class %s references itself", value.getClass().getName()));
+    }
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static org.mule.runtime.core.message.NullAttributes.NULL_ATTRIBUTES;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.DataTypeBuilder;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.MessageExchangePattern;
+import org.mule.runtime.core.api.EventContext;
+import org.mule.runtime.core.api.MuleSession;
+import org.mule.runtime.core.api.connector.ReplyToHandler;
+import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation;
+import org.mule.runtime.core.message.DefaultMessageBuilder;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation.SerializedDataHandler;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.message.NullAttributes;
+import org.mule.runtime.core.metadata.DefaultCollectionDataType;
+import org.mule.runtime.core.metadata.DefaultTypedValue;
+import org.mule.runtime.core.metadata.SimpleDataType;
+import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.activation.DataHandler;
+
+/**
+ * The {@link CompactCodec}s of the Mule types that travel the most through object stores and queues: events, messages, typed
+ * values and data types.
+ *
+ * @since 4.0
+ */
+final class MuleTypeCodecs {
+
+  private MuleTypeCodecs() {}
+
+  static final CompactCodec<NullAttributes> NULL_ATTRIBUTES_CODEC = new CompactCodec<NullAttributes>() {
+
+    @Override
+    public void write(CompactOutput out, NullAttributes value) {
+      // Nothing to write, it's a singleton
+    }
+
+    @Override
+    public NullAttributes read(CompactInput in) {
+      return NULL_ATTRIBUTES;
+    }
+  };
+
+  static final CompactCodec<DataType> DATA_TYPE_CODEC = new CompactCodec<DataType>() {
+
+    @Override
+    public void write(CompactOutput out, DataType value) throws Exception {
+      out.writeClass(value.getType());
+      out.writeString(value.getMediaType().toRfcString());
+      out.writeBoolean(value instanceof CollectionDataType);
+      if (value instanceof CollectionDataType) {
+        out.writeObject(((CollectionDataType) value).getItemDataType());
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataType read(CompactInput in) throws Exception {
+      Class<?> type = in.readClass();
+      MediaType mediaType = MediaType.parse(in.readString());
+
+      if (in.readBoolean()) {
+        DataType itemType = in.readObject();
+        DataTypeBuilder.DataTypeCollectionTypeBuilder builder = Iterator.class.isAssignableFrom(type)
+            ? DataType.builder().streamType((Class<? extends Iterator>) type)
+            : DataType.builder().collectionType((Class<? extends Collection>) type);
+        return builder.itemType(itemType.getType()).itemMediaType(itemType.getMediaType()).mediaType(mediaType).build();
+      }
+      return DataType.builder().type(type).mediaType(mediaType).build();
+    }
+  };
+
+  static final CompactCodec<DefaultTypedValue> TYPED_VALUE_CODEC = new CompactCodec<DefaultTypedValue>() {
+
+    @Override
+    public void write(CompactOutput out, DefaultTypedValue value) throws Exception {
+      out.writeObject(value.getValue());
+      out.writeObject(value.getDataType());
+    }
+
+    @Override
+    public DefaultTypedValue read(CompactInput in) throws Exception {
+      return new DefaultTypedValue(in.readObject(), in.readObject());
+    }
+  };
+
+  static final CompactCodec<GroupCorrelation> GROUP_CORRELATION_CODEC = new CompactCodec<GroupCorrelation>() {
+
+    @Override
+    public void write(CompactOutput out, GroupCorrelation value) throws Exception {
+      out.writeNullableInt(value.getGroupSize().orElse(null));
+      out.writeNullableInt(value.getSequence().orElse(null));
+    }
+
+    @Override
+    public GroupCorrelation read(CompactInput in) throws Exception {
+      return new GroupCorrelation(in.readNullableInt(), in.readNullableInt());
+    }
+  };
+
+  /**
+   * Writes the same state as the Java serialization of {@link MessageImplementation}: payloads that are not {@link Serializable}
+   * are transformed to a byte array, and attachments are written as {@link SerializedDataHandler}s. The data type of the payload
+   * is restored as it was written.
+   */
+  static final CompactCodec<MessageImplementation> MESSAGE_CODEC = new CompactCodec<MessageImplementation>() {
+
+    @Override
+    public void write(CompactOutput out, MessageImplementation message) throws Exception {
+      TypedValue<?> payload = message.getPayload();
+      if (payload.getValue() == null || payload.getValue() instanceof Serializable) {
+        out.writeObject(payload.getValue());
+        out.writeObject(payload.getDataType());
+      } else {
+        out.writeObject(out.getMuleContext().getTransformationService().transform(message, DataType.BYTE_ARRAY).getPayload()
+            .getValue());
+        out.writeObject(DataType.BYTE_ARRAY);
+      }
+      out.writeObject(message.getAttributes());
+      out.writeObject(message.getExceptionPayload());
+
+      writeProperties(out, message.getInboundPropertyNames(), message::getInboundProperty,
+                      message::getInboundPropertyDataType);
+      writeProperties(out, message.getOutboundPropertyNames(), message::getOutboundProperty,
+                      message::getOutboundPropertyDataType);
+      writeAttachments(out, message.getInboundAttachmentNames(), message::getInboundAttachment);
+      writeAttachments(out, message.getOutboundAttachmentNames(), message::getOutboundAttachment);
+    }
+
+    @Override
+    public MessageImplementation read(CompactInput in) throws Exception {
+      Object payload = in.readObject();
+      DataType dataType = in.readObject();
+
+      InternalMessage.Builder builder = new DefaultMessageBuilder().typedPayload(new DefaultTypedValue<>(payload, dataType));
+      builder.attributes(in.readObject());
+      builder.exceptionPayload(in.readObject());
+
+      readProperties(in, builder::addInboundProperty);
+      readProperties(in, builder::addOutboundProperty);
+      readAttachments(in, builder::addInboundAttachment);
+      readAttachments(in, builder::addOutboundAttachment);
+      return (MessageImplementation) builder.build();
+    }
+
+    private void writeProperties(CompactOutput out, Set<String> names, Function<String, Serializable> values,
+                                 Function<String, DataType> dataTypes)
+        throws Exception {
+      out.writeVarInt(names.size());
+      for (String name : names) {
+        out.writeString(name);
+        out.writeObject(values.apply(name));
+        out.writeObject(dataTypes.apply(name));
+      }
+    }
+
+    private void readProperties(CompactInput in, PropertySetter setter) throws Exception {
+      int size = in.readVarInt();
+      for (int i = 0; i < size; ++i) {
+        setter.set(in.readString(), in.readObject(), in.readObject());
+      }
+    }
+
+    private void writeAttachments(CompactOutput out, Set<String> names, Function<String, DataHandler> attachments)
+        throws Exception {
+      out.writeVarInt(names.size());
+      for (String name : names) {
+        out.writeString(name);
+        out.writeSerializable(new SerializedDataHandler(name, attachments.apply(name), out.getMuleContext()));
+      }
+    }
+
+    private void readAttachments(CompactInput in, BiFunction<String, DataHandler, ?> setter) throws Exception {
+      int size = in.readVarInt();
+      for (int i = 0; i < size; ++i) {
+        String name = in.readString();
+        setter.apply(name, ((SerializedDataHandler) in.readObject()).getHandler());
+      }
+    }
+  };
+
+  /**
+   * Writes the state of an {@link EventImplementation}. The message, variables and correlation are written in the compact
+   * format, while the context, session, reply-to and call stack are written through Java serialization. The flow is looked up
+   * again by name after reading, just as when the event is read through Java serialization.
+   */
+  static final CompactCodec<EventImplementation> EVENT_CODEC = new CompactCodec<EventImplementation>() {
+
+    @Override
+    public void write(CompactOutput out, EventImplementation event) throws Exception {
+      out.writeObject(event.getContext());
+      out.writeObject(event.getMessage());
+
+      Set<String> variableNames = event.getVariableNames();
+      out.writeVarInt(variableNames.size());
+      for (String name : variableNames) {
+        TypedValue<Object> variable = event.getVariable(name);
+        out.writeString(name);
+        out.writeObject(variable.getValue());
+        out.writeObject(variable.getDataType());
+      }
+
+      out.writeObject(event.getExchangePattern());
+      out.writeObject(event.getSession());
+      out.writeBoolean(event.isTransacted());
+      out.writeBoolean(event.isSynchronous());
+      out.writeBoolean(event.isAllowNonBlocking());
+      out.writeObject(event.getReplyToDestination());
+      out.writeObject(event.getReplyToHandler());
+      out.writeObject(event.getFlowCallStack());
+      out.writeObject(event.getGroupCorrelation());
+      out.writeObject(event.getError().orElse(null));
+      out.writeNullableString(event.getLegacyCorrelationId());
+      out.writeBoolean(event.isNotificationsEnabled());
+    }
+
+    @Override
+    public EventImplementation read(CompactInput in) throws Exception {
+      EventContext context = in.readObject();
+      InternalMessage message = in.readObject();
+
+      int variablesCount = in.readVarInt();
+      Map<String, DefaultTypedValue<Object>> variables = new HashMap<>();
+      for (int i = 0; i < variablesCount; ++i) {
+        String name = in.readString();
+        Object value = in.readObject();
+        DataType dataType = in.readObject();
+        variables.put(name, new DefaultTypedValue<>(value, dataType));
+      }
+
+      MessageExchangePattern exchangePattern = in.readObject();
+      MuleSession session = in.readObject();
+      boolean transacted = in.readBoolean();
+      boolean synchronous = in.readBoolean();
+      boolean nonBlocking = in.readBoolean();
+      Object replyToDestination = in.readObject();
+      ReplyToHandler replyToHandler = in.readObject();
+      FlowCallStack flowCallStack = in.readObject();
+      GroupCorrelation groupCorrelation = in.readObject();
+      Error error = in.readObject();
+      String legacyCorrelationId = in.readNullableString();
+      boolean notificationsEnabled = in.readBoolean();
+
+      EventImplementation event =
+          new EventImplementation(context, message, variables, exchangePattern, null, session, transacted, synchronous,
+                                  nonBlocking, replyToDestination, replyToHandler, flowCallStack, groupCorrelation, error,
+                                  legacyCorrelationId, notificationsEnabled);
+      DeserializationPostInitialisable.Implementation.init(event, in.getMuleContext());
+      return event;
+    }
+  };
+
+  @FunctionalInterface
+  private interface PropertySetter {
+
+    void set(String name, Serializable value, DataType dataType);
+  }
+
+  /**
+   * Registers the classes and codecs of the Mule types in {@code serializer}.
+   */
+  static void registerAll(CompactObjectSerializer serializer) {
+    serializer.register(NullAttributes.class, NULL_ATTRIBUTES_CODEC);
+    serializer.register(SimpleDataType.class, DATA_TYPE_CODEC);
+    serializer.register(DefaultCollectionDataType.class, DATA_TYPE_CODEC);
+    serializer.register(DefaultTypedValue.class, TYPED_VALUE_CODEC);
+    serializer.register(GroupCorrelation.class, GROUP_CORRELATION_CODEC);
+    serializer.register(MessageImplementation.class, MESSAGE_CODEC);
+    serializer.register(EventImplementation.class, EVENT_CODEC);
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.streaming;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Implemented by {@link InputStream}s whose content is exactly the content of a file in the local file system.
+ * <p>
+ * Consumers which are able to move the file's bytes without reading them into memory (for example, by using
+ * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}) can use the
+ * {@link #getBackingFile()} instead of the stream itself. Such consumers are still responsible for closing the stream once they
+ * are done, so that any resource or lock held by it gets released.
+ *
+ * @since 4.0
+ */
+public interface FileBackedStream {
+
+  /**
+   * @return the file which content this stream exposes, or {@code null} if the stream has already been (even partially) consumed
+   *         and hence its content no longer matches the whole file.
+   */
+  File getBackingFile();
+}
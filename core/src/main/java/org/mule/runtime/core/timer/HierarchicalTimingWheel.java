@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.timer;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_TIMER_TICK_DURATION;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_TIMER_WORKER_THREADS;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.timer.Timeout;
+import org.mule.runtime.core.api.timer.TimerService;
+import org.mule.runtime.core.management.stats.TimerStatistics;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimerService} backed by a hierarchical timing wheel.
+ * <p>
+ * Time is divided in ticks, and pending tasks are kept in 4 wheels of 64 buckets each. The first
+ * wheel has a bucket per tick, and each bucket of the following wheels spans a whole rotation of the previous one. When a wheel
+ * completes a rotation, the tasks in the next bucket of the upper wheel are cascaded down to the wheels below, so that every
+ * task ends up in the first wheel when it is due. Tasks scheduled further than the span of all the wheels are parked in the last
+ * bucket of the top wheel and re-placed each time they are cascaded.
+ * <p>
+ * Both scheduling and cancelling are O(1): they just enqueue the task for the ticker thread, which is the only one that touches
+ * the wheels. Due tasks are handed off to a small pool of worker threads so that a slow task doesn't delay the others. While no
+ * timer is active the ticker thread is parked instead of waking up on every tick.
+ * <p>
+ * The {@link TimerStatistics} of an owner are discarded once none of its timers is active, so that owners with generated names
+ * don't pile up.
+ * <p>
+ * The tick duration defaults to 10 milliseconds and can be changed through the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_TIMER_TICK_DURATION} system property. The number of worker threads
+ * defaults to 2 and can be changed through {@link org.mule.runtime.core.api.config.MuleProperties#MULE_TIMER_WORKER_THREADS}.
+ *
+ * @since 4.0
+ */
+public class HierarchicalTimingWheel implements TimerService, Disposable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int LEVELS = 4;
+  private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+  private static final long DEFAULT_TICK_MILLIS = 10;
+  private static final int DEFAULT_WORKER_THREADS = 2;
+
+  private static final int PENDING = 0;
+  private static final int RUNNING = 1;
+  private static final int CANCELLED = 2;
+  private static final int DONE = 3;
+
+  private static final Object SHARED_INSTANCE_LOCK = new Object();
+  private static final TimerService SHARED_TIMER_SERVICE = new SharedTimerService();
+  private static HierarchicalTimingWheel sharedInstance;
+
+  /**
+   * Provides the {@link TimerService} to be used by a component. Components which are not bound to a {@link MuleContext} share a
+   * single runtime wide instance, which is disposed as soon as none of its timers is active and created again when needed.
+   *
+   * @param muleContext the context of the component, may be {@code null}
+   * @return a non null {@link TimerService}
+   */
+  public static TimerService getTimerService(MuleContext muleContext) {
+    TimerService timerService = muleContext != null ? muleContext.getTimerService() : null;
+    return timerService != null ? timerService : SHARED_TIMER_SERVICE;
+  }
+
+  private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+  private final Queue<TimerTask> addedTasks = new ConcurrentLinkedQueue<>();
+  private final Queue<TimerTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+  private final Map<String, TimerStatistics> statistics = new ConcurrentHashMap<>();
+  private final AtomicInteger activeTimers = new AtomicInteger();
+  private final long tickNanos;
+  private final long startNanos;
+  private final boolean disposeWhenIdle;
+  private final ExecutorService workers;
+  private final Thread ticker;
+
+  // only accessed by the ticker thread
+  private long currentTick;
+  private volatile boolean idle;
+  private volatile boolean disposed;
+
+  /**
+   * Creates a timing wheel configured through system properties.
+   *
+   * @param prefix the prefix for the names of the threads of this timer
+   */
+  public HierarchicalTimingWheel(String prefix) {
+    this(prefix, Long.getLong(MULE_TIMER_TICK_DURATION, DEFAULT_TICK_MILLIS), MILLISECONDS,
+         Integer.getInteger(MULE_TIMER_WORKER_THREADS, DEFAULT_WORKER_THREADS));
+  }
+
+  /**
+   * @param prefix the prefix for the names of the threads of this timer
+   * @param tickDuration the precision of this timer
+   * @param unit the unit of {@code tickDuration}
+   * @param workerThreads the number of threads on which the due tasks are run
+   */
+  public HierarchicalTimingWheel(String prefix, long tickDuration, TimeUnit unit, int workerThreads) {
+    this(prefix, tickDuration, unit, workerThreads, false);
+  }
+
+  private HierarchicalTimingWheel(String prefix, long tickDuration, TimeUnit unit, int workerThreads, boolean disposeWhenIdle) {
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException("tickDuration must be greater than 0");
+    }
+    if (workerThreads <= 0) {
+      throw new IllegalArgumentException("workerThreads must be greater than 0");
+    }
+
+    for (int level = 0; level < LEVELS; ++level) {
+      for (int slot = 0; slot < WHEEL_SIZE; ++slot) {
+        wheels[level][slot] = new Bucket();
+      }
+    }
+
+    this.tickNanos = unit.toNanos(tickDuration);
+    this.disposeWhenIdle = disposeWhenIdle;
+    ClassLoader classLoader = HierarchicalTimingWheel.class.getClassLoader();
+    this.workers = Executors.newFixedThreadPool(workerThreads, new DaemonThreadFactory(prefix + "timer.worker", classLoader));
+    this.ticker = new DaemonThreadFactory(prefix + "timer", classLoader).newThread(this::runTicker);
+    this.startNanos = System.nanoTime();
+    ticker.start();
+  }
+
+  @Override
+  public Timeout schedule(String owner, Runnable task, long delay, TimeUnit unit) {
+    return doSchedule(owner, task, unit.toNanos(delay), 0);
+  }
+
+  @Override
+  public Timeout scheduleWithFixedDelay(String owner, Runnable task, long initialDelay, long delay, TimeUnit unit) {
+    if (delay <= 0) {
+      throw new IllegalArgumentException("delay must be greater than 0");
+    }
+    return doSchedule(owner, task, unit.toNanos(initialDelay), unit.toNanos(delay));
+  }
+
+  private Timeout doSchedule(String owner, Runnable task, long delayNanos, long periodNanos) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (disposed) {
+      TimerTask timerTask = new TimerTask(new TimerStatistics(owner), task, periodNanos, classLoader);
+      timerTask.state.set(CANCELLED);
+      return timerTask;
+    }
+
+    TimerStatistics ownerStatistics = statistics.compute(owner, (key, current) -> {
+      TimerStatistics updated = current != null ? current : new TimerStatistics(key);
+      updated.incScheduled();
+      return updated;
+    });
+    activeTimers.incrementAndGet();
+    TimerTask timerTask = new TimerTask(ownerStatistics, task, periodNanos, classLoader);
+    timerTask.setDelay(delayNanos);
+    enqueue(timerTask);
+    return timerTask;
+  }
+
+  private void enqueue(TimerTask task) {
+    addedTasks.add(task);
+    if (idle) {
+      LockSupport.unpark(ticker);
+    }
+  }
+
+  /**
+   * Accounts for a timer which will not run anymore, discarding the statistics of its owner if it has no other active timer.
+   */
+  private void release(TimerStatistics ownerStatistics) {
+    activeTimers.decrementAndGet();
+    statistics.computeIfPresent(ownerStatistics.getOwner(),
+                                (key, current) -> current == ownerStatistics && current.getActiveTimers() == 0 ? null : current);
+  }
+
+  @Override
+  public Map<String, TimerStatistics> getStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    LockSupport.unpark(ticker);
+    workers.shutdownNow();
+  }
+
+  private void runTicker() {
+    while (!disposed) {
+      if (activeTimers.get() == 0) {
+        if (disposeWhenIdle && disposeIfStillIdle()) {
+          break;
+        }
+        park();
+        continue;
+      }
+
+      long sleepNanos = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+      if (sleepNanos > 0) {
+        LockSupport.parkNanos(this, sleepNanos);
+        continue;
+      }
+
+      try {
+        removeCancelledTasks();
+        placeAddedTasks();
+
+        long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+        while (currentTick < targetTick && !disposed) {
+          tick();
+        }
+      } catch (Throwable t) {
+        LOGGER.error("Unexpected error on timer thread", t);
+      }
+    }
+
+    addedTasks.clear();
+    cancelledTasks.clear();
+  }
+
+  /**
+   * Parks the ticker until a timer is scheduled. Since no timer is active, the wheels only hold cancelled tasks, so the current
+   * tick can safely jump to the present once woken up instead of going through every missed tick.
+   */
+  private void park() {
+    idle = true;
+    if (activeTimers.get() == 0 && !disposed) {
+      LockSupport.park(this);
+    }
+    idle = false;
+    removeCancelledTasks();
+    currentTick = Math.max(currentTick, (System.nanoTime() - startNanos) / tickNanos);
+  }
+
+  private boolean disposeIfStillIdle() {
+    synchronized (SHARED_INSTANCE_LOCK) {
+      // the shared instance is only scheduled on while holding the lock, so no timer can be added concurrently
+      if (activeTimers.get() != 0) {
+        return false;
+      }
+      if (sharedInstance == this) {
+        sharedInstance = null;
+      }
+      disposed = true;
+      workers.shutdown();
+      return true;
+    }
+  }
+
+  private void removeCancelledTasks() {
+    TimerTask task;
+    while ((task = cancelledTasks.poll()) != null) {
+      if (task.bucket != null) {
+        task.bucket.remove(task);
+      }
+    }
+  }
+
+  private void placeAddedTasks() {
+    TimerTask task;
+    while ((task = addedTasks.poll()) != null) {
+      if (task.state.get() == PENDING) {
+        task.deadlineTick = (task.deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+        place(task);
+      }
+    }
+  }
+
+  private void tick() {
+    ++currentTick;
+
+    for (int level = LEVELS - 1; level > 0; --level) {
+      if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+        Bucket bucket = wheels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+        TimerTask task;
+        while ((task = bucket.poll()) != null) {
+          place(task);
+        }
+      }
+    }
+
+    Bucket bucket = wheels[0][(int) (currentTick & WHEEL_MASK)];
+    TimerTask task;
+    while ((task = bucket.poll()) != null) {
+      expire(task);
+    }
+  }
+
+  private void place(TimerTask task) {
+    long delta = task.deadlineTick - currentTick;
+    if (delta <= 0) {
+      expire(task);
+      return;
+    }
+
+    // tasks beyond the span of the wheels are re-placed each time they are cascaded
+    long tick = delta < MAX_SPAN ? task.deadlineTick : currentTick + MAX_SPAN - 1;
+    delta = tick - currentTick;
+    int level = 0;
+    while (delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+      ++level;
+    }
+    wheels[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(task);
+  }
+
+  private void expire(TimerTask task) {
+    if (task.state.get() != PENDING) {
+      return;
+    }
+
+    try {
+      workers.execute(task);
+    } catch (RejectedExecutionException e) {
+      if (!disposed) {
+        LOGGER.warn("Could not run timer task of " + task.statistics.getOwner(), e);
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of tasks, only accessed from the ticker thread.
+   */
+  private static class Bucket {
+
+    private TimerTask head;
+    private TimerTask tail;
+
+    void add(TimerTask task) {
+      task.bucket = this;
+      task.prev = tail;
+      task.next = null;
+      if (tail == null) {
+        head = task;
+      } else {
+        tail.next = task;
+      }
+      tail = task;
+    }
+
+    void remove(TimerTask task) {
+      if (task.prev == null) {
+        head = task.next;
+      } else {
+        task.prev.next = task.next;
+      }
+      if (task.next == null) {
+        tail = task.prev;
+      } else {
+        task.next.prev = task.prev;
+      }
+      task.bucket = null;
+      task.prev = null;
+      task.next = null;
+    }
+
+    TimerTask poll() {
+      TimerTask task = head;
+      if (task != null) {
+        remove(task);
+      }
+      return task;
+    }
+  }
+
+  private class TimerTask implements Timeout, Runnable {
+
+    private final TimerStatistics statistics;
+    private final Runnable task;
+    private final long periodNanos;
+    private final ClassLoader classLoader;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private volatile long deadlineNanos;
+
+    // only accessed by the ticker thread
+    private long deadlineTick;
+    private Bucket bucket;
+    private TimerTask prev;
+    private TimerTask next;
+
+    TimerTask(TimerStatistics statistics, Runnable task, long periodNanos, ClassLoader classLoader) {
+      this.statistics = statistics;
+      this.task = task;
+      this.periodNanos = periodNanos;
+      this.classLoader = classLoader;
+    }
+
+    void setDelay(long delayNanos) {
+      deadlineNanos = System.nanoTime() + Math.max(delayNanos, 0);
+    }
+
+    @Override
+    public void run() {
+      if (!state.compareAndSet(PENDING, RUNNING)) {
+        return;
+      }
+
+      statistics.incExecuted(System.nanoTime() - deadlineNanos);
+      Thread currentThread = Thread.currentThread();
+      ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+      currentThread.setContextClassLoader(classLoader);
+      try {
+        task.run();
+      } catch (Throwable t) {
+        statistics.incFailed();
+        LOGGER.error("Timer task of " + statistics.getOwner() + " failed", t);
+      } finally {
+        currentThread.setContextClassLoader(originalClassLoader);
+      }
+
+      if (periodNanos > 0) {
+        setDelay(periodNanos);
+        if (state.compareAndSet(RUNNING, PENDING) && !disposed) {
+          enqueue(this);
+        }
+      } else if (state.compareAndSet(RUNNING, DONE)) {
+        statistics.incCompleted();
+        release(statistics);
+      }
+    }
+
+    @Override
+    public boolean cancel() {
+      while (true) {
+        int current = state.get();
+        if (current == CANCELLED || current == DONE) {
+          return false;
+        }
+        if (state.compareAndSet(current, CANCELLED)) {
+          statistics.incCancelled();
+          if (current == PENDING && !disposed) {
+            cancelledTasks.add(this);
+          }
+          release(statistics);
+          return true;
+        }
+      }
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    @Override
+    public String toString() {
+      return "TimerTask{owner: " + statistics.getOwner() + ", remaining: "
+          + NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) + " ms}";
+    }
+  }
+
+  /**
+   * Schedules on the shared instance, creating it if it was disposed for being idle.
+   */
+  private static class SharedTimerService implements TimerService {
+
+    @Override
+    public Timeout schedule(String owner, Runnable task, long delay, TimeUnit unit) {
+      synchronized (SHARED_INSTANCE_LOCK) {
+        return getSharedInstance().schedule(owner, task, delay, unit);
+      }
+    }
+
+    @Override
+    public Timeout scheduleWithFixedDelay(String owner, Runnable task, long initialDelay, long delay, TimeUnit unit) {
+      synchronized (SHARED_INSTANCE_LOCK) {
+        return getSharedInstance().scheduleWithFixedDelay(owner, task, initialDelay, delay, unit);
+      }
+    }
+
+    @Override
+    public Map<String, TimerStatistics> getStatistics() {
+      synchronized (SHARED_INSTANCE_LOCK) {
+        return sharedInstance != null ? sharedInstance.getStatistics() : emptyMap();
+      }
+    }
+
+    private HierarchicalTimingWheel getSharedInstance() {
+      if (sharedInstance == null) {
+        sharedInstance = new HierarchicalTimingWheel("", Long.getLong(MULE_TIMER_TICK_DURATION, DEFAULT_TICK_MILLIS),
+                                                     MILLISECONDS,
+                                                     Integer.getInteger(MULE_TIMER_WORKER_THREADS, DEFAULT_WORKER_THREADS),
+                                                     true);
+      }
+      return sharedInstance;
+    }
+  }
+}
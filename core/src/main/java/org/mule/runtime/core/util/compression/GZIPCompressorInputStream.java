@@ -78,7 +78,20 @@ public class GZIPCompressorInputStream extends DeflaterInputStream {
    * @param in The uncompressed {@link InputStream}.
    */
   public GZIPCompressorInputStream(InputStream in) {
-    super(new CheckedInputStream(in, new CRC32()), new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    this(in, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+  }
+
+  /**
+   * Creates a new {@link GZIPCompressorInputStream} from an uncompressed {@link InputStream}, using the given {@link Deflater}.
+   * <p>
+   * The {@code deflater} must have been created with the {@code nowrap} option and it is not ended when this stream is closed,
+   * so it can be reused by the caller after being {@link Deflater#reset() reset}.
+   *
+   * @param in The uncompressed {@link InputStream}.
+   * @param deflater The {@link Deflater} to use.
+   */
+  public GZIPCompressorInputStream(InputStream in, Deflater deflater) {
+    super(new CheckedInputStream(in, new CRC32()), deflater);
     buffer = new Buffer();
   }
 
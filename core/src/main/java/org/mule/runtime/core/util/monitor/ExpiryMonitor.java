@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.core.util.monitor;
 
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.core.config.i18n.CoreMessages;
-import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import java.util.Iterator;
 import java.util.Map;
@@ -23,6 +25,9 @@ import org.slf4j.LoggerFactory;
 /**
  * <code>ExpiryMonitor</code> can monitor objects beased on an expiry time and can invoke a callback method once the object time
  * has expired. If the object does expire it is removed from this monitor.
+ * <p>
+ * Unless a scheduler is explicitly provided, the monitor runs on the {@link org.mule.runtime.core.api.timer.TimerService} of the
+ * {@link MuleContext} instead of having a thread of its own.
  */
 public class ExpiryMonitor implements Runnable, Disposable {
 
@@ -33,6 +38,8 @@ public class ExpiryMonitor implements Runnable, Disposable {
 
   protected ScheduledThreadPoolExecutor scheduler;
 
+  protected Timeout monitorTimeout;
+
   private Map monitors;
 
   private int monitorFrequency;
@@ -86,9 +93,9 @@ public class ExpiryMonitor implements Runnable, Disposable {
     }
     monitors = new ConcurrentHashMap();
     if (scheduler == null) {
-      this.scheduler = new ScheduledThreadPoolExecutor(1);
-      scheduler.setThreadFactory(new DaemonThreadFactory(name + ".expiry.monitor", contextClassLoader));
-      scheduler.scheduleWithFixedDelay(this, 0, monitorFrequency, TimeUnit.MILLISECONDS);
+      Runnable monitor = contextClassLoader == null ? this : () -> withContextClassLoader(contextClassLoader, this);
+      monitorTimeout = getTimerService(muleContext).scheduleWithFixedDelay(name + ".expiry.monitor", monitor, 0,
+                                                                           monitorFrequency, TimeUnit.MILLISECONDS);
     }
   }
 
@@ -151,7 +158,11 @@ public class ExpiryMonitor implements Runnable, Disposable {
 
   public void dispose() {
     logger.info("disposing monitor");
-    scheduler.shutdown();
+    if (monitorTimeout != null) {
+      monitorTimeout.cancel();
+    } else {
+      scheduler.shutdown();
+    }
     ExpirableHolder holder;
     for (Iterator iterator = monitors.values().iterator(); iterator.hasNext();) {
       holder = (ExpirableHolder) iterator.next();
@@ -7,7 +7,9 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Abstract queue delegate implementation that forces common queue behaviour
@@ -74,6 +76,32 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
     }
   }
 
+  /**
+   * Takes all the members under a single acquisition of the queue monitor, waking up the waiting threads only once.
+   */
+  @Override
+  public final List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    checkInterrupted();
+    synchronized (this) {
+      long l1 = timeout > 0L ? System.currentTimeMillis() : 0L;
+      long l2 = timeout;
+      while (isEmpty()) {
+        if (l2 <= 0L) {
+          return new ArrayList<>(0);
+        }
+        this.wait(l2);
+        l2 = timeout - (System.currentTimeMillis() - l1);
+      }
+
+      List<Serializable> drained = new ArrayList<>(Math.min(max, size()));
+      while (drained.size() < max && !isEmpty()) {
+        drained.add(removeFirst());
+      }
+      this.notifyAll();
+      return drained;
+    }
+  }
+
   @Override
   public final Serializable peek() throws InterruptedException {
     checkInterrupted();
@@ -9,6 +9,7 @@ package org.mule.runtime.core.util.queue;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
 
@@ -44,7 +45,7 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
     } else {
-      delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
+      delegate = new TransientQueueStoreDelegate(this.config.getCapacity());
     }
   }
 
@@ -74,6 +75,11 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     return delegate.poll(timeout);
   }
 
+  @Override
+  public List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    return delegate.drain(max, timeout);
+  }
+
   public Serializable peek() throws InterruptedException {
     return delegate.peek();
   }
@@ -12,6 +12,8 @@ import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for mule queues used for VM.
@@ -41,6 +43,24 @@ public interface Queue extends NamedObject {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Retrieves a batch of objects from this queue: waits up to {@code timeout} milliseconds for the first object, and then takes
+   * as many objects as available without waiting, up to {@code max}.
+   *
+   * @param max the maximum number of objects to retrieve
+   * @param timeout the time to wait for the first object, in milliseconds
+   * @return the objects retrieved, empty if there were none before the timeout elapsed
+   */
+  default List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    List<Serializable> drained = new ArrayList<>();
+    Serializable item = poll(timeout);
+    while (item != null) {
+      drained.add(item);
+      item = drained.size() < max ? poll(0) : null;
+    }
+    return drained;
+  }
+
   boolean offer(Serializable object, long timeout) throws InterruptedException, ObjectStoreException;
 
   /**
@@ -7,6 +7,8 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
 
@@ -24,6 +26,24 @@ public interface QueueStore {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Polls the queue for its first item, waiting up to {@code timeout} milliseconds for it, and then takes as many items as
+   * available without waiting, up to {@code max}.
+   *
+   * @param max the maximum number of items to take
+   * @param timeout the time to wait for the first item, in milliseconds
+   * @return the items taken, empty if there were none before the timeout elapsed
+   */
+  default List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    List<Serializable> drained = new ArrayList<>();
+    Serializable item = poll(timeout);
+    while (item != null) {
+      drained.add(item);
+      item = drained.size() < max ? poll(0) : null;
+    }
+    return drained;
+  }
+
   Serializable peek() throws InterruptedException;
 
   void untake(Serializable item) throws InterruptedException;
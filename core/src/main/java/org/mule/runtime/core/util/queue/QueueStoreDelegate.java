@@ -8,7 +8,9 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * A DefaultQueueStore delegates the actual work of processing its queue to one of these.
@@ -30,6 +32,20 @@ public interface QueueStoreDelegate {
    */
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Poll the queue for its first member, waiting up to {@code timeout} for it, and then remove and return as many members as
+   * available without waiting, up to {@code max}
+   */
+  default List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    List<Serializable> drained = new ArrayList<>();
+    Serializable item = poll(timeout);
+    while (item != null) {
+      drained.add(item);
+      item = drained.size() < max ? poll(0) : null;
+    }
+    return drained;
+  }
+
   /**
    * return, but do not remove, the first member of the queue
    */
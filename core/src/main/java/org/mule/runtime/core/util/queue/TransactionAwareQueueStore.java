@@ -12,6 +12,8 @@ import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +93,37 @@ public class TransactionAwareQueueStore implements Queue {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Out of a transaction the objects are taken from the queue store at once, otherwise they are polled one by one through the
+   * transaction context.
+   */
+  @Override
+  public List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    if (transactionContextProvider.isTransactional()) {
+      return Queue.super.drain(max, timeout);
+    }
+
+    try {
+      List<Serializable> drained = queue.drain(max, timeout);
+      List<Serializable> processed = new ArrayList<>(drained.size());
+      for (Serializable item : drained) {
+        item = postProcessIfNeeded(item);
+        if (item != null) {
+          processed.add(item);
+        }
+      }
+      return processed;
+    } catch (InterruptedException iex) {
+      if (!muleContext.isStopping()) {
+        throw iex;
+      }
+      // if stopping, ignore
+      return new ArrayList<>(0);
+    }
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     if (transactionContextProvider.isTransactional()) {
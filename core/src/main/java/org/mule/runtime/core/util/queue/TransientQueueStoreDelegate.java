@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link QueueStoreDelegate} for in memory queues that does not lock the queue for each operation.
+ * <p>
+ * Items are kept in a lock-free deque, and the capacity is enforced by reserving room in an atomic counter before adding an
+ * item. Threads that must wait for an item or for room in the queue park themselves and are unparked one at a time as items are
+ * added or removed, instead of waking up every waiting thread on each operation.
+ *
+ * @since 4.0
+ */
+public class TransientQueueStoreDelegate implements QueueStoreDelegate {
+
+  private final int capacity;
+  private final ConcurrentLinkedDeque<Serializable> items = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final Waiters notEmpty = new Waiters();
+  private final Waiters notFull = new Waiters();
+
+  public TransientQueueStoreDelegate(int capacity) {
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    size.incrementAndGet();
+    items.addLast(o);
+    notEmpty.signal();
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    if (capacity > 0) {
+      if (capacity <= room) {
+        throw new IllegalStateException("Can not add more objects than the capacity in one time");
+      }
+      final int limit = capacity - room;
+      long start = nanoTime();
+      long timeoutNanos = MILLISECONDS.toNanos(timeout);
+      while (!tryReserve(o != null, limit)) {
+        long remaining = timeoutNanos - (nanoTime() - start);
+        if (remaining <= 0L) {
+          return false;
+        }
+        notFull.await(() -> size.get() >= limit, remaining);
+      }
+    } else if (o != null) {
+      size.incrementAndGet();
+    }
+
+    if (o != null) {
+      items.addLast(o);
+      notEmpty.signal();
+    }
+    return true;
+  }
+
+  private boolean tryReserve(boolean reserve, int limit) {
+    while (true) {
+      int current = size.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (!reserve || size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    long start = nanoTime();
+    long timeoutNanos = MILLISECONDS.toNanos(timeout);
+    Serializable item = removeFirst();
+    while (item == null) {
+      long remaining = timeoutNanos - (nanoTime() - start);
+      if (remaining <= 0L) {
+        return null;
+      }
+      notEmpty.await(items::isEmpty, remaining);
+      item = removeFirst();
+    }
+    return item;
+  }
+
+  /**
+   * Waits for the first item just like {@link #poll(long)} does, and then takes as many items as available without waiting, up
+   * to {@code max}.
+   */
+  @Override
+  public List<Serializable> drain(int max, long timeout) throws InterruptedException {
+    Serializable item = poll(timeout);
+    if (item == null) {
+      return new ArrayList<>(0);
+    }
+
+    List<Serializable> drained = new ArrayList<>(Math.min(max, size.get() + 1));
+    drained.add(item);
+    while (drained.size() < max && (item = removeFirst()) != null) {
+      drained.add(item);
+    }
+    return drained;
+  }
+
+  private Serializable removeFirst() {
+    Serializable item = items.pollFirst();
+    if (item != null) {
+      size.decrementAndGet();
+      if (capacity > 0) {
+        notFull.signal();
+      }
+    }
+    return item;
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    return items.peekFirst();
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    size.incrementAndGet();
+    items.addFirst(item);
+    notEmpty.signal();
+  }
+
+  @Override
+  public int getSize() {
+    return size.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    doClear();
+  }
+
+  private void doClear() {
+    while (removeFirst() != null) {
+      // keep removing
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      putNow(item);
+    }
+    return !items.isEmpty();
+  }
+
+  @Override
+  public void dispose() {
+    doClear();
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  /**
+   * The threads parked until a condition on the queue changes.
+   */
+  private static class Waiters {
+
+    private final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Parks the current thread until it is {@link #signal() signalled}, the timeout elapses or, rarely, for no reason, unless
+     * {@code mustWait} is already false once the thread is registered as a waiter.
+     */
+    void await(BooleanSupplier mustWait, long timeoutNanos) throws InterruptedException {
+      Thread current = Thread.currentThread();
+      threads.add(current);
+      if (mustWait.getAsBoolean()) {
+        LockSupport.parkNanos(this, timeoutNanos);
+      }
+      boolean signalled = !threads.remove(current);
+
+      if (Thread.interrupted()) {
+        if (signalled) {
+          // Hand the signal over to another waiter since this one is leaving
+          signal();
+        }
+        throw new InterruptedException();
+      }
+    }
+
+    /**
+     * Unparks the thread that has been waiting the longest, if any.
+     */
+    void signal() {
+      Thread waiter = threads.poll();
+      if (waiter != null) {
+        LockSupport.unpark(waiter);
+      }
+    }
+  }
+}
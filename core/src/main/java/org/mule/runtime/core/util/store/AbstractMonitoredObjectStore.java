@@ -6,15 +6,17 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.UUID;
-import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import java.io.Serializable;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -24,7 +26,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * TODO
+ * Base class for {@link ObjectStore}s which periodically expire their entries. Expiration runs on the
+ * {@link org.mule.runtime.core.api.timer.TimerService} of the {@link MuleContext}.
  */
 public abstract class AbstractMonitoredObjectStore<T extends Serializable>
     implements ObjectStore<T>, Runnable, MuleContextAware, Initialisable, Disposable {
@@ -33,6 +36,7 @@ public abstract class AbstractMonitoredObjectStore<T extends Serializable>
 
   protected MuleContext context;
   protected ScheduledThreadPoolExecutor scheduler;
+  protected Timeout expirationTimeout;
 
   /**
    * the maximum number of entries that this store keeps around. Specify <em>-1</em> if the store is supposed to be "unbounded".
@@ -68,9 +72,10 @@ public abstract class AbstractMonitoredObjectStore<T extends Serializable>
     }
 
     if (scheduler == null) {
-      this.scheduler = new ScheduledThreadPoolExecutor(1);
-      scheduler.setThreadFactory(new DaemonThreadFactory(name + "-Monitor", this.getClass().getClassLoader()));
-      scheduler.scheduleWithFixedDelay(this, 0, expirationInterval, TimeUnit.MILLISECONDS);
+      ClassLoader classLoader = this.getClass().getClassLoader();
+      expirationTimeout = getTimerService(context)
+          .scheduleWithFixedDelay(name + "-Monitor", () -> withContextClassLoader(classLoader, this), 0, expirationInterval,
+                                  TimeUnit.MILLISECONDS);
     }
   }
 
@@ -81,6 +86,9 @@ public abstract class AbstractMonitoredObjectStore<T extends Serializable>
   }
 
   public void dispose() {
+    if (expirationTimeout != null) {
+      expirationTimeout.cancel();
+    }
     if (scheduler != null) {
       scheduler.shutdown();
     }
@@ -134,5 +142,13 @@ public abstract class AbstractMonitoredObjectStore<T extends Serializable>
     return scheduler;
   }
 
+  /**
+   * @return the {@link Timeout} of the periodic expiration of this store on the
+   *         {@link org.mule.runtime.core.api.timer.TimerService}, or {@code null} if a scheduler was explicitly set
+   */
+  public Timeout getExpirationTimeout() {
+    return expirationTimeout;
+  }
+
   protected abstract void expire();
 }
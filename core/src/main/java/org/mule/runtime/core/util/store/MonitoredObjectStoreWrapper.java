@@ -7,6 +7,8 @@
 package org.mule.runtime.core.util.store;
 
 import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
@@ -18,9 +20,9 @@ import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.UUID;
-import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import java.io.Serializable;
 import java.util.Comparator;
@@ -42,6 +44,7 @@ public class MonitoredObjectStoreWrapper<T extends Serializable>
 
   protected MuleContext context;
   protected ScheduledThreadPoolExecutor scheduler;
+  protected Timeout expirationTimeout;
   ListableObjectStore<StoredObject<T>> baseStore;
 
   /**
@@ -194,6 +197,9 @@ public class MonitoredObjectStoreWrapper<T extends Serializable>
 
   @Override
   public void dispose() {
+    if (expirationTimeout != null) {
+      expirationTimeout.cancel();
+    }
     if (scheduler != null) {
       scheduler.shutdown();
     }
@@ -211,9 +217,10 @@ public class MonitoredObjectStoreWrapper<T extends Serializable>
     }
 
     if (scheduler == null) {
-      this.scheduler = new ScheduledThreadPoolExecutor(1);
-      scheduler.setThreadFactory(new DaemonThreadFactory(name + "-Monitor", context.getExecutionClassLoader()));
-      scheduler.scheduleWithFixedDelay(this, 0, expirationInterval, TimeUnit.MILLISECONDS);
+      ClassLoader classLoader = context.getExecutionClassLoader();
+      expirationTimeout = getTimerService(context)
+          .scheduleWithFixedDelay(name + "-Monitor", () -> withContextClassLoader(classLoader, this), 0, expirationInterval,
+                                  TimeUnit.MILLISECONDS);
     }
   }
 
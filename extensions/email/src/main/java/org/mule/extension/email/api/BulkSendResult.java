@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.email.api;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * The outcome of sending a list of emails through a single connection with the mail server.
+ *
+ * @since 4.0
+ */
+public class BulkSendResult {
+
+  /**
+   * The number of emails that were sent to all of their recipients.
+   */
+  private final int sentCount;
+
+  /**
+   * The emails that could not be delivered to all of their recipients.
+   */
+  private final List<EmailSendFailure> failures;
+
+  /**
+   * The time it took to send all the emails, in milliseconds.
+   */
+  private final long elapsedTime;
+
+  public BulkSendResult(int sentCount, List<EmailSendFailure> failures, long elapsedTime) {
+    this.sentCount = sentCount;
+    this.failures = unmodifiableList(failures);
+    this.elapsedTime = elapsedTime;
+  }
+
+  /**
+   * @return the number of emails that were sent to all of their recipients.
+   */
+  public int getSentCount() {
+    return sentCount;
+  }
+
+  /**
+   * @return the number of emails that could not be delivered to all of their recipients.
+   */
+  public int getFailedCount() {
+    return failures.size();
+  }
+
+  /**
+   * @return a {@link List} describing each email that could not be delivered to all of its recipients.
+   */
+  public List<EmailSendFailure> getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return the time it took to send all the emails, in milliseconds.
+   */
+  public long getElapsedTime() {
+    return elapsedTime;
+  }
+
+  /**
+   * @return the average number of emails sent per second.
+   */
+  public double getThroughput() {
+    int total = sentCount + failures.size();
+    return elapsedTime == 0 ? total : total * 1000.0 / elapsedTime;
+  }
+}
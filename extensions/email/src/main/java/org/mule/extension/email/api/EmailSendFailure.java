@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.email.api;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * Describes an email of a bulk send which could not be delivered to all of its recipients.
+ *
+ * @since 4.0
+ */
+public class EmailSendFailure {
+
+  /**
+   * The position of the email in the list of emails that were sent.
+   */
+  private final int index;
+
+  /**
+   * The subject of the email.
+   */
+  private final String subject;
+
+  /**
+   * The addresses that were rejected by the mail server.
+   */
+  private final List<String> invalidAddresses;
+
+  /**
+   * The valid addresses to which the email was not sent.
+   */
+  private final List<String> unsentAddresses;
+
+  /**
+   * The addresses to which the email was sent.
+   */
+  private final List<String> sentAddresses;
+
+  /**
+   * The reason of the failure.
+   */
+  private final String errorMessage;
+
+  public EmailSendFailure(int index, String subject, List<String> invalidAddresses, List<String> unsentAddresses,
+                          List<String> sentAddresses, String errorMessage) {
+    this.index = index;
+    this.subject = subject;
+    this.invalidAddresses = unmodifiableList(invalidAddresses);
+    this.unsentAddresses = unmodifiableList(unsentAddresses);
+    this.sentAddresses = unmodifiableList(sentAddresses);
+    this.errorMessage = errorMessage;
+  }
+
+  /**
+   * @return the position of the email in the list of emails that were sent, starting from 0.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the subject of the email.
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * @return a {@link List} with the addresses that were rejected by the mail server.
+   */
+  public List<String> getInvalidAddresses() {
+    return invalidAddresses;
+  }
+
+  /**
+   * @return a {@link List} with the valid addresses to which the email was not sent.
+   */
+  public List<String> getUnsentAddresses() {
+    return unsentAddresses;
+  }
+
+  /**
+   * @return a {@link List} with the addresses to which the email was sent anyway, if the mail server accepts partial deliveries.
+   */
+  public List<String> getSentAddresses() {
+    return sentAddresses;
+  }
+
+  /**
+   * @return the reason of the failure.
+   */
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+}
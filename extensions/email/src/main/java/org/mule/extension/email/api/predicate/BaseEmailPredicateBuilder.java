@@ -6,7 +6,10 @@
  */
 package org.mule.extension.email.api.predicate;
 
+import static java.time.ZoneId.systemDefault;
 import static java.util.regex.Pattern.compile;
+import static javax.mail.search.ComparisonTerm.GE;
+import static javax.mail.search.ComparisonTerm.LE;
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 import org.mule.runtime.core.api.util.TimeSinceFunction;
 import org.mule.runtime.core.api.util.TimeUntilFunction;
@@ -16,8 +19,16 @@ import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.function.Predicate;
 
+import javax.mail.search.AndTerm;
+import javax.mail.search.ReceivedDateTerm;
+import javax.mail.search.SearchTerm;
+import javax.mail.search.SentDateTerm;
+
 /**
  * Base builder class for {@link Predicate}s that verify that a {@link BaseEmailAttributes} instance is compliant with a
  * number of criteria. Builder implementation of this class are stateful and not thread-safe. A new instance should be
@@ -124,6 +135,46 @@ public abstract class BaseEmailPredicateBuilder {
     return (Predicate<BaseEmailAttributes>) predicate;
   }
 
+  /**
+   * Builds a {@link SearchTerm} with the criterias in {@code this} builder's state that can be evaluated by the mail server, so
+   * that only the emails that may match are retrieved from it.
+   * <p>
+   * Mail servers compare dates ignoring the time of the day and using their own time zone, so the date criterias are widened by
+   * one day to each side. The returned term may then match more emails than the ones accepted by the {@link Predicate} returned
+   * by {@link #build()}, which must still be applied to the retrieved emails, but it never leaves out an email that predicate
+   * would accept.
+   *
+   * @return a {@link SearchTerm}, or {@code null} if none of the criterias can be evaluated by the mail server
+   */
+  public SearchTerm buildSearchTerm() {
+    List<SearchTerm> terms = new ArrayList<>(getBaseSearchTerms());
+
+    if (receivedSince != null) {
+      terms.add(new ReceivedDateTerm(GE, asDate(receivedSince.minusDays(1))));
+    }
+
+    if (receivedUntil != null) {
+      terms.add(new ReceivedDateTerm(LE, asDate(receivedUntil.plusDays(1))));
+    }
+
+    if (sentSince != null) {
+      terms.add(new SentDateTerm(GE, asDate(sentSince.minusDays(1))));
+    }
+
+    if (sentUntil != null) {
+      terms.add(new SentDateTerm(LE, asDate(sentUntil.plusDays(1))));
+    }
+
+    if (terms.isEmpty()) {
+      return null;
+    }
+    return terms.size() == 1 ? terms.get(0) : new AndTerm(terms.toArray(new SearchTerm[terms.size()]));
+  }
+
+  private Date asDate(LocalDateTime dateTime) {
+    return Date.from(dateTime.atZone(systemDefault()).toInstant());
+  }
+
   public BaseEmailPredicateBuilder setFromRegex(String fromRegex) {
     this.fromRegex = fromRegex;
     return this;
@@ -157,4 +208,11 @@ public abstract class BaseEmailPredicateBuilder {
   protected Predicate<? extends BaseEmailAttributes> getBasePredicate() {
     return emailAttributes -> true;
   }
+
+  /**
+   * @return the {@link SearchTerm}s for the protocol specific criterias which can be evaluated by the mail server.
+   */
+  protected List<SearchTerm> getBaseSearchTerms() {
+    return new ArrayList<>();
+  }
 }
@@ -6,6 +6,10 @@
  */
 package org.mule.extension.email.api.predicate;
 
+import static javax.mail.Flags.Flag.ANSWERED;
+import static javax.mail.Flags.Flag.DELETED;
+import static javax.mail.Flags.Flag.RECENT;
+import static javax.mail.Flags.Flag.SEEN;
 import org.mule.extension.email.api.EmailFlags;
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 import org.mule.extension.email.api.attributes.IMAPEmailAttributes;
@@ -14,8 +18,13 @@ import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 
+import java.util.List;
 import java.util.function.Predicate;
 
+import javax.mail.Flags;
+import javax.mail.search.FlagTerm;
+import javax.mail.search.SearchTerm;
+
 /**
  * Builds a {@link Predicate} which verifies that a {@link IMAPEmailAttributes} instance is compliant with a number of criteria.
  * This builder is stateful and not thread-safe. A new instance should be use per each desired {@link Predicate}.
@@ -84,6 +93,29 @@ public class IMAPEmailPredicateBuilder extends BaseEmailPredicateBuilder {
     return predicate;
   }
 
+  @Override
+  protected List<SearchTerm> getBaseSearchTerms() {
+    List<SearchTerm> terms = super.getBaseSearchTerms();
+
+    if (recent != null) {
+      terms.add(new FlagTerm(new Flags(RECENT), recent));
+    }
+
+    if (deleted != null) {
+      terms.add(new FlagTerm(new Flags(DELETED), deleted));
+    }
+
+    if (answered != null) {
+      terms.add(new FlagTerm(new Flags(ANSWERED), answered));
+    }
+
+    if (seen != null) {
+      terms.add(new FlagTerm(new Flags(SEEN), seen));
+    }
+
+    return terms;
+  }
+
   public IMAPEmailPredicateBuilder setAnswered(Boolean answered) {
     this.answered = answered;
     return this;
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.email.internal.commands;
+
+import static java.lang.Math.min;
+import static java.util.Arrays.copyOfRange;
+import static java.util.Optional.empty;
+import static javax.mail.Folder.READ_ONLY;
+import org.mule.extension.email.api.attributes.BaseEmailAttributes;
+import org.mule.extension.email.api.exception.EmailException;
+import org.mule.extension.email.internal.mailbox.MailboxAccessConfiguration;
+import org.mule.extension.email.internal.mailbox.MailboxConnection;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
+import org.mule.runtime.extension.api.runtime.operation.OperationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.mail.Folder;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.UIDFolder;
+
+/**
+ * A {@link PagingProvider} which retrieves the emails of a folder a page at a time, identifying them by their UIDs.
+ * <p>
+ * Each page prefetches the attributes of its emails with the {@link MailboxAccessConfiguration#getFetchProfile()} of the
+ * configuration and reads their content only if the configuration eagerly fetches it. Since each page may be requested with a
+ * different connection, the emails are looked up by UID in the folder of the connection of each page. The emails which were
+ * expunged after the listing started are skipped.
+ *
+ * @since 4.0
+ */
+final class EmailListPagingProvider<T extends BaseEmailAttributes>
+    implements PagingProvider<MailboxConnection, OperationResult<Object, T>> {
+
+  private final ListCommand listCommand;
+  private final MailboxAccessConfiguration configuration;
+  private final String folderName;
+  private final long[] uids;
+  private final Predicate<BaseEmailAttributes> matcher;
+  private final int pageSize;
+  private int position = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param listCommand   the {@link ListCommand} which creates the result for each email
+   * @param configuration the {@link MailboxAccessConfiguration} associated to the operation
+   * @param folderName    the name of the folder where the emails are stored
+   * @param uids          the UIDs of the emails to retrieve
+   * @param matcher       a {@link Predicate} of {@link BaseEmailAttributes} used to filter the retrieved emails
+   * @param pageSize      the maximum number of emails in each page
+   */
+  EmailListPagingProvider(ListCommand listCommand, MailboxAccessConfiguration configuration, String folderName, long[] uids,
+                          Predicate<BaseEmailAttributes> matcher, int pageSize) {
+    this.listCommand = listCommand;
+    this.configuration = configuration;
+    this.folderName = folderName;
+    this.uids = uids;
+    this.matcher = matcher;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OperationResult<Object, T>> getPage(MailboxConnection connection) {
+    List<OperationResult<Object, T>> page = new ArrayList<>(pageSize);
+    try {
+      Folder folder = connection.getFolder(folderName, READ_ONLY);
+      while (page.size() < pageSize && position < uids.length) {
+        int end = min(position + pageSize - page.size(), uids.length);
+        Message[] messages = Stream.of(((UIDFolder) folder).getMessagesByUID(copyOfRange(uids, position, end)))
+            .filter(message -> message != null)
+            .toArray(Message[]::new);
+        position = end;
+
+        folder.fetch(messages, configuration.getFetchProfile());
+        for (Message message : messages) {
+          OperationResult<Object, T> result = listCommand.toResult(configuration, folder, message, matcher);
+          if (result != null) {
+            page.add(result);
+          }
+        }
+      }
+    } catch (MessagingException me) {
+      throw new EmailException("Error while retrieving emails: " + me.getMessage(), me);
+    }
+    return page;
+  }
+
+  /**
+   * The total amount of emails is unknown when some of the criterias of the matcher could not be evaluated by the mail server.
+   *
+   * @return an empty {@link Optional}
+   */
+  @Override
+  public Optional<Integer> getTotalResults(MailboxConnection connection) {
+    return empty();
+  }
+
+  /**
+   * The folder belongs to the connection of each page, so there is nothing to close.
+   */
+  @Override
+  public void close() {}
+}
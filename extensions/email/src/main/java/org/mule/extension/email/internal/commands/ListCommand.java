@@ -6,6 +6,7 @@
  */
 package org.mule.extension.email.internal.commands;
 
+import static java.lang.String.format;
 import static javax.mail.Folder.READ_ONLY;
 import static org.mule.runtime.core.message.DefaultMultiPartPayload.BODY_ATTRIBUTES;
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
@@ -16,15 +17,20 @@ import org.mule.extension.email.internal.mailbox.MailboxConnection;
 import org.mule.extension.email.internal.util.EmailContentProcessor;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.message.DefaultMultiPartPayload;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 
+import com.sun.mail.imap.IMAPFolder;
+
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Predicate;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.MessagingException;
+import javax.mail.UIDFolder;
+import javax.mail.search.SearchTerm;
 
 
 /**
@@ -56,20 +62,13 @@ public final class ListCommand {
     Predicate<BaseEmailAttributes> matcher = matcherBuilder != null ? matcherBuilder.build() : e -> true;
     try {
       Folder folder = connection.getFolder(folderName, READ_ONLY);
-      List<OperationResult<Object, T>> list = new LinkedList<>();
-      for (javax.mail.Message m : folder.getMessages()) {
-        Object emailContent = "";
-        T attributes = configuration.parseAttributesFromMessage(m, folder);
-        if (matcher.test(attributes)) {
-          if (configuration.isEagerlyFetchContent()) {
-            emailContent = readContent(m);
-            // Attributes are parsed again since they may change after the email has been read.
-            attributes = configuration.parseAttributesFromMessage(m, folder);
-          }
-          OperationResult<Object, T> operationResult = OperationResult.<Object, T>builder()
-              .output(emailContent)
-              .attributes(attributes)
-              .build();
+      javax.mail.Message[] messages = searchMessages(folder, matcherBuilder);
+      folder.fetch(messages, configuration.getFetchProfile());
+
+      List<OperationResult<Object, T>> list = new ArrayList<>(messages.length);
+      for (javax.mail.Message m : messages) {
+        OperationResult<Object, T> operationResult = toResult(configuration, folder, m, matcher);
+        if (operationResult != null) {
           list.add(operationResult);
         }
       }
@@ -79,6 +78,85 @@ public final class ListCommand {
     }
   }
 
+  /**
+   * Retrieves the emails in the specified {@code folderName} in pages of {@code pageSize} emails.
+   * <p>
+   * The emails that match the criterias of the {@code matcherBuilder} that can be evaluated by the mail server are searched
+   * when this method is called, keeping only their UIDs. Their attributes, and their content if it should be read, are
+   * retrieved when the page they belong to is requested, so that only one page of emails is held in memory at a time.
+   *
+   * @param configuration  The {@link MailboxAccessConfiguration} associated to this operation.
+   * @param connection     the associated {@link MailboxConnection}.
+   * @param folderName     the name of the folder where the emails are stored.
+   * @param matcherBuilder a {@link Predicate} of {@link BaseEmailAttributes} used to filter the output list
+   * @param pageSize       the maximum number of emails in each page
+   * @return a {@link PagingProvider} of {@link OperationResult}s carrying the emails and their corresponding attributes.
+   */
+  public <T extends BaseEmailAttributes> PagingProvider<MailboxConnection, OperationResult<Object, T>> pagedList(
+      MailboxAccessConfiguration configuration, MailboxConnection connection, String folderName,
+      BaseEmailPredicateBuilder matcherBuilder, int pageSize) {
+    Predicate<BaseEmailAttributes> matcher = matcherBuilder != null ? matcherBuilder.build() : e -> true;
+    try {
+      Folder folder = connection.getFolder(folderName, READ_ONLY);
+      if (!(folder instanceof UIDFolder)) {
+        throw new EmailException(format("Folder %s does not support retrieving emails by UID", folderName));
+      }
+
+      javax.mail.Message[] messages = searchMessages(folder, matcherBuilder);
+      FetchProfile fetchProfile = new FetchProfile();
+      fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+      folder.fetch(messages, fetchProfile);
+
+      long[] uids = new long[messages.length];
+      for (int i = 0; i < messages.length; ++i) {
+        uids[i] = ((UIDFolder) folder).getUID(messages[i]);
+      }
+      return new EmailListPagingProvider<>(this, configuration, folderName, uids, matcher, pageSize);
+    } catch (MessagingException me) {
+      throw new EmailException("Error while retrieving emails: " + me.getMessage(), me);
+    }
+  }
+
+  /**
+   * Returns the emails in the {@code folder} which may match the {@code matcherBuilder}.
+   * <p>
+   * The search is only delegated to IMAP servers. POP3 has no search command, so {@link Folder#search(SearchTerm)} would read
+   * every message one at a time to evaluate the term on the client side.
+   */
+  private javax.mail.Message[] searchMessages(Folder folder, BaseEmailPredicateBuilder matcherBuilder)
+      throws MessagingException {
+    SearchTerm searchTerm = matcherBuilder != null ? matcherBuilder.buildSearchTerm() : null;
+    if (searchTerm != null && folder instanceof IMAPFolder) {
+      return folder.search(searchTerm);
+    }
+    return folder.getMessages();
+  }
+
+  /**
+   * Creates the {@link OperationResult} for the email {@code m}, reading its content if the {@code configuration} says so.
+   *
+   * @return the {@link OperationResult}, or {@code null} if the email does not match the {@code matcher}
+   */
+  <T extends BaseEmailAttributes> OperationResult<Object, T> toResult(MailboxAccessConfiguration configuration, Folder folder,
+                                                                      javax.mail.Message m,
+                                                                      Predicate<BaseEmailAttributes> matcher) {
+    Object emailContent = "";
+    T attributes = configuration.parseAttributesFromMessage(m, folder);
+    if (!matcher.test(attributes)) {
+      return null;
+    }
+
+    if (configuration.isEagerlyFetchContent()) {
+      emailContent = readContent(m);
+      // Attributes are parsed again since they may change after the email has been read.
+      attributes = configuration.parseAttributesFromMessage(m, folder);
+    }
+    return OperationResult.<Object, T>builder()
+        .output(emailContent)
+        .attributes(attributes)
+        .build();
+  }
+
   private Object readContent(javax.mail.Message m) {
     Object emailContent;
     EmailContentProcessor processor = EmailContentProcessor.getInstance(m);
@@ -6,9 +6,16 @@
  */
 package org.mule.extension.email.internal.commands;
 
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.StringUtils.isNotBlank;
+import org.mule.extension.email.api.BulkSendResult;
 import org.mule.extension.email.api.EmailBody;
 import org.mule.extension.email.api.EmailBuilder;
+import org.mule.extension.email.api.EmailSendFailure;
 import org.mule.extension.email.api.exception.EmailException;
 import org.mule.extension.email.internal.MessageBuilder;
 import org.mule.extension.email.internal.sender.SMTPConfiguration;
@@ -16,11 +23,18 @@ import org.mule.extension.email.internal.sender.SenderConnection;
 
 import com.google.common.collect.ImmutableMap;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Stream;
 
+import javax.mail.Address;
 import javax.mail.Message;
 import javax.mail.MessagingException;
-import javax.mail.Transport;
+import javax.mail.SendFailedException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Represents the send operation.
@@ -29,6 +43,8 @@ import javax.mail.Transport;
  */
 public final class SendCommand {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(SendCommand.class);
+
   /**
    * Send an email message. The message will be sent to all recipient {@code toAddresses}, {@code ccAddresses},
    * {@code bccAddresses} specified in the {@code emailBuilder}.
@@ -39,28 +55,82 @@ public final class SendCommand {
    */
   public void send(SenderConnection connection, SMTPConfiguration configuration, EmailBuilder emailBuilder) {
     try {
-      ImmutableMap.Builder<String, String> headers = ImmutableMap.builder();
-      headers.putAll(configuration.getHeaders());
-      headers.putAll(emailBuilder.getHeaders());
-
-      EmailBody body = emailBuilder.getBody();
-
-      Message message = MessageBuilder.newMessage(connection.getSession())
-          .withSentDate(Calendar.getInstance().getTime())
-          .fromAddresses(isNotBlank(emailBuilder.getFromAddress()) ? emailBuilder.getFromAddress() : configuration.getFrom())
-          .to(emailBuilder.getToAddresses())
-          .cc(emailBuilder.getCcAddresses())
-          .bcc(emailBuilder.getBccAddresses())
-          .withSubject(emailBuilder.getSubject())
-          .withAttachments(emailBuilder.getAttachments())
-          .withBody(body.getContent(), body.getContentType(),
-                    body.getCharset() == null ? configuration.getDefaultCharset() : body.getCharset())
-          .withHeaders(headers.build())
-          .build();
-
-      Transport.send(message);
+      connection.sendMessage(buildMessage(connection, configuration, emailBuilder));
     } catch (MessagingException e) {
       throw new EmailException("Error while sending email: " + e.getMessage(), e);
     }
   }
+
+  /**
+   * Sends all the emails built by the given {@code emailBuilders} one after the other through the SMTP session of the
+   * {@code connection}, so that the cost of connecting and authenticating with the mail server is paid only once.
+   * <p>
+   * An email which cannot be delivered does not prevent the next ones from being sent. Instead, the failure is reported in the
+   * returned {@link BulkSendResult} along with the recipients that were rejected by the mail server.
+   *
+   * @param connection    the connection associated to the operation.
+   * @param configuration the specified configuration to send the emails.
+   * @param emailBuilders the builders used to create each of the emails that are going to be sent.
+   * @return a {@link BulkSendResult} with the emails that could not be sent and the throughput of the operation.
+   */
+  public BulkSendResult sendBulk(SenderConnection connection, SMTPConfiguration configuration, List<EmailBuilder> emailBuilders) {
+    long startTime = nanoTime();
+    int sentCount = 0;
+    List<EmailSendFailure> failures = new ArrayList<>();
+
+    for (int i = 0; i < emailBuilders.size(); ++i) {
+      EmailBuilder emailBuilder = emailBuilders.get(i);
+      try {
+        connection.sendMessage(buildMessage(connection, configuration, emailBuilder));
+        ++sentCount;
+      } catch (SendFailedException e) {
+        failures.add(new EmailSendFailure(i, emailBuilder.getSubject(), toStrings(e.getInvalidAddresses()),
+                                          toStrings(e.getValidUnsentAddresses()), toStrings(e.getValidSentAddresses()),
+                                          e.getMessage()));
+      } catch (MessagingException e) {
+        failures.add(new EmailSendFailure(i, emailBuilder.getSubject(), emptyList(), getRecipients(emailBuilder), emptyList(),
+                                          e.getMessage()));
+      }
+    }
+
+    BulkSendResult result = new BulkSendResult(sentCount, failures, NANOSECONDS.toMillis(nanoTime() - startTime));
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Sent %d of %d emails in %d ms (%.2f emails/s)", result.getSentCount(), emailBuilders.size(),
+                          result.getElapsedTime(), result.getThroughput()));
+    }
+    return result;
+  }
+
+  private Message buildMessage(SenderConnection connection, SMTPConfiguration configuration, EmailBuilder emailBuilder)
+      throws MessagingException {
+    ImmutableMap.Builder<String, String> headers = ImmutableMap.builder();
+    headers.putAll(configuration.getHeaders());
+    headers.putAll(emailBuilder.getHeaders());
+
+    EmailBody body = emailBuilder.getBody();
+
+    return MessageBuilder.newMessage(connection.getSession())
+        .withSentDate(Calendar.getInstance().getTime())
+        .fromAddresses(isNotBlank(emailBuilder.getFromAddress()) ? emailBuilder.getFromAddress() : configuration.getFrom())
+        .to(emailBuilder.getToAddresses())
+        .cc(emailBuilder.getCcAddresses())
+        .bcc(emailBuilder.getBccAddresses())
+        .withSubject(emailBuilder.getSubject())
+        .withAttachments(emailBuilder.getAttachments())
+        .withBody(body.getContent(), body.getContentType(),
+                  body.getCharset() == null ? configuration.getDefaultCharset() : body.getCharset())
+        .withHeaders(headers.build())
+        .build();
+  }
+
+  private List<String> getRecipients(EmailBuilder emailBuilder) {
+    List<String> recipients = new ArrayList<>(emailBuilder.getToAddresses());
+    recipients.addAll(emailBuilder.getCcAddresses());
+    recipients.addAll(emailBuilder.getBccAddresses());
+    return recipients;
+  }
+
+  private List<String> toStrings(Address[] addresses) {
+    return addresses == null ? emptyList() : Stream.of(addresses).map(Address::toString).collect(toList());
+  }
 }
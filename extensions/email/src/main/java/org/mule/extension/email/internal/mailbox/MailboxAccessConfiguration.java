@@ -8,6 +8,7 @@ package org.mule.extension.email.internal.mailbox;
 
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
 
@@ -32,4 +33,11 @@ public interface MailboxAccessConfiguration {
    */
   <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder);
 
+  /**
+   * Returns the {@link FetchProfile} with the items that are read by {@link #parseAttributesFromMessage(Message, Folder)}, so
+   * they can be retrieved for a whole set of messages at once instead of one message at a time.
+   *
+   * @return the {@link FetchProfile} to prefetch the listed messages with.
+   */
+  FetchProfile getFetchProfile();
 }
@@ -18,8 +18,10 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 
 import com.sun.mail.imap.IMAPFolder;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.UIDFolder;
 
 /**
  * Configuration for operations that are performed through the IMAP (Internet Message Access Protocol) protocol.
@@ -51,4 +53,19 @@ public class IMAPConfiguration implements MailboxAccessConfiguration {
   public <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder) {
     return (T) new IMAPEmailAttributes(message, (IMAPFolder) folder);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The envelope, flags, UID and headers of the messages are retrieved with a single FETCH command.
+   */
+  @Override
+  public FetchProfile getFetchProfile() {
+    FetchProfile fetchProfile = new FetchProfile();
+    fetchProfile.add(FetchProfile.Item.ENVELOPE);
+    fetchProfile.add(FetchProfile.Item.FLAGS);
+    fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+    fetchProfile.add(IMAPFolder.FetchProfileItem.HEADERS);
+    return fetchProfile;
+  }
 }
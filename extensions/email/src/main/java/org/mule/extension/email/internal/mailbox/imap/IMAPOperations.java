@@ -11,6 +11,7 @@ import static javax.mail.Flags.Flag.DELETED;
 import static javax.mail.Flags.Flag.SEEN;
 import static javax.mail.Folder.READ_WRITE;
 import static org.mule.extension.email.internal.util.EmailConnectorConstants.INBOX_FOLDER;
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
 import org.mule.extension.email.api.attributes.IMAPEmailAttributes;
 import org.mule.extension.email.api.exception.EmailException;
 import org.mule.extension.email.api.predicate.IMAPEmailPredicateBuilder;
@@ -25,6 +26,7 @@ import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.UseConfig;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 
 import java.util.List;
@@ -61,6 +63,32 @@ public class IMAPOperations {
     return listCommand.list(config, connection, mailboxFolder, imapMatcher);
   }
 
+  /**
+   * List the emails in the configured imap mailBoxFolder that match with the specified {@code imapMatcher} criteria, retrieving
+   * them a page at a time.
+   * <p>
+   * The matcher criterias on dates and flags are evaluated by the mail server, and only the UIDs of the matching emails are kept
+   * in memory until the page they belong to is requested.
+   *
+   * @param config        The {@link MailboxAccessConfiguration} associated to this operation.
+   * @param connection    The corresponding {@link MailboxConnection} instance.
+   * @param mailboxFolder Mailbox folder where the emails are going to be fetched
+   * @param pageSize      The maximum number of emails retrieved on each page. Defaults to 100.
+   * @param imapMatcher   Email Matcher which gives the capability of filter the retrieved emails
+   * @return a {@link PagingProvider} of {@link OperationResult}s carrying the emails content
+   * and it's corresponding {@link IMAPEmailAttributes}.
+   */
+  @Summary("List the emails in the given IMAP Mailbox Folder a page at a time")
+  public PagingProvider<MailboxConnection, OperationResult<Object, IMAPEmailAttributes>> pagedListImap(
+      @UseConfig IMAPConfiguration config,
+      @Connection MailboxConnection connection,
+      @Optional(defaultValue = INBOX_FOLDER) String mailboxFolder,
+      @Optional(defaultValue = "100") int pageSize,
+      @DisplayName("Matcher") @Optional IMAPEmailPredicateBuilder imapMatcher) {
+    checkArgument(pageSize > 0, format("pageSize must be greater than zero but '%d' was received", pageSize));
+    return listCommand.pagedList(config, connection, mailboxFolder, imapMatcher, pageSize);
+  }
+
   /**
    * Marks a single email as READ changing it's state in the specified mailbox folder.
    * <p>
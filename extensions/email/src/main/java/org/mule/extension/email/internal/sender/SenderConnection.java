@@ -6,6 +6,9 @@
  */
 package org.mule.extension.email.internal.sender;
 
+import static java.lang.String.format;
+import static org.mule.runtime.api.connection.ConnectionExceptionCode.DISCONNECTED;
+import static org.mule.runtime.api.connection.ConnectionValidationResult.failure;
 import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
 import org.mule.extension.email.internal.AbstractEmailConnection;
 import org.mule.extension.email.internal.EmailProtocol;
@@ -15,6 +18,13 @@ import org.mule.runtime.api.tls.TlsContextFactory;
 
 import java.util.Map;
 
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * A connection with a mail server for sending emails.
  *
@@ -22,6 +32,12 @@ import java.util.Map;
  */
 public final class SenderConnection extends AbstractEmailConnection {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(SenderConnection.class);
+
+  private final String username;
+  private final String password;
+  private Transport transport;
+
   /**
    * Creates a new instance.
    *
@@ -38,7 +54,7 @@ public final class SenderConnection extends AbstractEmailConnection {
   public SenderConnection(EmailProtocol protocol, String username, String password, String host, String port,
                           long connectionTimeout, long readTimeout, long writeTimeout, Map<String, String> properties)
       throws EmailConnectionException {
-    super(protocol, username, password, host, port, connectionTimeout, readTimeout, writeTimeout, properties);
+    this(protocol, username, password, host, port, connectionTimeout, readTimeout, writeTimeout, properties, null);
   }
 
   /**
@@ -60,23 +76,66 @@ public final class SenderConnection extends AbstractEmailConnection {
                           TlsContextFactory tlsContextFactory)
       throws EmailConnectionException {
     super(protocol, username, password, host, port, connectionTimeout, readTimeout, writeTimeout, properties, tlsContextFactory);
+    this.username = username;
+    this.password = password;
+  }
+
+  /**
+   * Sends the given {@code message} to all of its recipients.
+   * <p>
+   * Unlike {@link Transport#send(Message)}, which opens and authenticates a new connection with the mail server for each message,
+   * the {@link Transport} used by this method is kept connected between invocations, so that all the messages sent through the
+   * same {@link SenderConnection} share a single SMTP session. If the server closed that session, a new one is opened.
+   *
+   * @param message the {@link Message} to be sent
+   * @throws MessagingException if the message could not be sent
+   */
+  public synchronized void sendMessage(Message message) throws MessagingException {
+    message.saveChanges();
+    getTransport().sendMessage(message, message.getAllRecipients());
+  }
+
+  private Transport getTransport() throws MessagingException {
+    if (transport == null) {
+      transport = session.getTransport(protocol.getName());
+    }
+
+    if (!transport.isConnected()) {
+      if (username != null && password != null) {
+        transport.connect(username, password);
+      } else {
+        transport.connect();
+      }
+    }
+    return transport;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void disconnect() {
-    // No implementation
+  public synchronized void disconnect() {
+    if (transport != null) {
+      try {
+        transport.close();
+      } catch (Exception e) {
+        LOGGER.error(format("Error closing transport when disconnecting: %s", e.getMessage()));
+      } finally {
+        transport = null;
+      }
+    }
   }
 
   /**
    * {@inheritDoc}
    * <p>
-   * if the {@link SenderConnection} instance exists, then the validation will always be successful
+   * The connection is valid if no message has been sent through it yet, since the {@link Transport} is connected when the first
+   * message is sent, or if the session opened by the {@link Transport} is still alive.
    */
   @Override
-  public ConnectionValidationResult validate() {
-    return success();
+  public synchronized ConnectionValidationResult validate() {
+    String errorMessage = "Transport is not connected";
+    return transport == null || transport.isConnected() ? success()
+        : failure(errorMessage, DISCONNECTED, new EmailConnectionException(errorMessage));
   }
 }
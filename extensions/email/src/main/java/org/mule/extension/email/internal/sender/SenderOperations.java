@@ -7,12 +7,15 @@
 package org.mule.extension.email.internal.sender;
 
 
+import org.mule.extension.email.api.BulkSendResult;
 import org.mule.extension.email.api.EmailBuilder;
 import org.mule.extension.email.internal.commands.SendCommand;
 import org.mule.runtime.extension.api.annotation.param.Connection;
 import org.mule.runtime.extension.api.annotation.param.UseConfig;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
+import java.util.List;
+
 /**
  * Basic set of operations which perform send email operations over the SMTP or SMTPS protocol.
  *
@@ -39,4 +42,23 @@ public class SenderOperations {
                    EmailBuilder emailBuilder) {
     sendOperation.send(connection, configuration, emailBuilder);
   }
+
+  /**
+   * Sends a list of email messages, one after the other, through the same connection with the mail server, avoiding the cost of
+   * connecting and authenticating for each of them.
+   * <p>
+   * Emails that cannot be delivered do not stop the operation. Each of them is reported in the returned {@link BulkSendResult},
+   * along with the recipients that were rejected and the number of emails sent per second.
+   *
+   * @param connection    Connection to use to send the messages
+   * @param configuration Configuration of the connector
+   * @param emailBuilders The builders of the emails that are going to be send.
+   * @return a {@link BulkSendResult} describing the emails that could not be sent.
+   */
+  @Summary("Sends a list of email messages through a single connection")
+  public BulkSendResult sendBulk(@Connection SenderConnection connection,
+                                 @UseConfig SMTPConfiguration configuration,
+                                 List<EmailBuilder> emailBuilders) {
+    return sendOperation.sendBulk(connection, configuration, emailBuilders);
+  }
 }
@@ -34,8 +34,10 @@ import org.mule.test.runner.RunnerDelegateTo;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.mail.Flags.Flag;
@@ -54,6 +56,8 @@ public class IMAPTestCase extends AbstractEmailRetrieverTestCase {
   private static final String RETRIEVE_AND_DELETE_INCOMING_AND_SCHEDULED = "retrieveAndDeleteIncomingAndScheduled";
   private static final String RETRIEVE_MATCH_RECENT = "retrieveOnlyRecentEmails";
   private static final String FAIL_MARKING_FLAG = "failMarkingEmail";
+  private static final String PAGED_RETRIEVE_AND_READ = "pagedRetrieveAndRead";
+  private static final String PAGED_RETRIEVE_MATCH_NOT_READ = "pagedRetrieveOnlyNotReadEmails";
 
   @Parameterized.Parameter
   public String protocol;
@@ -134,6 +138,27 @@ public class IMAPTestCase extends AbstractEmailRetrieverTestCase {
     testMatcherFlag(RETRIEVE_MATCH_RECENT, RECENT, false);
   }
 
+  @Test
+  public void pagedRetrieveAndRead() throws Exception {
+    List<OperationResult> messages = runFlowAndGetPagedMessages(PAGED_RETRIEVE_AND_READ);
+    assertThat(messages, hasSize(10));
+    messages.forEach(m -> {
+      assertBodyContent((String) m.getOutput());
+      assertThat(((IMAPEmailAttributes) m.getAttributes().get()).getFlags().isSeen(), is(true));
+    });
+  }
+
+  @Test
+  public void pagedRetrieveOnlyNotRead() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      server.getReceivedMessages()[i].setFlag(SEEN, true);
+    }
+
+    List<OperationResult> messages = runFlowAndGetPagedMessages(PAGED_RETRIEVE_MATCH_NOT_READ);
+    assertThat(messages, hasSize(7));
+    messages.forEach(m -> assertThat(((IMAPEmailAttributes) m.getAttributes().get()).getFlags().isSeen(), is(true)));
+  }
+
   @Test
   public void retrieveAndExpungeDelete() throws Exception {
     stream(server.getReceivedMessages()).forEach(m -> assertFlag(m, DELETED, false));
@@ -172,6 +197,15 @@ public class IMAPTestCase extends AbstractEmailRetrieverTestCase {
     assertThat(messages, hasSize(7));
   }
 
+  private List<OperationResult> runFlowAndGetPagedMessages(String flowName) throws Exception {
+    Object payload = flowRunner(flowName).run().getMessage().getPayload().getValue();
+    assertThat(payload, is(instanceOf(Iterator.class)));
+
+    List<OperationResult> messages = new ArrayList<>();
+    ((Iterator<OperationResult>) payload).forEachRemaining(messages::add);
+    return messages;
+  }
+
   private void assertStoredEmail(File storedEmail) throws IOException {
     assertThat(storedEmail.getName(), startsWith(EMAIL_SUBJECT));
     String fileContent = new String(Files.readAllBytes(storedEmail.toPath()));
@@ -7,15 +7,32 @@
 package org.mule.extension.email.sender;
 
 import static java.nio.charset.Charset.availableCharsets;
+import static java.util.Collections.emptyMap;
+import static javax.mail.Message.RecipientType.TO;
+import static org.apache.commons.lang.reflect.FieldUtils.readField;
 import static org.hamcrest.collection.IsArrayWithSize.arrayWithSize;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.mule.extension.email.internal.EmailProtocol.SMTP;
+import static org.mule.extension.email.util.EmailTestUtils.EMAIL_CONTENT;
+import static org.mule.extension.email.util.EmailTestUtils.EMAIL_SUBJECT;
 import static org.mule.extension.email.util.EmailTestUtils.EMAIL_TEXT_PLAIN_ATTACHMENT_CONTENT;
+import static org.mule.extension.email.util.EmailTestUtils.ESTEBAN_EMAIL;
+import static org.mule.extension.email.util.EmailTestUtils.JUANI_EMAIL;
+import org.mule.extension.email.api.BulkSendResult;
+import org.mule.extension.email.api.EmailSendFailure;
+import org.mule.extension.email.internal.sender.SenderConnection;
 
 import javax.activation.DataHandler;
 import javax.mail.Message;
 import javax.mail.Multipart;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
@@ -26,6 +43,8 @@ public class SendTestCase extends SMTPTestCase {
   private static final String SEND_EMAIL_CUSTOM_HEADERS = "sendEmailHeaders";
   private static final String SEND_EMAIL_WITH_ATTACHMENT = "sendEmailWithAttachment";
   private static final String SEND_ENCODED_MESSAGE = "sendEncodedMessage";
+  private static final String SEND_BULK = "sendBulk";
+  private static final String SEND_BULK_WITH_REJECTED_RECIPIENT = "sendBulkWithRejectedRecipient";
 
   @Test
   public void sendEmail() throws Exception {
@@ -85,4 +104,65 @@ public class SendTestCase extends SMTPTestCase {
     Object content = ((String) messages[0].getContent()).trim();
     assertThat(content, is(new String(WEIRD_CHAR_MESSAGE.getBytes(customEncoding), customEncoding)));
   }
+
+  @Test
+  public void sendBulk() throws Exception {
+    BulkSendResult result = (BulkSendResult) flowRunner(SEND_BULK).run().getMessage().getPayload().getValue();
+    assertThat(result.getSentCount(), is(3));
+    assertThat(result.getFailedCount(), is(0));
+
+    Message[] messages = getReceivedMessagesAndAssertCount(3);
+    for (Message message : messages) {
+      assertSubject(message.getSubject());
+      assertBodyContent(message.getContent().toString().trim());
+    }
+  }
+
+  @Test
+  public void sendBulkWithRejectedRecipient() throws Exception {
+    BulkSendResult result =
+        (BulkSendResult) flowRunner(SEND_BULK_WITH_REJECTED_RECIPIENT).run().getMessage().getPayload().getValue();
+    assertThat(result.getSentCount(), is(2));
+    assertThat(result.getFailedCount(), is(1));
+
+    EmailSendFailure failure = result.getFailures().get(0);
+    assertThat(failure.getIndex(), is(1));
+    assertThat(failure.getSubject(), is("Rejected Subject"));
+    assertThat(failure.getInvalidAddresses().size(), is(1));
+    assertThat(failure.getSentAddresses(), is(empty()));
+
+    Message[] messages = getReceivedMessagesAndAssertCount(2);
+    for (Message message : messages) {
+      assertSubject(message.getSubject());
+    }
+  }
+
+  @Test
+  public void sendReusingConnection() throws Exception {
+    // the connection is built by hand to reach its transport, which only needs a TLS context for smtps
+    assumeThat(protocol, is("smtp"));
+    SenderConnection connection =
+        new SenderConnection(SMTP, null, null, "127.0.0.1", String.valueOf(PORT.getNumber()), 5000, 5000, 5000, emptyMap());
+    try {
+      connection.sendMessage(createMessage(connection));
+      Transport transport = (Transport) readField(connection, "transport", true);
+      assertThat(transport.isConnected(), is(true));
+
+      connection.sendMessage(createMessage(connection));
+      assertThat(readField(connection, "transport", true), is(sameInstance(transport)));
+      assertThat(transport.isConnected(), is(true));
+    } finally {
+      connection.disconnect();
+    }
+    getReceivedMessagesAndAssertCount(2);
+  }
+
+  private Message createMessage(SenderConnection connection) throws Exception {
+    MimeMessage message = new MimeMessage(connection.getSession());
+    message.setFrom(new InternetAddress(ESTEBAN_EMAIL));
+    message.setRecipient(TO, new InternetAddress(JUANI_EMAIL));
+    message.setSubject(EMAIL_SUBJECT);
+    message.setText(EMAIL_CONTENT);
+    return message;
+  }
 }
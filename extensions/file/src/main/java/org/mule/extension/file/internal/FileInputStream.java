@@ -10,8 +10,10 @@ import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.extension.file.common.api.lock.PathLock;
 import org.mule.extension.file.common.api.stream.AbstractFileInputStream;
 import org.mule.extension.file.common.api.stream.LazyStreamSupplier;
+import org.mule.runtime.core.streaming.FileBackedStream;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,7 +29,9 @@ import java.nio.file.Path;
  *
  * @since 4.0
  */
-public final class FileInputStream extends AbstractFileInputStream {
+public final class FileInputStream extends AbstractFileInputStream implements FileBackedStream {
+
+  private final Path path;
 
   /**
    * Creates a new instance
@@ -43,6 +47,15 @@ public final class FileInputStream extends AbstractFileInputStream {
         throw new MuleRuntimeException(e);
       }
     }), lock);
+    this.path = path;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public File getBackingFile() {
+    return isStreamSupplied() ? null : path.toFile();
   }
 
 }
@@ -16,9 +16,12 @@ import org.mule.extension.file.common.api.TreeNode;
 import org.mule.extension.file.common.api.command.ListCommand;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * A {@link LocalFileCommand} which implements the {@link ListCommand}
@@ -51,6 +54,31 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     return treeNodeBuilder.build();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The childs are read through a {@link DirectoryStream} and their attributes are only read when the matcher or the consumer
+   * of the {@link Stream} asks for them.
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(FileConnectorConfig config, String directoryPath, Message message) {
+    Path path = resolveExistingPath(directoryPath);
+    if (!Files.isDirectory(path)) {
+      throw cannotListFileException(path);
+    }
+
+    if (!Files.isReadable(path)) {
+      throw exception(format("Could not list files from directory '%s' because access was denied by the operating system",
+                             path));
+    }
+
+    try {
+      return Files.list(path).<FileAttributes>map(LocalFileAttributes::new);
+    } catch (IOException e) {
+      throw exception(format("Could not list files from directory '%s'", path), e);
+    }
+  }
+
   private void doList(FileConnectorConfig config, File parent, TreeNode.Builder treeNodeBuilder, boolean recursive,
                       Message message, Predicate<FileAttributes> matcher) {
     if (!parent.canRead()) {
@@ -10,8 +10,10 @@ import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import org.mule.runtime.core.api.MuleRuntimeException;
@@ -19,6 +21,8 @@ import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.TreeNode;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -116,6 +120,60 @@ public class FileListTestCase extends FileConnectorTestCase {
     assertThat(node.getChilds(), hasSize(6));
   }
 
+  @Test
+  public void pagedListNotRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedList", ".", false);
+
+    assertThat(nodes, hasSize(6));
+    assertThat(assertListedFiles(nodes), is(true));
+    nodes.forEach(node -> assertThat(node.getChilds(), hasSize(0)));
+  }
+
+  @Test
+  public void pagedListRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedList", ".", true);
+    assertThat(nodes, hasSize(8));
+
+    List<String> paths = nodes.stream().map(node -> node.getAttributes().getPath()).collect(Collectors.toList());
+    String subDirectoryPath = Paths.get(temporaryFolder.getRoot().toURI()).resolve(SUB_DIRECTORY_NAME).toString();
+    int subDirectoryIndex = paths.indexOf(subDirectoryPath);
+    assertThat(subDirectoryIndex, is(not(-1)));
+
+    List<TreeNode> subDirectoryChilds = nodes.stream()
+        .filter(node -> Paths.get(node.getAttributes().getPath()).getParent().toString().equals(subDirectoryPath))
+        .collect(Collectors.toList());
+    assertThat(subDirectoryChilds, hasSize(2));
+    assertThat(assertListedFiles(subDirectoryChilds), is(false));
+    subDirectoryChilds.forEach(child -> assertThat(paths.indexOf(child.getAttributes().getPath()),
+                                                   greaterThan(subDirectoryIndex)));
+  }
+
+  @Test
+  public void pagedListWithGlobalMatcher() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedListWithGlobalMatcher", ".", true);
+
+    assertThat(nodes, hasSize(1));
+    FileAttributes file = nodes.get(0).getAttributes();
+    assertThat(file.isDirectory(), is(true));
+    assertThat(file.getName(), equalTo(SUB_DIRECTORY_NAME));
+  }
+
+  @Test
+  public void pagedListNotDirectory() throws Exception {
+    expectedException.expectCause(is(instanceOf(IllegalArgumentException.class)));
+    doPagedList("pagedList", String.format(TEST_FILE_PATTERN, 0), false);
+  }
+
+  private List<TreeNode> doPagedList(String flowName, String path, boolean recursive) throws Exception {
+    Object payload = flowRunner(flowName).withVariable("path", path).withVariable("recursive", recursive).run().getMessage()
+        .getPayload().getValue();
+    assertThat(payload, is(instanceOf(Iterator.class)));
+
+    List<TreeNode> nodes = new ArrayList<>();
+    ((Iterator<TreeNode>) payload).forEachRemaining(nodes::add);
+    return nodes;
+  }
+
   private boolean assertListedFiles(List<TreeNode> nodes) throws Exception {
     boolean directoryWasFound = false;
 
@@ -7,6 +7,8 @@
 package org.mule.extension.ftp.internal;
 
 import static java.lang.String.format;
+import org.mule.extension.ftp.internal.ParallelFtpTransfer.FileTransfer;
+import org.mule.extension.ftp.internal.ParallelFtpTransfer.TransferAction;
 import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
 import org.mule.extension.ftp.internal.ftp.command.FtpCommand;
 import org.mule.runtime.api.connection.ConnectionException;
@@ -20,6 +22,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract implementation of {@link FtpCopyDelegate} for copying operations which require to FTP connections, one for reading the
@@ -78,7 +82,12 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
   }
 
   /**
-   * Performs a recursive copy of a directory
+   * Performs a recursive copy of a directory.
+   * <p>
+   * The whole tree is listed before copying any file. Then, if the config allows for a
+   * {@link FtpConnector#getTransferConcurrency() transfer concurrency} greater than one, the files are transferred through a
+   * {@link ParallelFtpTransfer} using connections of their own. Otherwise, they are transferred one at a time, reading them with
+   * the connection of the command and writing them with the {@code writerConnection}.
    *
    * @param config the config which is parameterizing this operation
    * @param sourcePath the path to the directory to be copied
@@ -87,8 +96,48 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
    * @param writerConnection the {@link FtpFileSystem} which connects to the target endpoint
    * @param event the {@link MuleEvent} which triggered this operation
    */
-  protected abstract void copyDirectory(FileConnectorConfig config, Path sourcePath, Path target, boolean overwrite,
-                                        FtpFileSystem writerConnection, MuleEvent event);
+  protected void copyDirectory(FileConnectorConfig config, Path sourcePath, Path target, boolean overwrite,
+                               FtpFileSystem writerConnection, MuleEvent event) {
+    List<FileTransfer> transfers = new ArrayList<>();
+    collectTransfers(sourcePath, target, transfers);
+
+    long totalBytes = transfers.stream().mapToLong(transfer -> transfer.getSource().getSize()).sum();
+    FtpTransferProgress progress =
+        new FtpTransferProgress(format("Copy of '%s' to '%s'", sourcePath, target), transfers.size(), totalBytes);
+    int concurrency = Math.min(((FtpConnector) config).getTransferConcurrency(), transfers.size());
+
+    if (concurrency > 1) {
+      TransferAction action =
+          (source, targetPath, reader, writer) -> transferFile(config, source, targetPath, overwrite, reader, writer, event);
+      new ParallelFtpTransfer((FtpConnector) config, concurrency).transfer(transfers, action, progress);
+    } else {
+      for (FileTransfer transfer : transfers) {
+        copyFile(config, transfer.getSource(), transfer.getTarget(), overwrite, writerConnection, event);
+        progress.fileTransferred(transfer.getSource().getPath(), transfer.getSource().getSize());
+      }
+    }
+
+    progress.logSummary(Math.max(concurrency, 1));
+  }
+
+  private void collectTransfers(Path sourcePath, Path target, List<FileTransfer> transfers) {
+    for (FileAttributes fileAttributes : listDirectory(sourcePath)) {
+      Path targetPath = target.resolve(fileAttributes.getName());
+      if (fileAttributes.isDirectory()) {
+        collectTransfers(Paths.get(fileAttributes.getPath()), targetPath, transfers);
+      } else {
+        transfers.add(new FileTransfer(fileAttributes, targetPath));
+      }
+    }
+  }
+
+  /**
+   * Lists the contents of a directory using the connection of the command
+   *
+   * @param directoryPath the path to the directory to be listed
+   * @return the {@link FileAttributes} of the files and directories in it, not including the virtual ones
+   */
+  protected abstract List<FileAttributes> listDirectory(Path directoryPath);
 
   /**
    * Copies one individual file
@@ -111,7 +160,16 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
       }
     }
 
-    try (InputStream inputStream = fileSystem.retrieveFileContent(source)) {
+    transferFile(config, source, target, overwrite, fileSystem, writerConnection, event);
+  }
+
+  /**
+   * Reads the {@code source} file with the {@code readerConnection} and writes its copy with the {@code writerConnection}. If the
+   * target file already exists, it's replaced or the copy fails depending on {@code overwrite}.
+   */
+  private void transferFile(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
+                            FtpFileSystem readerConnection, FtpFileSystem writerConnection, MuleEvent event) {
+    try (InputStream inputStream = readerConnection.retrieveFileContent(source)) {
       if (inputStream == null) {
         throw command
             .exception(format("Could not read file '%s' while trying to copy it to remote path '%s'", source.getPath(), target));
@@ -122,8 +180,17 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
       throw command
           .exception(format("Found exception while trying to copy file '%s' to remote path '%s'", source.getPath(), target), e);
     }
+
+    afterFileRead(readerConnection);
   }
 
+  /**
+   * Invoked after a file was read with the given {@code readerConnection} and its stream closed. Does nothing by default.
+   *
+   * @param readerConnection the {@link FtpFileSystem} which read the file
+   */
+  protected void afterFileRead(FtpFileSystem readerConnection) {}
+
   private void writeCopy(FileConnectorConfig config, String targetPath, InputStream inputStream, boolean overwrite,
                          FtpFileSystem writerConnection, MuleEvent event)
       throws IOException {
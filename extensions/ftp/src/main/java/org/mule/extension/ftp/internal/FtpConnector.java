@@ -6,6 +6,7 @@
  */
 package org.mule.extension.ftp.internal;
 
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.FilePredicateBuilder;
 import org.mule.extension.file.common.api.StandardFileSystemOperations;
@@ -19,9 +20,13 @@ import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.extension.api.annotation.Export;
 import org.mule.runtime.extension.api.annotation.Extension;
 import org.mule.runtime.extension.api.annotation.Operations;
+import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.SubTypeMapping;
 import org.mule.runtime.extension.api.annotation.connector.ConnectionProviders;
 import org.mule.runtime.extension.api.annotation.dsl.xml.Xml;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import javax.inject.Inject;
 
@@ -43,8 +48,23 @@ public class FtpConnector extends FileConnectorConfig {
   @Inject
   private ConnectionManager connectionManager;
 
+  /**
+   * The maximum number of files transferred at the same time when copying a directory. Each transfer uses two connections, one
+   * to read the source file and another to write the copy, so the connection pool must allow for 2N + 2 connections, N being
+   * this number: two for each transfer plus the ones held by the operation itself. Defaults to 1, which copies the files one at a
+   * time.
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Placement(group = ADVANCED)
+  @Summary("Maximum number of files transferred at the same time when copying a directory")
+  private int transferConcurrency = 1;
 
   public ConnectionManager getConnectionManager() {
     return connectionManager;
   }
+
+  public int getTransferConcurrency() {
+    return transferConcurrency;
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp.internal;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps track of the files transferred while copying a directory, logging the progress of the copy as each file is completed
+ * and its throughput once it's done.
+ * <p>
+ * Instances are thread safe, so that the same one can be shared by all the connections transferring files of the same copy.
+ *
+ * @since 4.0
+ */
+public class FtpTransferProgress {
+
+  private static final Logger LOGGER = getLogger(FtpTransferProgress.class);
+
+  private final String description;
+  private final int totalFiles;
+  private final long totalBytes;
+  private final long startTime = nanoTime();
+  private final AtomicInteger transferredFiles = new AtomicInteger();
+  private final AtomicLong transferredBytes = new AtomicLong();
+
+  /**
+   * Creates a new instance
+   *
+   * @param description a description of the copy, to be used in the log messages
+   * @param totalFiles the number of files to be transferred
+   * @param totalBytes the sum of the size of the files to be transferred
+   */
+  public FtpTransferProgress(String description, int totalFiles, long totalBytes) {
+    this.description = description;
+    this.totalFiles = totalFiles;
+    this.totalBytes = totalBytes;
+  }
+
+  /**
+   * Records a file which was completely transferred
+   *
+   * @param path the path of the transferred file
+   * @param bytes the size of the transferred file
+   */
+  public void fileTransferred(String path, long bytes) {
+    int files = transferredFiles.incrementAndGet();
+    long totalTransferredBytes = transferredBytes.addAndGet(bytes);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("{}: transferred '{}', {}/{} files and {}/{} bytes so far", description, path, files, totalFiles,
+                   totalTransferredBytes, totalBytes);
+    }
+  }
+
+  /**
+   * @return the number of files transferred so far
+   */
+  public int getTransferredFiles() {
+    return transferredFiles.get();
+  }
+
+  /**
+   * @return the number of bytes transferred so far
+   */
+  public long getTransferredBytes() {
+    return transferredBytes.get();
+  }
+
+  /**
+   * @return the time elapsed since the transfer started, in milliseconds
+   */
+  public long getElapsedTime() {
+    return NANOSECONDS.toMillis(nanoTime() - startTime);
+  }
+
+  /**
+   * @return the average number of bytes transferred per second so far
+   */
+  public long getThroughput() {
+    long elapsed = getElapsedTime();
+    return elapsed == 0 ? getTransferredBytes() : getTransferredBytes() * 1000 / elapsed;
+  }
+
+  /**
+   * Logs the totals of the transfer
+   *
+   * @param connections the number of connections which transferred the files
+   */
+  public void logSummary(int connections) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("{}: transferred {}/{} files and {} bytes in {} ms using {} connection(s), {} bytes/s", description,
+                   getTransferredFiles(), totalFiles, getTransferredBytes(), getElapsedTime(), connections, getThroughput());
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp.internal;
+
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.extension.file.common.api.FileAttributes;
+import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+
+/**
+ * Transfers a set of files using several pairs of connections at the same time, so that the round trips of each transfer overlap
+ * with the ones of the others.
+ * <p>
+ * Each worker borrows two connections from the connection pool of the config, one to read the source files and another one to
+ * write their copies, and keeps them until there are no files left. The files are taken from a shared queue, so the workers
+ * which transfer small files take more of them. Once a transfer fails, the workers stop taking new files and the first failure
+ * is thrown.
+ *
+ * @since 4.0
+ */
+public final class ParallelFtpTransfer {
+
+  private static final Logger LOGGER = getLogger(ParallelFtpTransfer.class);
+
+  /**
+   * Transfers one file
+   */
+  @FunctionalInterface
+  public interface TransferAction {
+
+    /**
+     * @param source the {@link FileAttributes} of the file to be transferred
+     * @param target the path of the copy
+     * @param readerConnection the {@link FtpFileSystem} to read the source file with
+     * @param writerConnection the {@link FtpFileSystem} to write the copy with
+     */
+    void transfer(FileAttributes source, Path target, FtpFileSystem readerConnection, FtpFileSystem writerConnection)
+        throws Exception;
+  }
+
+  /**
+   * A file to be transferred and the path of its copy
+   */
+  public static final class FileTransfer {
+
+    private final FileAttributes source;
+    private final Path target;
+
+    public FileTransfer(FileAttributes source, Path target) {
+      this.source = source;
+      this.target = target;
+    }
+
+    public FileAttributes getSource() {
+      return source;
+    }
+
+    public Path getTarget() {
+      return target;
+    }
+  }
+
+  private final FtpConnector config;
+  private final int concurrency;
+
+  /**
+   * Creates a new instance
+   *
+   * @param config the config which connection pool provides the connections
+   * @param concurrency the number of files to transfer at the same time
+   */
+  public ParallelFtpTransfer(FtpConnector config, int concurrency) {
+    this.config = config;
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Transfers all the given files, returning once all of them have been transferred or any transfer failed
+   *
+   * @param transfers the files to be transferred
+   * @param action the {@link TransferAction} which transfers each file
+   * @param progress the {@link FtpTransferProgress} on which to record each transferred file
+   * @throws MuleRuntimeException if any of the transfers failed, or if no connection could be obtained
+   */
+  public void transfer(List<FileTransfer> transfers, TransferAction action, FtpTransferProgress progress) {
+    Queue<FileTransfer> pending = new ConcurrentLinkedQueue<>(transfers);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+
+    ExecutorService executor =
+        newFixedThreadPool(concurrency, new NamedThreadFactory("ftp.transfer", Thread.currentThread().getContextClassLoader()));
+    try {
+      List<Future<?>> workers = new ArrayList<>(concurrency);
+      for (int i = 0; i < concurrency; ++i) {
+        workers.add(executor.submit(() -> work(pending, action, progress, failure)));
+      }
+
+      for (Future<?> worker : workers) {
+        try {
+          worker.get();
+        } catch (ExecutionException e) {
+          failure.compareAndSet(null, new Exception(e.getCause()));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure.compareAndSet(null, e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (failure.get() != null) {
+      throw new MuleRuntimeException(createStaticMessage("Found exception transferring files"), failure.get());
+    }
+
+    if (!pending.isEmpty()) {
+      throw new MuleRuntimeException(createStaticMessage(format("Could not obtain connections to transfer %d files",
+                                                                pending.size())));
+    }
+  }
+
+  private void work(Queue<FileTransfer> pending, TransferAction action, FtpTransferProgress progress,
+                    AtomicReference<Exception> failure) {
+    ConnectionHandler<FtpFileSystem> readerConnection = null;
+    ConnectionHandler<FtpFileSystem> writerConnection = null;
+    try {
+      try {
+        readerConnection = getConnection();
+        writerConnection = getConnection();
+      } catch (ConnectionException e) {
+        // the other workers can still transfer the files
+        LOGGER.warn("Could not obtain connections for transferring files in parallel: {}", e.getMessage());
+        return;
+      }
+
+      FileTransfer transfer;
+      while (failure.get() == null && (transfer = pending.poll()) != null) {
+        action.transfer(transfer.getSource(), transfer.getTarget(), readerConnection.getConnection(),
+                        writerConnection.getConnection());
+        progress.fileTransferred(transfer.getSource().getPath(), transfer.getSource().getSize());
+      }
+    } catch (Exception e) {
+      failure.compareAndSet(null, e);
+    } finally {
+      if (readerConnection != null) {
+        readerConnection.release();
+      }
+      if (writerConnection != null) {
+        writerConnection.release();
+      }
+    }
+  }
+
+  private ConnectionHandler<FtpFileSystem> getConnection() throws ConnectionException {
+    return config.getConnectionManager().getConnection(config);
+  }
+}
@@ -18,7 +18,8 @@ import org.mule.extension.file.common.api.command.CopyCommand;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
@@ -53,37 +54,27 @@ public final class FtpCopyCommand extends ClassicFtpCommand implements CopyComma
     }
 
     @Override
-    protected void copyDirectory(FileConnectorConfig config, Path sourcePath, Path target, boolean overwrite,
-                                 FtpFileSystem writerConnection, MuleEvent event) {
-      changeWorkingDirectory(sourcePath);
+    protected List<FileAttributes> listDirectory(Path directoryPath) {
+      changeWorkingDirectory(directoryPath);
       FTPFile[] files;
       try {
         files = client.listFiles();
       } catch (IOException e) {
-        throw exception(format("Could not list contents of directory '%s' while trying to copy it to ", sourcePath, target), e);
+        throw exception(format("Could not list contents of directory '%s' while trying to copy it", directoryPath), e);
       }
 
+      List<FileAttributes> attributes = new ArrayList<>(files.length);
       for (FTPFile file : files) {
-        if (isVirtualDirectory(file.getName())) {
-          continue;
-        }
-
-        FileAttributes fileAttributes = new ClassicFtpFileAttributes(sourcePath.resolve(file.getName()), file);
-
-        if (fileAttributes.isDirectory()) {
-          Path targetPath = target.resolve(fileAttributes.getName());
-          copyDirectory(config, Paths.get(fileAttributes.getPath()), targetPath, overwrite, writerConnection, event);
-        } else {
-          copyFile(config, fileAttributes, target.resolve(fileAttributes.getName()), overwrite, writerConnection, event);
+        if (!isVirtualDirectory(file.getName())) {
+          attributes.add(new ClassicFtpFileAttributes(directoryPath.resolve(file.getName()), file));
         }
       }
+      return attributes;
     }
 
     @Override
-    protected void copyFile(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
-                            FtpFileSystem writerConnection, MuleEvent event) {
-      super.copyFile(config, source, target, overwrite, writerConnection, event);
-      fileSystem.awaitCommandCompletion();
+    protected void afterFileRead(FtpFileSystem readerConnection) {
+      ((ClassicFtpFileSystem) readerConnection).awaitCommandCompletion();
     }
   }
 }
@@ -20,7 +20,9 @@ import org.mule.runtime.core.util.ArrayUtils;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
@@ -38,6 +40,8 @@ public final class FtpListCommand extends ClassicFtpCommand implements ListComma
   private static final Logger LOGGER = getLogger(FtpListCommand.class);
   private static final int FTP_LIST_PAGE_SIZE = 25;
 
+  private Boolean mlsdSupported;
+
   /**
    * {@inheritDoc}
    */
@@ -78,6 +82,58 @@ public final class FtpListCommand extends ClassicFtpCommand implements ListComma
     return treeNodeBuilder.build();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The directory is read with a single {@code MLSD} command if the server supports it, since its output has a standard format
+   * which includes the attributes of each file. Otherwise, a {@code LIST} command is used.
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(FileConnectorConfig config, String directoryPath, Message message) {
+    FileAttributes directoryAttributes = getExistingFile(directoryPath);
+    Path path = Paths.get(directoryAttributes.getPath());
+
+    if (!directoryAttributes.isDirectory()) {
+      throw cannotListFileException(path);
+    }
+
+    LOGGER.debug("Listing directory {}", path);
+    FTPFile[] files;
+    try {
+      files = isMlsdSupported() ? client.mlistDir(path.toString()) : client.listFiles(path.toString());
+    } catch (IOException e) {
+      throw exception(format("Failed to list files on directory '%s'", path), e);
+    }
+
+    if (!FTPReply.isPositiveCompletion(client.getReplyCode())) {
+      throw exception(format("Failed to list files on directory '%s'", path));
+    }
+
+    return Arrays.stream(files)
+        .filter(file -> file != null && !isVirtualDirectory(file.getName()) && !isParentOrCurrentDirectoryEntry(file))
+        .map(file -> new ClassicFtpFileAttributes(path.resolve(file.getName()), file));
+  }
+
+  private boolean isMlsdSupported() throws IOException {
+    if (mlsdSupported == null) {
+      mlsdSupported = client.hasFeature("MLSD");
+    }
+    return mlsdSupported;
+  }
+
+  /**
+   * {@code MLSD} may list the directory itself and its parent with their actual names, flagging them with the {@code cdir} and
+   * {@code pdir} types.
+   */
+  private boolean isParentOrCurrentDirectoryEntry(FTPFile file) {
+    String rawListing = file.getRawListing();
+    if (rawListing == null) {
+      return false;
+    }
+    rawListing = rawListing.toLowerCase();
+    return rawListing.contains("type=cdir;") || rawListing.contains("type=pdir;");
+  }
+
   private void doList(FileConnectorConfig config, Path path, TreeNode.Builder treeNodeBuilder, boolean recursive,
                       Message message, Predicate<FileAttributes> matcher)
       throws IOException {
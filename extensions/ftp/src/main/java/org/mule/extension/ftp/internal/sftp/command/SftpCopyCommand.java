@@ -6,6 +6,7 @@
  */
 package org.mule.extension.ftp.internal.sftp.command;
 
+import static java.util.stream.Collectors.toList;
 import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
 import org.mule.extension.ftp.internal.sftp.connection.SftpFileSystem;
 import org.mule.extension.ftp.internal.AbstractFtpCopyDelegate;
@@ -17,7 +18,7 @@ import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.CopyCommand;
 
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * A {@link SftpCommand} which implements the {@link CopyCommand} contract
@@ -49,20 +50,9 @@ public class SftpCopyCommand extends SftpCommand implements CopyCommand {
     }
 
     @Override
-    protected void copyDirectory(FileConnectorConfig config, Path sourcePath, Path target, boolean overwrite,
-                                 FtpFileSystem writerConnection, MuleEvent event) {
-      for (FileAttributes fileAttributes : client.list(sourcePath.toString())) {
-        if (isVirtualDirectory(fileAttributes.getName())) {
-          continue;
-        }
-
-        if (fileAttributes.isDirectory()) {
-          Path targetPath = target.resolve(fileAttributes.getName());
-          copyDirectory(config, Paths.get(fileAttributes.getPath()), targetPath, overwrite, writerConnection, event);
-        } else {
-          copyFile(config, fileAttributes, target.resolve(fileAttributes.getName()), overwrite, writerConnection, event);
-        }
-      }
+    protected List<FileAttributes> listDirectory(Path directoryPath) {
+      return client.list(directoryPath.toString()).stream().filter(file -> !isVirtualDirectory(file.getName()))
+          .collect(toList());
     }
   }
 }
@@ -11,8 +11,10 @@ import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import org.mule.extension.FtpTestHarness;
@@ -20,7 +22,10 @@ import org.mule.runtime.core.util.IOUtils;
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.TreeNode;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.Test;
@@ -113,6 +118,53 @@ public class FtpListTestCase extends FtpConnectorTestCase {
     assertThat(node.getChilds(), hasSize(6));
   }
 
+  @Test
+  public void pagedListNotRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedList", ".", false);
+
+    assertThat(nodes, hasSize(6));
+    assertThat(assertListedFiles(nodes), is(true));
+    nodes.forEach(node -> assertThat(node.getChilds(), hasSize(0)));
+  }
+
+  @Test
+  public void pagedListRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedList", ".", true);
+    assertThat(nodes, hasSize(8));
+
+    int subDirectoryIndex = -1;
+    for (int i = 0; i < nodes.size(); i++) {
+      FileAttributes attributes = nodes.get(i).getAttributes();
+      if (attributes.isDirectory() && attributes.getName().equals(SUB_DIRECTORY_NAME)) {
+        subDirectoryIndex = i;
+      }
+    }
+    assertThat(subDirectoryIndex, is(not(-1)));
+
+    List<TreeNode> subDirectoryChilds = nodes.stream().filter(this::isSubDirectoryChild).collect(toList());
+    assertThat(subDirectoryChilds, hasSize(2));
+    assertThat(assertListedFiles(subDirectoryChilds), is(false));
+    for (TreeNode child : subDirectoryChilds) {
+      assertThat(nodes.indexOf(child), greaterThan(subDirectoryIndex));
+    }
+  }
+
+  @Test
+  public void pagedListWithGlobalMatcher() throws Exception {
+    List<TreeNode> nodes = doPagedList("pagedListWithGlobalMatcher", ".", true);
+
+    assertThat(nodes, hasSize(1));
+    FileAttributes file = nodes.get(0).getAttributes();
+    assertThat(file.isDirectory(), is(true));
+    assertThat(file.getName(), equalTo(SUB_DIRECTORY_NAME));
+  }
+
+  @Test
+  public void pagedListNotDirectory() throws Exception {
+    testHarness.expectedException().expectCause(is(instanceOf(IllegalArgumentException.class)));
+    doPagedList("pagedList", String.format(TEST_FILE_PATTERN, 0), false);
+  }
+
   private boolean assertListedFiles(List<TreeNode> nodes) throws Exception {
     boolean directoryWasFound = false;
 
@@ -151,6 +203,21 @@ public class FtpListTestCase extends FtpConnectorTestCase {
     return node;
   }
 
+  private List<TreeNode> doPagedList(String flowName, String path, boolean recursive) throws Exception {
+    Object payload = flowRunner(flowName).withVariable("path", path).withVariable("recursive", recursive).run().getMessage()
+        .getPayload().getValue();
+    assertThat(payload, is(instanceOf(Iterator.class)));
+
+    List<TreeNode> nodes = new ArrayList<>();
+    ((Iterator<TreeNode>) payload).forEachRemaining(nodes::add);
+    return nodes;
+  }
+
+  private boolean isSubDirectoryChild(TreeNode node) {
+    Path parent = Paths.get(node.getAttributes().getPath()).getParent();
+    return parent != null && parent.getFileName().toString().equals(SUB_DIRECTORY_NAME);
+  }
+
   private void createTestFiles() throws Exception {
     createTestFiles(".", 0, 5);
     createSubDirectory();
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import org.mule.extension.FtpTestHarness;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+public class FtpParallelCopyTestCase extends FtpConnectorTestCase {
+
+  private static final String SOURCE_DIRECTORY_NAME = "source";
+  private static final String SUB_DIRECTORY_NAME = "sub";
+  private static final String TARGET_DIRECTORY = "target";
+  private static final String EXISTING_CONTENT = "I was here first!";
+  private static final int FILES_PER_DIRECTORY = 5;
+
+  public FtpParallelCopyTestCase(String name, FtpTestHarness testHarness) {
+    super(name, testHarness);
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "ftp-parallel-copy-config.xml";
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    super.doSetUp();
+    testHarness.makeDir(SOURCE_DIRECTORY_NAME);
+    testHarness.makeDir(format("%s/%s", SOURCE_DIRECTORY_NAME, SUB_DIRECTORY_NAME));
+    for (int i = 0; i < FILES_PER_DIRECTORY; ++i) {
+      testHarness.write(SOURCE_DIRECTORY_NAME, fileName(i), contentOf(i));
+      testHarness.write(format("%s/%s", SOURCE_DIRECTORY_NAME, SUB_DIRECTORY_NAME), fileName(i), contentOf(i));
+    }
+  }
+
+  @Test
+  public void directoryIsCopiedInParallel() throws Exception {
+    testHarness.makeDir(TARGET_DIRECTORY);
+    doExecute(TARGET_DIRECTORY, false);
+
+    assertTreeCopied();
+  }
+
+  @Test
+  public void directoryIsCopiedInParallelWithOverwrite() throws Exception {
+    testHarness.makeDir(TARGET_DIRECTORY);
+    testHarness.makeDir(format("%s/%s", TARGET_DIRECTORY, SOURCE_DIRECTORY_NAME));
+    testHarness.write(format("%s/%s", TARGET_DIRECTORY, SOURCE_DIRECTORY_NAME), fileName(0), EXISTING_CONTENT);
+    doExecute(TARGET_DIRECTORY, true);
+
+    assertTreeCopied();
+  }
+
+  private void assertTreeCopied() throws Exception {
+    String copyPath = format("%s/%s", TARGET_DIRECTORY, SOURCE_DIRECTORY_NAME);
+    for (int i = 0; i < FILES_PER_DIRECTORY; ++i) {
+      assertThat(readPathAsString(format("%s/%s", copyPath, fileName(i))), equalTo(contentOf(i)));
+      assertThat(readPathAsString(format("%s/%s/%s", copyPath, SUB_DIRECTORY_NAME, fileName(i))), equalTo(contentOf(i)));
+    }
+  }
+
+  private void doExecute(String target, boolean overwrite) throws Exception {
+    String source = Paths.get(testHarness.getWorkingDirectory(), SOURCE_DIRECTORY_NAME).toString();
+    flowRunner("copy").withVariable("source", source).withVariable("target", target).withVariable("overwrite", overwrite)
+        .withVariable("createParent", true).run();
+  }
+
+  private String fileName(int index) {
+    return format("file%d.txt", index);
+  }
+
+  private String contentOf(int index) {
+    return format("content of file %d", index);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import static org.mule.extension.http.internal.encoding.CompressionStatistics.currentCpuTime;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.GZIP;
+import org.mule.runtime.core.util.compression.GZIPCompressorInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+/**
+ * {@link InputStream} which compresses the content of another one as it is read, so that bodies can be encoded without loading
+ * them into memory.
+ * <p>
+ * The {@link Deflater} is borrowed from a {@link DeflaterPool} and returned to it when this stream is closed, at which point the
+ * sizes and CPU time are recorded into the given {@link CompressionStatistics}.
+ *
+ * @since 4.0
+ */
+public class CompressingInputStream extends FilterInputStream {
+
+  private final CountingInputStream source;
+  private final Deflater deflater;
+  private final DeflaterPool deflaterPool;
+  private final CompressionStatistics statistics;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private final byte[] single = new byte[1];
+  private long compressedBytes;
+  private long cpuTime;
+
+  public CompressingInputStream(InputStream content, HttpContentEncoding encoding, DeflaterPool deflaterPool,
+                                CompressionStatistics statistics) {
+    this(new CountingInputStream(content), deflaterPool.borrow(), encoding, deflaterPool, statistics);
+  }
+
+  private CompressingInputStream(CountingInputStream source, Deflater deflater, HttpContentEncoding encoding,
+                                 DeflaterPool deflaterPool, CompressionStatistics statistics) {
+    super(encoding == GZIP ? new GZIPCompressorInputStream(source, deflater) : new DeflaterInputStream(source, deflater));
+    this.source = source;
+    this.deflater = deflater;
+    this.deflaterPool = deflaterPool;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int count = read(single, 0, 1);
+    return count == -1 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    long start = currentCpuTime();
+    int count = super.read(b, off, len);
+    cpuTime += currentCpuTime() - start;
+    if (count > 0) {
+      compressedBytes += count;
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    throw new IOException("skip is not supported");
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed.compareAndSet(false, true)) {
+      try {
+        super.close();
+      } finally {
+        statistics.record(source.getByteCount(), compressedBytes, cpuTime);
+        deflaterPool.release(deflater);
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the bodies compressed or decompressed by an HTTP config.
+ *
+ * @since 4.0
+ */
+public class CompressionStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2719434651837264563L;
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+  private final LongAdder messages = new LongAdder();
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder cpuTime = new LongAdder();
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records a fully processed body.
+   *
+   * @param uncompressed the size of the body without encoding
+   * @param compressed the size of the encoded body
+   * @param cpuTimeNanos the CPU time spent encoding or decoding the body
+   */
+  public void record(long uncompressed, long compressed, long cpuTimeNanos) {
+    messages.increment();
+    uncompressedBytes.add(uncompressed);
+    compressedBytes.add(compressed);
+    cpuTime.add(cpuTimeNanos);
+  }
+
+  /**
+   * @return the CPU time of the current thread in nanoseconds, or the wall clock time if the JVM does not support measuring it
+   */
+  static long currentCpuTime() {
+    return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+  }
+
+  public long getMessages() {
+    return messages.sum();
+  }
+
+  public long getUncompressedBytes() {
+    return uncompressedBytes.sum();
+  }
+
+  public long getCompressedBytes() {
+    return compressedBytes.sum();
+  }
+
+  /**
+   * @return the total CPU time spent, in nanoseconds
+   */
+  public long getCpuTime() {
+    return cpuTime.sum();
+  }
+
+  /**
+   * @return the ratio between the uncompressed and the compressed sizes of all the processed bodies, or {@code 0} if there were
+   *         none
+   */
+  public double getCompressionRatio() {
+    long compressed = getCompressedBytes();
+    return compressed == 0 ? 0 : (double) getUncompressedBytes() / compressed;
+  }
+
+  public void clear() {
+    messages.reset();
+    uncompressedBytes.reset();
+    compressedBytes.reset();
+    cpuTime.reset();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import static org.mule.extension.http.internal.encoding.CompressionStatistics.currentCpuTime;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.GZIP;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+/**
+ * {@link InputStream} which decodes a compressed body as it is read. Sizes and CPU time are recorded into the given
+ * {@link CompressionStatistics} once the stream is exhausted or closed.
+ *
+ * @since 4.0
+ */
+public class DecompressingInputStream extends FilterInputStream {
+
+  private final CountingInputStream source;
+  private final HttpContentEncoding encoding;
+  private final CompressionStatistics statistics;
+  private final AtomicBoolean recorded = new AtomicBoolean(false);
+  private final byte[] single = new byte[1];
+  private long decompressedBytes;
+  private long cpuTime;
+  private boolean initialised;
+
+  public DecompressingInputStream(InputStream content, HttpContentEncoding encoding, CompressionStatistics statistics) {
+    super(null);
+    this.source = new CountingInputStream(content);
+    this.encoding = encoding;
+    this.statistics = statistics;
+  }
+
+  /**
+   * The decoder is created on first read since the GZIP one consumes the header when built, which would block until the first
+   * bytes of the body arrive.
+   */
+  private void initialiseIfNeeded() throws IOException {
+    if (!initialised) {
+      initialised = true;
+      in = encoding == GZIP ? new GZIPInputStream(source) : new InflaterInputStream(source);
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    int count = read(single, 0, 1);
+    return count == -1 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    long start = currentCpuTime();
+    initialiseIfNeeded();
+    int count = in.read(b, off, len);
+    cpuTime += currentCpuTime() - start;
+    if (count > 0) {
+      decompressedBytes += count;
+    } else if (count == -1) {
+      record();
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    initialiseIfNeeded();
+    return in.skip(n);
+  }
+
+  @Override
+  public int available() throws IOException {
+    return initialised ? in.available() : 0;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (initialised) {
+        in.close();
+      } else {
+        source.close();
+      }
+    } finally {
+      record();
+    }
+  }
+
+  private void record() {
+    if (recorded.compareAndSet(false, true)) {
+      statistics.record(decompressedBytes, source.getByteCount(), cpuTime);
+    }
+  }
+}
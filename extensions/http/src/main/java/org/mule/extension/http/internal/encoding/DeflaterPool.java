@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater}s for a given compression level and format.
+ * <p>
+ * Creating a {@link Deflater} allocates a native zlib stream of a few hundred KB, so instances are reset and kept for reuse
+ * instead of being left for the garbage collector to finalize. When the pool is exhausted new instances are created, and when
+ * it is full returned instances are ended right away.
+ *
+ * @since 4.0
+ */
+public class DeflaterPool {
+
+  private final int level;
+  private final boolean nowrap;
+  private final BlockingQueue<Deflater> deflaters;
+
+  /**
+   * @param level the compression level of the pooled {@link Deflater}s
+   * @param nowrap whether the pooled {@link Deflater}s omit the zlib header and checksum, as needed for the GZIP format
+   * @param maxIdle the maximum amount of idle {@link Deflater}s to keep
+   */
+  public DeflaterPool(int level, boolean nowrap, int maxIdle) {
+    this.level = level;
+    this.nowrap = nowrap;
+    this.deflaters = new ArrayBlockingQueue<>(maxIdle);
+  }
+
+  /**
+   * @return an idle {@link Deflater}, or a new one if there are none
+   */
+  public Deflater borrow() {
+    Deflater deflater = deflaters.poll();
+    return deflater != null ? deflater : new Deflater(level, nowrap);
+  }
+
+  /**
+   * Returns a {@link Deflater} obtained through {@link #borrow()} to the pool.
+   *
+   * @param deflater the {@link Deflater} to return
+   */
+  public void release(Deflater deflater) {
+    deflater.reset();
+    if (!deflaters.offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Ends all the idle {@link Deflater}s.
+   */
+  public void dispose() {
+    Deflater deflater;
+    while ((deflater = deflaters.poll()) != null) {
+      deflater.end();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import java.util.Optional;
+
+/**
+ * Content codings supported for HTTP bodies.
+ *
+ * @since 4.0
+ */
+public enum HttpContentEncoding {
+
+  GZIP("gzip"), DEFLATE("deflate");
+
+  private static final String IDENTITY = "identity";
+  private static final String ANY = "*";
+
+  private final String token;
+
+  HttpContentEncoding(String token) {
+    this.token = token;
+  }
+
+  /**
+   * @return the value used for this coding in the {@code Content-Encoding} and {@code Accept-Encoding} headers
+   */
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * @param contentEncoding the value of a {@code Content-Encoding} header
+   * @return the {@link HttpContentEncoding} it refers to, if supported
+   */
+  public static Optional<HttpContentEncoding> fromContentEncoding(String contentEncoding) {
+    if (contentEncoding != null) {
+      String trimmed = contentEncoding.trim();
+      for (HttpContentEncoding encoding : values()) {
+        if (encoding.token.equalsIgnoreCase(trimmed) || ("x-" + encoding.token).equalsIgnoreCase(trimmed)) {
+          return Optional.of(encoding);
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Selects the preferred supported coding out of an {@code Accept-Encoding} header, honouring quality values. When several
+   * codings have the same quality, {@link #GZIP} is preferred.
+   *
+   * @param acceptEncoding the value of the {@code Accept-Encoding} header
+   * @return the selected {@link HttpContentEncoding}, or an empty value if no compression should be applied
+   */
+  public static Optional<HttpContentEncoding> negotiate(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+      return Optional.empty();
+    }
+
+    HttpContentEncoding selected = null;
+    float selectedQuality = 0;
+    float anyQuality = -1;
+    float identityQuality = -1;
+    boolean[] explicit = new boolean[values().length];
+
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim();
+      float quality = parseQuality(parts);
+
+      if (ANY.equals(coding)) {
+        anyQuality = quality;
+      } else if (IDENTITY.equalsIgnoreCase(coding)) {
+        identityQuality = quality;
+      } else {
+        Optional<HttpContentEncoding> encoding = fromContentEncoding(coding);
+        if (encoding.isPresent()) {
+          explicit[encoding.get().ordinal()] = true;
+          if (quality > selectedQuality
+              || (quality == selectedQuality && quality > 0 && encoding.get().ordinal() < selected.ordinal())) {
+            selected = encoding.get();
+            selectedQuality = quality;
+          }
+        }
+      }
+    }
+
+    if (anyQuality > selectedQuality) {
+      for (HttpContentEncoding encoding : values()) {
+        if (!explicit[encoding.ordinal()]) {
+          selected = encoding;
+          selectedQuality = anyQuality;
+          break;
+        }
+      }
+    }
+
+    return selected != null && selectedQuality > 0 && selectedQuality >= identityQuality ? Optional.of(selected)
+        : Optional.empty();
+  }
+
+  private static float parseQuality(String[] parts) {
+    for (int i = 1; i < parts.length; ++i) {
+      String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Float.parseFloat(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
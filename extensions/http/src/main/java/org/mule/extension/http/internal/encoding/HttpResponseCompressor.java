@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import static java.util.zip.Deflater.DEFAULT_COMPRESSION;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.GZIP;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
+import org.mule.runtime.module.http.internal.domain.HttpEntity;
+import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compresses HTTP response bodies according to the settings of a listener config.
+ * <p>
+ * Only bodies which media type matches one of the configured ones are compressed. Bodies already in memory are compressed only
+ * if they are at least as big as the configured threshold, while streamed bodies are always compressed since their size is
+ * unknown. File bodies are never compressed since they are transferred directly from the file system.
+ *
+ * @since 4.0
+ */
+public class HttpResponseCompressor {
+
+  private static final int MAX_IDLE_DEFLATERS = Runtime.getRuntime().availableProcessors() * 2;
+
+  private final int minSize;
+  private final List<String> mediaTypes = new ArrayList<>();
+  private final DeflaterPool gzipDeflaters = new DeflaterPool(DEFAULT_COMPRESSION, true, MAX_IDLE_DEFLATERS);
+  private final DeflaterPool deflateDeflaters = new DeflaterPool(DEFAULT_COMPRESSION, false, MAX_IDLE_DEFLATERS);
+  private final CompressionStatistics statistics = new CompressionStatistics();
+
+  /**
+   * @param minSize the minimum size in bytes a body in memory must have to be compressed
+   * @param mediaTypes comma separated list of media types to compress. Subtype wildcards such as {@code text/*} are supported.
+   */
+  public HttpResponseCompressor(int minSize, String mediaTypes) {
+    this.minSize = minSize;
+    for (String mediaType : mediaTypes.split(",")) {
+      if (!mediaType.trim().isEmpty()) {
+        this.mediaTypes.add(mediaType.trim().toLowerCase());
+      }
+    }
+  }
+
+  /**
+   * @param contentType the value of the {@code Content-Type} header of the response
+   * @return whether a body with the given content type should be compressed
+   */
+  public boolean isCompressible(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    int parametersIndex = contentType.indexOf(';');
+    String mediaType = (parametersIndex == -1 ? contentType : contentType.substring(0, parametersIndex)).trim().toLowerCase();
+    for (String candidate : mediaTypes) {
+      if (candidate.endsWith("/*") ? mediaType.startsWith(candidate.substring(0, candidate.length() - 1))
+          : candidate.equals(mediaType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compresses the given entity, if it's eligible for compression.
+   *
+   * @param entity the entity to compress
+   * @param encoding the coding to apply
+   * @return the compressed entity, or an empty value if the entity should be sent as is
+   */
+  public Optional<HttpEntity> compress(HttpEntity entity, HttpContentEncoding encoding) {
+    DeflaterPool deflaters = encoding == GZIP ? gzipDeflaters : deflateDeflaters;
+    if (entity instanceof ByteArrayHttpEntity) {
+      byte[] content = ((ByteArrayHttpEntity) entity).getContent();
+      if (content.length < minSize) {
+        return Optional.empty();
+      }
+      try (CompressingInputStream compressed =
+          new CompressingInputStream(new ByteArrayInputStream(content), encoding, deflaters, statistics)) {
+        return Optional.of(new ByteArrayHttpEntity(IOUtils.toByteArray(compressed)));
+      } catch (Exception e) {
+        throw new MuleRuntimeException(e);
+      }
+    } else if (entity instanceof InputStreamHttpEntity && !(entity instanceof FileHttpEntity)) {
+      return Optional.of(new InputStreamHttpEntity(new CompressingInputStream(((InputStreamHttpEntity) entity).getInputStream(),
+                                                                              encoding, deflaters, statistics)));
+    }
+    return Optional.empty();
+  }
+
+  public CompressionStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Releases the pooled resources.
+   */
+  public void dispose() {
+    gzipDeflaters.dispose();
+    deflateDeflaters.dispose();
+  }
+}
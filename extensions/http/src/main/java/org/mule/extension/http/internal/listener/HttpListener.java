@@ -15,6 +15,7 @@ import static org.mule.runtime.extension.api.annotation.param.display.Placement.
 import static org.mule.runtime.module.http.api.HttpConstants.HttpStatus.BAD_REQUEST;
 import static org.mule.runtime.module.http.api.HttpConstants.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTP;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
 import org.mule.extension.http.api.HttpRequestAttributes;
 import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.extension.http.api.HttpStreamingType;
@@ -177,7 +178,7 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
     path = HttpParser.sanitizePathWithStartSlash(path);
     listenerPath = config.getFullListenerPath(path);
     path = listenerPath.getResolvedPath();
-    muleEventToHttpResponse = new MuleEventToHttpResponse(responseStreamingMode, muleContext);
+    muleEventToHttpResponse = new MuleEventToHttpResponse(responseStreamingMode, muleContext, config.getResponseCompressor());
     validatePath();
     parseRequest = config.resolveParseRequest(parseRequest);
     try {
@@ -216,6 +217,7 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
         try {
           final String httpVersion = requestContext.getRequest().getProtocol().asString();
           final boolean supportStreaming = supportsTransferEncoding(httpVersion);
+          final String acceptEncoding = requestContext.getRequest().getHeaderValueIgnoreCase(ACCEPT_ENCODING);
           CompletionHandler<org.mule.runtime.api.message.MuleEvent, Exception, org.mule.runtime.api.message.MuleEvent> completionHandler =
               new CompletionHandler<org.mule.runtime.api.message.MuleEvent, Exception, org.mule.runtime.api.message.MuleEvent>() {
 
@@ -224,7 +226,7 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
                                          ExceptionCallback<org.mule.runtime.api.message.MuleEvent, Exception> exceptionCallback) {
                   final HttpResponseBuilder responseBuilder = new HttpResponseBuilder();
                   final HttpResponse httpResponse =
-                      buildResponse((Event) result, responseBuilder, supportStreaming, exceptionCallback);
+                      buildResponse((Event) result, responseBuilder, supportStreaming, acceptEncoding, exceptionCallback);
                   responseCallback.responseReady(httpResponse, getResponseFailureCallback(responseCallback));
                 }
 
@@ -256,7 +258,7 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
                   HttpResponse response;
                   try {
                     response = muleEventToHttpResponse.create(exceptionEvent, failureResponseBuilder, errorResponseBuilder,
-                                                              supportStreaming);
+                                                              supportStreaming, acceptEncoding);
                   } catch (MessagingException e) {
                     response = new DefaultHttpResponse(new ResponseStatus(500, "Server error"), new MultiValueMap(),
                                                        new EmptyHttpEntity());
@@ -321,7 +323,7 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
   }
 
   protected HttpResponse buildResponse(Event event, final HttpResponseBuilder responseBuilder, boolean supportStreaming,
-                                       ExceptionCallback exceptionCallback) {
+                                       String acceptEncoding, ExceptionCallback exceptionCallback) {
     addThrottlingHeaders(responseBuilder);
     final HttpResponse httpResponse;
 
@@ -329,21 +331,22 @@ public class HttpListener extends Source<Object, HttpRequestAttributes> implemen
       // If the event was filtered, return an empty response with status code 200 OK.
       httpResponse = responseBuilder.setStatusCode(200).build();
     } else {
-      httpResponse = doBuildResponse(event, responseBuilder, supportStreaming, exceptionCallback);
+      httpResponse = doBuildResponse(event, responseBuilder, supportStreaming, acceptEncoding, exceptionCallback);
     }
     return httpResponse;
   }
 
   protected HttpResponse doBuildResponse(Event event, final HttpResponseBuilder responseBuilder, boolean supportsStreaming,
-                                         ExceptionCallback exceptionCallback) {
+                                         String acceptEncoding, ExceptionCallback exceptionCallback) {
     try {
-      return muleEventToHttpResponse.create(event, responseBuilder, this.responseBuilder, supportsStreaming);
+      return muleEventToHttpResponse.create(event, responseBuilder, this.responseBuilder, supportsStreaming, acceptEncoding);
     } catch (Exception e) {
       try {
         // Handle errors that occur while building the response. We need to send ES result back.
         Event exceptionStrategyResult = (Event) exceptionCallback.onException(e);
         // Send the result from the event that was built from the Exception Strategy.
-        return muleEventToHttpResponse.create(exceptionStrategyResult, responseBuilder, this.responseBuilder, supportsStreaming);
+        return muleEventToHttpResponse.create(exceptionStrategyResult, responseBuilder, this.responseBuilder, supportsStreaming,
+                                              acceptEncoding);
       } catch (Exception innerException) {
         // The failure occurred while executing the ES, or while building the response from the result of the ES
         return buildErrorResponse();
@@ -12,12 +12,17 @@ import static org.mule.extension.http.api.HttpStreamingType.AUTO;
 import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
 import static org.mule.runtime.api.metadata.DataType.OBJECT;
 import static org.mule.runtime.module.http.api.HttpConstants.HttpStatus.getReasonPhraseForStatusCode;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_ENCODING;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_TYPE;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.TRANSFER_ENCODING;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.VARY;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CHUNKED;
 import org.mule.extension.http.api.HttpStreamingType;
 import org.mule.extension.http.api.listener.builder.HttpListenerResponseBuilder;
+import org.mule.extension.http.internal.encoding.HttpContentEncoding;
+import org.mule.extension.http.internal.encoding.HttpResponseCompressor;
 import org.mule.runtime.api.message.MultiPartPayload;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.MediaType;
@@ -26,6 +31,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
 import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.streaming.FileBackedStream;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.UUID;
 import org.mule.runtime.module.http.api.HttpHeaders;
@@ -33,6 +39,7 @@ import org.mule.runtime.module.http.internal.HttpParser;
 import org.mule.runtime.module.http.internal.ParameterMap;
 import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
 import org.mule.runtime.module.http.internal.domain.EmptyHttpEntity;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
 import org.mule.runtime.module.http.internal.domain.HttpEntity;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.MultipartHttpEntity;
@@ -42,10 +49,12 @@ import org.mule.runtime.module.http.internal.listener.HttpResponseHeaderBuilder;
 import org.mule.runtime.module.http.internal.multipart.HttpMultipartEncoder;
 import org.mule.runtime.module.http.internal.multipart.HttpPartDataSource;
 
+import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,12 +71,33 @@ public class MuleEventToHttpResponse {
 
   private HttpStreamingType responseStreaming = AUTO;
   private MuleContext muleContext;
+  private HttpResponseCompressor responseCompressor;
   private boolean multipartEntityWithNoMultipartContentyTypeWarned;
   private boolean mapPayloadButNoUrlEncodedContentyTypeWarned;
 
   public MuleEventToHttpResponse(HttpStreamingType responseStreaming, MuleContext muleContext) {
+    this(responseStreaming, muleContext, null);
+  }
+
+  /**
+   * @param responseCompressor the compressor to apply to the response bodies, or {@code null} if they should not be compressed
+   */
+  public MuleEventToHttpResponse(HttpStreamingType responseStreaming, MuleContext muleContext,
+                                 HttpResponseCompressor responseCompressor) {
     this.responseStreaming = responseStreaming;
     this.muleContext = muleContext;
+    this.responseCompressor = responseCompressor;
+  }
+
+  /**
+   * Creates an {@HttpResponse} which body is never compressed.
+   *
+   * @see #create(Event, HttpResponseBuilder, HttpListenerResponseBuilder, boolean, String)
+   */
+  public HttpResponse create(Event event, HttpResponseBuilder responseBuilder,
+                             HttpListenerResponseBuilder listenerResponseBuilder, boolean supportsTransferEncoding)
+      throws MessagingException {
+    return create(event, responseBuilder, listenerResponseBuilder, supportsTransferEncoding, null);
   }
 
   /**
@@ -78,11 +108,14 @@ public class MuleEventToHttpResponse {
    *        {@link HttpResponse}.
    * @param listenerResponseBuilder The generic {@HttpListenerResponseBuilder} configured for this listener.
    * @param supportsTransferEncoding boolean that determines whether the HTTP protocol of the response supports streaming.
+   * @param acceptEncoding the value of the {@code Accept-Encoding} header of the request, used to negotiate the compression of
+   *        the body. May be {@code null}.
    * @return an {@HttpResponse} configured based on the parameters.
    * @throws MessagingException if the response creation fails.
    */
   public HttpResponse create(Event event, HttpResponseBuilder responseBuilder,
-                             HttpListenerResponseBuilder listenerResponseBuilder, boolean supportsTransferEncoding)
+                             HttpListenerResponseBuilder listenerResponseBuilder, boolean supportsTransferEncoding,
+                             String acceptEncoding)
       throws MessagingException {
     Map<String, String> headers = listenerResponseBuilder.getHeaders(event);
 
@@ -141,6 +174,10 @@ public class MuleEventToHttpResponse {
       httpEntity = createMultipartEntity(event, httpResponseHeaderBuilder.getContentType(), (MultiPartPayload) payload);
       resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength, supportsTransferEncoding,
                       (ByteArrayHttpEntity) httpEntity);
+    } else if (isFileBacked(payload)) {
+      final File file = payload instanceof File ? (File) payload : ((FileBackedStream) payload).getBackingFile();
+      httpEntity = new FileHttpEntity(file, payload instanceof InputStream ? (InputStream) payload : null);
+      setupContentLengthEncoding(httpResponseHeaderBuilder, file.length());
     } else if (payload instanceof InputStream) {
       if (responseStreaming == ALWAYS || (responseStreaming == AUTO && existingContentLength == null)) {
         if (supportsTransferEncoding) {
@@ -163,6 +200,10 @@ public class MuleEventToHttpResponse {
       }
     }
 
+    if (responseCompressor != null) {
+      httpEntity = compressIfAccepted(httpEntity, httpResponseHeaderBuilder, acceptEncoding, supportsTransferEncoding);
+    }
+
     Collection<String> headerNames = httpResponseHeaderBuilder.getHeaderNames();
     for (String headerName : headerNames) {
       Collection<String> values = httpResponseHeaderBuilder.getHeader(headerName);
@@ -191,6 +232,44 @@ public class MuleEventToHttpResponse {
     return reasonPhrase;
   }
 
+  private HttpEntity compressIfAccepted(HttpEntity httpEntity, HttpResponseHeaderBuilder httpResponseHeaderBuilder,
+                                        String acceptEncoding, boolean supportsTransferEncoding) {
+    if (!httpResponseHeaderBuilder.getHeader(CONTENT_ENCODING).isEmpty()
+        || !responseCompressor.isCompressible(httpResponseHeaderBuilder.getContentType())) {
+      return httpEntity;
+    }
+    Optional<HttpContentEncoding> encoding = HttpContentEncoding.negotiate(acceptEncoding);
+    if (!encoding.isPresent()) {
+      return httpEntity;
+    }
+    Optional<HttpEntity> compressed = responseCompressor.compress(httpEntity, encoding.get());
+    if (!compressed.isPresent()) {
+      return httpEntity;
+    }
+
+    httpResponseHeaderBuilder.addHeader(CONTENT_ENCODING, encoding.get().getToken());
+    httpResponseHeaderBuilder.addHeader(VARY, ACCEPT_ENCODING);
+    if (compressed.get() instanceof ByteArrayHttpEntity) {
+      setupContentLengthEncoding(httpResponseHeaderBuilder, ((ByteArrayHttpEntity) compressed.get()).getContent().length);
+    } else {
+      httpResponseHeaderBuilder.removeHeader(CONTENT_LENGTH);
+      if (supportsTransferEncoding) {
+        setupChunkedEncoding(httpResponseHeaderBuilder);
+      }
+    }
+    return compressed.get();
+  }
+
+  /**
+   * Files are sent directly from the file system when possible, so there's no point in buffering or chunking them.
+   */
+  private boolean isFileBacked(Object payload) {
+    if (payload instanceof File) {
+      return ((File) payload).isFile();
+    }
+    return payload instanceof FileBackedStream && ((FileBackedStream) payload).getBackingFile() != null;
+  }
+
   private void resolveEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, String existingTransferEncoding,
                                String existingContentLength, boolean supportsTransferEncoding,
                                ByteArrayHttpEntity byteArrayHttpEntity) {
@@ -204,7 +283,7 @@ public class MuleEventToHttpResponse {
     }
   }
 
-  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, int contentLength) {
+  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, long contentLength) {
     if (httpResponseHeaderBuilder.getTransferEncoding() != null) {
       logger.debug("Content-Length encoding is being used so the 'Transfer-Encoding' header has been removed");
       httpResponseHeaderBuilder.removeHeader(TRANSFER_ENCODING);
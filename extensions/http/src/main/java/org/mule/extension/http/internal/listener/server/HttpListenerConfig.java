@@ -11,8 +11,11 @@ import static org.mule.runtime.core.util.Preconditions.checkArgument;
 import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import static org.mule.runtime.extension.api.introspection.parameter.ExpressionSupport.NOT_SUPPORTED;
 
+import org.mule.extension.http.internal.encoding.CompressionStatistics;
+import org.mule.extension.http.internal.encoding.HttpResponseCompressor;
 import org.mule.extension.http.internal.listener.HttpListener;
 import org.mule.extension.http.internal.listener.HttpListenerProvider;
+import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.extension.api.annotation.Configuration;
@@ -33,7 +36,9 @@ import org.mule.runtime.module.http.internal.listener.ListenerPath;
 @Configuration(name = "listener-config")
 @ConnectionProviders(HttpListenerProvider.class)
 @Sources(HttpListener.class)
-public class HttpListenerConfig implements Initialisable {
+public class HttpListenerConfig implements Initialisable, Disposable {
+
+  private static final String COMPRESSION = "Compression";
 
   /**
    * Base path to use for all requests that reference this config.
@@ -54,10 +59,50 @@ public class HttpListenerConfig implements Initialisable {
   @Placement(tab = ADVANCED, group = OTHER_SETTINGS)
   private Boolean parseRequest;
 
+  /**
+   * If true, response bodies will be compressed using the gzip or deflate coding, as long as the client accepts it through the
+   * Accept-Encoding header and the response has no Content-Encoding already. Streamed bodies are compressed as they are sent.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = ADVANCED, group = COMPRESSION)
+  private Boolean compressResponses;
+
+  /**
+   * The minimum size in bytes that a non streamed response body must have to be compressed.
+   */
+  @Parameter
+  @Optional(defaultValue = "1024")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = ADVANCED, group = COMPRESSION)
+  private Integer compressionMinSize;
+
+  /**
+   * Comma separated list of the media types of the response bodies to compress. Wildcards can be used for the subtype, for
+   * example: text/*.
+   */
+  @Parameter
+  @Optional(defaultValue = "text/*, application/json, application/xml, application/javascript")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = ADVANCED, group = COMPRESSION)
+  private String compressibleMediaTypes;
+
+  private HttpResponseCompressor responseCompressor;
 
   @Override
   public void initialise() throws InitialisationException {
     basePath = HttpParser.sanitizePathWithStartSlash(this.basePath);
+    if (compressResponses != null && compressResponses) {
+      responseCompressor = new HttpResponseCompressor(compressionMinSize, compressibleMediaTypes);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (responseCompressor != null) {
+      responseCompressor.dispose();
+    }
   }
 
   public ListenerPath getFullListenerPath(String listenerPath) {
@@ -65,6 +110,21 @@ public class HttpListenerConfig implements Initialisable {
     return new ListenerPath(basePath, listenerPath);
   }
 
+  /**
+   * @return the compressor to use for responses, or {@code null} if they should not be compressed
+   */
+  public HttpResponseCompressor getResponseCompressor() {
+    return responseCompressor;
+  }
+
+  /**
+   * @return the statistics of the responses compressed by the listeners of this config, or {@code null} if compression is
+   *         not enabled
+   */
+  public CompressionStatistics getCompressionStatistics() {
+    return responseCompressor != null ? responseCompressor.getStatistics() : null;
+  }
+
   public Boolean resolveParseRequest(Boolean listenerParseRequest) {
     return listenerParseRequest != null ? listenerParseRequest : (parseRequest != null ? parseRequest : true);
   }
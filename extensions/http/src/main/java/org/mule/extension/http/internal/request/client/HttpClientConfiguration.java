@@ -10,6 +10,7 @@ import org.mule.extension.http.api.request.authentication.HttpAuthentication;
 import org.mule.extension.http.api.request.client.HttpClient;
 import org.mule.extension.http.api.request.client.UriParameters;
 import org.mule.extension.http.api.request.proxy.ProxyConfig;
+import org.mule.extension.http.internal.encoding.CompressionStatistics;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
 import org.mule.runtime.api.tls.TlsContextFactory;
 
@@ -30,12 +31,15 @@ public class HttpClientConfiguration {
   private final int connectionIdleTimeout;
   private final String threadNamePrefix;
   private final String ownerName;
+  private final boolean decompressResponses;
+  private final CompressionStatistics decompressionStatistics;
 
   private HttpClientConfiguration(UriParameters uriParameters, HttpAuthentication authentication,
                                   TlsContextFactory tlsContextFactory, ProxyConfig proxyConfig,
                                   TcpClientSocketProperties clientSocketProperties, int maxConnections,
                                   boolean usePersistentConnections, int connectionIdleTimeout, String threadNamePrefix,
-                                  String ownerName) {
+                                  String ownerName, boolean decompressResponses,
+                                  CompressionStatistics decompressionStatistics) {
     this.uriParameters = uriParameters;
     this.authentication = authentication;
     this.tlsContextFactory = tlsContextFactory;
@@ -46,6 +50,8 @@ public class HttpClientConfiguration {
     this.connectionIdleTimeout = connectionIdleTimeout;
     this.threadNamePrefix = threadNamePrefix;
     this.ownerName = ownerName;
+    this.decompressResponses = decompressResponses;
+    this.decompressionStatistics = decompressionStatistics;
   }
 
   public UriParameters getUriParameters() {
@@ -88,6 +94,14 @@ public class HttpClientConfiguration {
     return ownerName;
   }
 
+  public boolean isDecompressResponses() {
+    return decompressResponses;
+  }
+
+  public CompressionStatistics getDecompressionStatistics() {
+    return decompressionStatistics;
+  }
+
   public static class Builder {
 
     private UriParameters uriParameters;
@@ -100,6 +114,8 @@ public class HttpClientConfiguration {
     private int connectionIdleTimeout;
     private String threadNamePrefix;
     private String ownerName;
+    private boolean decompressResponses;
+    private CompressionStatistics decompressionStatistics;
 
     public Builder setUriParameters(UriParameters uriParameters) {
       this.uriParameters = uriParameters;
@@ -151,10 +167,20 @@ public class HttpClientConfiguration {
       return this;
     }
 
+    public Builder setDecompressResponses(boolean decompressResponses) {
+      this.decompressResponses = decompressResponses;
+      return this;
+    }
+
+    public Builder setDecompressionStatistics(CompressionStatistics decompressionStatistics) {
+      this.decompressionStatistics = decompressionStatistics;
+      return this;
+    }
+
     public HttpClientConfiguration build() {
       return new HttpClientConfiguration(uriParameters, authentication, tlsContextFactory, proxyConfig, clientSocketProperties,
                                          maxConnections, usePersistentConnections, connectionIdleTimeout, threadNamePrefix,
-                                         ownerName);
+                                         ownerName, decompressResponses, decompressionStatistics);
     }
   }
 }
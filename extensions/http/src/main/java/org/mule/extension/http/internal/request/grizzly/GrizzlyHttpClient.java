@@ -7,15 +7,23 @@
 package org.mule.extension.http.internal.request.grizzly;
 
 import static com.ning.http.client.Realm.AuthScheme.NTLM;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.DEFLATE;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.GZIP;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONNECTION;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_ENCODING;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
 import org.mule.extension.http.api.request.authentication.HttpAuthentication;
 import org.mule.extension.http.api.request.client.HttpClient;
 import org.mule.extension.http.api.request.client.UriParameters;
 import org.mule.extension.http.api.request.proxy.NtlmProxyConfig;
 import org.mule.extension.http.api.request.proxy.ProxyConfig;
+import org.mule.extension.http.internal.encoding.CompressionStatistics;
+import org.mule.extension.http.internal.encoding.DecompressingInputStream;
+import org.mule.extension.http.internal.encoding.HttpContentEncoding;
 import org.mule.extension.http.internal.request.DefaultHttpRequest;
 import org.mule.extension.http.internal.request.client.HttpClientConfiguration;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
@@ -54,8 +62,10 @@ import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProvider;
 import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -82,6 +92,8 @@ public class GrizzlyHttpClient implements HttpClient {
 
   private String threadNamePrefix;
   private String ownerName;
+  private boolean decompressResponses;
+  private final CompressionStatistics decompressionStatistics;
   private AsyncHttpClient asyncHttpClient;
   private SSLContext sslContext;
 
@@ -96,6 +108,9 @@ public class GrizzlyHttpClient implements HttpClient {
     this.connectionIdleTimeout = config.getConnectionIdleTimeout();
     this.threadNamePrefix = config.getThreadNamePrefix();
     this.ownerName = config.getOwnerName();
+    this.decompressResponses = config.isDecompressResponses();
+    this.decompressionStatistics =
+        config.getDecompressionStatistics() != null ? config.getDecompressionStatistics() : new CompressionStatistics();
   }
 
   @Override
@@ -187,7 +202,8 @@ public class GrizzlyHttpClient implements HttpClient {
     }
 
     providerConfig.addProperty(GrizzlyAsyncHttpProviderConfig.Property.TRANSPORT_CUSTOMIZER, compositeTransportCustomizer);
-    // Grizzly now decompresses encoded responses, this flag maintains the previous behaviour
+    // Grizzly now decompresses encoded responses, this flag maintains the previous behaviour. When decompression is enabled it's
+    // done by the client as the body is consumed, see #createMuleResponse
     providerConfig.addProperty(GrizzlyAsyncHttpProviderConfig.Property.DECOMPRESS_RESPONSE, Boolean.FALSE);
     builder.setAsyncHttpClientProviderConfig(providerConfig);
   }
@@ -256,10 +272,20 @@ public class GrizzlyHttpClient implements HttpClient {
     HttpResponseBuilder responseBuilder = new HttpResponseBuilder();
     responseBuilder.setStatusCode(response.getStatusCode());
     responseBuilder.setReasonPhrase(response.getStatusText());
-    responseBuilder.setEntity(new InputStreamHttpEntity(response.getResponseBodyAsStream()));
+    InputStream body = response.getResponseBodyAsStream();
+    Optional<HttpContentEncoding> encoding =
+        decompressResponses ? HttpContentEncoding.fromContentEncoding(response.getHeader(CONTENT_ENCODING)) : Optional.empty();
+    if (encoding.isPresent()) {
+      body = new DecompressingInputStream(body, encoding.get(), decompressionStatistics);
+    }
+    responseBuilder.setEntity(new InputStreamHttpEntity(body));
 
     if (response.hasResponseHeaders()) {
       for (String header : response.getHeaders().keySet()) {
+        if (encoding.isPresent() && (CONTENT_ENCODING.equalsIgnoreCase(header) || CONTENT_LENGTH.equalsIgnoreCase(header))) {
+          // The body is no longer encoded and its length is unknown
+          continue;
+        }
         for (String headerValue : response.getHeaders(header)) {
           responseBuilder.addHeader(header, headerValue);
         }
@@ -357,12 +383,25 @@ public class GrizzlyHttpClient implements HttpClient {
       }
       builder.setHeader(CONNECTION, CLOSE);
     }
+
+    // Advertise the codings this client is able to decode, unless the request already negotiates its own.
+
+    if (decompressResponses && request.getHeaderValueIgnoreCase(ACCEPT_ENCODING) == null) {
+      builder.setHeader(ACCEPT_ENCODING, GZIP.getToken() + ", " + DEFLATE.getToken());
+    }
   }
 
   private String getHostName() throws UnknownHostException {
     return InetAddress.getLocalHost().getHostName();
   }
 
+  /**
+   * @return the statistics of the response bodies decompressed by this client
+   */
+  public CompressionStatistics getDecompressionStatistics() {
+    return decompressionStatistics;
+  }
+
   protected ProxyConfig getProxyConfig() {
     return proxyConfig;
   }
@@ -21,6 +21,7 @@ import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTPS;
 import org.mule.extension.http.api.request.authentication.HttpAuthentication;
 import org.mule.extension.http.api.request.client.HttpClient;
 import org.mule.extension.http.api.request.proxy.ProxyConfig;
+import org.mule.extension.http.internal.encoding.CompressionStatistics;
 import org.mule.extension.http.internal.request.client.DefaultUriParameters;
 import org.mule.extension.http.internal.request.client.HttpClientConfiguration;
 import org.mule.extension.http.internal.request.client.HttpClientFactory;
@@ -145,6 +146,16 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpClien
   @Placement(group = OTHER_SETTINGS)
   private Boolean usePersistentConnections;
 
+  /**
+   * If true, response bodies encoded with gzip or deflate will be decompressed as they are read, and the Content-Encoding and
+   * Content-Length headers will be removed from the response attributes.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(NOT_SUPPORTED)
+  @Placement(group = OTHER_SETTINGS)
+  private Boolean decompressResponses;
+
   @Parameter
   @Optional
   @Expression(NOT_SUPPORTED)
@@ -165,6 +176,8 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpClien
 
   private HttpClientFactory httpClientFactory;
 
+  private final CompressionStatistics decompressionStatistics = new CompressionStatistics();
+
   @Override
   public ConnectionValidationResult validate(HttpClient httpClient) {
     return ConnectionValidationResult.success();
@@ -217,7 +230,8 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpClien
         .setUriParameters(new DefaultUriParameters(protocol, host, port)).setAuthentication(authentication)
         .setTlsContextFactory(tlsContextFactory).setProxyConfig(proxyConfig).setClientSocketProperties(clientSocketProperties)
         .setMaxConnections(maxConnections).setUsePersistentConnections(usePersistentConnections)
-        .setConnectionIdleTimeout(connectionIdleTimeout).setThreadNamePrefix(threadNamePrefix).setOwnerName(configName).build();
+        .setConnectionIdleTimeout(connectionIdleTimeout).setThreadNamePrefix(threadNamePrefix).setOwnerName(configName)
+        .setDecompressResponses(decompressResponses).setDecompressionStatistics(decompressionStatistics).build();
 
     HttpClient httpClient;
     if (httpClientFactory == null) {
@@ -247,4 +261,11 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpClien
   public HttpAuthentication getAuthentication() {
     return authentication;
   }
+
+  /**
+   * @return the statistics of the response bodies decompressed by all the clients created by this provider
+   */
+  public CompressionStatistics getDecompressionStatistics() {
+    return decompressionStatistics;
+  }
 }
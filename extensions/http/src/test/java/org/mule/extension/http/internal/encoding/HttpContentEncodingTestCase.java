@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.encoding;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.DEFLATE;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.GZIP;
+import static org.mule.extension.http.internal.encoding.HttpContentEncoding.negotiate;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.StringUtils;
+import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.HttpEntity;
+import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class HttpContentEncodingTestCase extends AbstractMuleTestCase {
+
+  private static final String CONTENT = StringUtils.repeat("{\"name\": \"mule\"}", 200);
+
+  @Test
+  public void noAcceptEncoding() {
+    assertThat(negotiate(null), is(empty()));
+    assertThat(negotiate(""), is(empty()));
+  }
+
+  @Test
+  public void gzipIsPreferredOnTie() {
+    assertThat(negotiate("deflate, gzip"), is(of(GZIP)));
+  }
+
+  @Test
+  public void qualityValuesAreHonoured() {
+    assertThat(negotiate("gzip;q=0.5, deflate"), is(of(DEFLATE)));
+  }
+
+  @Test
+  public void zeroQualityMeansNotAcceptable() {
+    assertThat(negotiate("gzip;q=0"), is(empty()));
+  }
+
+  @Test
+  public void wildcard() {
+    assertThat(negotiate("*"), is(of(GZIP)));
+    assertThat(negotiate("gzip;q=0, *"), is(of(DEFLATE)));
+  }
+
+  @Test
+  public void unsupportedCodings() {
+    assertThat(negotiate("br, compress"), is(empty()));
+  }
+
+  @Test
+  public void compressibleMediaTypes() {
+    HttpResponseCompressor compressor = new HttpResponseCompressor(0, "text/*, application/json");
+    assertThat(compressor.isCompressible("text/plain; charset=UTF-8"), is(true));
+    assertThat(compressor.isCompressible("application/json"), is(true));
+    assertThat(compressor.isCompressible("image/png"), is(false));
+    assertThat(compressor.isCompressible(null), is(false));
+  }
+
+  @Test
+  public void smallBodiesAreNotCompressed() {
+    HttpResponseCompressor compressor = new HttpResponseCompressor(CONTENT.length() + 1, "application/json");
+    assertThat(compressor.compress(new ByteArrayHttpEntity(CONTENT.getBytes()), GZIP), is(empty()));
+  }
+
+  @Test
+  public void gzipRoundTrip() throws Exception {
+    assertRoundTrip(GZIP, new ByteArrayHttpEntity(CONTENT.getBytes()));
+  }
+
+  @Test
+  public void deflateStreamRoundTrip() throws Exception {
+    assertRoundTrip(DEFLATE, new InputStreamHttpEntity(new ByteArrayInputStream(CONTENT.getBytes())));
+  }
+
+  private void assertRoundTrip(HttpContentEncoding encoding, HttpEntity entity) throws Exception {
+    HttpResponseCompressor compressor = new HttpResponseCompressor(0, "application/json");
+    Optional<HttpEntity> compressed = compressor.compress(entity, encoding);
+
+    byte[] compressedContent;
+    if (compressed.get() instanceof ByteArrayHttpEntity) {
+      compressedContent = ((ByteArrayHttpEntity) compressed.get()).getContent();
+    } else {
+      compressedContent = IOUtils.toByteArray(((InputStreamHttpEntity) compressed.get()).getInputStream());
+      ((InputStreamHttpEntity) compressed.get()).getInputStream().close();
+    }
+
+    CompressionStatistics decompressionStatistics = new CompressionStatistics();
+    String decompressed = IOUtils.toString(new DecompressingInputStream(new ByteArrayInputStream(compressedContent), encoding,
+                                                                        decompressionStatistics));
+    assertThat(decompressed, equalTo(CONTENT));
+
+    CompressionStatistics statistics = compressor.getStatistics();
+    assertThat(statistics.getMessages(), is(1L));
+    assertThat(statistics.getUncompressedBytes(), is((long) CONTENT.length()));
+    assertThat(statistics.getCompressedBytes(), is((long) compressedContent.length));
+    assertThat(decompressionStatistics.getUncompressedBytes(), is((long) CONTENT.length()));
+    assertThat(statistics.getCompressionRatio() > 1, is(true));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.grizzly;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
+import org.mule.extension.http.internal.encoding.CompressionStatistics;
+import org.mule.extension.http.internal.request.HttpRequestBuilder;
+import org.mule.extension.http.internal.request.client.HttpClientConfiguration;
+import org.mule.runtime.module.http.internal.ParameterMap;
+import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import com.ning.http.client.RequestBuilder;
+
+import org.junit.Test;
+
+public class GrizzlyHttpClientTestCase extends AbstractMuleTestCase {
+
+  private static final String URI = "http://localhost:8081/test";
+
+  @Test
+  public void acceptEncodingIsSentWhenDecompressing() {
+    assertThat(populateHeaders(true, new ParameterMap()), equalTo("gzip, deflate"));
+  }
+
+  @Test
+  public void acceptEncodingIsNotSentWhenNotDecompressing() {
+    assertThat(populateHeaders(false, new ParameterMap()), is(nullValue()));
+  }
+
+  @Test
+  public void requestAcceptEncodingIsKept() {
+    ParameterMap headers = new ParameterMap();
+    headers.put(ACCEPT_ENCODING, "gzip");
+    assertThat(populateHeaders(true, headers), equalTo("gzip"));
+  }
+
+  @Test
+  public void decompressionStatisticsAreSharedWithTheConfiguration() {
+    CompressionStatistics statistics = new CompressionStatistics();
+    GrizzlyHttpClient client = new GrizzlyHttpClient(new HttpClientConfiguration.Builder().setDecompressResponses(true)
+        .setDecompressionStatistics(statistics).build());
+    assertThat(client.getDecompressionStatistics(), is(sameInstance(statistics)));
+  }
+
+  private String populateHeaders(boolean decompressResponses, ParameterMap headers) {
+    GrizzlyHttpClient client =
+        new GrizzlyHttpClient(new HttpClientConfiguration.Builder().setDecompressResponses(decompressResponses).build());
+    HttpRequest request = new HttpRequestBuilder().setUri(URI).setMethod("GET").setHeaders(headers).build();
+    RequestBuilder builder = new RequestBuilder().setUrl(URI);
+    client.populateHeaders(request, builder);
+    return builder.build().getHeaders().getFirstValue(ACCEPT_ENCODING);
+  }
+}
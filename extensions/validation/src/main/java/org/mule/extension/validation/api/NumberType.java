@@ -6,13 +6,13 @@
  */
 package org.mule.extension.validation.api;
 
-import java.util.Locale;
+import static org.mule.extension.validation.internal.ValidationCache.DOUBLE_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.FLOAT_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.INTEGER_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.LONG_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.SHORT_VALIDATOR;
 
-import org.apache.commons.validator.routines.DoubleValidator;
-import org.apache.commons.validator.routines.FloatValidator;
-import org.apache.commons.validator.routines.IntegerValidator;
-import org.apache.commons.validator.routines.LongValidator;
-import org.apache.commons.validator.routines.ShortValidator;
+import java.util.Locale;
 
 /**
  * Defines types of {@link Number}s against which validations can be performed
@@ -24,40 +24,40 @@ public enum NumberType {
 
     @Override
     public Number toNumber(String value, String pattern, Locale locale) {
-      return pattern != null ? IntegerValidator.getInstance().validate(value, pattern, locale)
-          : IntegerValidator.getInstance().validate(value, locale);
+      return pattern != null ? INTEGER_VALIDATOR.validate(value, pattern, locale)
+          : INTEGER_VALIDATOR.validate(value, locale);
     }
   },
   LONG {
 
     @Override
     public Number toNumber(String value, String pattern, Locale locale) {
-      return pattern != null ? LongValidator.getInstance().validate(value, pattern, locale)
-          : LongValidator.getInstance().validate(value, locale);
+      return pattern != null ? LONG_VALIDATOR.validate(value, pattern, locale)
+          : LONG_VALIDATOR.validate(value, locale);
     }
   },
   SHORT {
 
     @Override
     public Number toNumber(String value, String pattern, Locale locale) {
-      return pattern != null ? ShortValidator.getInstance().validate(value, pattern, locale)
-          : ShortValidator.getInstance().validate(value, locale);
+      return pattern != null ? SHORT_VALIDATOR.validate(value, pattern, locale)
+          : SHORT_VALIDATOR.validate(value, locale);
     }
   },
   DOUBLE {
 
     @Override
     public Number toNumber(String value, String pattern, Locale locale) {
-      return pattern != null ? DoubleValidator.getInstance().validate(value, pattern, locale)
-          : DoubleValidator.getInstance().validate(value, locale);
+      return pattern != null ? DOUBLE_VALIDATOR.validate(value, pattern, locale)
+          : DOUBLE_VALIDATOR.validate(value, locale);
     }
   },
   FLOAT {
 
     @Override
     public Number toNumber(String value, String pattern, Locale locale) {
-      return pattern != null ? FloatValidator.getInstance().validate(value, pattern, locale)
-          : FloatValidator.getInstance().validate(value, locale);
+      return pattern != null ? FLOAT_VALIDATOR.validate(value, pattern, locale)
+          : FLOAT_VALIDATOR.validate(value, locale);
     }
   };
 
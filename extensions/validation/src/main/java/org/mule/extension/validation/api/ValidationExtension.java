@@ -11,6 +11,7 @@ import org.mule.extension.validation.internal.CommonValidationOperations;
 import org.mule.extension.validation.internal.CustomValidatorOperation;
 import org.mule.extension.validation.internal.DefaultExceptionFactory;
 import org.mule.extension.validation.internal.NumberValidationOperation;
+import org.mule.extension.validation.internal.ValidationCache;
 import org.mule.extension.validation.internal.ValidationMessages;
 import org.mule.extension.validation.internal.ValidationStrategies;
 import org.mule.runtime.core.AbstractAnnotatedObject;
@@ -19,6 +20,7 @@ import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.core.api.config.Config;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.registry.MuleRegistry;
@@ -58,7 +60,8 @@ import java.util.Locale;
     resources = {"/META-INF/services/org/mule/runtime/core/i18n/validation-messages.properties",
         "/META-INF/services/org/mule/runtime/core/config/registry-bootstrap.properties"},
     classes = {org.mule.extension.validation.api.el.ValidationElExtension.class})
-public class ValidationExtension extends AbstractAnnotatedObject implements Config, NamedObject, Initialisable, MuleContextAware {
+public class ValidationExtension extends AbstractAnnotatedObject implements Config, NamedObject, Initialisable, Disposable,
+    MuleContextAware {
 
   public static final String DEFAULT_LOCALE = Locale.getDefault().getLanguage();
   private static final String EXCEPTION_FACTORY_PARAMETER_NAME = "exceptionFactory";
@@ -83,6 +86,11 @@ public class ValidationExtension extends AbstractAnnotatedObject implements Conf
     initialiseMessageFactory();
   }
 
+  @Override
+  public void dispose() {
+    ValidationCache.clear();
+  }
+
   private void initialiseMessageFactory() {
     if (i18n == null) {
       messageFactory = new ValidationMessages();
@@ -7,6 +7,7 @@
 package org.mule.extension.validation.api.el;
 
 import static org.mule.extension.validation.api.ValidationExtension.DEFAULT_LOCALE;
+import static org.mule.extension.validation.internal.ValidationCache.getLocale;
 import org.mule.runtime.core.VoidMuleEvent;
 import org.mule.runtime.core.api.Event;
 import org.mule.extension.validation.api.Validator;
@@ -199,7 +200,7 @@ public final class ValidatorElContext {
    * @return {@code true} if the validation succeeded. {@code false} otherwise
    */
   public boolean isNumber(String value, NumberType numberType, Number minValue, Number maxValue, String pattern, String locale) {
-    return validate(new NumberValidator(value, new Locale(locale), pattern, minValue, maxValue, numberType, validationContext));
+    return validate(new NumberValidator(value, getLocale(locale), pattern, minValue, maxValue, numberType, validationContext));
   }
 
   /**
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.validation.internal;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.compile;
+
+import java.text.Format;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.apache.commons.validator.routines.DoubleValidator;
+import org.apache.commons.validator.routines.FloatValidator;
+import org.apache.commons.validator.routines.IntegerValidator;
+import org.apache.commons.validator.routines.LongValidator;
+import org.apache.commons.validator.routines.ShortValidator;
+import org.apache.commons.validator.routines.TimeValidator;
+
+/**
+ * Caches the compiled {@link Pattern}s, {@link Locale}s and {@link Format}s used by the validators, so that validating the same
+ * rules over and over doesn't compile the same regular expressions or build the same formatters on each validation.
+ * <p>
+ * {@link Pattern}s and {@link Locale}s are immutable, so they are shared by all threads. {@link Format}s are not thread safe, so
+ * each thread keeps its own. All the caches are bounded to {@link #MAX_ENTRIES} entries and are emptied by {@link #clear()}.
+ * <p>
+ * The commons-validator instances exposed by this class are the ones returned by their {@code getInstance()} methods, except that
+ * they take their {@link Format}s from the cache instead of creating new ones for each value.
+ *
+ * @since 4.0
+ */
+public final class ValidationCache {
+
+  /**
+   * The maximum number of entries of each cache
+   */
+  public static final int MAX_ENTRIES = 256;
+
+  private static final ConcurrentMap<String, Pattern> CASE_SENSITIVE_PATTERNS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, Pattern> CASE_INSENSITIVE_PATTERNS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, Locale> LOCALES = new ConcurrentHashMap<>();
+  private static final List<FormatCache> FORMAT_CACHES = new CopyOnWriteArrayList<>();
+
+  public static final TimeValidator TIME_VALIDATOR = new TimeValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  public static final IntegerValidator INTEGER_VALIDATOR = new IntegerValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  public static final LongValidator LONG_VALIDATOR = new LongValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  public static final ShortValidator SHORT_VALIDATOR = new ShortValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  public static final DoubleValidator DOUBLE_VALIDATOR = new DoubleValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  public static final FloatValidator FLOAT_VALIDATOR = new FloatValidator() {
+
+    private final FormatCache formats = new FormatCache(super::getFormat);
+
+    @Override
+    protected Format getFormat(String pattern, Locale locale) {
+      return formats.get(pattern, locale);
+    }
+  };
+
+  private ValidationCache() {}
+
+  /**
+   * Returns the compiled {@link Pattern} for the given {@code regex}
+   *
+   * @param regex the regular expression
+   * @param caseSensitive whether the {@link Pattern} should be case sensitive
+   * @return a compiled {@link Pattern}
+   * @throws IllegalArgumentException if {@code regex} is blank
+   */
+  public static Pattern getPattern(String regex, boolean caseSensitive) {
+    if (regex == null || regex.length() == 0) {
+      throw new IllegalArgumentException("Regular expression is missing");
+    }
+    return caseSensitive ? get(CASE_SENSITIVE_PATTERNS, regex, Pattern::compile)
+        : get(CASE_INSENSITIVE_PATTERNS, regex, ValidationCache::compileCaseInsensitive);
+  }
+
+  /**
+   * Returns the {@link Locale} for the given {@code locale} key
+   *
+   * @param locale a {@link Locale} key
+   * @return a {@link Locale}
+   */
+  public static Locale getLocale(String locale) {
+    return get(LOCALES, locale, Locale::new);
+  }
+
+  private static Pattern compileCaseInsensitive(String regex) {
+    return compile(regex, CASE_INSENSITIVE);
+  }
+
+  private static <V> V get(ConcurrentMap<String, V> cache, String key, Function<String, V> factory) {
+    V value = cache.get(key);
+    if (value == null) {
+      if (cache.size() >= MAX_ENTRIES) {
+        // the same rules are validated over and over, so this only happens when they are built from the validated values
+        cache.clear();
+      }
+      value = factory.apply(key);
+      V previous = cache.putIfAbsent(key, value);
+      if (previous != null) {
+        value = previous;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Discards every cached value, so that no {@link Format} is kept once the extension is disposed
+   */
+  public static void clear() {
+    CASE_SENSITIVE_PATTERNS.clear();
+    CASE_INSENSITIVE_PATTERNS.clear();
+    LOCALES.clear();
+    for (FormatCache formatCache : FORMAT_CACHES) {
+      formatCache.clear();
+    }
+  }
+
+  /**
+   * Keeps the {@link Format}s created by a commons-validator instance for each pattern and {@link Locale}, one set for each
+   * thread.
+   * <p>
+   * The values of the {@link ThreadLocal} are JDK types only, so that pooled threads outliving the extension don't keep its class
+   * loader. Once cleared, the {@link ThreadLocal} is replaced, so that the values already set become unreachable.
+   */
+  private static final class FormatCache {
+
+    private final BiFunction<String, Locale, Format> factory;
+    private volatile ThreadLocal<Map<String, Map<Locale, Format>>> formats = new ThreadLocal<>();
+
+    private FormatCache(BiFunction<String, Locale, Format> factory) {
+      this.factory = factory;
+      FORMAT_CACHES.add(this);
+    }
+
+    private Format get(String pattern, Locale locale) {
+      ThreadLocal<Map<String, Map<Locale, Format>>> formats = this.formats;
+      Map<String, Map<Locale, Format>> threadFormats = formats.get();
+      if (threadFormats == null) {
+        threadFormats = new HashMap<>();
+        formats.set(threadFormats);
+      }
+      Map<Locale, Format> patternFormats = threadFormats.get(pattern);
+      if (patternFormats == null) {
+        if (threadFormats.size() >= MAX_ENTRIES) {
+          threadFormats.clear();
+        }
+        patternFormats = new HashMap<>(4);
+        threadFormats.put(pattern, patternFormats);
+      }
+      Format format = patternFormats.get(locale);
+      if (format == null) {
+        if (patternFormats.size() >= MAX_ENTRIES) {
+          patternFormats.clear();
+        }
+        format = factory.apply(pattern, locale);
+        patternFormats.put(locale, format);
+      }
+      return format;
+    }
+
+    private void clear() {
+      formats = new ThreadLocal<>();
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.extension.validation.internal;
 
 import static org.mule.extension.validation.internal.ImmutableValidationResult.error;
+import static org.mule.extension.validation.internal.ValidationCache.getLocale;
 
 import org.mule.extension.validation.api.ValidationException;
 import org.mule.extension.validation.api.ValidationExtension;
@@ -64,7 +65,7 @@ abstract class ValidationSupport {
 
   protected Locale parseLocale(String locale) {
     locale = StringUtils.isBlank(locale) ? ValidationExtension.DEFAULT_LOCALE : locale;
-    return new Locale(locale);
+    return getLocale(locale);
   }
 
   protected void logSuccessfulValidation(Validator validator, Event event) {
@@ -7,13 +7,12 @@
 package org.mule.extension.validation.internal.validator;
 
 import static org.mule.extension.validation.internal.ImmutableValidationResult.ok;
+import static org.mule.extension.validation.internal.ValidationCache.getPattern;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.config.i18n.I18nMessage;
 import org.mule.extension.validation.api.ValidationResult;
 import org.mule.extension.validation.internal.ValidationContext;
 
-import org.apache.commons.validator.routines.RegexValidator;
-
 /**
  * An {@link AbstractValidator} which tests that a {@link #value} matches a given {@link #regex}
  *
@@ -46,8 +45,7 @@ public class MatchesRegexValidator extends AbstractValidator {
 
   @Override
   public ValidationResult validate(Event event) {
-    RegexValidator validator = new RegexValidator(new String[] {regex}, caseSensitive);
-    return validator.isValid(value) ? ok() : fail();
+    return value != null && getPattern(regex, caseSensitive).matcher(value).matches() ? ok() : fail();
   }
 
   @Override
@@ -7,6 +7,8 @@
 package org.mule.extension.validation.internal.validator;
 
 import static org.mule.extension.validation.internal.ImmutableValidationResult.ok;
+import static org.mule.extension.validation.internal.ValidationCache.TIME_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.getLocale;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.config.i18n.I18nMessage;
 import org.mule.extension.validation.api.ValidationResult;
@@ -36,16 +38,14 @@ public class TimeValidator extends AbstractValidator {
 
   @Override
   public ValidationResult validate(Event event) {
-    org.apache.commons.validator.routines.TimeValidator validator =
-        org.apache.commons.validator.routines.TimeValidator.getInstance();
-    Locale locale = new Locale(this.locale);
+    Locale locale = getLocale(this.locale);
     if (pattern != null) {
-      if (!validator.isValid(time, pattern, locale)) {
+      if (!TIME_VALIDATOR.isValid(time, pattern, locale)) {
         errorMessage = getMessages().invalidTime(time, this.locale, pattern);
         return fail();
       }
     } else {
-      if (!validator.isValid(time, locale)) {
+      if (!TIME_VALIDATOR.isValid(time, locale)) {
         errorMessage = getMessages().invalidTime(time, this.locale, pattern);
         return fail();
       }
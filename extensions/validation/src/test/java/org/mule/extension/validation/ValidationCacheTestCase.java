@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.validation;
+
+import static java.util.Locale.US;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.validation.internal.ValidationCache.INTEGER_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.MAX_ENTRIES;
+import static org.mule.extension.validation.internal.ValidationCache.TIME_VALIDATOR;
+import static org.mule.extension.validation.internal.ValidationCache.clear;
+import static org.mule.extension.validation.internal.ValidationCache.getLocale;
+import static org.mule.extension.validation.internal.ValidationCache.getPattern;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+@SmallTest
+public class ValidationCacheTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void patternsAreReused() {
+    assertThat(getPattern("[a-z]+", true), is(sameInstance(getPattern("[a-z]+", true))));
+    assertThat(getPattern("[a-z]+", false), is(sameInstance(getPattern("[a-z]+", false))));
+  }
+
+  @Test
+  public void caseSensitivityIsPartOfTheKey() {
+    assertThat(getPattern("abc", true).matcher("ABC").matches(), is(false));
+    assertThat(getPattern("abc", false).matcher("ABC").matches(), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyRegex() {
+    getPattern("", true);
+  }
+
+  @Test
+  public void localesAreReused() {
+    assertThat(getLocale("en"), is(sameInstance(getLocale("en"))));
+  }
+
+  @Test
+  public void cachedFormatsParseLikeNewOnes() {
+    assertThat(INTEGER_VALIDATOR.validate("1,000", "#,##0", US), is(1000));
+    assertThat(INTEGER_VALIDATOR.validate("1,000", "#,##0", US), is(1000));
+    assertThat(INTEGER_VALIDATOR.validate("1.5", "#,##0", US), is(nullValue()));
+    assertThat(TIME_VALIDATOR.isValid("12:30", "HH:mm", US), is(true));
+    assertThat(TIME_VALIDATOR.isValid("12:30", "HH:mm:ss", US), is(false));
+  }
+
+  @Test
+  public void clearDiscardsCachedValues() {
+    Pattern pattern = getPattern("[0-9]+", true);
+    assertThat(INTEGER_VALIDATOR.validate("1,000", "#,##0", US), is(1000));
+
+    clear();
+
+    assertThat(getPattern("[0-9]+", true), is(not(sameInstance(pattern))));
+    assertThat(INTEGER_VALIDATOR.validate("1,000", "#,##0", US), is(1000));
+  }
+
+  @Test
+  public void cachesAreBounded() {
+    for (int i = 0; i < MAX_ENTRIES * 2; ++i) {
+      assertThat(getPattern("a{" + i + "}", true).matcher("").matches(), is(i == 0));
+      assertThat(INTEGER_VALIDATOR.validate("p" + i + "-5", "'p" + i + "-'0", US), is(5));
+    }
+  }
+}
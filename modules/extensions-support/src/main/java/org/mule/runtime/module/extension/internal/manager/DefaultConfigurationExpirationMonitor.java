@@ -7,18 +7,19 @@
 package org.mule.runtime.module.extension.internal.manager;
 
 import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
 import static org.mule.runtime.core.util.Preconditions.checkArgument;
-import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
 
 import com.google.common.collect.Multimap;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
@@ -27,7 +28,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Default implementation of {@link ConfigurationExpirationMonitor} which schedules tasks that run on a given {@link #frequency}
  * to check for dynamic configuration instances which should be expired. The selected instances are expired by being unregistered
- * and having the shutdown lifecycle applied to them.
+ * and having the shutdown lifecycle applied to them. The tasks run on the {@link org.mule.runtime.core.api.timer.TimerService} of
+ * the {@link MuleContext}.
  * <p/>
  * Instances of this class are immutable and should be built through a {@link Builder} which can be obtained through the
  * {@link Builder#newBuilder(ExtensionRegistry, MuleContext)} method
@@ -111,21 +113,20 @@ public final class DefaultConfigurationExpirationMonitor implements Configuratio
   private TimeUnit timeUnit;
   private BiConsumer<String, ConfigurationInstance> expirationHandler;
 
-  private ScheduledExecutorService executor;
+  private final Lock expirationLock = new ReentrantLock();
+  private Timeout expirationTimeout;
 
   private DefaultConfigurationExpirationMonitor() {}
 
   /**
-   * Starts a scheduler which fires expiration tasks on the given {@link #frequency} and executes the {@link #expirationHandler}
-   * on each matching configuration instance
+   * Schedules a task which fires on the given {@link #frequency} and executes the {@link #expirationHandler} on each matching
+   * configuration instance
    *
    */
   @Override
   public void beginMonitoring() {
-    // TODO: Change the executor type when MULE-8870 is implemented
-    executor =
-        Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, getPrefix(muleContext) + "extension.expiration.manager"));
-    executor.scheduleWithFixedDelay(() -> expire(), frequency, frequency, timeUnit);
+    expirationTimeout = getTimerService(muleContext).scheduleWithFixedDelay("extension.expiration.manager", this::expire,
+                                                                           frequency, frequency, timeUnit);
   }
 
   private void expire() {
@@ -133,6 +134,7 @@ public final class DefaultConfigurationExpirationMonitor implements Configuratio
       return;
     }
 
+    expirationLock.lock();
     LOGGER.debug("Running configuration expiration cycle");
     try {
       Multimap<String, ConfigurationInstance> expired = extensionRegistry.getExpiredConfigs();
@@ -144,6 +146,8 @@ public final class DefaultConfigurationExpirationMonitor implements Configuratio
       expired.entries().stream().forEach(entry -> handleExpiration(entry.getKey(), entry.getValue()));
     } catch (Exception e) {
       LOGGER.error("Found exception trying to expire idle configurations. Will try again on next cycle", e);
+    } finally {
+      expirationLock.unlock();
     }
 
   }
@@ -165,13 +169,15 @@ public final class DefaultConfigurationExpirationMonitor implements Configuratio
   }
 
   /**
-   * Shutdowns the scheduler that executes the expiration tasks. It waits up to 30 seconds for it to shutdown and it throws a
-   * {@link MuleException} if it could not be stopped
+   * Cancels the expiration task. It waits up to 30 seconds for a running expiration cycle to finish and it throws a
+   * {@link MuleException} if it is interrupted while waiting
    */
   public void stopMonitoring() {
-    executor.shutdown();
+    expirationTimeout.cancel();
     try {
-      executor.awaitTermination(30, TimeUnit.SECONDS);
+      if (expirationLock.tryLock(30, TimeUnit.SECONDS)) {
+        expirationLock.unlock();
+      }
     } catch (InterruptedException e) {
       throw new MuleRuntimeException(createStaticMessage("Exception found while waiting for expiration thread to finish"), e);
     }
@@ -12,6 +12,7 @@ import org.mule.runtime.api.message.MuleEvent;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 import org.mule.extension.file.common.api.command.CopyCommand;
 import org.mule.extension.file.common.api.command.CreateDirectoryCommand;
@@ -98,6 +99,16 @@ public abstract class AbstractFileSystem implements FileSystem {
     return getListCommand().list(config, directoryPath, recursive, message, matcher);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PagingProvider<FileSystem, TreeNode> pagedList(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                                        Message message, Predicate<FileAttributes> matcher, int pageSize) {
+    return new FileListPagingProvider(config, getListCommand().listDirectory(config, directoryPath, message), recursive, message,
+                                      matcher, pageSize);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.common.api;
+
+import static java.util.Optional.empty;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
+import org.mule.extension.file.common.api.command.ListCommand;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link PagingProvider} which walks a directory tree depth first, reading each directory through
+ * {@link ListCommand#listDirectory(FileConnectorConfig, String, Message)} only when the previous pages have been consumed.
+ * <p>
+ * Only the directories on the path to the file being listed are kept open, so memory usage depends on the depth of the tree and
+ * not on the number of files in it. Each file is tested against the matcher as soon as it's read. Since each page may be
+ * requested with a different connection, the directories and files reached by a page are read with the connection of that page.
+ *
+ * @since 4.0
+ */
+public final class FileListPagingProvider implements PagingProvider<FileSystem, TreeNode> {
+
+  private final FileConnectorConfig config;
+  private final boolean recursive;
+  private final Message message;
+  private final Predicate<FileAttributes> matcher;
+  private final int pageSize;
+  private final Deque<DirectoryCursor> cursors = new LinkedList<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param config the config that is parameterizing this operation
+   * @param rootDirectory the {@link Stream} with the childs of the listed directory
+   * @param recursive whether to include the contents of sub-directories
+   * @param message the {@link Message} on which this operation was triggered
+   * @param matcher a {@link Predicate} of {@link FileAttributes} used to filter the output list
+   * @param pageSize the maximum number of files in each page
+   */
+  public FileListPagingProvider(FileConnectorConfig config, Stream<FileAttributes> rootDirectory, boolean recursive,
+                                Message message, Predicate<FileAttributes> matcher, int pageSize) {
+    this.config = config;
+    this.recursive = recursive;
+    this.message = message;
+    this.matcher = matcher;
+    this.pageSize = pageSize;
+    cursors.push(new DirectoryCursor(rootDirectory));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<TreeNode> getPage(FileSystem fileSystem) {
+    List<TreeNode> page = new ArrayList<>(pageSize);
+    while (page.size() < pageSize && !cursors.isEmpty()) {
+      DirectoryCursor cursor = cursors.peek();
+      if (!cursor.iterator.hasNext()) {
+        cursors.pop().close();
+        continue;
+      }
+
+      FileAttributes attributes = cursor.iterator.next();
+      if (!matcher.test(attributes)) {
+        continue;
+      }
+
+      if (attributes.isDirectory()) {
+        page.add(TreeNode.Builder.forDirectory(attributes).build());
+        if (recursive) {
+          cursors.push(new DirectoryCursor(getListCommand(fileSystem).listDirectory(config, attributes.getPath(), message)));
+        }
+      } else {
+        page.add(TreeNode.Builder.forFile(fileSystem.read(config, message, attributes.getPath(), false)).build());
+      }
+    }
+
+    return page;
+  }
+
+  private ListCommand getListCommand(FileSystem fileSystem) {
+    if (!(fileSystem instanceof AbstractFileSystem)) {
+      throw new IllegalArgumentException("Cannot list directories of a " + fileSystem.getClass().getName());
+    }
+    return ((AbstractFileSystem) fileSystem).getListCommand();
+  }
+
+  /**
+   * The total amount of files is unknown until the whole tree has been listed.
+   *
+   * @return an empty {@link Optional}
+   */
+  @Override
+  public Optional<Integer> getTotalResults(FileSystem fileSystem) {
+    return empty();
+  }
+
+  /**
+   * Closes the directories which were not completely listed
+   */
+  @Override
+  public void close() throws IOException {
+    while (!cursors.isEmpty()) {
+      cursors.pop().close();
+    }
+  }
+
+  private static class DirectoryCursor {
+
+    private final Stream<FileAttributes> directory;
+    private final Iterator<FileAttributes> iterator;
+
+    private DirectoryCursor(Stream<FileAttributes> directory) {
+      this.directory = directory;
+      iterator = directory.iterator();
+    }
+
+    private void close() {
+      directory.close();
+    }
+  }
+}
@@ -11,6 +11,7 @@ import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.core.message.OutputHandler;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 import org.mule.extension.file.common.api.lock.PathLock;
 
@@ -52,6 +53,24 @@ public interface FileSystem {
   TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, Message message,
                 Predicate<FileAttributes> matcher);
 
+  /**
+   * Lists the same files as {@link #list(FileConnectorConfig, String, boolean, Message, Predicate)} but returns them a page at a
+   * time, as a flat sequence of {@link TreeNode}s without childs in which each directory precedes its contents. Directories are
+   * only read as the pages are requested, so the first files can be processed without waiting for the whole tree to be listed
+   * and without holding it in memory.
+   *
+   * @param config the config that is parameterizing this operation
+   * @param directoryPath the path to the directory to be listed
+   * @param recursive whether to include the contents of sub-directories
+   * @param message the {@link Message} on which this operation was triggered
+   * @param matcher a {@link Predicate} of {@link FileAttributes} used to filter the output list
+   * @param pageSize the maximum number of files in each page
+   * @return a {@link PagingProvider} of the listed files
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  PagingProvider<FileSystem, TreeNode> pagedList(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                                 Message message, Predicate<FileAttributes> matcher, int pageSize);
+
   /**
    * Obtains the content and metadata of a file at a given path.
    * <p>
@@ -23,6 +23,7 @@ import org.mule.runtime.extension.api.annotation.param.UseConfig;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 import org.mule.extension.file.common.api.matcher.NullFilePayloadPredicate;
 import org.mule.extension.file.common.api.metadata.FileAttributesMetadataResolver;
@@ -73,6 +74,36 @@ public class StandardFileSystemOperations {
     return fileSystem.list(config, directoryPath, recursive, message, getPredicate(matchWith));
   }
 
+  /**
+   * Lists the same files as the list operation, but returns them a page at a time as they are read, instead of building the
+   * whole directory tree before returning it. The output is a flat sequence of {@link TreeNode}s without childs, in which each
+   * directory comes before its contents.
+   * <p>
+   * Use this operation to process large directory trees, since the first files can be processed right away and the tree is
+   * never held in memory.
+   *
+   * @param config the config that is parameterizing this operation
+   * @param fileSystem a reference to the host {@link FileSystem}
+   * @param directoryPath the path to the directory to be listed
+   * @param recursive whether to include the contents of sub-directories. Defaults to false.
+   * @param pageSize the maximum number of files read on each page. Defaults to 100.
+   * @param message the {@link Message} on which this operation was triggered
+   * @param matchWith a matcher used to filter the output list
+   * @return a {@link PagingProvider} of the listed files
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  @Summary("Lists the files from given directory a page at a time")
+  public PagingProvider<FileSystem, TreeNode> pagedList(@UseConfig FileConnectorConfig config, @Connection FileSystem fileSystem,
+                                                        @Optional String directoryPath,
+                                                        @Optional(defaultValue = "false") boolean recursive,
+                                                        @Optional(defaultValue = "100") int pageSize, Message message,
+                                                        @Optional @Summary("Matcher to filter the listed files")
+                                                        @Placement(group = FileDisplayConstants.MATCHER) FilePredicateBuilder matchWith) {
+    checkArgument(pageSize > 0, format("pageSize must be greater than zero but '%d' was received", pageSize));
+    fileSystem.changeToBaseDir();
+    return fileSystem.pagedList(config, directoryPath, recursive, message, getPredicate(matchWith), pageSize);
+  }
+
   /**
    * Obtains the content and metadata of a file at a given path. The operation itself returns a {@link Message} which payload is a
    * {@link InputStream} with the file's content, and the metadata is represent as a {@link FileAttributes} object that's placed
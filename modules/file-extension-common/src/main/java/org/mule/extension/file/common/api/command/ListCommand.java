@@ -13,6 +13,7 @@ import org.mule.extension.file.common.api.FileSystem;
 import org.mule.extension.file.common.api.TreeNode;
 
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Command design pattern for listing files
@@ -34,4 +35,22 @@ public interface ListCommand {
    */
   TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, Message message,
                 Predicate<FileAttributes> matcher);
+
+  /**
+   * Lists the direct childs of a directory, reading them as the returned {@link Stream} is consumed whenever the underlying file
+   * system allows it. The virtual &quot;.&quot; and &quot;..&quot; directories are not included.
+   * <p>
+   * The returned {@link Stream} holds resources until it is closed. This default implementation lists the whole directory up
+   * front through {@link #list(FileConnectorConfig, String, boolean, Message, Predicate)}, so implementations which can read it
+   * incrementally should override it.
+   *
+   * @param config the config that is parameterizing this operation
+   * @param directoryPath the path to the directory to be listed
+   * @param message the {@link Message} on which this operation was triggered
+   * @return a {@link Stream} with the {@link FileAttributes} of each child
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  default Stream<FileAttributes> listDirectory(FileConnectorConfig config, String directoryPath, Message message) {
+    return list(config, directoryPath, false, message, file -> true).getChilds().stream().map(TreeNode::getAttributes);
+  }
 }
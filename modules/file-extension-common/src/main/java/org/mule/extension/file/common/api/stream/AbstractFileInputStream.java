@@ -77,4 +77,11 @@ public abstract class AbstractFileInputStream extends AutoCloseInputStream {
   public boolean isLocked() {
     return lock.isLocked();
   }
+
+  /**
+   * @return whether the underlying stream has already been opened, which means that some of its content might have been consumed
+   */
+  protected boolean isStreamSupplied() {
+    return streamSupplier.isSupplied();
+  }
 }
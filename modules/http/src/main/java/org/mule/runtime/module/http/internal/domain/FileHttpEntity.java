@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.domain;
+
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.util.Preconditions;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+/**
+ * {@link InputStreamHttpEntity} which content is a region of a file in the local file system.
+ * <p>
+ * Servers that can write the file directly into the connection (i.e.: using {@code sendfile}) should use {@link #getFile()},
+ * {@link #getOffset()} and {@link #getLength()}. The rest can still consume it as a regular stream through
+ * {@link #getInputStream()}, which only exposes the selected region. In both cases {@link #close()} must be invoked once the
+ * entity was sent.
+ *
+ * @since 4.0
+ */
+public class FileHttpEntity extends InputStreamHttpEntity {
+
+  private static final String BYTES_UNIT = "bytes=";
+
+  private final File file;
+  private final InputStream source;
+  private long offset;
+  private long length;
+  private InputStream regionStream;
+
+  /**
+   * Creates an entity for the whole {@code file}.
+   *
+   * @param file the file to send
+   * @param source the stream from which the file was obtained, if any. It will be closed along with the entity.
+   */
+  public FileHttpEntity(File file, InputStream source) {
+    super(source);
+    this.file = file;
+    this.source = source;
+    this.offset = 0;
+    this.length = file.length();
+  }
+
+  /**
+   * Restricts the content of this entity to the given region of the file. Must be invoked before consuming the entity.
+   *
+   * @param offset the position of the first byte to send
+   * @param length the amount of bytes to send
+   */
+  public void setRange(long offset, long length) {
+    Preconditions.checkArgument(regionStream == null, "Range cannot be changed once the entity is being consumed");
+    Preconditions.checkArgument(offset >= 0 && length >= 0 && offset + length <= file.length(), "Invalid file range");
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Restricts the content of this entity to the one requested through a {@code Range} header, as long as it contains a single
+   * satisfiable byte range. Any other value is ignored, which results in the whole file being sent.
+   *
+   * @param rangeHeader the value of the {@code Range} request header
+   * @return whether the range was applied
+   */
+  public boolean applyRange(String rangeHeader) {
+    final long fileLength = file.length();
+    if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT) || rangeHeader.indexOf(',') != -1 || fileLength == 0) {
+      return false;
+    }
+    final String spec = rangeHeader.substring(BYTES_UNIT.length()).trim();
+    final int dashIndex = spec.indexOf('-');
+    if (dashIndex == -1) {
+      return false;
+    }
+
+    try {
+      final String startSpec = spec.substring(0, dashIndex).trim();
+      final String endSpec = spec.substring(dashIndex + 1).trim();
+      long start;
+      long end;
+      if (startSpec.isEmpty()) {
+        // suffix range: the last N bytes
+        long suffixLength = Long.parseLong(endSpec);
+        if (suffixLength <= 0) {
+          return false;
+        }
+        start = Math.max(0, fileLength - suffixLength);
+        end = fileLength - 1;
+      } else {
+        start = Long.parseLong(startSpec);
+        end = endSpec.isEmpty() ? fileLength - 1 : Math.min(Long.parseLong(endSpec), fileLength - 1);
+      }
+      if (start < 0 || start >= fileLength || end < start) {
+        return false;
+      }
+      setRange(start, end - start + 1);
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the value for the {@code Content-Range} header describing the current range of this entity
+   */
+  public String getContentRange() {
+    return String.format("bytes %d-%d/%d", offset, offset + length - 1, file.length());
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * @return whether this entity only exposes part of the file
+   */
+  public boolean isPartial() {
+    return offset != 0 || length != file.length();
+  }
+
+  /**
+   * @return the length of the content, or {@code -1} if it does not fit in an {@code int}, in which case {@link #getLength()}
+   *         must be used instead
+   */
+  @Override
+  public int getContentLength() {
+    return hasContentLength() ? (int) length : -1;
+  }
+
+  /**
+   * @return whether the length of the content fits in {@link #getContentLength()}. Otherwise, consumers which do not handle
+   *         {@link #getLength()} should send the entity chunked.
+   */
+  @Override
+  public boolean hasContentLength() {
+    return length <= Integer.MAX_VALUE;
+  }
+
+  @Override
+  public synchronized InputStream getInputStream() {
+    if (regionStream == null) {
+      try {
+        InputStream stream = source != null ? source : new FileInputStream(file);
+        IOUtils.skipFully(stream, offset);
+        regionStream = new BoundedInputStream(stream, length);
+      } catch (IOException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not read file " + file.getAbsolutePath()), e);
+      }
+    }
+    return regionStream;
+  }
+
+  /**
+   * Closes the streams associated to this entity, releasing any resource held by the source stream.
+   */
+  public synchronized void close() {
+    IOUtils.closeQuietly(regionStream);
+    IOUtils.closeQuietly(source);
+  }
+}
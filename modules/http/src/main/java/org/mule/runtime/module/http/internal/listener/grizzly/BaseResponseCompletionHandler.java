@@ -6,9 +6,17 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
+import static org.mule.runtime.module.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.runtime.module.http.api.HttpConstants.HttpStatus.PARTIAL_CONTENT;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.ACCEPT_RANGES;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONNECTION;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_RANGE;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.IF_RANGE;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.RANGE;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.TRANSFER_ENCODING;
+import static org.mule.runtime.module.http.api.HttpHeaders.Values.BYTES;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 
 import java.util.Collection;
@@ -40,7 +48,29 @@ public abstract class BaseResponseCompletionHandler extends EmptyCompletionHandl
     if (CLOSE.equalsIgnoreCase(httpResponsePacket.getHeader(CONNECTION))) {
       httpResponsePacket.getProcessingState().setKeepAlive(false);
     }
+    if (httpResponse.getEntity() instanceof FileHttpEntity) {
+      prepareFileResponsePacket(sourceRequest, httpResponsePacket, (FileHttpEntity) httpResponse.getEntity());
+    }
     return httpResponsePacket;
   }
 
+  /**
+   * File entities always have a known length, so they are sent with a {@code Content-Length} regardless of the requested
+   * transfer encoding. Also, single byte ranges are honoured for successful responses.
+   */
+  private void prepareFileResponsePacket(HttpRequestPacket sourceRequest, HttpResponsePacket httpResponsePacket,
+                                         FileHttpEntity entity) {
+    if (httpResponsePacket.getStatus() == OK.getStatusCode()) {
+      httpResponsePacket.setHeader(ACCEPT_RANGES, BYTES);
+      if (sourceRequest.getHeader(IF_RANGE) == null && entity.applyRange(sourceRequest.getHeader(RANGE))) {
+        httpResponsePacket.setStatus(PARTIAL_CONTENT.getStatusCode());
+        httpResponsePacket.setReasonPhrase(PARTIAL_CONTENT.getReasonPhrase());
+        httpResponsePacket.setHeader(CONTENT_RANGE, entity.getContentRange());
+      }
+    }
+    httpResponsePacket.getHeaders().removeHeader(TRANSFER_ENCODING);
+    httpResponsePacket.setChunked(false);
+    httpResponsePacket.setContentLengthLong(entity.getLength());
+  }
+
 }
@@ -14,6 +14,7 @@ import static org.mule.runtime.module.http.api.HttpHeaders.Names.EXPECT;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CONTINUE;
 import static org.mule.runtime.module.http.internal.listener.grizzly.MuleSslFilter.SSL_SESSION_ATTRIBUTE_KEY;
 
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.request.ClientConnection;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequestContext;
@@ -78,7 +79,10 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
       @Override
       public void responseReady(HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback) {
         try {
-          if (httpResponse.getEntity() instanceof InputStreamHttpEntity) {
+          // The file content bypasses the filter chain, so it can only be transferred directly on plain connections
+          if (httpResponse.getEntity() instanceof FileHttpEntity && HTTP.getScheme().equals(scheme)) {
+            new ResponseFileTransferCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
+          } else if (httpResponse.getEntity() instanceof InputStreamHttpEntity) {
             new ResponseStreamingCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
           } else {
             new ResponseCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
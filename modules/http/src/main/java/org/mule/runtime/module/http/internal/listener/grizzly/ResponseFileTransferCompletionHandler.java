@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static org.glassfish.grizzly.http.HttpServerFilter.RESPONSE_COMPLETE_EVENT;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
+import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
+import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+
+import org.glassfish.grizzly.FileTransfer;
+import org.glassfish.grizzly.WriteResult;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+
+/**
+ * {@link org.glassfish.grizzly.CompletionHandler}, responsible for asynchronous http response transferring when the response body
+ * is a file.
+ * <p>
+ * The headers are written first and then the file content is sent through a {@link FileTransfer}, which makes the transport use
+ * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} so the content is never
+ * copied into user space. Since the content bypasses the filter chain, this handler must not be used over secure connections.
+ */
+public class ResponseFileTransferCompletionHandler extends BaseResponseCompletionHandler {
+
+  private final FilterChainContext ctx;
+  private final HttpResponsePacket httpResponsePacket;
+  private final FileHttpEntity fileEntity;
+  private final ResponseStatusCallback responseStatusCallback;
+
+  private volatile boolean headersSent;
+  private volatile boolean isDone;
+
+  public ResponseFileTransferCompletionHandler(final FilterChainContext ctx, final HttpRequestPacket request,
+                                               final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback) {
+    Preconditions.checkArgument((httpResponse.getEntity() instanceof FileHttpEntity),
+                                "http response must have a file entity");
+    this.ctx = ctx;
+    httpResponsePacket = buildHttpResponsePacket(request, httpResponse);
+    fileEntity = (FileHttpEntity) httpResponse.getEntity();
+    this.responseStatusCallback = responseStatusCallback;
+  }
+
+  public void start() throws IOException {
+    ctx.write(httpResponsePacket, this);
+  }
+
+  /**
+   * Method gets called, when the headers or the file content were successfully sent.
+   *
+   * @param result the result
+   */
+  @Override
+  public void completed(WriteResult result) {
+    if (!headersSent) {
+      headersSent = true;
+      if (fileEntity.getLength() > 0) {
+        try {
+          ctx.write(new FileTransfer(fileEntity.getFile(), fileEntity.getOffset(), fileEntity.getLength()), this);
+          return;
+        } catch (RuntimeException e) {
+          failed(e);
+          return;
+        }
+      }
+    }
+    if (!isDone) {
+      isDone = true;
+      doComplete();
+    }
+  }
+
+  private void doComplete() {
+    fileEntity.close();
+    responseStatusCallback.responseSendSuccessfully();
+    ctx.notifyDownstream(RESPONSE_COMPLETE_EVENT);
+    resume();
+  }
+
+  /**
+   * The method will be called, when file transferring was canceled
+   */
+  @Override
+  public void cancelled() {
+    fileEntity.close();
+    responseStatusCallback.responseSendFailure(new DefaultMuleException(CoreMessages
+        .createStaticMessage("Http response sending task was cancelled")));
+    resume();
+  }
+
+  /**
+   * The method will be called, if file transferring was failed.
+   *
+   * @param throwable the cause
+   */
+  @Override
+  public void failed(Throwable throwable) {
+    fileEntity.close();
+    responseStatusCallback.responseSendFailure(throwable);
+    resume();
+  }
+
+  /**
+   * Resume the HttpRequestPacket processing
+   */
+  private void resume() {
+    ctx.resume(ctx.getStopAction());
+  }
+}
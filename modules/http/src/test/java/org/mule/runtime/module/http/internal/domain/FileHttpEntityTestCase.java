@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.domain;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileHttpEntityTestCase extends AbstractMuleTestCase {
+
+  private static final String CONTENT = "0123456789";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private FileHttpEntity entity;
+
+  @Before
+  public void before() throws IOException {
+    File file = temporaryFolder.newFile();
+    FileUtils.write(file, CONTENT);
+    entity = new FileHttpEntity(file, null);
+  }
+
+  @Test
+  public void wholeFileByDefault() throws IOException {
+    assertThat(entity.isPartial(), is(false));
+    assertThat(entity.getContentLength(), is(CONTENT.length()));
+    assertThat(IOUtils.toString(entity.getInputStream()), equalTo(CONTENT));
+  }
+
+  @Test
+  public void contentLengthIsNotTruncatedForLargeFiles() throws IOException {
+    File file = temporaryFolder.newFile();
+    try (RandomAccessFile largeFile = new RandomAccessFile(file, "rw")) {
+      largeFile.setLength(Integer.MAX_VALUE + 1L);
+    }
+    FileHttpEntity largeEntity = new FileHttpEntity(file, null);
+
+    assertThat(largeEntity.getLength(), is(Integer.MAX_VALUE + 1L));
+    assertThat(largeEntity.hasContentLength(), is(false));
+
+    largeEntity.setRange(1, Integer.MAX_VALUE);
+    assertThat(largeEntity.hasContentLength(), is(true));
+    assertThat(largeEntity.getContentLength(), is(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void boundedRange() throws IOException {
+    assertRange("bytes=2-5", 2, 4, "2345");
+  }
+
+  @Test
+  public void openEndedRange() throws IOException {
+    assertRange("bytes=7-", 7, 3, "789");
+  }
+
+  @Test
+  public void suffixRange() throws IOException {
+    assertRange("bytes=-4", 6, 4, "6789");
+  }
+
+  @Test
+  public void rangeEndIsTruncatedToFileLength() throws IOException {
+    assertRange("bytes=8-100", 8, 2, "89");
+  }
+
+  @Test
+  public void contentRange() {
+    entity.applyRange("bytes=2-5");
+    assertThat(entity.getContentRange(), equalTo("bytes 2-5/10"));
+  }
+
+  @Test
+  public void multipleRangesAreIgnored() {
+    assertIgnored("bytes=0-1,4-5");
+  }
+
+  @Test
+  public void unsatisfiableRangeIsIgnored() {
+    assertIgnored("bytes=10-20");
+  }
+
+  @Test
+  public void invalidRangeIsIgnored() {
+    assertIgnored("bytes=a-b");
+  }
+
+  @Test
+  public void otherUnitsAreIgnored() {
+    assertIgnored("items=0-1");
+  }
+
+  private void assertRange(String range, long offset, long length, String expectedContent) throws IOException {
+    assertThat(entity.applyRange(range), is(true));
+    assertThat(entity.isPartial(), is(true));
+    assertThat(entity.getOffset(), is(offset));
+    assertThat(entity.getLength(), is(length));
+    assertThat(IOUtils.toString(entity.getInputStream()), equalTo(expectedContent));
+  }
+
+  private void assertIgnored(String range) {
+    assertThat(entity.applyRange(range), is(false));
+    assertThat(entity.isPartial(), is(false));
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json;
+
+import static org.codehaus.jackson.JsonToken.END_ARRAY;
+import static org.codehaus.jackson.JsonToken.FIELD_NAME;
+import static org.codehaus.jackson.JsonToken.START_ARRAY;
+import static org.codehaus.jackson.JsonToken.START_OBJECT;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.core.api.MuleRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+
+/**
+ * Iterates over the elements of a JSON array with a token level parser, so only the current element is held in memory no matter
+ * how big the array is. Each element is returned as its JSON text.
+ * <p>
+ * The array is selected with a JSON pointer (RFC 6901), such as {@code /orders} or {@code /data/0/items}. The empty pointer
+ * selects the whole document. If the pointer doesn't resolve to an array, there are no elements to iterate.
+ * <p>
+ * The parser is closed once all the elements have been read, or when this iterator is {@link #close() closed}.
+ *
+ * @since 4.0
+ */
+public class JsonArrayIterator implements Iterator<String>, Closeable {
+
+  private final JsonFactory jsonFactory;
+  private final JsonParser parser;
+  private String next;
+  private boolean done;
+
+  /**
+   * @param jsonFactory the factory to create the generators for the elements
+   * @param parser a parser positioned at the start of the document
+   * @param pointer the JSON pointer of the array to iterate
+   * @throws IOException if the document cannot be read up to the array
+   */
+  public JsonArrayIterator(JsonFactory jsonFactory, JsonParser parser, String pointer) throws IOException {
+    this.jsonFactory = jsonFactory;
+    this.parser = parser;
+    if (!moveToArray(parsePointer(pointer))) {
+      close();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      try {
+        next = readElement();
+      } catch (IOException e) {
+        closeQuietly();
+        throw new MuleRuntimeException(createStaticMessage("Could not read the JSON array"), e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String current = next;
+    next = null;
+    return current;
+  }
+
+  @Override
+  public void close() throws IOException {
+    done = true;
+    parser.close();
+  }
+
+  private String readElement() throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null || token == END_ARRAY) {
+      close();
+      return null;
+    }
+
+    StringWriter element = new StringWriter();
+    JsonGenerator generator = jsonFactory.createJsonGenerator(element);
+    generator.copyCurrentStructure(parser);
+    generator.close();
+    return element.toString();
+  }
+
+  private boolean moveToArray(List<String> path) throws IOException {
+    JsonToken token = parser.nextToken();
+    for (String segment : path) {
+      if (token == START_OBJECT) {
+        boolean found = false;
+        while ((token = parser.nextToken()) == FIELD_NAME) {
+          String name = parser.getCurrentName();
+          token = parser.nextToken();
+          if (name.equals(segment)) {
+            found = true;
+            break;
+          }
+          parser.skipChildren();
+        }
+        if (!found) {
+          return false;
+        }
+      } else if (token == START_ARRAY && isIndex(segment)) {
+        int index = Integer.parseInt(segment);
+        token = parser.nextToken();
+        for (int i = 0; i < index && token != END_ARRAY; ++i) {
+          parser.skipChildren();
+          token = parser.nextToken();
+        }
+        if (token == END_ARRAY) {
+          return false;
+        }
+      } else {
+        return false;
+      }
+    }
+    return token == START_ARRAY;
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException e) {
+      // Nothing to do
+    }
+  }
+
+  private static boolean isIndex(String segment) {
+    if (segment.isEmpty() || segment.length() > 9 || (segment.length() > 1 && segment.charAt(0) == '0')) {
+      return false;
+    }
+    for (int i = 0; i < segment.length(); ++i) {
+      if (!Character.isDigit(segment.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param pointer a JSON pointer
+   * @return the unescaped reference tokens of the pointer
+   * @throws IllegalArgumentException if {@code pointer} is not a valid JSON pointer
+   */
+  public static List<String> parsePointer(String pointer) {
+    List<String> path = new ArrayList<>();
+    if (pointer == null || pointer.isEmpty()) {
+      return path;
+    }
+    if (pointer.charAt(0) != '/') {
+      throw new IllegalArgumentException("JSON pointer '" + pointer + "' must be empty or start with '/'");
+    }
+    for (String segment : pointer.substring(1).split("/", -1)) {
+      path.add(segment.replace("~1", "/").replace("~0", "~"));
+    }
+    return path;
+  }
+}
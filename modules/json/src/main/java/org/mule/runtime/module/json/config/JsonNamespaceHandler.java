@@ -10,8 +10,12 @@ import org.mule.runtime.config.spring.handlers.AbstractMuleNamespaceHandler;
 import org.mule.runtime.config.spring.parsers.collection.ChildMapEntryDefinitionParser;
 import org.mule.runtime.config.spring.parsers.generic.OrphanDefinitionParser;
 import org.mule.runtime.config.spring.parsers.specific.FilterDefinitionParser;
+import org.mule.runtime.config.spring.parsers.specific.InboundRouterDefinitionParser;
+import org.mule.runtime.config.spring.parsers.specific.SplitterDefinitionParser;
 import org.mule.runtime.config.spring.parsers.specific.TransformerMessageProcessorDefinitionParser;
 import org.mule.runtime.module.json.filters.IsJsonFilter;
+import org.mule.runtime.module.json.routing.JsonArrayAggregator;
+import org.mule.runtime.module.json.routing.JsonArraySplitter;
 import org.mule.runtime.module.json.transformers.JsonSchemaValidationFilter;
 import org.mule.runtime.module.json.transformers.JsonToObject;
 import org.mule.runtime.module.json.transformers.JsonToXml;
@@ -45,6 +49,8 @@ public class JsonNamespaceHandler extends AbstractMuleNamespaceHandler {
                                            new FilterDefinitionParser(JsonSchemaValidationFilter.class),
                                            "Use validate-schema instead");
     registerBeanDefinitionParser("validate-schema", new ValidateJsonSchemaMessageProcessorDefinitionParser());
+    registerBeanDefinitionParser("json-array-splitter", new SplitterDefinitionParser(JsonArraySplitter.class));
+    registerBeanDefinitionParser("json-array-aggregator", new InboundRouterDefinitionParser(JsonArrayAggregator.class));
     registerIgnoredElement("schema-redirects");
     registerIgnoredElement("schema-redirect");
   }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.routing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.routing.AbstractStreamingAggregator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Aggregates the messages of a correlation group into a JSON array, writing each element to the output as soon as it arrives
+ * in sequence instead of collecting the whole group first. See {@link AbstractStreamingAggregator} for how the output is
+ * buffered and how groups are completed or timed out.
+ * <p>
+ * Elements that are already JSON text, that is {@link String}, {@code byte[]} or {@link InputStream} payloads such as the ones
+ * created by the {@link JsonArraySplitter}, are copied as they are. Any other payload is serialized with Jackson.
+ * <p>
+ * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Aggregator.html">http://www.eaipatterns.com/Aggregator.html</a>
+ *
+ * @since 4.0
+ */
+public class JsonArrayAggregator extends AbstractStreamingAggregator {
+
+  private ObjectMapper mapper;
+
+  public JsonArrayAggregator() {
+    super("mule-json-aggregator-", ".json");
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    super.initialise();
+    if (mapper == null) {
+      mapper = new ObjectMapper();
+    }
+  }
+
+  @Override
+  protected void writeMessage(OutputStream output, Event event, int position) throws IOException {
+    output.write(position == 1 ? '[' : ',');
+
+    Object element = event.getMessage().getPayload().getValue();
+    if (element instanceof String) {
+      output.write(((String) element).getBytes(UTF_8));
+    } else if (element instanceof byte[]) {
+      output.write((byte[]) element);
+    } else if (element instanceof InputStream) {
+      try (InputStream input = (InputStream) element) {
+        IOUtils.copy(input, output);
+      }
+    } else {
+      mapper.writeValue(new CloseShieldOutputStream(output), element);
+    }
+  }
+
+  @Override
+  protected void writeEnd(OutputStream output, int count) throws IOException {
+    output.write(count == 0 ? "[]".getBytes(UTF_8) : "]".getBytes(UTF_8));
+  }
+
+  @Override
+  protected Event createAggregatedEvent(Event firstEvent, Event lastEvent, Object payload) {
+    return Event.builder(lastEvent)
+        .message(InternalMessage.builder(lastEvent.getMessage()).payload(payload).mediaType(APPLICATION_JSON).build()).build();
+  }
+
+  public ObjectMapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * @param mapper the mapper used to serialize the elements that are not JSON text already
+   */
+  public void setMapper(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.routing;
+
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
+import org.mule.runtime.core.routing.outbound.EventBuilderConfigurer;
+import org.mule.runtime.core.routing.outbound.EventBuilderConfigurerIterator;
+import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
+import org.mule.runtime.module.json.JsonArrayIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+
+/**
+ * Splits a JSON payload into one message for each element of an array, reading the payload with a token level parser so only
+ * the element being routed is kept in memory. The array is selected with a JSON pointer through the {@link #setPath(String)
+ * path}, the whole document by default. Each part carries the JSON text of its element.
+ * <p>
+ * Since the size of the array is unknown until it has been read, the parts carry no correlation group size, except for the last
+ * one, which declares the size of the whole group. This is enough for a {@link JsonArrayAggregator} or a
+ * {@link org.mule.runtime.core.routing.StreamingResequencer} to know when the group is complete.
+ *
+ * @since 4.0
+ */
+public class JsonArraySplitter extends AbstractMessageSequenceSplitter implements Initialisable {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private String path = "";
+
+  @Override
+  public void initialise() throws InitialisationException {
+    try {
+      JsonArrayIterator.parsePointer(path);
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(createStaticMessage(e.getMessage()), e, this);
+    }
+  }
+
+  @Override
+  protected MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException {
+    Object payload = event.getMessage().getPayload().getValue();
+    JsonParser parser = null;
+    try {
+      parser = createParser(payload);
+      JsonArrayIterator elements = new JsonArrayIterator(jsonFactory, parser, path);
+      return new IteratorMessageSequence(new JsonElementsIterator(event, elements));
+    } catch (IOException e) {
+      if (parser != null) {
+        IOUtils.closeQuietly(parser);
+      }
+      throw new RoutingException(createStaticMessage("Could not read the JSON payload"), this, e);
+    }
+  }
+
+  private JsonParser createParser(Object payload) throws IOException, RoutingException {
+    if (payload instanceof InputStream) {
+      return jsonFactory.createJsonParser((InputStream) payload);
+    } else if (payload instanceof Reader) {
+      return jsonFactory.createJsonParser((Reader) payload);
+    } else if (payload instanceof String) {
+      return jsonFactory.createJsonParser((String) payload);
+    } else if (payload instanceof byte[]) {
+      return jsonFactory.createJsonParser((byte[]) payload);
+    }
+    throw new RoutingException(createStaticMessage("Payload of type "
+        + (payload == null ? "null" : payload.getClass().getName()) + " cannot be read as JSON"), this);
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * @param path the JSON pointer of the array to split, such as {@code /orders}. The empty pointer selects the whole document.
+   */
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Wraps each element in a JSON message, declaring the size of the group on the last one.
+   */
+  private static class JsonElementsIterator implements EventBuilderConfigurerIterator<String>, Closeable {
+
+    private final Event event;
+    private final JsonArrayIterator elements;
+    private int sequence;
+
+    private JsonElementsIterator(Event event, JsonArrayIterator elements) {
+      this.event = event;
+      this.elements = elements;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return elements.hasNext();
+    }
+
+    @Override
+    public String next() {
+      ++sequence;
+      return elements.next();
+    }
+
+    @Override
+    public EventBuilderConfigurer nextEventBuilderConfigurer() {
+      final String element = next();
+      final int elementSequence = sequence;
+      final boolean last = !elements.hasNext();
+      return builder -> {
+        builder.message(InternalMessage.builder(event.getMessage()).payload(element).mediaType(APPLICATION_JSON).build());
+        if (last) {
+          builder.groupCorrelation(new GroupCorrelation(elementSequence, elementSequence));
+        }
+      };
+    }
+
+    @Override
+    public void close() throws IOException {
+      elements.close();
+    }
+  }
+}
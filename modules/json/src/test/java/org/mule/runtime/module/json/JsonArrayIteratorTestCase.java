@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.codehaus.jackson.JsonFactory;
+import org.junit.Test;
+
+@SmallTest
+public class JsonArrayIteratorTestCase extends AbstractMuleTestCase {
+
+  private static final String ORDERS = "{\"id\":7,\"skip\":{\"items\":[0]},\"data\":[{\"items\":[]},"
+      + "{\"a/b\":{\"items\":[1,{\"name\":\"x\",\"tags\":[\"t\"]},\"s\"]}}]}";
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  @Test
+  public void iteratesRootArray() throws Exception {
+    assertThat(elements("[1, \"two\", {\"three\": [3]}, null]", ""), contains("1", "\"two\"", "{\"three\":[3]}", "null"));
+  }
+
+  @Test
+  public void navigatesPointer() throws Exception {
+    assertThat(elements(ORDERS, "/data/1/a~1b/items"), contains("1", "{\"name\":\"x\",\"tags\":[\"t\"]}", "\"s\""));
+    assertThat(elements(ORDERS, "/data/0/items"), is(empty()));
+  }
+
+  @Test
+  public void unresolvedPointerHasNoElements() throws Exception {
+    assertThat(elements(ORDERS, "/id"), is(empty()));
+    assertThat(elements(ORDERS, "/data/2/items"), is(empty()));
+    assertThat(elements(ORDERS, "/missing"), is(empty()));
+  }
+
+  @Test
+  public void parsesPointer() {
+    assertThat(JsonArrayIterator.parsePointer(""), is(empty()));
+    assertThat(JsonArrayIterator.parsePointer("/a~1b/~01/"), contains("a/b", "~1", ""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsRelativePointer() {
+    JsonArrayIterator.parsePointer("data/items");
+  }
+
+  private List<String> elements(String json, String pointer) throws IOException {
+    return Lists.newArrayList(new JsonArrayIterator(jsonFactory, jsonFactory.createJsonParser(json), pointer));
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.routing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.EventContext;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.testmodels.fruit.Apple;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonArrayAggregatorTestCase extends AbstractMuleContextTestCase {
+
+  private final List<Object> received = new CopyOnWriteArrayList<>();
+  private final List<String> receivingThreads = new CopyOnWriteArrayList<>();
+  private JsonArrayAggregator aggregator;
+  private EventContext context;
+
+  @Before
+  public void before() throws Exception {
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+    context = DefaultEventContext.create(flow, TEST_CONNECTOR, "group");
+
+    aggregator = new JsonArrayAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setFlowConstruct(flow);
+    aggregator.setListener(event -> {
+      received.add(event.getMessage().getPayload().getValue());
+      receivingThreads.add(Thread.currentThread().getName());
+      return event;
+    });
+  }
+
+  @After
+  public void after() {
+    aggregator.dispose();
+  }
+
+  @Test
+  public void aggregatesOutOfOrderElements() throws Exception {
+    aggregator.initialise();
+
+    assertThat(aggregator.process(event("{\"b\":2}", 2, null)), is(nullValue()));
+    assertThat(aggregator.process(event("\"c\"", 3, 3)), is(nullValue()));
+    aggregator.process(event("[1]", 1, null));
+
+    assertThat(new String((byte[]) received.get(0), UTF_8), is("[[1],{\"b\":2},\"c\"]"));
+    assertThat(aggregator.getPendingGroupsCount(), is(0));
+  }
+
+  @Test
+  public void serializesNonJsonPayloads() throws Exception {
+    aggregator.initialise();
+
+    aggregator.process(event(42, 1, 2));
+    aggregator.process(event(new String[] {"a"}, 2, 2));
+
+    assertThat(new String((byte[]) received.get(0), UTF_8), is("[42,[\"a\"]]"));
+  }
+
+  @Test
+  public void spillsToFile() throws Exception {
+    aggregator.setMaxInMemorySize(8);
+    aggregator.initialise();
+
+    aggregator.process(event("\"0123456789\"", 1, null));
+    aggregator.process(event("\"abcdefghij\"", 2, 2));
+
+    assertThat(received.get(0), instanceOf(InputStream.class));
+    try (InputStream array = (InputStream) received.get(0)) {
+      assertThat(IOUtils.toString(array, UTF_8), is("[\"0123456789\",\"abcdefghij\"]"));
+    }
+  }
+
+  @Test
+  public void passesPartialArrayOnTimeout() throws Exception {
+    aggregator.setTimeout(100);
+    aggregator.setFailOnTimeout(false);
+    aggregator.initialise();
+
+    aggregator.process(event("1", 1, null));
+    aggregator.process(event("3", 3, 3));
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> received.size() == 1));
+    assertThat(new String((byte[]) received.get(0), UTF_8), is("[1,3]"));
+    assertThat(aggregator.getPendingGroupsCount(), is(0));
+    // the timer threads only hand the timed out group over
+    assertThat(receivingThreads, not(hasItem(containsString("timer"))));
+  }
+
+  @Test
+  public void discardsGroupOnTimeout() throws Exception {
+    aggregator.setTimeout(100);
+    aggregator.initialise();
+
+    aggregator.process(event("1", 1, null));
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> aggregator.getPendingGroupsCount() == 0));
+    assertThat(received, is(empty()));
+  }
+
+  private Event event(Object payload, int sequence, Integer groupSize) throws Exception {
+    return Event.builder(context).message(InternalMessage.builder().payload(payload).build())
+        .groupCorrelation(new GroupCorrelation(groupSize, sequence)).flow(getTestFlow(muleContext)).build();
+  }
+}
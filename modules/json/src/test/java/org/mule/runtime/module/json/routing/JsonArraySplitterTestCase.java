@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.routing;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class JsonArraySplitterTestCase extends AbstractMuleContextTestCase {
+
+  private final List<Event> parts = new ArrayList<>();
+
+  @Test
+  public void splitsSelectedArray() throws Exception {
+    createSplitter("/orders", event -> {
+      parts.add(event);
+      return event;
+    }).process(eventWithPayload("{\"id\":1,\"orders\":[{\"a\":1},\"b\",[3]]}"));
+
+    assertThat(parts.size(), is(3));
+    assertThat(parts.get(0).getMessage().getPayload().getValue(), is("{\"a\":1}"));
+    assertThat(parts.get(1).getMessage().getPayload().getValue(), is("\"b\""));
+    assertThat(parts.get(2).getMessage().getPayload().getValue(), is("[3]"));
+    assertThat(parts.get(0).getGroupCorrelation().getSequence(), is(Optional.of(1)));
+    assertThat(parts.get(2).getGroupCorrelation().getSequence(), is(Optional.of(3)));
+    // only the last part knows the size of the group
+    assertThat(parts.get(2).getGroupCorrelation().getGroupSize(), is(Optional.of(3)));
+  }
+
+  private JsonArraySplitter createSplitter(String path, Processor listener) throws Exception {
+    JsonArraySplitter splitter = new JsonArraySplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setPath(path);
+    splitter.setListener(listener);
+    splitter.initialise();
+    return splitter;
+  }
+
+  private Event eventWithPayload(Object payload) throws Exception {
+    return eventBuilder().message(InternalMessage.of(payload)).build();
+  }
+}
@@ -11,10 +11,15 @@ import static org.reflections.ReflectionUtils.getAllMethods;
 import static org.reflections.ReflectionUtils.withName;
 import static org.reflections.ReflectionUtils.withParameters;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -41,15 +46,23 @@ import org.apache.logging.log4j.spi.ExtendedLogger;
  * Because this class is a fix for issues in static loggers, it must not hold any reference to any {@link java.lang.ClassLoader}
  * since otherwise that class loader would be GC unreachable. For that reason, it uses {@link #ownerClassLoaderHash} instead of
  * the real reference
+ * <p/>
+ * Resolving the logger to use is cached for each context classloader the logger is used from. The cache holds neither the
+ * classloaders nor the resolved loggers strongly, and is invalidated whenever a logger context is reconfigured or disposed.
+ * When the resolved logger has no filters, level checks are answered from the level cached along with it.
  *
  * @since 3.6.0
  */
 abstract class DispatchingLogger extends Logger {
 
+  private static final AtomicInteger resolutionsGeneration = new AtomicInteger();
+
   private final Logger originalLogger;
   private Method updateConfigurationMethod = null;
   private final ContextSelector contextSelector;
   private final int ownerClassLoaderHash;
+  private final Cache<ClassLoader, LoggerResolution> resolutions =
+      CacheBuilder.newBuilder().weakKeys().concurrencyLevel(1).initialCapacity(2).build();
 
   DispatchingLogger(Logger originalLogger, int ownerClassLoaderHash, LoggerContext loggerContext, ContextSelector contextSelector,
                     MessageFactory messageFactory) {
@@ -60,8 +73,43 @@ abstract class DispatchingLogger extends Logger {
   }
 
 
+  /**
+   * Invalidates the cached logger resolutions of every {@link DispatchingLogger}. To be called whenever a logger context is
+   * reconfigured or disposed.
+   */
+  static void invalidateResolutions() {
+    resolutionsGeneration.incrementAndGet();
+  }
+
   private Logger getLogger() {
-    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(Thread.currentThread().getContextClassLoader());
+    return getLogger(getResolution());
+  }
+
+  private Logger getLogger(LoggerResolution resolution) {
+    final Logger logger = resolution.getLogger();
+    // the resolved logger may only be collected once its context is disposed
+    return logger != null ? logger : resolveLogger(Thread.currentThread().getContextClassLoader());
+  }
+
+  private LoggerResolution getResolution() {
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    final int generation = resolutionsGeneration.get();
+
+    LoggerResolution resolution = contextClassLoader != null ? resolutions.getIfPresent(contextClassLoader) : null;
+    Logger logger = resolution != null && resolution.generation == generation ? resolution.logger.get() : null;
+    if (logger != null) {
+      return resolution;
+    }
+
+    resolution = new LoggerResolution(resolveLogger(contextClassLoader), generation);
+    if (contextClassLoader != null) {
+      resolutions.put(contextClassLoader, resolution);
+    }
+    return resolution;
+  }
+
+  private Logger resolveLogger(ClassLoader contextClassLoader) {
+    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(contextClassLoader);
     if (useThisLoggerContextClassLoader(currentClassLoader)) {
       return originalLogger;
     }
@@ -131,6 +179,7 @@ abstract class DispatchingLogger extends Logger {
   @Override
   public void setLevel(Level level) {
     getLogger().setLevel(level);
+    invalidateResolutions();
   }
 
   @Override
@@ -140,27 +189,37 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level, marker, message, t);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message) {
-    return getLogger().isEnabled(level, marker, message);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level, marker, message);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message, Object... params) {
-    return getLogger().isEnabled(level, marker, message, params);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level, marker, message, params);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, Object message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level, marker, message, t);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, Message message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level, marker, message, t);
   }
 
   @Override
@@ -534,7 +593,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isDebugEnabled() {
-    return getLogger().isDebugEnabled();
+    return isEnabled(Level.DEBUG);
   }
 
   @Override
@@ -544,7 +603,9 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isEnabled(Level level) {
-    return getLogger().isEnabled(level);
+    LoggerResolution resolution = getResolution();
+    return resolution.hasLevelThreshold() ? resolution.isEnabled(level)
+        : getLogger(resolution).isEnabled(level);
   }
 
   @Override
@@ -554,7 +615,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isErrorEnabled() {
-    return getLogger().isErrorEnabled();
+    return isEnabled(Level.ERROR);
   }
 
   @Override
@@ -564,7 +625,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isFatalEnabled() {
-    return getLogger().isFatalEnabled();
+    return isEnabled(Level.FATAL);
   }
 
   @Override
@@ -574,7 +635,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isInfoEnabled() {
-    return getLogger().isInfoEnabled();
+    return isEnabled(Level.INFO);
   }
 
   @Override
@@ -584,7 +645,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isTraceEnabled() {
-    return getLogger().isTraceEnabled();
+    return isEnabled(Level.TRACE);
   }
 
   @Override
@@ -594,7 +655,7 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isWarnEnabled() {
-    return getLogger().isWarnEnabled();
+    return isEnabled(Level.WARN);
   }
 
   @Override
@@ -856,4 +917,35 @@ abstract class DispatchingLogger extends Logger {
   public void warn(String message, Throwable t) {
     getLogger().warn(message, t);
   }
+
+  /**
+   * The logger resolved for a context classloader, along with its level when it can be used to tell whether a level is enabled.
+   */
+  private static final class LoggerResolution {
+
+    private static final int NO_LEVEL_THRESHOLD = -1;
+
+    private final WeakReference<Logger> logger;
+    private final int generation;
+    private final int levelThreshold;
+
+    private LoggerResolution(Logger logger, int generation) {
+      this.logger = new WeakReference<>(logger);
+      this.generation = generation;
+      Level level = logger.getLevel();
+      this.levelThreshold = level != null && logger.filterCount() == 0 ? level.intLevel() : NO_LEVEL_THRESHOLD;
+    }
+
+    private Logger getLogger() {
+      return logger.get();
+    }
+
+    private boolean hasLevelThreshold() {
+      return levelThreshold != NO_LEVEL_THRESHOLD;
+    }
+
+    private boolean isEnabled(Level level) {
+      return level != null && levelThreshold >= level.intLevel();
+    }
+  }
 }
@@ -183,6 +183,7 @@ final class LoggerContextCache implements Disposable {
     }
 
     disposedContexts.put(key, loggerContext);
+    DispatchingLogger.invalidateResolutions();
     synchronized (executorService) {
       if (!executorService.isShutdown()) {
         executorService.schedule(new Runnable() {
@@ -217,6 +218,7 @@ final class LoggerContextCache implements Disposable {
 
     activeContexts.invalidateAll();
     builtContexts.clear();
+    DispatchingLogger.invalidateResolutions();
     disposedContexts.invalidateAll();
     disposedContexts.cleanUp();
   }
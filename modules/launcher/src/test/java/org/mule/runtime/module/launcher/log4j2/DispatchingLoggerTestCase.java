@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.module.launcher.log4j2;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
@@ -92,4 +96,30 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
     });
   }
 
+  @Test
+  public void artifactClassLoaderResolutionIsCached() {
+    withContextClassLoader(artifactClassLoader, () -> {
+      logger.info(MESSAGE);
+      logger.info(MESSAGE);
+      verify(contextSelector, times(1)).getContext(LOGGER_NAME, artifactClassLoader, true);
+
+      DispatchingLogger.invalidateResolutions();
+      logger.info(MESSAGE);
+      verify(contextSelector, times(2)).getContext(LOGGER_NAME, artifactClassLoader, true);
+    });
+  }
+
+  @Test
+  public void levelCheckWithoutFilters() {
+    when(originalLogger.getLevel()).thenReturn(Level.INFO);
+    when(originalLogger.filterCount()).thenReturn(0);
+    DispatchingLogger.invalidateResolutions();
+
+    assertThat(logger.isDebugEnabled(), is(false));
+    assertThat(logger.isInfoEnabled(), is(true));
+    assertThat(logger.isEnabled(Level.ERROR), is(true));
+    verify(originalLogger, never()).isDebugEnabled();
+    verify(originalLogger, never()).isEnabled(Level.ERROR);
+  }
+
 }
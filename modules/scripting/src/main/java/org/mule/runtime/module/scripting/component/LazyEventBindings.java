@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.scripting.component;
+
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_EVENT_CONTEXT;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_EXCEPTION;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_FLOW_CONSTRUCT;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_FLOW_VARS;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_MESSAGE;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_PAYLOAD;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_SESSION_VARS;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_SRC;
+import org.mule.runtime.core.DefaultMuleEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.el.context.FlowVariableMapContext;
+import org.mule.runtime.core.el.context.SessionVariableMapContext;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.script.Bindings;
+
+/**
+ * {@link Bindings} for running a {@link Scriptable} over an {@link Event}, which entries are only resolved when the script
+ * first accesses them.
+ * <p>
+ * The entries resolve to the same values, and with the same precedence, as the ones put by
+ * {@link Scriptable#populateBindings(Bindings, Event, Event.Builder)}. The bindings that do not depend on the event are shared
+ * between executions and only copied if the script changes them.
+ */
+public class LazyEventBindings implements Bindings {
+
+  private static final Object UNRESOLVED = new Object();
+
+  private final Scriptable scriptable;
+  private final Event event;
+  private final Event.Builder eventBuilder;
+
+  /** Entries already resolved or set by the script */
+  private final Map<String, Object> entries = new HashMap<>();
+  /** Names removed by the script, which must not be resolved again */
+  private Set<String> removed;
+  /** Whether every entry has already been resolved */
+  private boolean materialized;
+
+  public LazyEventBindings(Scriptable scriptable, Event event, Event.Builder eventBuilder) {
+    this.scriptable = scriptable;
+    this.event = event;
+    this.eventBuilder = eventBuilder;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (entries.containsKey(key)) {
+      return entries.get(key);
+    }
+    if (materialized || !(key instanceof String)) {
+      return null;
+    }
+
+    Object value = resolve((String) key);
+    if (value == UNRESOLVED) {
+      return null;
+    }
+    entries.put((String) key, value);
+    return value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return entries.containsKey(key) || (!materialized && key instanceof String && isResolvable((String) key));
+  }
+
+  @Override
+  public Object put(String name, Object value) {
+    Object previous = get(name);
+    entries.put(name, value);
+    if (removed != null) {
+      removed.remove(name);
+    }
+    return previous;
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends Object> toMerge) {
+    for (Entry<? extends String, ? extends Object> entry : toMerge.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public Object remove(Object key) {
+    Object previous = get(key);
+    entries.remove(key);
+    if (!materialized && key instanceof String) {
+      if (removed == null) {
+        removed = new HashSet<>();
+      }
+      removed.add((String) key);
+    }
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    entries.clear();
+    materialized = true;
+  }
+
+  @Override
+  public int size() {
+    return materialize().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return materialize().isEmpty();
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return materialize().containsValue(value);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return materialize().keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    return materialize().values();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return materialize().entrySet();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return materialize().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return materialize().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return materialize().toString();
+  }
+
+  private Map<String, Object> materialize() {
+    if (!materialized) {
+      Set<String> names = new HashSet<>();
+      names.add(BINDING_EVENT_CONTEXT);
+      names.add(BINDING_FLOW_CONSTRUCT);
+      names.add(BINDING_FLOW_VARS);
+      names.add(BINDING_SESSION_VARS);
+      names.add(BINDING_EXCEPTION);
+      names.add(BINDING_MESSAGE);
+      names.add(BINDING_PAYLOAD);
+      names.add(BINDING_SRC);
+      names.addAll(event.getVariableNames());
+      names.addAll(event.getSession().getPropertyNamesAsSet());
+      names.addAll(scriptable.getStaticBindings().keySet());
+      names.addAll(scriptable.getExpressionBindings().keySet());
+
+      for (String name : names) {
+        get(name);
+      }
+      materialized = true;
+    }
+    return entries;
+  }
+
+  private boolean isResolvable(String name) {
+    if (removed != null && removed.contains(name)) {
+      return false;
+    }
+    switch (name) {
+      case BINDING_EVENT_CONTEXT:
+      case BINDING_FLOW_CONSTRUCT:
+      case BINDING_FLOW_VARS:
+      case BINDING_SESSION_VARS:
+      case BINDING_EXCEPTION:
+      case BINDING_MESSAGE:
+      case BINDING_PAYLOAD:
+      case BINDING_SRC:
+        return true;
+      default:
+        return event.getVariableNames().contains(name) || event.getSession().getPropertyNamesAsSet().contains(name)
+            || scriptable.getStaticBindings().containsKey(name) || scriptable.getExpressionBindings().containsKey(name);
+    }
+  }
+
+  private Object resolve(String name) {
+    if (removed != null && removed.contains(name)) {
+      return UNRESOLVED;
+    }
+    switch (name) {
+      case BINDING_EVENT_CONTEXT:
+        return new DefaultMuleEventContext(scriptable.getFlowConstruct(), event);
+      case BINDING_FLOW_CONSTRUCT:
+        return scriptable.getFlowConstruct();
+      case BINDING_FLOW_VARS:
+        return new FlowVariableMapContext(event, eventBuilder);
+      case BINDING_SESSION_VARS:
+        return new SessionVariableMapContext(event.getSession());
+      case BINDING_EXCEPTION:
+        return event.getError().isPresent() ? event.getError().get().getException() : null;
+      case BINDING_MESSAGE:
+        return event.getMessage();
+      case BINDING_PAYLOAD:
+      case BINDING_SRC:
+        return event.getMessage().getPayload().getValue();
+      default:
+        break;
+    }
+
+    if (event.getVariableNames().contains(name)) {
+      return event.getVariable(name).getValue();
+    }
+    if (event.getSession().getPropertyNamesAsSet().contains(name)) {
+      return event.getSession().getProperty(name);
+    }
+    if (scriptable.getStaticBindings().containsKey(name)) {
+      return scriptable.getStaticBindings().get(name);
+    }
+    String expression = scriptable.getExpressionBindings().get(name);
+    if (expression != null) {
+      return scriptable.evaluateExpressionBinding(expression, event);
+    }
+    return UNRESOLVED;
+  }
+}
@@ -42,9 +42,8 @@ public class ScriptComponent extends AbstractComponent {
   @Override
   protected Object doInvoke(Event event, Event.Builder eventBuilder) throws Exception {
     // Set up initial script variables.
-    Bindings bindings = script.getScriptEngine().createBindings();
+    Bindings bindings = script.createBindings(event, eventBuilder);
     putBindings(bindings);
-    script.populateBindings(bindings, event, eventBuilder);
     try {
       return script.runScript(bindings);
     } catch (Exception e) {
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.scripting.component;
 
+import static java.lang.reflect.Modifier.isStatic;
 import static org.mule.runtime.core.config.i18n.CoreMessages.cannotLoadFromClasspath;
 import static org.mule.runtime.core.config.i18n.CoreMessages.propertiesNotSet;
 import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
@@ -17,12 +18,15 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.FlowConstructAware;
+import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.el.context.FlowVariableMapContext;
 import org.mule.runtime.core.el.context.SessionVariableMapContext;
 import org.mule.runtime.core.util.CollectionUtils;
+import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
 
 import java.io.IOException;
@@ -30,9 +34,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
@@ -40,28 +49,46 @@ import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+
 /**
  * A JSR 223 Script service. Allows any JSR 223 compliant script engines such as JavaScript, Groovy or Rhino to be embedded as
  * Mule components.
+ * <p>
+ * Groovy scripts are compiled into a {@link Script} class which is run directly rather than through the JSR 223 engine, unless
+ * the {@link #DISABLE_GROOVY_SCRIPT_REUSE} system property is set. Instances of the class are kept in a bounded pool and reused
+ * across executions, except for scripts which declare fields (i.e.: through {@code @Field}), which get a fresh instance on each
+ * execution so no state leaks from one to the next.
  */
-public class Scriptable implements Initialisable, MuleContextAware, FlowConstructAware {
-
-  private static final String BINDING_LOG = "log";
-  private static final String BINDING_RESULT = "result";
-  private static final String BINDING_MULE_CONTEXT = "muleContext";
-  private static final String BINDING_REGISTRY = "registry";
-  private static final String BINDING_PAYLOAD = "payload";
-  private static final String BINDING_SRC = "src";
-  private static final String BINDING_EVENT_CONTEXT = "eventContext";
+public class Scriptable implements Initialisable, Disposable, MuleContextAware, FlowConstructAware {
+
+  public static final String DISABLE_GROOVY_SCRIPT_REUSE =
+      MuleProperties.SYSTEM_PROPERTY_PREFIX + "scripting.groovy.disableScriptReuse";
+
+  private static final int GROOVY_SCRIPT_POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+  static final String BINDING_LOG = "log";
+  static final String BINDING_RESULT = "result";
+  static final String BINDING_MULE_CONTEXT = "muleContext";
+  static final String BINDING_REGISTRY = "registry";
+  static final String BINDING_PAYLOAD = "payload";
+  static final String BINDING_SRC = "src";
+  static final String BINDING_EVENT_CONTEXT = "eventContext";
   private static final String BINDING_ID = "id";
-  private static final String BINDING_FLOW_CONSTRUCT = "flowConstruct";
-  private static final String BINDING_FLOW_VARS = "flowVars";
-  private static final String BINDING_SESSION_VARS = "sessionVars";
-  private static final String BINDING_EXCEPTION = "exception";
+  static final String BINDING_FLOW_CONSTRUCT = "flowConstruct";
+  static final String BINDING_FLOW_VARS = "flowVars";
+  static final String BINDING_SESSION_VARS = "sessionVars";
+  static final String BINDING_EXCEPTION = "exception";
   public static final String BINDING_MESSAGE = "message";
 
   /** The actual body of the script */
@@ -86,6 +113,16 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
   private ScriptEngine scriptEngine;
   private ScriptEngineManager scriptEngineManager;
 
+  /** The class of the script, if it is run as a reused Groovy {@link Script} */
+  private Class<?> groovyScriptClass;
+  /** Idle instances of {@link #groovyScriptClass}, {@code null} if instances cannot be reused */
+  private BlockingQueue<Script> groovyScripts;
+
+  /** Bindings that do not depend on the event, shared by all the executions */
+  private Map<String, Object> staticBindings;
+  /** Property bindings which value is an expression to evaluate on each execution */
+  private Map<String, String> expressionBindings;
+
   private MuleContext muleContext;
   private FlowConstruct flow;
 
@@ -159,8 +196,20 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
         throw new InitialisationException(propertiesNotSet("scriptText, scriptFile"), this);
       }
 
+      // Groovy scripts are run by reusing instances of the compiled script class
+      if (scriptEngine instanceof GroovyScriptEngineImpl && System.getProperty(DISABLE_GROOVY_SCRIPT_REUSE) == null) {
+        try {
+          GroovyClassLoader classLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader());
+          groovyScriptClass = classLoader.parseClass(IOUtils.toString(script));
+          if (!declaresInstanceFields(groovyScriptClass)) {
+            groovyScripts = new ArrayBlockingQueue<>(GROOVY_SCRIPT_POOL_SIZE);
+          }
+        } catch (IOException | CompilationFailedException e) {
+          throw new InitialisationException(e, this);
+        }
+      }
       // Pre-compile script if scripting engine supports compilation.
-      if (scriptEngine instanceof Compilable) {
+      else if (scriptEngine instanceof Compilable) {
         try {
           compiledScript = ((Compilable) scriptEngine).compile(script);
         } catch (ScriptException e) {
@@ -176,6 +225,46 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
         }
       }
     }
+
+    initialiseStaticBindings();
+  }
+
+  private boolean declaresInstanceFields(Class<?> scriptClass) {
+    for (Field field : scriptClass.getDeclaredFields()) {
+      if (!isStatic(field.getModifiers()) && !field.isSynthetic()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void initialiseStaticBindings() {
+    Bindings staticBindings = new SimpleBindings();
+    Map<String, String> expressionBindings = new HashMap<>();
+    if (properties != null) {
+      for (Entry entry : properties.entrySet()) {
+        String value = (String) entry.getValue();
+        if (muleContext.getExpressionLanguage().isExpression(value)) {
+          expressionBindings.put((String) entry.getKey(), value);
+        } else {
+          staticBindings.put((String) entry.getKey(), value);
+        }
+      }
+    }
+    populateDefaultBindings(staticBindings);
+    expressionBindings.keySet().removeAll(staticBindings.keySet());
+
+    this.staticBindings = Collections.unmodifiableMap(staticBindings);
+    this.expressionBindings = Collections.unmodifiableMap(expressionBindings);
+  }
+
+  @Override
+  public void dispose() {
+    if (groovyScripts != null) {
+      groovyScripts.clear();
+      groovyScripts = null;
+    }
+    groovyScriptClass = null;
   }
 
   protected void populatePropertyBindings(Bindings bindings) {
@@ -197,6 +286,34 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     }
   }
 
+  /**
+   * Creates the {@link Bindings} for running the script over the given {@code event}. Unlike
+   * {@link #populateBindings(Bindings, Event, Event.Builder)}, the bindings are resolved when the script first accesses them.
+   *
+   * @param event the event being processed
+   * @param eventBuilder the builder through which the script changes the event
+   * @return the bindings for the script
+   */
+  public Bindings createBindings(Event event, Event.Builder eventBuilder) {
+    return new LazyEventBindings(this, event, eventBuilder);
+  }
+
+  Map<String, Object> getStaticBindings() {
+    return staticBindings;
+  }
+
+  Map<String, String> getExpressionBindings() {
+    return expressionBindings;
+  }
+
+  Object evaluateExpressionBinding(String expression, Event event) {
+    return muleContext.getExpressionLanguage().parse(expression, event, flow);
+  }
+
+  FlowConstruct getFlowConstruct() {
+    return flow;
+  }
+
   public void populateDefaultBindings(Bindings bindings) {
     bindings.put(BINDING_LOG, logger);
     // A place holder for a returned result if the script doesn't return a result.
@@ -256,7 +373,9 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     Object result;
     try {
       RegistryLookupBindings registryLookupBindings = new RegistryLookupBindings(muleContext.getRegistry(), bindings);
-      if (compiledScript != null) {
+      if (groovyScriptClass != null) {
+        result = runGroovyScript(registryLookupBindings);
+      } else if (compiledScript != null) {
         result = compiledScript.eval(registryLookupBindings);
       } else {
         result = scriptEngine.eval(scriptText, registryLookupBindings);
@@ -276,6 +395,27 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     return result;
   }
 
+  private Object runGroovyScript(Bindings bindings) {
+    // the instance is taken out of the pool while running, so concurrent or reentrant executions never share it
+    final BlockingQueue<Script> pool = groovyScripts;
+    Script script = pool != null ? pool.poll() : null;
+    if (script == null) {
+      script = InvokerHelper.createScript(groovyScriptClass, new Binding(bindings));
+    } else {
+      script.setBinding(new Binding(bindings));
+    }
+
+    try {
+      return script.run();
+    } finally {
+      if (pool != null) {
+        script.setBinding(new Binding());
+        // discarded if the pool is already full
+        pool.offer(script);
+      }
+    }
+  }
+
   protected ScriptEngine createScriptEngineByName(String name) {
     return scriptEngineManager.getEngineByName(name);
   }
@@ -46,9 +46,7 @@ public class ScriptFilter extends AbstractFilteringMessageProcessor implements F
 
   @Override
   public boolean accept(Event event, Event.Builder builder) {
-    Bindings bindings = script.getScriptEngine().createBindings();
-
-    script.populateBindings(bindings, event, builder);
+    Bindings bindings = script.createBindings(event, builder);
     try {
       return (Boolean) script.runScript(bindings);
     } catch (Throwable e) {
@@ -61,13 +59,11 @@ public class ScriptFilter extends AbstractFilteringMessageProcessor implements F
 
   @Override
   public boolean accept(InternalMessage message, Event.Builder builder) {
-    Bindings bindings = script.getScriptEngine().createBindings();
-
     // TODO MULE-9341 Remove Filters.
     Flow flow = new Flow("", muleContext);
     Event event =
         Event.builder(create(flow, "ScriptFilter")).message(message).exchangePattern(ONE_WAY).flow(flow).build();
-    script.populateBindings(bindings, event, builder);
+    Bindings bindings = script.createBindings(event, builder);
     try {
       return (Boolean) script.runScript(bindings);
     } catch (Throwable e) {
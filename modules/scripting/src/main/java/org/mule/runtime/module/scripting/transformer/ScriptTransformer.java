@@ -44,8 +44,7 @@ public class ScriptTransformer extends AbstractMessageTransformer {
 
   @Override
   public Object transformMessage(Event event, Charset outputEncoding) throws TransformerException {
-    Bindings bindings = script.getScriptEngine().createBindings();
-    script.populateBindings(bindings, event, Event.builder(event));
+    Bindings bindings = script.createBindings(event, Event.builder(event));
     try {
       return script.runScript(bindings);
     } catch (ScriptException e) {
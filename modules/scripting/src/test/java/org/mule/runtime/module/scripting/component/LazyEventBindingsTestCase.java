@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.scripting.component;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.Properties;
+
+import javax.script.Bindings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyEventBindingsTestCase extends AbstractMuleContextTestCase {
+
+  private Scriptable script;
+  private Event event;
+
+  @Before
+  public void before() throws Exception {
+    Properties properties = new Properties();
+    properties.put("greeting", "hello");
+    properties.put("payload", "shadowed");
+
+    script = new Scriptable(muleContext);
+    script.setScriptEngineName("groovy");
+    script.setScriptText("greeting + ' ' + payload + ' ' + foo");
+    script.setProperties(properties);
+    script.initialise();
+
+    event = eventBuilder().message(InternalMessage.of("world")).addVariable("foo", "bar").build();
+  }
+
+  @Test
+  public void resolvesLikeEagerBindings() throws Exception {
+    Bindings bindings = script.createBindings(event, Event.builder(event));
+
+    assertThat(bindings.get("payload"), is("world"));
+    assertThat(bindings.get("foo"), is("bar"));
+    assertThat(bindings.get("greeting"), is("hello"));
+    assertThat(bindings.get("muleContext"), is(muleContext));
+    assertThat(bindings.containsKey("result"), is(true));
+    assertThat(bindings.containsKey("missing"), is(false));
+    assertThat(bindings.get("flowVars"), is(sameInstance(bindings.get("flowVars"))));
+    assertThat(bindings.keySet(), hasItems("payload", "foo", "greeting", "message", "eventContext"));
+  }
+
+  @Test
+  public void scriptChangesTakePrecedence() throws Exception {
+    Bindings bindings = script.createBindings(event, Event.builder(event));
+
+    bindings.put("foo", "baz");
+    assertThat(bindings.get("foo"), is("baz"));
+
+    bindings.remove("payload");
+    assertThat(bindings.containsKey("payload"), is(false));
+    assertThat(bindings.get("payload"), is(nullValue()));
+  }
+
+  @Test
+  public void runsReusedGroovyScript() throws Exception {
+    for (int i = 0; i < 3; ++i) {
+      assertThat(script.runScript(script.createBindings(event, Event.builder(event))), is("hello world bar"));
+    }
+  }
+
+  @Test
+  public void fieldStateIsNotKeptBetweenRuns() throws Exception {
+    Scriptable fieldScript = new Scriptable(muleContext);
+    fieldScript.setScriptEngineName("groovy");
+    fieldScript.setScriptText("@groovy.transform.Field int count = 0\ncount++\ncount");
+    fieldScript.initialise();
+
+    try {
+      for (int i = 0; i < 3; ++i) {
+        assertThat(fieldScript.runScript(fieldScript.createBindings(event, Event.builder(event))), is(1));
+      }
+    } finally {
+      fieldScript.dispose();
+    }
+  }
+}
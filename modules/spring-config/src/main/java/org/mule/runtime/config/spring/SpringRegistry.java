@@ -18,6 +18,7 @@ import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.api.registry.LifecycleRegistry;
 import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.core.lifecycle.LifecycleDependencyResolver;
 import org.mule.runtime.core.lifecycle.RegistryLifecycleManager;
 import org.mule.runtime.core.lifecycle.phases.NotInLifecyclePhase;
 import org.mule.runtime.core.registry.AbstractRegistry;
@@ -26,7 +27,11 @@ import org.mule.runtime.core.util.StringUtils;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.beans.BeansException;
@@ -42,7 +47,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.AbstractApplicationContext;
 
-public class SpringRegistry extends AbstractRegistry implements LifecycleRegistry, Injector {
+public class SpringRegistry extends AbstractRegistry implements LifecycleRegistry, Injector, LifecycleDependencyResolver {
 
   public static final String REGISTRY_ID = "org.mule.Registry.Spring";
 
@@ -355,6 +360,56 @@ public class SpringRegistry extends AbstractRegistry implements LifecycleRegistr
     throw new UnsupportedOperationException("This operation is only available when this registry is backed by a ConfigurableApplicationContext");
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Dependencies are taken from the ones the backing bean factory tracked while wiring the singleton beans. Objects which are not
+   * beans of this registry are left out of the result. If this registry is read only, nothing is known about dependencies.
+   */
+  @Override
+  public Map<Object, Collection<Object>> resolveDependencies(Collection<?> objects) {
+    Map<Object, Collection<Object>> dependencies = new IdentityHashMap<>();
+    if (readOnly) {
+      return dependencies;
+    }
+
+    Map<Object, String> keys = new IdentityHashMap<>();
+    for (Map.Entry<String, Object> entry : lookupEntriesForLifecycle(Object.class).entrySet()) {
+      keys.put(entry.getValue(), entry.getKey());
+    }
+
+    Map<Object, Boolean> targets = new IdentityHashMap<>();
+    for (Object object : objects) {
+      targets.put(object, true);
+    }
+
+    for (Object object : objects) {
+      String key = keys.get(object);
+      if (key == null) {
+        continue;
+      }
+
+      Collection<Object> objectDependencies = new LinkedList<>();
+      Set<String> visited = new HashSet<>();
+      LinkedList<String> pending = new LinkedList<>();
+      visited.add(key);
+      pending.add(key);
+      while (!pending.isEmpty()) {
+        for (Map.Entry<String, Object> dependency : getDependencies(pending.removeFirst()).entrySet()) {
+          if (visited.add(dependency.getKey())) {
+            pending.add(dependency.getKey());
+            if (targets.containsKey(dependency.getValue())) {
+              objectDependencies.add(dependency.getValue());
+            }
+          }
+        }
+      }
+      dependencies.put(object, objectDependencies);
+    }
+
+    return dependencies;
+  }
+
   private class ConfigurableRegistrationDelegate implements RegistrationDelegate {
 
     private final ConfigurableApplicationContext applicationContext;
@@ -146,6 +146,9 @@ import org.mule.runtime.core.routing.MessageChunkSplitter;
 import org.mule.runtime.core.routing.Resequencer;
 import org.mule.runtime.core.routing.RoundRobin;
 import org.mule.runtime.core.routing.SimpleCollectionAggregator;
+import org.mule.runtime.core.routing.StreamingMessageChunkAggregator;
+import org.mule.runtime.core.routing.StreamingMessageChunkSplitter;
+import org.mule.runtime.core.routing.StreamingResequencer;
 import org.mule.runtime.core.routing.UntilSuccessful;
 import org.mule.runtime.core.routing.WireTap;
 import org.mule.runtime.core.routing.filters.EqualsFilter;
@@ -508,11 +511,16 @@ public class MuleNamespaceHandler extends AbstractMuleNamespaceHandler {
     registerBeanDefinitionParser("custom-aggregator", new AggregatorDefinitionParser());
     registerBeanDefinitionParser("collection-aggregator", new AggregatorDefinitionParser(SimpleCollectionAggregator.class));
     registerBeanDefinitionParser("message-chunk-aggregator", new AggregatorDefinitionParser(MessageChunkAggregator.class));
+    registerBeanDefinitionParser("streaming-message-chunk-aggregator",
+                                 new InboundRouterDefinitionParser(StreamingMessageChunkAggregator.class));
     registerBeanDefinitionParser("resequencer", new InboundRouterDefinitionParser(Resequencer.class));
+    registerBeanDefinitionParser("streaming-resequencer", new InboundRouterDefinitionParser(StreamingResequencer.class));
     registerBeanDefinitionParser("splitter", new SplitterDefinitionParser(ExpressionSplitter.class));
     registerBeanDefinitionParser("collection-splitter", new SplitterDefinitionParser(CollectionSplitter.class));
     registerBeanDefinitionParser("map-splitter", new SplitterDefinitionParser(MapSplitter.class));
     registerBeanDefinitionParser("message-chunk-splitter", new SplitterDefinitionParser(MessageChunkSplitter.class));
+    registerBeanDefinitionParser("streaming-message-chunk-splitter",
+                                 new SplitterDefinitionParser(StreamingMessageChunkSplitter.class));
     registerBeanDefinitionParser("custom-splitter", new SplitterDefinitionParser());
     registerMuleBeanDefinitionParser("foreach", new ChildDefinitionParser("messageProcessor", Foreach.class))
         .addAlias("collection", "collectionExpression");
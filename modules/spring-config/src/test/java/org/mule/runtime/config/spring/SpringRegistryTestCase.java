@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertThat;
@@ -14,9 +17,12 @@ import org.mule.runtime.core.api.registry.Registry;
 import org.mule.runtime.core.registry.AbstractRegistryTestCase;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.hamcrest.core.Is;
 import org.junit.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.context.support.StaticApplicationContext;
 
 public class SpringRegistryTestCase extends AbstractRegistryTestCase {
@@ -66,9 +72,45 @@ public class SpringRegistryTestCase extends AbstractRegistryTestCase {
     assertThat(springRegistry.lookupObjectsForLifecycle(String.class).size(), is(1));
   }
 
+  @Test
+  public void resolvesTransitiveDependenciesBetweenGivenObjects() {
+    applicationContext = new StaticApplicationContext();
+    springRegistry = new SpringRegistry(applicationContext, null);
+    applicationContext.registerSingleton("first", DependentBean.class);
+    applicationContext.registerSingleton("second", DependentBean.class, dependingOn("first"));
+    applicationContext.registerSingleton("third", DependentBean.class, dependingOn("second"));
+    applicationContext.refresh();
+    Object first = applicationContext.getBean("first");
+    Object third = applicationContext.getBean("third");
+    Object external = new Object();
+
+    Map<Object, Collection<Object>> dependencies = springRegistry.resolveDependencies(asList(first, third, external));
+
+    assertThat(dependencies.get(third), contains(first));
+    assertThat(dependencies.get(first), is(empty()));
+    assertThat(dependencies.containsKey(external), is(false));
+  }
+
+  private MutablePropertyValues dependingOn(String key) {
+    return new MutablePropertyValues().add("dependency", new RuntimeBeanReference(key));
+  }
+
   private void createSpringRegistryWithParentContext() {
     applicationContext = new StaticApplicationContext();
     parentApplicationContext = new StaticApplicationContext();
     springRegistry = new SpringRegistry(REGISTERY_ID, applicationContext, parentApplicationContext, null);
   }
+
+  public static class DependentBean {
+
+    private Object dependency;
+
+    public Object getDependency() {
+      return dependency;
+    }
+
+    public void setDependency(Object dependency) {
+      this.dependency = dependency;
+    }
+  }
 }
@@ -13,10 +13,12 @@ import org.mule.runtime.config.spring.parsers.generic.OrphanDefinitionParser;
 import org.mule.runtime.config.spring.parsers.generic.TextDefinitionParser;
 import org.mule.runtime.config.spring.parsers.specific.FilterDefinitionParser;
 import org.mule.runtime.config.spring.parsers.specific.MessageProcessorDefinitionParser;
+import org.mule.runtime.config.spring.parsers.specific.SplitterDefinitionParser;
 import org.mule.runtime.config.spring.parsers.specific.TransformerMessageProcessorDefinitionParser;
 import org.mule.runtime.module.xml.filters.IsXmlFilter;
 import org.mule.runtime.module.xml.filters.SchemaValidationFilter;
 import org.mule.runtime.module.xml.filters.XPathFilter;
+import org.mule.runtime.module.xml.routing.StreamingXPathSplitter;
 import org.mule.runtime.module.xml.transformer.DomDocumentToXml;
 import org.mule.runtime.module.xml.transformer.ObjectToXml;
 import org.mule.runtime.module.xml.transformer.XPathExtractor;
@@ -51,6 +53,9 @@ public class XmlNamespaceHandler extends AbstractMuleNamespaceHandler {
     registerBeanDefinitionParser("xpath-extractor-transformer",
                                  new TransformerMessageProcessorDefinitionParser(XPathExtractor.class));
 
+    // Routing
+    registerBeanDefinitionParser("streaming-xpath-splitter", new SplitterDefinitionParser(StreamingXPathSplitter.class));
+
     // JAXB
     registerBeanDefinitionParser("jaxb-object-to-xml-transformer",
                                  new TransformerMessageProcessorDefinitionParser(JAXBMarshallerTransformer.class));
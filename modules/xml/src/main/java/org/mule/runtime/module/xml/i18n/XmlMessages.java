@@ -63,4 +63,20 @@ public class XmlMessages extends I18nMessageFactory {
     return factory.createMessage(BUNDLE_PATH, 12, propertyKey);
   }
 
+  public static I18nMessage streamingXPathNotSupported(String expression) {
+    return factory.createMessage(BUNDLE_PATH, 13, expression);
+  }
+
+  public static I18nMessage xpathExpressionNotSet(String component) {
+    return factory.createMessage(BUNDLE_PATH, 14, component);
+  }
+
+  public static I18nMessage failedToReadPayloadAsXml() {
+    return factory.createMessage(BUNDLE_PATH, 15);
+  }
+
+  public static I18nMessage payloadCannotBeReadAsXml(Class<?> payloadType) {
+    return factory.createMessage(BUNDLE_PATH, 16, payloadType.getName());
+  }
+
 }
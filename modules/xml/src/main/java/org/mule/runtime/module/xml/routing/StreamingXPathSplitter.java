@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.routing;
+
+import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
+import static org.mule.runtime.module.xml.i18n.XmlMessages.failedToReadPayloadAsXml;
+import static org.mule.runtime.module.xml.i18n.XmlMessages.payloadCannotBeReadAsXml;
+import static org.mule.runtime.module.xml.i18n.XmlMessages.streamingXPathNotSupported;
+import static org.mule.runtime.module.xml.i18n.XmlMessages.xpathExpressionNotSet;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
+import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
+import org.mule.runtime.module.xml.util.NamespaceManager;
+import org.mule.runtime.module.xml.util.XMLUtils;
+import org.mule.runtime.module.xml.xpath.StreamingXPathEvaluator;
+
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Splits an XML payload into one message for each element matched by an XPath expression, reading the payload through StAX so
+ * only the element being routed is kept in memory, no matter how big the document is. Each part carries the matched element
+ * serialized as a {@link String}.
+ * <p>
+ * The expression must be supported by the {@link StreamingXPathEvaluator} and select elements, for instance
+ * {@code //order/item} or {@code /catalog/book[@available='true']}.
+ *
+ * @since 4.0
+ */
+public class StreamingXPathSplitter extends AbstractMessageSequenceSplitter implements Initialisable {
+
+  private final StreamingXPathEvaluator evaluator = new StreamingXPathEvaluator();
+  private XMLInputFactory xmlInputFactory;
+  private String expression;
+  private Map<String, String> namespaces;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (expression == null) {
+      throw new InitialisationException(xpathExpressionNotSet(getClass().getSimpleName()), this);
+    }
+
+    try {
+      NamespaceManager namespaceManager = muleContext.getRegistry().lookupObject(NamespaceManager.class);
+      if (namespaceManager != null) {
+        evaluator.registerNamespaces(namespaceManager);
+      }
+    } catch (RegistrationException e) {
+      throw new InitialisationException(e, this);
+    }
+    if (namespaces != null) {
+      evaluator.registerNamespaces(namespaces);
+    }
+
+    if (!evaluator.isStreamable(expression)) {
+      throw new InitialisationException(streamingXPathNotSupported(expression), this);
+    }
+
+    xmlInputFactory = XMLInputFactory.newInstance();
+    xmlInputFactory.setProperty(IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  @Override
+  protected MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException {
+    XMLStreamReader reader;
+    try {
+      reader = XMLUtils.toXMLStreamReader(xmlInputFactory, event, event.getMessage().getPayload().getValue());
+    } catch (XMLStreamException e) {
+      throw new RoutingException(failedToReadPayloadAsXml(), this, e);
+    }
+    if (reader == null) {
+      throw new RoutingException(payloadCannotBeReadAsXml(event.getMessage().getPayload().getDataType().getType()), this);
+    }
+    return new IteratorMessageSequence(evaluator.split(expression, reader));
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * @param expression the XPath expression selecting the elements to split the payload into
+   */
+  public void setExpression(String expression) {
+    this.expression = expression;
+  }
+
+  public Map<String, String> getNamespaces() {
+    return namespaces;
+  }
+
+  /**
+   * @param namespaces the prefix-to-namespace map of the prefixes used in the expression
+   */
+  public void setNamespaces(Map<String, String> namespaces) {
+    this.namespaces = namespaces;
+  }
+}
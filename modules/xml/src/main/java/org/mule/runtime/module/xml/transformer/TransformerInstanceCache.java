@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformer;
+
+import static java.lang.System.nanoTime;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps idle instances of objects that are expensive to create but cannot be used concurrently, such as
+ * {@link javax.xml.transform.Transformer}s or prepared XQuery expressions, so they can be reused across messages.
+ * <p>
+ * Idle instances are kept in a fixed number of slots, and each thread starts looking for an instance in its own slot, so
+ * concurrent threads rarely compete for the same instance and never for a global lock. Instances are {@link InstanceFactory#reset
+ * reset} when they are released, and created on demand when no idle one is available.
+ * <p>
+ * The total number of instances in use may be bounded through {@link #setMaxActive(int)}, in which case threads wait for an
+ * instance to be released once the limit is reached. The number of such waits, the time spent waiting and the number of
+ * instances created are recorded.
+ *
+ * @param <T> the type of the cached instances
+ * @since 4.0
+ */
+public class TransformerInstanceCache<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TransformerInstanceCache.class);
+
+  /**
+   * Creates, resets and destroys the instances of a {@link TransformerInstanceCache}.
+   *
+   * @param <T> the type of the instances
+   */
+  public interface InstanceFactory<T> {
+
+    /**
+     * @return a new instance
+     */
+    T create() throws Exception;
+
+    /**
+     * Restores an instance to its initial state so it can be reused, for instance clearing any parameters bound to it.
+     *
+     * @param instance an instance that is no longer used
+     */
+    void reset(T instance) throws Exception;
+
+    /**
+     * Releases the resources of an instance that will not be reused.
+     *
+     * @param instance the instance to destroy
+     */
+    default void destroy(T instance) throws Exception {
+      // Nothing to release by default
+    }
+  }
+
+  private final InstanceFactory<T> factory;
+  private volatile AtomicReferenceArray<T> idle;
+  private volatile Semaphore permits;
+  private volatile int maxActive = -1;
+
+  private final LongAdder created = new LongAdder();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder totalWaitTime = new LongAdder();
+
+  /**
+   * @param factory the factory of the cached instances
+   * @param maxIdle the maximum number of idle instances to keep
+   */
+  public TransformerInstanceCache(InstanceFactory<T> factory, int maxIdle) {
+    this.factory = factory;
+    this.idle = new AtomicReferenceArray<>(Math.max(maxIdle, 0));
+  }
+
+  /**
+   * Takes an idle instance, or creates a new one if there is none. If the maximum number of active instances was reached, waits
+   * for one to be {@link #release(Object) released}.
+   *
+   * @return an instance for the exclusive use of the caller until it is released
+   * @throws Exception if the instance cannot be created or the thread is interrupted while waiting for one
+   */
+  public T acquire() throws Exception {
+    Semaphore permits = this.permits;
+    if (permits != null && !permits.tryAcquire()) {
+      waits.increment();
+      long start = nanoTime();
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw e;
+      } finally {
+        totalWaitTime.add(nanoTime() - start);
+      }
+    }
+    acquired.increment();
+
+    AtomicReferenceArray<T> slots = idle;
+    int length = slots.length();
+    int home = homeSlot(length);
+    for (int i = 0; i < length; ++i) {
+      int slot = (home + i) % length;
+      if (slots.get(slot) != null) {
+        T instance = slots.getAndSet(slot, null);
+        if (instance != null) {
+          return instance;
+        }
+      }
+    }
+
+    try {
+      T instance = factory.create();
+      created.increment();
+      return instance;
+    } catch (Exception e) {
+      if (permits != null) {
+        permits.release();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Resets an instance taken through {@link #acquire()} and keeps it for reuse, unless there are already as many idle instances
+   * as allowed, in which case it is destroyed.
+   *
+   * @param instance the instance to give back
+   */
+  public void release(T instance) {
+    try {
+      try {
+        factory.reset(instance);
+      } catch (Exception e) {
+        LOGGER.debug("Discarding instance that could not be reset", e);
+        destroy(instance);
+        return;
+      }
+
+      AtomicReferenceArray<T> slots = idle;
+      int length = slots.length();
+      int home = homeSlot(length);
+      for (int i = 0; i < length; ++i) {
+        int slot = (home + i) % length;
+        if (slots.get(slot) == null && slots.compareAndSet(slot, null, instance)) {
+          return;
+        }
+      }
+      destroy(instance);
+    } finally {
+      Semaphore permits = this.permits;
+      if (permits != null) {
+        permits.release();
+      }
+    }
+  }
+
+  /**
+   * Destroys all the idle instances.
+   */
+  public void clear() {
+    AtomicReferenceArray<T> slots = idle;
+    for (int slot = 0; slot < slots.length(); ++slot) {
+      T instance = slots.getAndSet(slot, null);
+      if (instance != null) {
+        destroy(instance);
+      }
+    }
+  }
+
+  private void destroy(T instance) {
+    try {
+      factory.destroy(instance);
+    } catch (Exception e) {
+      LOGGER.debug("Could not destroy instance", e);
+    }
+  }
+
+  private static int homeSlot(int length) {
+    return length == 0 ? 0 : (int) (Thread.currentThread().getId() % length);
+  }
+
+  public int getMaxIdle() {
+    return idle.length();
+  }
+
+  /**
+   * Changes the number of idle instances to keep. Idle instances kept so far are destroyed. Meant to be called before the cache
+   * is used.
+   *
+   * @param maxIdle the maximum number of idle instances to keep
+   */
+  public void setMaxIdle(int maxIdle) {
+    clear();
+    idle = new AtomicReferenceArray<>(Math.max(maxIdle, 0));
+  }
+
+  public int getMaxActive() {
+    return maxActive;
+  }
+
+  /**
+   * Bounds the number of instances that may be in use at the same time. Meant to be called before the cache is used.
+   *
+   * @param maxActive the maximum number of instances in use, or a negative value for no limit
+   */
+  public void setMaxActive(int maxActive) {
+    this.maxActive = maxActive;
+    this.permits = maxActive < 0 ? null : new Semaphore(maxActive);
+  }
+
+  /**
+   * @return the number of instances created so far
+   */
+  public long getCreatedCount() {
+    return created.sum();
+  }
+
+  /**
+   * @return the number of times an instance was acquired
+   */
+  public long getAcquiredCount() {
+    return acquired.sum();
+  }
+
+  /**
+   * @return the number of times a thread had to wait for an instance because the maximum number of active ones was reached
+   */
+  public long getWaitCount() {
+    return waits.sum();
+  }
+
+  /**
+   * @return the total time threads spent waiting for an instance, in nanoseconds
+   */
+  public long getTotalWaitTime() {
+    return totalWaitTime.sum();
+  }
+}
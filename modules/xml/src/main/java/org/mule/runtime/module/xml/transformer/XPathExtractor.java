@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.xml.transformer;
 
+import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
 import static org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation.getCurrentEvent;
 
 import org.mule.runtime.api.metadata.DataType;
@@ -22,16 +23,24 @@ import org.mule.runtime.core.transformer.AbstractTransformer;
 import org.mule.runtime.module.xml.util.NamespaceManager;
 import org.mule.runtime.module.xml.util.XMLUtils;
 import org.mule.runtime.module.xml.xpath.SaxonXpathEvaluator;
+import org.mule.runtime.module.xml.xpath.StreamingXPathEvaluator;
 import org.mule.runtime.module.xml.xpath.XPathEvaluator;
 import org.mule.runtime.module.xml.xpath.XPathReturnType;
 
 import java.nio.charset.Charset;
 import java.util.Map;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
 import org.xml.sax.InputSource;
 
 /**
  * Simple transformer for using the JAXP XPath library to extract an XPath value from an XPath expression.
+ * <p>
+ * When {@link #setStreaming(boolean) streaming} is enabled and the expression is supported by the
+ * {@link StreamingXPathEvaluator}, streams, strings and byte arrays are evaluated through StAX in a single pass instead of being
+ * parsed into a DOM first.
  *
  * @author Ryan Heaton
  */
@@ -42,6 +51,9 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
   private volatile String expression;
   private volatile XPathReturnType resultType = XPathReturnType.STRING;
   private NamespaceManager namespaceManager;
+  private boolean streaming = false;
+  private StreamingXPathEvaluator streamingXPathEvaluator;
+  private XMLInputFactory xmlInputFactory;
 
   public XPathExtractor() {
     registerSourceType(DataType.fromType(org.w3c.dom.Node.class));
@@ -80,12 +92,36 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
     if (prefixToNamespaceMap != null) {
       xpathEvaluator.registerNamespaces(prefixToNamespaceMap);
     }
+
+    if (streaming) {
+      registerSourceType(DataType.INPUT_STREAM);
+      registerSourceType(DataType.STRING);
+      registerSourceType(DataType.BYTE_ARRAY);
+      registerSourceType(DataType.fromType(XMLStreamReader.class));
+
+      streamingXPathEvaluator = new StreamingXPathEvaluator();
+      streamingXPathEvaluator.registerNamespaces(xpathEvaluator.getRegisteredNamespaces());
+
+      xmlInputFactory = XMLInputFactory.newInstance();
+      xmlInputFactory.setProperty(IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
   }
 
   @Override
   public Object doTransform(Object src, Charset encoding) throws TransformerException {
     Event event = getCurrentEvent();
     try {
+      if (streaming && !(src instanceof org.w3c.dom.Node || src instanceof InputSource)
+          && streamingXPathEvaluator.isStreamable(expression)) {
+        XMLStreamReader reader = XMLUtils.toXMLStreamReader(xmlInputFactory, event, src);
+        if (reader != null) {
+          try {
+            return streamingXPathEvaluator.evaluate(expression, reader, resultType);
+          } finally {
+            reader.close();
+          }
+        }
+      }
       return xpathEvaluator.evaluate(expression, XMLUtils.toDOMNode(src, event), resultType, event);
     } catch (Exception e) {
       throw new TransformerException(this, e);
@@ -124,6 +160,17 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
     this.resultType = resultType;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * @param streaming whether to evaluate supported expressions over StAX instead of over a DOM
+   */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
   public XPathEvaluator getXpathEvaluator() {
     return xpathEvaluator;
   }
@@ -16,6 +16,7 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.xml.i18n.XmlMessages;
+import org.mule.runtime.module.xml.transformer.TransformerInstanceCache.InstanceFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
@@ -37,8 +38,6 @@ import javax.xml.xquery.XQItemType;
 import javax.xml.xquery.XQPreparedExpression;
 import javax.xml.xquery.XQResultSequence;
 
-import org.apache.commons.pool.BasePoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
 import org.dom4j.io.DOMWriter;
 import org.dom4j.io.DocumentSource;
 import org.w3c.dom.Document;
@@ -51,19 +50,21 @@ import net.sf.saxon.Configuration;
 
 /**
  * The XQuery Module gives users the ability to perform XQuery transformations on XML messages in Mule
+ * <p/>
+ * The prepared expressions are kept in a {@link TransformerInstanceCache}, so the query is only compiled when there is no idle
+ * expression for the current thread. Byte array, stream and string payloads are bound as stream sources, without building a DOM
+ * first.
  */
 public class XQueryTransformer extends AbstractXmlTransformer implements Disposable {
 
   public static final String SOURCE_DOCUMENT_NAMESPACE = "document";
 
-  // keep at least 1 XSLT Transformer ready by default
-  private static final int MIN_IDLE_TRANSFORMERS = 1;
-  // keep max. 32 XSLT Transformers around by default
+  // keep max. 32 prepared expressions around by default
   private static final int MAX_IDLE_TRANSFORMERS = 32;
   // MAX_IDLE is also the total limit
   private static final int MAX_ACTIVE_TRANSFORMERS = MAX_IDLE_TRANSFORMERS;
 
-  protected final GenericObjectPool transformerPool;
+  protected final TransformerInstanceCache<XQPreparedExpression> transformerCache;
 
   private volatile String xqueryFile;
   private volatile String xquery;
@@ -73,10 +74,8 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
 
   public XQueryTransformer() {
     super();
-    transformerPool = new GenericObjectPool(new PooledXQueryTransformerFactory());
-    transformerPool.setMinIdle(MIN_IDLE_TRANSFORMERS);
-    transformerPool.setMaxIdle(MAX_IDLE_TRANSFORMERS);
-    transformerPool.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
+    transformerCache = new TransformerInstanceCache<>(new XQueryTransformerInstanceFactory(), MAX_IDLE_TRANSFORMERS);
+    transformerCache.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
 
     registerSourceType(DataType.STRING);
     registerSourceType(DataType.BYTE_ARRAY);
@@ -110,7 +109,9 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
       XQDataSource ds = new SaxonXQDataSource(configuration);
       connection = ds.getConnection();
 
-      transformerPool.addObject();
+      // prepare one expression up front so an invalid query fails on initialisation
+      transformerCache.clear();
+      transformerCache.release(transformerCache.acquire());
 
     } catch (Throwable te) {
       throw new InitialisationException(te, this);
@@ -119,6 +120,7 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
 
   @Override
   public void dispose() {
+    transformerCache.clear();
     try {
       connection.close();
     } catch (XQException e) {
@@ -131,7 +133,7 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
     try {
       XQPreparedExpression transformer = null;
       try {
-        transformer = (XQPreparedExpression) transformerPool.borrowObject();
+        transformer = transformerCache.acquire();
 
         bindParameters(transformer, event);
 
@@ -176,11 +178,7 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
         }
       } finally {
         if (transformer != null) {
-          // clear transformation parameters before returning transformer to the
-          // pool
-          // TODO find out what the scope is for bound variables, there doesn't seem to be a way to unbind them
-          unbindParameters(transformer);
-          transformerPool.returnObject(transformer);
+          transformerCache.release(transformer);
         }
       }
 
@@ -321,51 +319,64 @@ public class XQueryTransformer extends AbstractXmlTransformer implements Disposa
     this.xquery = xquery;
   }
 
-  protected class PooledXQueryTransformerFactory extends BasePoolableObjectFactory {
+  protected class XQueryTransformerInstanceFactory implements InstanceFactory<XQPreparedExpression> {
 
     @Override
-    public Object makeObject() throws Exception {
+    public XQPreparedExpression create() throws Exception {
       return connection.prepareExpression(xquery);
     }
 
     @Override
-    public void destroyObject(Object o) throws Exception {
-      ((XQPreparedExpression) o).close();
-      super.destroyObject(o);
+    public void reset(XQPreparedExpression transformer) throws Exception {
+      // clear transformation parameters before returning transformer to the cache
+      // TODO find out what the scope is for bound variables, there doesn't seem to be a way to unbind them
+      unbindParameters(transformer);
+    }
+
+    @Override
+    public void destroy(XQPreparedExpression transformer) throws Exception {
+      transformer.close();
     }
   }
 
 
   /**
-   * @return The current maximum number of allowable active transformer objects in the pool
+   * @return The current maximum number of allowable active transformer objects, negative if there is no limit
    */
   public int getMaxActiveTransformers() {
-    return transformerPool.getMaxActive();
+    return transformerCache.getMaxActive();
   }
 
   /**
-   * Sets the the current maximum number of active transformer objects allowed in the pool
+   * Sets the the current maximum number of active transformer objects allowed. Defaults to 32.
    *
-   * @param maxActiveTransformers New maximum size to set
+   * @param maxActiveTransformers New maximum size to set, or a negative value for no limit
    */
   public void setMaxActiveTransformers(int maxActiveTransformers) {
-    transformerPool.setMaxActive(maxActiveTransformers);
+    transformerCache.setMaxActive(maxActiveTransformers);
   }
 
   /**
-   * @return The current maximum number of allowable idle transformer objects in the pool
+   * @return The current maximum number of allowable idle transformer objects in the cache
    */
   public int getMaxIdleTransformers() {
-    return transformerPool.getMaxIdle();
+    return transformerCache.getMaxIdle();
   }
 
   /**
-   * Sets the the current maximum number of idle transformer objects allowed in the pool
+   * Sets the the current maximum number of idle transformer objects allowed in the cache
    *
    * @param maxIdleTransformers New maximum size to set
    */
   public void setMaxIdleTransformers(int maxIdleTransformers) {
-    transformerPool.setMaxIdle(maxIdleTransformers);
+    transformerCache.setMaxIdle(maxIdleTransformers);
+  }
+
+  /**
+   * @return the cache of prepared expressions, which records how many were created and how long threads waited for one
+   */
+  public TransformerInstanceCache<XQPreparedExpression> getTransformerCache() {
+    return transformerCache;
   }
 
   /**
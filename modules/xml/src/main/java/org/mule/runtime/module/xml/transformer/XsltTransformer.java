@@ -13,13 +13,16 @@ import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.xml.i18n.XmlMessages;
+import org.mule.runtime.module.xml.transformer.TransformerInstanceCache.InstanceFactory;
 import org.mule.runtime.module.xml.util.LocalURIResolver;
 import org.mule.runtime.module.xml.util.XMLUtils;
 
+import java.io.IOException;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -30,19 +33,22 @@ import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
-import org.apache.commons.pool.BasePoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
-
 /**
  * <code>XsltTransformer</code> performs an XSLT transform on a DOM (or other XML-ish) object.
  * <p/>
- * This transformer maintains a pool of {@link javax.xml.transform.Transformer} objects to speed up processing of concurrent
- * requests. The pool can be configured using {@link #setMaxIdleTransformers(int)}.
+ * The stylesheet is compiled once into {@link Templates}, and the {@link javax.xml.transform.Transformer}s created from it are
+ * kept in a {@link TransformerInstanceCache} to speed up processing of concurrent requests. The cache can be configured using
+ * {@link #setMaxIdleTransformers(int)} and {@link #setMaxActiveTransformers(int)}.
+ * <p/>
+ * If the return type is {@link OutputHandler}, the transformation is deferred until the result is written, and its output goes
+ * straight to the target stream instead of being buffered.
  * <p/>
  * Parameter can also be set as part of the transformation context and these can be mapped to content in the current message using
  * property extractors or can be fixed values.
@@ -90,8 +96,6 @@ import org.apache.commons.pool.impl.GenericObjectPool;
 
 public class XsltTransformer extends AbstractXmlTransformer {
 
-  // keep at least 1 XSLT Transformer ready by default
-  private static final int MIN_IDLE_TRANSFORMERS = 1;
   // keep max. 32 XSLT Transformers around by default
   private static final int MAX_IDLE_TRANSFORMERS = 32;
   // MAX_IDLE is also the total limit
@@ -100,7 +104,7 @@ public class XsltTransformer extends AbstractXmlTransformer {
   // Saxon shipped with Mule
   public static final String PREFERRED_TRANSFORMER_FACTORY = "net.sf.saxon.TransformerFactoryImpl";
 
-  protected final GenericObjectPool transformerPool;
+  protected final TransformerInstanceCache<javax.xml.transform.Transformer> transformerCache;
 
   /**
    * Default to Saxon
@@ -111,13 +115,12 @@ public class XsltTransformer extends AbstractXmlTransformer {
   private volatile Map<String, Object> contextProperties;
 
   private URIResolver uriResolver;
+  private volatile Templates templates;
 
   public XsltTransformer() {
     super();
-    transformerPool = new GenericObjectPool(new PooledXsltTransformerFactory());
-    transformerPool.setMinIdle(MIN_IDLE_TRANSFORMERS);
-    transformerPool.setMaxIdle(MAX_IDLE_TRANSFORMERS);
-    transformerPool.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
+    transformerCache = new TransformerInstanceCache<>(new XsltTransformerInstanceFactory(), MAX_IDLE_TRANSFORMERS);
+    transformerCache.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
     contextProperties = new HashMap<>();
   }
 
@@ -134,7 +137,8 @@ public class XsltTransformer extends AbstractXmlTransformer {
         this.uriResolver = new LocalURIResolver(xslFile);
       }
 
-      transformerPool.addObject();
+      templates = createTemplates();
+      transformerCache.clear();
     } catch (Throwable te) {
       throw new InitialisationException(te, this);
     }
@@ -155,6 +159,10 @@ public class XsltTransformer extends AbstractXmlTransformer {
         return null;
       }
 
+      if (OutputHandler.class.equals(getReturnDataType().getType())) {
+        return getStreamingResult(event, outputEncoding, sourceDoc);
+      }
+
       ResultHolder holder = getResultHolder(getReturnDataType().getType());
 
       // If the users hasn't specified a class, lets return the same type they gave us
@@ -198,12 +206,27 @@ public class XsltTransformer extends AbstractXmlTransformer {
     };
   }
 
+  /**
+   * Defers the transformation until the result is written, so its output goes straight to the target stream.
+   */
+  protected OutputHandler getStreamingResult(final Event event, final Charset outputEncoding, final Source sourceDoc) {
+    return (outputEvent, out) -> {
+      try {
+        doTransform(event, outputEncoding, sourceDoc, new StreamResult(out));
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+    };
+  }
+
   protected void doTransform(Event event, Charset outputEncoding, Source sourceDoc, Result result) throws Exception {
     DefaultErrorListener errorListener = new DefaultErrorListener(this);
     javax.xml.transform.Transformer transformer = null;
 
     try {
-      transformer = (javax.xml.transform.Transformer) transformerPool.borrowObject();
+      transformer = transformerCache.acquire();
 
       transformer.setErrorListener(errorListener);
       transformer.setOutputProperty(OutputKeys.ENCODING, outputEncoding.name());
@@ -229,7 +252,7 @@ public class XsltTransformer extends AbstractXmlTransformer {
       }
     } finally {
       if (transformer != null) {
-        transformerPool.returnObject(transformer);
+        transformerCache.release(transformer);
       }
     }
   }
@@ -289,49 +312,57 @@ public class XsltTransformer extends AbstractXmlTransformer {
     }
   }
 
-  protected class PooledXsltTransformerFactory extends BasePoolableObjectFactory {
+  /**
+   * Compiles the stylesheet with the configured {@link TransformerFactory}.
+   *
+   * @return the compiled stylesheet
+   */
+  protected Templates createTemplates() throws Exception {
+    StreamSource source = getStreamSource();
+    String factoryClassName = getXslTransformerFactory();
+    TransformerFactory factory;
+
+    if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
+      logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
+          + " not on classpath and no default is set, defaulting to JDK");
+      factoryClassName = null;
+    }
+
+    if (StringUtils.isNotEmpty(factoryClassName)) {
 
-    @Override
-    public Object makeObject() throws Exception {
-      StreamSource source = XsltTransformer.this.getStreamSource();
-      String factoryClassName = XsltTransformer.this.getXslTransformerFactory();
-      TransformerFactory factory;
-
-      if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
-        logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
-            + " not on classpath and no default is set, defaulting to JDK");
-        factoryClassName = null;
+      factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
+    } else {
+      // fall back to JDK default
+      try {
+        factory = TransformerFactory.newInstance();
+      } catch (TransformerFactoryConfigurationError e) {
+        System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
+        factory = TransformerFactory.newInstance();
       }
+    }
 
-      if (StringUtils.isNotEmpty(factoryClassName)) {
+    factory.setURIResolver(getUriResolver());
 
-        factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
-      } else {
-        // fall back to JDK default
-        try {
-          factory = TransformerFactory.newInstance();
-        } catch (TransformerFactoryConfigurationError e) {
-          System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
-          factory = TransformerFactory.newInstance();
-        }
-      }
+    return factory.newTemplates(source);
+  }
 
-      factory.setURIResolver(getUriResolver());
+  protected class XsltTransformerInstanceFactory implements InstanceFactory<javax.xml.transform.Transformer> {
 
-      return factory.newTransformer(source);
+    @Override
+    public javax.xml.transform.Transformer create() throws Exception {
+      javax.xml.transform.Transformer transformer = templates.newTransformer();
+      transformer.setURIResolver(getUriResolver());
+      return transformer;
     }
 
     @Override
-    public void passivateObject(Object object) throws Exception {
-      javax.xml.transform.Transformer transformer = (javax.xml.transform.Transformer) object;
-
-      // Clear transformation parameters before returning transformer to the pool
+    public void reset(javax.xml.transform.Transformer transformer) throws Exception {
+      // Clear transformation parameters before returning transformer to the cache
       transformer.clearParameters();
 
-      // Clean up transformer before return it to the pool
+      // Clean up transformer before return it to the cache
       transformer.reset();
-
-      super.passivateObject(transformer);
+      transformer.setURIResolver(getUriResolver());
     }
   }
 
@@ -369,35 +400,43 @@ public class XsltTransformer extends AbstractXmlTransformer {
   }
 
   /**
-   * @return The current maximum number of allowable active transformer objects in the pool
+   * @return The current maximum number of allowable active transformer objects, negative if there is no limit
    */
   public int getMaxActiveTransformers() {
-    return transformerPool.getMaxActive();
+    return transformerCache.getMaxActive();
   }
 
   /**
-   * Sets the the current maximum number of active transformer objects allowed in the pool
+   * Sets the the current maximum number of active transformer objects allowed. Defaults to 32.
    *
-   * @param maxActiveTransformers New maximum size to set
+   * @param maxActiveTransformers New maximum size to set, or a negative value for no limit
    */
   public void setMaxActiveTransformers(int maxActiveTransformers) {
-    transformerPool.setMaxActive(maxActiveTransformers);
+    transformerCache.setMaxActive(maxActiveTransformers);
   }
 
   /**
-   * @return The current maximum number of allowable idle transformer objects in the pool
+   * @return The current maximum number of allowable idle transformer objects in the cache
    */
   public int getMaxIdleTransformers() {
-    return transformerPool.getMaxIdle();
+    return transformerCache.getMaxIdle();
   }
 
   /**
-   * Sets the the current maximum number of idle transformer objects allowed in the pool
+   * Sets the the current maximum number of idle transformer objects allowed in the cache
    *
    * @param maxIdleTransformers New maximum size to set
    */
   public void setMaxIdleTransformers(int maxIdleTransformers) {
-    transformerPool.setMaxIdle(maxIdleTransformers);
+    transformerCache.setMaxIdle(maxIdleTransformers);
+  }
+
+  /**
+   * @return the cache of {@link javax.xml.transform.Transformer}s, which records how many were created and how long threads
+   *         waited for one
+   */
+  public TransformerInstanceCache<javax.xml.transform.Transformer> getTransformerCache() {
+    return transformerCache;
   }
 
   /**
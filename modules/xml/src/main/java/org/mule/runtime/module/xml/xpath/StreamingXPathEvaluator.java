@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.module.xml.i18n.XmlMessages;
+import org.mule.runtime.module.xml.util.NamespaceManager;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Evaluates XPath expressions over a {@link XMLStreamReader} in a single forward pass, without building a DOM of the whole
+ * document. Only the subset of XPath described in {@link StreamingXPathExpression} is supported; {@link #isStreamable(String)}
+ * tells whether a given expression is part of it, so callers can fall back to an {@link XPathEvaluator} otherwise.
+ * <p>
+ * Evaluations that need a single result stop reading as soon as the first match is found. Node results only build the DOM of
+ * the matched subtrees, and {@link #split(String, XMLStreamReader)} only keeps the current match in memory.
+ * <p>
+ * As with {@link JaxpXPathEvaluator}, compiled expressions are cached and evicted after a minute without being used.
+ *
+ * @since 4.0
+ */
+public class StreamingXPathEvaluator {
+
+  private final Map<String, String> prefixToNamespaceMap = new HashMap<>();
+  private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+  private final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+
+  private final LoadingCache<String, Optional<StreamingXPathExpression>> expressionCache =
+      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES)
+          .build(new CacheLoader<String, Optional<StreamingXPathExpression>>() {
+
+            @Override
+            public Optional<StreamingXPathExpression> load(String key) throws Exception {
+              try {
+                return Optional.of(StreamingXPathExpression.compile(key, namespaceContext));
+              } catch (XPathExpressionException e) {
+                return Optional.empty();
+              }
+            }
+          });
+
+  private volatile XPathNamespaceContext namespaceContext = new XPathNamespaceContext(prefixToNamespaceMap);
+
+  public StreamingXPathEvaluator() {
+    documentBuilderFactory.setNamespaceAware(true);
+  }
+
+  /**
+   * @param xpathExpression an XPath expression
+   * @return whether the expression can be evaluated by this evaluator
+   */
+  public boolean isStreamable(String xpathExpression) {
+    return expressionCache.getUnchecked(xpathExpression).isPresent();
+  }
+
+  /**
+   * Evaluates the expression over the given reader. The reader is left where the evaluation stopped, and it is up to the caller
+   * to close it.
+   *
+   * @param xpathExpression an expression for which {@link #isStreamable(String)} is {@code true}
+   * @param input the reader of the document to evaluate the expression on
+   * @param returnType the type of the result
+   * @return the result of the evaluation, as the {@link XPathEvaluator} would return it
+   */
+  public Object evaluate(String xpathExpression, XMLStreamReader input, XPathReturnType returnType) {
+    StreamingXPathExpression expression = compiled(xpathExpression);
+    try {
+      StreamingXPathExpression.Cursor cursor = expression.cursor(input);
+      switch (returnType) {
+        case BOOLEAN:
+          return cursor.next();
+        case NUMBER:
+          return cursor.next() ? toNumber(cursor.getStringValue()) : Double.NaN;
+        case STRING:
+          return cursor.next() ? cursor.getStringValue() : "";
+        case NODE:
+          return cursor.next() ? toNode(expression, cursor, newDocument().createDocumentFragment()) : null;
+        default:
+          DocumentFragment fragment = newDocument().createDocumentFragment();
+          List<Node> nodes = new ArrayList<>();
+          while (cursor.next()) {
+            nodes.add(toNode(expression, cursor, fragment));
+          }
+          return new NodeListAdapter(nodes);
+      }
+    } catch (XMLStreamException e) {
+      throw new MuleRuntimeException(XmlMessages.failedToProcessXPath(xpathExpression), e);
+    }
+  }
+
+  /**
+   * Lazily splits the document in the given reader into the serialized form of each element matched by the expression. The
+   * reader is read as the returned iterator is consumed, and closed once there are no more matches. The returned iterator is
+   * also {@link Closeable}, to close the reader when the iterator is not consumed to its end.
+   *
+   * @param xpathExpression an expression for which {@link #isStreamable(String)} is {@code true} that selects elements
+   * @param input the reader of the document to split
+   * @return an iterator over the XML fragments of the matched elements
+   */
+  public Iterator<String> split(String xpathExpression, XMLStreamReader input) {
+    StreamingXPathExpression expression = compiled(xpathExpression);
+    checkArgument(expression.selectsElements(), "Only expressions selecting elements can be used for splitting");
+    return new SplitIterator(xpathExpression, expression.cursor(input), input);
+  }
+
+  /**
+   * Registers the given namespaces so they can be used in the expressions. Cached expressions are discarded.
+   */
+  public void registerNamespaces(Map<String, String> namespaces) {
+    checkArgument(namespaces != null, "cannot register null namespaces");
+    synchronized (prefixToNamespaceMap) {
+      prefixToNamespaceMap.putAll(namespaces);
+      namespaceContext = new XPathNamespaceContext(prefixToNamespaceMap);
+    }
+    expressionCache.invalidateAll();
+  }
+
+  /**
+   * Registers the namespaces in the given {@link NamespaceManager}
+   */
+  public void registerNamespaces(NamespaceManager namespaceManager) {
+    checkArgument(namespaceManager != null, "cannot register a null namespace manager");
+    registerNamespaces(namespaceManager.getNamespaces());
+  }
+
+  /**
+   * @return an immutable copy of the currently registered namespaces
+   */
+  public Map<String, String> getRegisteredNamespaces() {
+    synchronized (prefixToNamespaceMap) {
+      return ImmutableMap.copyOf(prefixToNamespaceMap);
+    }
+  }
+
+  private StreamingXPathExpression compiled(String xpathExpression) {
+    Optional<StreamingXPathExpression> expression = expressionCache.getUnchecked(xpathExpression);
+    if (expression.isPresent()) {
+      return expression.get();
+    }
+    try {
+      // Compiled again just to report why the expression is not supported
+      return StreamingXPathExpression.compile(xpathExpression, namespaceContext);
+    } catch (XPathExpressionException e) {
+      throw new MuleRuntimeException(XmlMessages.streamingXPathNotSupported(xpathExpression), e);
+    }
+  }
+
+  private Node toNode(StreamingXPathExpression expression, StreamingXPathExpression.Cursor cursor, DocumentFragment parent)
+      throws XMLStreamException {
+    Document document = parent.getOwnerDocument();
+    if (expression.selectsElements()) {
+      XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(new DOMResult(parent));
+      cursor.writeMatch(writer);
+      writer.flush();
+      return parent.getLastChild();
+    } else if (expression.selectsAttributes()) {
+      Attr attribute = cursor.getNamespaceURI().isEmpty() ? document.createAttribute(cursor.getLocalName())
+          : document.createAttributeNS(cursor.getNamespaceURI(), qualifiedName(cursor));
+      attribute.setValue(cursor.getStringValue());
+      return attribute;
+    } else {
+      return parent.appendChild(document.createTextNode(cursor.getStringValue()));
+    }
+  }
+
+  private String qualifiedName(StreamingXPathExpression.Cursor cursor) {
+    return cursor.getPrefix().isEmpty() ? cursor.getLocalName() : cursor.getPrefix() + ":" + cursor.getLocalName();
+  }
+
+  private Double toNumber(String value) {
+    try {
+      return Double.valueOf(value.trim());
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  private Document newDocument() {
+    try {
+      return documentBuilderFactory.newDocumentBuilder().newDocument();
+    } catch (ParserConfigurationException e) {
+      throw new MuleRuntimeException(XmlMessages.failedToCreateDocumentBuilder(), e);
+    }
+  }
+
+  private class SplitIterator implements Iterator<String>, Closeable {
+
+    private final String xpathExpression;
+    private final StreamingXPathExpression.Cursor cursor;
+    private final XMLStreamReader input;
+    private String next;
+    private boolean done;
+
+    private SplitIterator(String xpathExpression, StreamingXPathExpression.Cursor cursor, XMLStreamReader input) {
+      this.xpathExpression = xpathExpression;
+      this.cursor = cursor;
+      this.input = input;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !done) {
+        next = advance();
+      }
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String current = next;
+      next = null;
+      return current;
+    }
+
+    private String advance() {
+      try {
+        if (cursor.next()) {
+          StringWriter fragment = new StringWriter();
+          XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(fragment);
+          cursor.writeMatch(writer);
+          writer.close();
+          return fragment.toString();
+        }
+        done = true;
+        input.close();
+        return null;
+      } catch (XMLStreamException e) {
+        done = true;
+        throw new MuleRuntimeException(XmlMessages.failedToProcessXPath(xpathExpression), e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      done = true;
+      next = null;
+      try {
+        input.close();
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
+  private static class NodeListAdapter implements NodeList {
+
+    private final List<Node> nodes;
+
+    private NodeListAdapter(List<Node> nodes) {
+      this.nodes = nodes;
+    }
+
+    @Override
+    public Node item(int index) {
+      return index >= 0 && index < nodes.size() ? nodes.get(index) : null;
+    }
+
+    @Override
+    public int getLength() {
+      return nodes.size();
+    }
+  }
+}
@@ -0,0 +1,688 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import static javax.xml.XMLConstants.NULL_NS_URI;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * A compiled XPath expression that is evaluated in a single forward pass over a {@link XMLStreamReader}, so the document never
+ * needs to be loaded in memory.
+ * <p>
+ * Only a forward-only subset of XPath is supported: location paths made of child ({@code /}) and descendant ({@code //}) steps
+ * with a name test ({@code name}, {@code prefix:name}, {@code *} or {@code prefix:*}), each optionally followed by attribute
+ * predicates ({@code [@attr]} or {@code [@attr='value']}) and a trailing positional predicate ({@code [2]}). The path may end
+ * in an attribute ({@code /@attr}) or {@code /text()} step. Relative paths are evaluated against the document node. Any other
+ * construct is rejected when compiling, so callers can fall back to a DOM based evaluation.
+ * <p>
+ * When an element matches, its whole subtree is the match, so elements matching the same expression nested inside it are not
+ * reported separately.
+ *
+ * @since 4.0
+ */
+public final class StreamingXPathExpression {
+
+  private enum Terminal {
+    ELEMENT, ATTRIBUTE, TEXT
+  }
+
+  private final String expression;
+  private final Step[] steps;
+  private final Terminal terminal;
+  private final NameTest attributeTest;
+
+  private StreamingXPathExpression(String expression, Step[] steps, Terminal terminal, NameTest attributeTest) {
+    this.expression = expression;
+    this.steps = steps;
+    this.terminal = terminal;
+    this.attributeTest = attributeTest;
+  }
+
+  /**
+   * Compiles the given expression.
+   *
+   * @param expression an XPath expression
+   * @param namespaceContext the context to resolve the prefixes used in the expression
+   * @return the compiled expression
+   * @throws XPathExpressionException if the expression is not valid or not in the supported subset
+   */
+  public static StreamingXPathExpression compile(String expression, NamespaceContext namespaceContext)
+      throws XPathExpressionException {
+    return new Parser(expression, namespaceContext).parse();
+  }
+
+  /**
+   * @return the expression this instance was compiled from
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * @return whether the matches of this expression are elements, which can be copied through {@link Cursor#writeMatch}
+   */
+  public boolean selectsElements() {
+    return terminal == Terminal.ELEMENT;
+  }
+
+  /**
+   * @return whether the matches of this expression are attributes
+   */
+  public boolean selectsAttributes() {
+    return terminal == Terminal.ATTRIBUTE;
+  }
+
+  /**
+   * Creates a {@link Cursor} that iterates the matches of this expression over {@code reader}. The reader must be positioned at
+   * the start of the document or of the root element.
+   */
+  public Cursor cursor(XMLStreamReader reader) {
+    return new Cursor(reader);
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  /**
+   * Iterates over the matches of the expression, leaving the reader positioned on each of them. A cursor is not thread safe.
+   */
+  public final class Cursor {
+
+    private final XMLStreamReader reader;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private boolean startPending;
+
+    private boolean inMatch;
+    private boolean matchConsumed;
+    private String matchValue;
+    private String matchNamespaceURI;
+    private String matchPrefix;
+    private String matchLocalName;
+
+    private Cursor(XMLStreamReader reader) {
+      this.reader = reader;
+      BitSet initial = new BitSet(steps.length);
+      initial.set(0);
+      frames.push(new Frame(initial, null));
+      startPending = reader.getEventType() == START_ELEMENT;
+    }
+
+    /**
+     * Moves to the next match, skipping whatever is left of the current one.
+     *
+     * @return whether a match was found before the end of the document
+     */
+    public boolean next() throws XMLStreamException {
+      finishMatch();
+      while (true) {
+        int event;
+        if (startPending) {
+          startPending = false;
+          event = reader.getEventType();
+        } else if (reader.hasNext()) {
+          event = reader.next();
+        } else {
+          return false;
+        }
+
+        if (event == START_ELEMENT) {
+          if (startElement()) {
+            return true;
+          }
+        } else if (event == END_ELEMENT) {
+          frames.pop();
+        } else if (event == END_DOCUMENT) {
+          return false;
+        }
+      }
+    }
+
+    /**
+     * @return the string value of the current match: the attribute value, the text of the element, or the text directly
+     *         contained in the element for {@code text()} expressions. Reading the value of an element consumes it.
+     */
+    public String getStringValue() throws XMLStreamException {
+      if (matchValue == null && !matchConsumed) {
+        matchValue = readText(terminal == Terminal.ELEMENT);
+        matchConsumed = true;
+      }
+      return matchValue;
+    }
+
+    /**
+     * @return the namespace URI of the current match, which is an empty string if the node is not in a namespace
+     */
+    public String getNamespaceURI() {
+      return matchNamespaceURI;
+    }
+
+    /**
+     * @return the prefix of the current match, which is an empty string if the node has no prefix
+     */
+    public String getPrefix() {
+      return matchPrefix;
+    }
+
+    /**
+     * @return the local name of the current match
+     */
+    public String getLocalName() {
+      return matchLocalName;
+    }
+
+    /**
+     * Copies the current match, which must be an element, to {@code writer}, declaring on its root element the namespaces
+     * inherited from its ancestors. The element is consumed by this operation.
+     */
+    public void writeMatch(XMLStreamWriter writer) throws XMLStreamException {
+      if (terminal != Terminal.ELEMENT || matchConsumed) {
+        throw new IllegalStateException("There is no element match available to write for '" + expression + "'");
+      }
+      matchConsumed = true;
+
+      int depth = 0;
+      int event = reader.getEventType();
+      do {
+        switch (event) {
+          case START_ELEMENT:
+            writeStartElement(writer, depth == 0);
+            ++depth;
+            break;
+          case END_ELEMENT:
+            writer.writeEndElement();
+            --depth;
+            break;
+          case CHARACTERS:
+          case SPACE:
+            writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            break;
+          case CDATA:
+            writer.writeCData(reader.getText());
+            break;
+          case COMMENT:
+            writer.writeComment(reader.getText());
+            break;
+          case PROCESSING_INSTRUCTION:
+            writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+            break;
+          default:
+            break;
+        }
+        if (depth > 0) {
+          event = reader.next();
+        }
+      } while (depth > 0);
+    }
+
+    private void writeStartElement(XMLStreamWriter writer, boolean root) throws XMLStreamException {
+      String prefix = nullToEmpty(reader.getPrefix());
+      String namespaceURI = nullToEmpty(reader.getNamespaceURI());
+      if (prefix.isEmpty() && namespaceURI.isEmpty()) {
+        writer.writeStartElement(reader.getLocalName());
+      } else {
+        writer.writeStartElement(prefix, reader.getLocalName(), namespaceURI);
+      }
+
+      Map<String, String> namespaces = declaredNamespaces();
+      if (root) {
+        Map<String, String> inherited = new LinkedHashMap<>();
+        Iterator<Frame> outwards = frames.descendingIterator();
+        while (outwards.hasNext()) {
+          Frame frame = outwards.next();
+          if (frame.namespaces != null) {
+            inherited.putAll(frame.namespaces);
+          }
+        }
+        if (namespaces != null) {
+          inherited.putAll(namespaces);
+        }
+        namespaces = inherited;
+      }
+
+      if (namespaces != null) {
+        for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+          if (namespace.getKey().isEmpty()) {
+            writer.writeDefaultNamespace(namespace.getValue());
+          } else {
+            writer.writeNamespace(namespace.getKey(), namespace.getValue());
+          }
+        }
+      }
+
+      for (int i = 0; i < reader.getAttributeCount(); ++i) {
+        String attributeNamespace = nullToEmpty(reader.getAttributeNamespace(i));
+        if (attributeNamespace.isEmpty()) {
+          writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        } else {
+          writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), attributeNamespace, reader.getAttributeLocalName(i),
+                                reader.getAttributeValue(i));
+        }
+      }
+    }
+
+    private boolean startElement() throws XMLStreamException {
+      Frame parent = frames.peek();
+      BitSet childStates = new BitSet(steps.length);
+      boolean matched = false;
+
+      for (int state = parent.states.nextSetBit(0); state >= 0; state = parent.states.nextSetBit(state + 1)) {
+        Step step = steps[state];
+        if (step.descendant) {
+          childStates.set(state);
+        }
+        if (step.matches(reader) && (step.position == 0 || parent.increment(state, steps.length) == step.position)) {
+          if (state == steps.length - 1) {
+            matched = true;
+          } else {
+            childStates.set(state + 1);
+          }
+        }
+      }
+
+      if (matched && terminal == Terminal.ATTRIBUTE) {
+        int index = attributeTest.findAttribute(reader);
+        frames.push(new Frame(childStates, declaredNamespaces()));
+        if (index >= 0) {
+          startMatch(reader.getAttributeValue(index), reader.getAttributeNamespace(index), reader.getAttributePrefix(index),
+                     reader.getAttributeLocalName(index));
+          return true;
+        }
+        return false;
+      } else if (matched) {
+        startMatch(null, reader.getNamespaceURI(), reader.getPrefix(), reader.getLocalName());
+        return true;
+      } else if (childStates.isEmpty()) {
+        skipElement();
+        return false;
+      } else {
+        frames.push(new Frame(childStates, declaredNamespaces()));
+        return false;
+      }
+    }
+
+    private void startMatch(String value, String namespaceURI, String prefix, String localName) {
+      inMatch = true;
+      matchConsumed = terminal == Terminal.ATTRIBUTE;
+      matchValue = value;
+      matchNamespaceURI = nullToEmpty(namespaceURI);
+      matchPrefix = nullToEmpty(prefix);
+      matchLocalName = localName;
+    }
+
+    private void finishMatch() throws XMLStreamException {
+      if (inMatch && !matchConsumed) {
+        skipElement();
+      }
+      inMatch = false;
+      matchConsumed = false;
+      matchValue = null;
+    }
+
+    private Map<String, String> declaredNamespaces() {
+      int count = reader.getNamespaceCount();
+      if (count == 0) {
+        return null;
+      }
+      Map<String, String> namespaces = new HashMap<>(count * 2);
+      for (int i = 0; i < count; ++i) {
+        namespaces.put(nullToEmpty(reader.getNamespacePrefix(i)), nullToEmpty(reader.getNamespaceURI(i)));
+      }
+      return namespaces;
+    }
+
+    /**
+     * Reads the text of the element the reader is positioned on, leaving the reader on its end.
+     */
+    private String readText(boolean descendants) throws XMLStreamException {
+      StringBuilder text = new StringBuilder();
+      int depth = 1;
+      while (depth > 0) {
+        int event = reader.next();
+        if (event == START_ELEMENT) {
+          ++depth;
+        } else if (event == END_ELEMENT) {
+          --depth;
+        } else if ((event == CHARACTERS || event == CDATA || event == SPACE) && (descendants || depth == 1)) {
+          text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+        }
+      }
+      return text.toString();
+    }
+
+    /**
+     * Skips the element the reader is positioned on, leaving the reader on its end.
+     */
+    private void skipElement() throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0) {
+        int event = reader.next();
+        if (event == START_ELEMENT) {
+          ++depth;
+        } else if (event == END_ELEMENT) {
+          --depth;
+        }
+      }
+    }
+  }
+
+  /**
+   * The matching state for the children of an open element.
+   */
+  private static final class Frame {
+
+    /** The steps the children of the element may match */
+    private final BitSet states;
+    /** The namespaces declared by the element, if any */
+    private final Map<String, String> namespaces;
+    /** The count of children that matched each step, for positional predicates */
+    private int[] positions;
+
+    private Frame(BitSet states, Map<String, String> namespaces) {
+      this.states = states;
+      this.namespaces = namespaces;
+    }
+
+    private int increment(int state, int stateCount) {
+      if (positions == null) {
+        positions = new int[stateCount];
+      }
+      return ++positions[state];
+    }
+  }
+
+  private static final class NameTest {
+
+    /** {@code null} when any namespace is accepted */
+    private final String namespaceURI;
+    /** {@code null} when any name is accepted */
+    private final String localName;
+
+    private NameTest(String namespaceURI, String localName) {
+      this.namespaceURI = namespaceURI;
+      this.localName = localName;
+    }
+
+    private boolean matches(String namespaceURI, String localName) {
+      return (this.localName == null || this.localName.equals(localName))
+          && (this.namespaceURI == null || this.namespaceURI.equals(nullToEmpty(namespaceURI)));
+    }
+
+    private int findAttribute(XMLStreamReader reader) {
+      for (int i = 0; i < reader.getAttributeCount(); ++i) {
+        if (matches(reader.getAttributeNamespace(i), reader.getAttributeLocalName(i))) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private static final class AttributePredicate {
+
+    private final NameTest name;
+    /** {@code null} when only the presence of the attribute is checked */
+    private final String value;
+
+    private AttributePredicate(NameTest name, String value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    private boolean matches(XMLStreamReader reader) {
+      for (int i = 0; i < reader.getAttributeCount(); ++i) {
+        if (name.matches(reader.getAttributeNamespace(i), reader.getAttributeLocalName(i))
+            && (value == null || value.equals(reader.getAttributeValue(i)))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class Step {
+
+    private final boolean descendant;
+    private final NameTest name;
+    private final AttributePredicate[] predicates;
+    /** The 1-based position required among the matching siblings, or 0 if there's no positional predicate */
+    private final int position;
+
+    private Step(boolean descendant, NameTest name, AttributePredicate[] predicates, int position) {
+      this.descendant = descendant;
+      this.name = name;
+      this.predicates = predicates;
+      this.position = position;
+    }
+
+    private boolean matches(XMLStreamReader reader) {
+      if (!name.matches(reader.getNamespaceURI(), reader.getLocalName())) {
+        return false;
+      }
+      for (AttributePredicate predicate : predicates) {
+        if (!predicate.matches(reader)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final class Parser {
+
+    private final String expression;
+    private final NamespaceContext namespaceContext;
+    private int index;
+
+    private Parser(String expression, NamespaceContext namespaceContext) {
+      this.expression = expression.trim();
+      this.namespaceContext = namespaceContext;
+    }
+
+    private StreamingXPathExpression parse() throws XPathExpressionException {
+      List<Step> steps = new ArrayList<>();
+      Terminal terminal = Terminal.ELEMENT;
+      NameTest attributeTest = null;
+
+      if (expression.isEmpty()) {
+        throw unsupported("empty expression");
+      }
+
+      boolean first = true;
+      while (index < expression.length()) {
+        boolean descendant = false;
+        if (expression.startsWith("//", index)) {
+          descendant = true;
+          index += 2;
+        } else if (expression.charAt(index) == '/') {
+          ++index;
+        } else if (!first) {
+          throw unsupported("unexpected '" + expression.charAt(index) + "'");
+        }
+        first = false;
+
+        if (expression.startsWith("@", index)) {
+          if (descendant || steps.isEmpty()) {
+            throw unsupported("attribute steps are only supported at the end of a path");
+          }
+          ++index;
+          attributeTest = nameTest();
+          terminal = Terminal.ATTRIBUTE;
+          break;
+        }
+        if (expression.startsWith("text()", index)) {
+          if (descendant || steps.isEmpty()) {
+            throw unsupported("text() steps are only supported at the end of a path");
+          }
+          index += "text()".length();
+          terminal = Terminal.TEXT;
+          break;
+        }
+
+        steps.add(step(descendant));
+      }
+
+      if (index < expression.length()) {
+        throw unsupported("unexpected '" + expression.substring(index) + "'");
+      }
+      if (steps.isEmpty()) {
+        throw unsupported("the path selects no element");
+      }
+
+      return new StreamingXPathExpression(expression, steps.toArray(new Step[steps.size()]), terminal, attributeTest);
+    }
+
+    private Step step(boolean descendant) throws XPathExpressionException {
+      NameTest name = nameTest();
+      List<AttributePredicate> predicates = new ArrayList<>();
+      int position = 0;
+
+      while (index < expression.length() && expression.charAt(index) == '[') {
+        if (position != 0) {
+          throw unsupported("predicates after a positional predicate");
+        }
+        ++index;
+        skipWhitespace();
+        if (index < expression.length() && expression.charAt(index) == '@') {
+          ++index;
+          NameTest attribute = nameTest();
+          String value = null;
+          skipWhitespace();
+          if (index < expression.length() && expression.charAt(index) == '=') {
+            ++index;
+            skipWhitespace();
+            value = literal();
+          }
+          predicates.add(new AttributePredicate(attribute, value));
+        } else {
+          position = position();
+        }
+        skipWhitespace();
+        expect(']');
+      }
+
+      return new Step(descendant, name, predicates.toArray(new AttributePredicate[predicates.size()]), position);
+    }
+
+    private NameTest nameTest() throws XPathExpressionException {
+      String first = ncNameOrWildcard();
+      if (index < expression.length() && expression.charAt(index) == ':') {
+        if (first == null) {
+          throw unsupported("'*:' name tests");
+        }
+        ++index;
+        String namespaceURI = namespaceContext.getNamespaceURI(first);
+        if (namespaceURI == null || namespaceURI.isEmpty()) {
+          throw new XPathExpressionException("Undeclared namespace prefix '" + first + "' in '" + expression + "'");
+        }
+        return new NameTest(namespaceURI, ncNameOrWildcard());
+      }
+      return new NameTest(first == null ? null : NULL_NS_URI, first);
+    }
+
+    /**
+     * @return the name read, or {@code null} for a wildcard
+     */
+    private String ncNameOrWildcard() throws XPathExpressionException {
+      if (index < expression.length() && expression.charAt(index) == '*') {
+        ++index;
+        return null;
+      }
+      int start = index;
+      while (index < expression.length() && isNameChar(expression.charAt(index), index == start)) {
+        ++index;
+      }
+      if (start == index) {
+        throw unsupported(index < expression.length() ? "unexpected '" + expression.charAt(index) + "'" : "missing name");
+      }
+      String name = expression.substring(start, index);
+      if (index < expression.length() && (expression.charAt(index) == '(' || expression.startsWith("::", index))) {
+        throw unsupported("'" + name + expression.charAt(index) + "'");
+      }
+      return name;
+    }
+
+    private String literal() throws XPathExpressionException {
+      if (index >= expression.length() || (expression.charAt(index) != '\'' && expression.charAt(index) != '"')) {
+        throw unsupported("predicates not comparing an attribute to a string literal");
+      }
+      char quote = expression.charAt(index);
+      int end = expression.indexOf(quote, index + 1);
+      if (end < 0) {
+        throw new XPathExpressionException("Unterminated literal in '" + expression + "'");
+      }
+      String value = expression.substring(index + 1, end);
+      index = end + 1;
+      return value;
+    }
+
+    private int position() throws XPathExpressionException {
+      int start = index;
+      while (index < expression.length() && Character.isDigit(expression.charAt(index))) {
+        ++index;
+      }
+      if (start == index || index - start > 9) {
+        throw unsupported("predicates other than attribute tests and positions");
+      }
+      int position = Integer.parseInt(expression.substring(start, index));
+      if (position == 0) {
+        throw unsupported("position 0");
+      }
+      return position;
+    }
+
+    private void expect(char expected) throws XPathExpressionException {
+      if (index >= expression.length() || expression.charAt(index) != expected) {
+        throw unsupported("missing '" + expected + "'");
+      }
+      ++index;
+    }
+
+    private void skipWhitespace() {
+      while (index < expression.length() && Character.isWhitespace(expression.charAt(index))) {
+        ++index;
+      }
+    }
+
+    private boolean isNameChar(char c, boolean start) {
+      return Character.isLetter(c) || c == '_' || (!start && (Character.isDigit(c) || c == '-' || c == '.'));
+    }
+
+    private XPathExpressionException unsupported(String reason) {
+      return new XPathExpressionException("XPath expression '" + expression + "' cannot be evaluated in streaming mode: "
+          + reason);
+    }
+  }
+
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
+  }
+}
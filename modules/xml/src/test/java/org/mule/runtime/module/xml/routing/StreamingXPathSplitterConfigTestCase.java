@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.routing;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.construct.Flow;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+public class StreamingXPathSplitterConfigTestCase extends FunctionalTestCase {
+
+  private static final String CATALOG = "<catalog xmlns=\"http://catalog.com\"><book>Dune</book><shelf><book>Emma</book></shelf>"
+      + "</catalog>";
+
+  private static final List<String> parts = new CopyOnWriteArrayList<>();
+
+  @Override
+  protected String getConfigFile() {
+    return "streaming-xpath-splitter-config.xml";
+  }
+
+  @Test
+  public void splitterIsParsed() throws Exception {
+    Flow flow = (Flow) getFlowConstruct("splitBooks");
+    Processor processor = flow.getMessageProcessors().get(0);
+    assertThat(processor, instanceOf(StreamingXPathSplitter.class));
+
+    StreamingXPathSplitter splitter = (StreamingXPathSplitter) processor;
+    assertThat(splitter.getExpression(), equalTo("//c:book"));
+    assertThat(splitter.getNamespaces(), hasEntry("c", "http://catalog.com"));
+  }
+
+  @Test
+  public void splitsWithConfiguredNamespaces() throws Exception {
+    parts.clear();
+    flowRunner("splitBooks").withPayload(CATALOG).run();
+
+    assertThat(parts.size(), is(2));
+    assertThat(parts.get(0), containsString("Dune"));
+    assertThat(parts.get(1), containsString("Emma"));
+  }
+
+  public static class PartsCollector implements Processor {
+
+    @Override
+    public Event process(Event event) throws MuleException {
+      parts.add((String) event.getMessage().getPayload().getValue());
+      return event;
+    }
+  }
+}
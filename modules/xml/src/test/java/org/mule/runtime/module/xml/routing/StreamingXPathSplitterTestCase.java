@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.routing;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class StreamingXPathSplitterTestCase extends AbstractMuleContextTestCase {
+
+  private static final String CATALOG = "<catalog><book id=\"1\">Dune</book><shelf><book id=\"2\">Emma</book></shelf>"
+      + "<book id=\"3\">Ubik</book></catalog>";
+
+  private final List<Event> parts = new ArrayList<>();
+
+  @Test
+  public void splitsMatchedElements() throws Exception {
+    createSplitter("//book", event -> {
+      parts.add(event);
+      return event;
+    }).process(eventWithPayload(CATALOG));
+
+    assertThat(parts.size(), is(3));
+    assertThat(parts.get(0).getMessage().getPayload().getValue(), is("<book id=\"1\">Dune</book>"));
+    assertThat(parts.get(1).getMessage().getPayload().getValue(), is("<book id=\"2\">Emma</book>"));
+  }
+
+  @Test(expected = InitialisationException.class)
+  public void unsupportedExpression() throws Exception {
+    createSplitter("count(//book)", event -> event);
+  }
+
+  private StreamingXPathSplitter createSplitter(String expression, Processor listener) throws Exception {
+    StreamingXPathSplitter splitter = new StreamingXPathSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setExpression(expression);
+    splitter.setListener(listener);
+    splitter.initialise();
+    return splitter;
+  }
+
+  private Event eventWithPayload(Object payload) throws Exception {
+    return eventBuilder().message(InternalMessage.of(payload)).build();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformer;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.module.xml.transformer.TransformerInstanceCache.InstanceFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+@SmallTest
+public class TransformerInstanceCacheTestCase extends AbstractMuleTestCase {
+
+  private final AtomicInteger instances = new AtomicInteger();
+  private final List<StringBuilder> destroyed = new CopyOnWriteArrayList<>();
+
+  private final InstanceFactory<StringBuilder> factory = new InstanceFactory<StringBuilder>() {
+
+    @Override
+    public StringBuilder create() {
+      return new StringBuilder("instance" + instances.incrementAndGet());
+    }
+
+    @Override
+    public void reset(StringBuilder instance) {
+      instance.setLength("instanceN".length());
+    }
+
+    @Override
+    public void destroy(StringBuilder instance) {
+      destroyed.add(instance);
+    }
+  };
+
+  @Test
+  public void reusesResetInstances() throws Exception {
+    TransformerInstanceCache<StringBuilder> cache = new TransformerInstanceCache<>(factory, 2);
+
+    StringBuilder instance = cache.acquire();
+    instance.append("-param");
+    cache.release(instance);
+
+    StringBuilder reused = cache.acquire();
+    assertThat(reused, sameInstance(instance));
+    assertThat(reused.toString(), is("instance1"));
+    assertThat(cache.getCreatedCount(), is(1L));
+    assertThat(cache.getAcquiredCount(), is(2L));
+  }
+
+  @Test
+  public void destroysInstancesBeyondMaxIdle() throws Exception {
+    TransformerInstanceCache<StringBuilder> cache = new TransformerInstanceCache<>(factory, 1);
+
+    StringBuilder first = cache.acquire();
+    StringBuilder second = cache.acquire();
+    assertThat(second, not(sameInstance(first)));
+    cache.release(first);
+    cache.release(second);
+
+    assertThat(destroyed, contains(second));
+    cache.clear();
+    assertThat(destroyed, contains(second, first));
+  }
+
+  @Test
+  public void waitsWhenMaxActiveReached() throws Exception {
+    TransformerInstanceCache<StringBuilder> cache = new TransformerInstanceCache<>(factory, 1);
+    cache.setMaxActive(1);
+
+    StringBuilder instance = cache.acquire();
+    CountDownLatch acquired = new CountDownLatch(1);
+    AtomicReference<StringBuilder> waiter = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        waiter.set(cache.acquire());
+        acquired.countDown();
+      } catch (Exception e) {
+        // the assertions below fail
+      }
+    });
+    thread.start();
+
+    while (cache.getWaitCount() == 0) {
+      Thread.sleep(10);
+    }
+    cache.release(instance);
+    thread.join(5000);
+
+    assertThat(acquired.getCount(), is(0L));
+    assertThat(waiter.get(), sameInstance(instance));
+    assertThat(cache.getWaitCount(), is(1L));
+    assertThat(cache.getCreatedCount(), is(1L));
+  }
+}
@@ -155,6 +155,30 @@ public class XPathExtractorTestCase extends AbstractMuleContextTestCase {
     assertEquals("Wrong value extracted.", "node2", result.item(0).getNodeName());
   }
 
+  @Test
+  public void streamingStringResult() throws Exception {
+    final XPathExtractor extractor = new XPathExtractor();
+    extractor.setExpression("/root/node");
+    extractor.setResultType(XPathReturnType.STRING);
+    extractor.setStreaming(true);
+    initialiseObject(extractor);
+
+    assertEquals("Wrong value extracted.", "value1", extractor.transform(TEST_XML_SINGLE_RESULT));
+    assertEquals("Wrong value extracted.", "value1", extractor.transform(TEST_XML_SINGLE_RESULT.getBytes()));
+  }
+
+  @Test
+  public void streamingNumberResult() throws Exception {
+    final XPathExtractor extractor = new XPathExtractor();
+    extractor.setExpression("/root/node2");
+    extractor.setResultType(XPathReturnType.NUMBER);
+    extractor.setStreaming(true);
+    initialiseObject(extractor);
+
+    assertEquals("Wrong value extracted.", 2.0, (Double) extractor.transform(TEST_XML_SINGLE_RESULT), 0.0);
+    assertEquals("Wrong value extracted.", 2.0, (Double) extractor.transform(TEST_XML_SINGLE_RESULT.getBytes()), 0.0);
+  }
+
   @Test
   public void nodeToStringResultWithNameSpaces() throws Exception {
     registerNamespaces();
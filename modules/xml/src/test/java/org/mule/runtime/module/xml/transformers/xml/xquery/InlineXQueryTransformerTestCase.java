@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.xml.transformers.xml.xquery;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.transformer.AbstractTransformerTestCase;
@@ -13,6 +15,7 @@ import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.xml.transformer.XQueryTransformer;
 
 import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
 import org.w3c.dom.Document;
 
 public class InlineXQueryTransformerTestCase extends AbstractTransformerTestCase {
@@ -58,6 +61,18 @@ public class InlineXQueryTransformerTestCase extends AbstractTransformerTestCase
     return resultData;
   }
 
+  @Test
+  public void preparedExpressionIsReused() throws Exception {
+    XQueryTransformer transformer = (XQueryTransformer) getTransformer();
+    for (int i = 0; i < 3; i++) {
+      assertThat(compareResults(getResultData(), transformer.transform(getTestData())), is(true));
+    }
+
+    // the expression is prepared once on initialisation and then taken from the cache for every transformation
+    assertThat(transformer.getTransformerCache().getCreatedCount(), is(1L));
+    assertThat(transformer.getTransformerCache().getAcquiredCount(), is(4L));
+  }
+
   @Override
   public boolean compareResults(Object expected, Object result) {
     if (expected instanceof Document && result instanceof Document) {
@@ -15,6 +15,7 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.xml.transformer.XsltTransformer;
 import org.mule.runtime.module.xml.transformers.xml.AbstractXmlTransformerTestCase;
@@ -22,12 +23,14 @@ import org.mule.runtime.module.xml.util.LocalURIResolver;
 import org.mule.runtime.module.xml.util.XMLTestUtils;
 import org.mule.runtime.module.xml.util.XMLUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.URIResolver;
@@ -180,6 +183,48 @@ public class XsltTransformerTestCase extends AbstractXmlTransformerTestCase {
         + "</xsl:stylesheet>";
   }
 
+  @Test
+  public void testOutputHandlerResultIsStreamed() throws Exception {
+    XsltTransformer transformer = new XsltTransformer();
+    transformer.setMuleContext(muleContext);
+    transformer.setReturnDataType(DataType.fromType(OutputHandler.class));
+    transformer.setXslt(someXslText());
+    transformer.initialise();
+
+    StringBuilder xml = new StringBuilder("<node1>");
+    for (int i = 0; i < 10000; i++) {
+      xml.append("<subnode1>sub node 1 original value</subnode1>");
+    }
+    xml.append("</node1>");
+
+    Object result = transformer.transform(xml.toString());
+    assertTrue(result instanceof OutputHandler);
+    // nothing is transformed until the result is written
+    assertEquals(0, transformer.getTransformerCache().getAcquiredCount());
+
+    AtomicInteger writes = new AtomicInteger();
+    ByteArrayOutputStream out = new ByteArrayOutputStream() {
+
+      @Override
+      public synchronized void write(int b) {
+        writes.incrementAndGet();
+        super.write(b);
+      }
+
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        writes.incrementAndGet();
+        super.write(b, off, len);
+      }
+    };
+    ((OutputHandler) result).write(eventBuilder().message(InternalMessage.of(xml.toString())).build(), out);
+
+    assertEquals(1, transformer.getTransformerCache().getAcquiredCount());
+    // the output reaches the target stream in chunks as it is produced, rather than as a single buffered result
+    assertTrue(writes.get() > 1);
+    assertTrue(out.toString().trim().endsWith("<subnode1>sub node 1 original value</subnode1></node1>"));
+  }
+
   @Test
   public void testTransformWithDynamicParam() throws Exception {
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import com.google.common.collect.Lists;
+
+import java.io.StringReader;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+@SmallTest
+public class StreamingXPathEvaluatorTestCase extends AbstractMuleTestCase {
+
+  private static final String CATALOG = "<catalog xmlns:p=\"http://price\">"
+      + "<book id=\"1\" available=\"true\"><title>Dune</title><p:price>10</p:price></book>"
+      + "<book id=\"2\" available=\"false\"><title>Emma</title><p:price>12</p:price></book>"
+      + "<shelf><book id=\"3\" available=\"true\"><title>Ubik</title><p:price>8</p:price></book></shelf>"
+      + "</catalog>";
+
+  private final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+  private StreamingXPathEvaluator evaluator;
+
+  @Before
+  public void before() {
+    evaluator = new StreamingXPathEvaluator();
+    evaluator.registerNamespaces(singletonMap("pr", "http://price"));
+  }
+
+  @Test
+  public void supportedSubset() {
+    assertThat(evaluator.isStreamable("/catalog/book"), is(true));
+    assertThat(evaluator.isStreamable("//book[@available='true'][2]/title/text()"), is(true));
+    assertThat(evaluator.isStreamable("catalog/*/pr:price"), is(true));
+    assertThat(evaluator.isStreamable("/catalog/book/@id"), is(true));
+    assertThat(evaluator.isStreamable("count(//book)"), is(false));
+    assertThat(evaluator.isStreamable("//book[title='Dune']"), is(false));
+    assertThat(evaluator.isStreamable("//book/.."), is(false));
+    assertThat(evaluator.isStreamable("//book[$id]"), is(false));
+    assertThat(evaluator.isStreamable("//undeclared:book"), is(false));
+  }
+
+  @Test
+  public void stringResults() throws Exception {
+    assertThat(evaluate("/catalog/book/title", XPathReturnType.STRING), is("Dune"));
+    assertThat(evaluate("//book[@id='3']/title/text()", XPathReturnType.STRING), is("Ubik"));
+    assertThat(evaluate("/catalog/book[2]/@id", XPathReturnType.STRING), is("2"));
+    assertThat(evaluate("//shelf/book[@available='true'][1]/pr:price", XPathReturnType.STRING), is("8"));
+    assertThat(evaluate("//book[@available='true'][2]/pr:price", XPathReturnType.STRING), is(""));
+    assertThat(evaluate("/catalog/missing", XPathReturnType.STRING), is(""));
+  }
+
+  @Test
+  public void booleanAndNumberResults() throws Exception {
+    assertThat(evaluate("//shelf/book", XPathReturnType.BOOLEAN), is(true));
+    assertThat(evaluate("/catalog/book[3]", XPathReturnType.BOOLEAN), is(false));
+    assertThat(evaluate("/catalog/book[2]/pr:price", XPathReturnType.NUMBER), is(12d));
+    assertThat(evaluate("/catalog/book/title", XPathReturnType.NUMBER), is(Double.NaN));
+  }
+
+  @Test
+  public void nodeResults() throws Exception {
+    Node book = (Node) evaluate("//book[@available='false']", XPathReturnType.NODE);
+    assertThat(book.getNodeName(), is("book"));
+    assertThat(book.getAttributes().getNamedItem("id").getNodeValue(), is("2"));
+    assertThat(book.getLastChild().getNamespaceURI(), is("http://price"));
+
+    NodeList ids = (NodeList) evaluate("//book/@id", XPathReturnType.NODESET);
+    assertThat(ids.getLength(), is(3));
+    assertThat(ids.item(2).getNodeValue(), is("3"));
+
+    assertThat(evaluate("/catalog/book[5]", XPathReturnType.NODE), is(nullValue()));
+  }
+
+  @Test
+  public void splitsMatchedElements() throws Exception {
+    List<String> fragments = Lists.newArrayList(evaluator.split("//book[@available='true']/pr:price", reader(CATALOG)));
+
+    assertThat(fragments, contains("<p:price xmlns:p=\"http://price\">10</p:price>",
+                                   "<p:price xmlns:p=\"http://price\">8</p:price>"));
+  }
+
+  private Object evaluate(String expression, XPathReturnType returnType) throws XMLStreamException {
+    XMLStreamReader reader = reader(CATALOG);
+    try {
+      return evaluator.evaluate(expression, reader, returnType);
+    } finally {
+      reader.close();
+    }
+  }
+
+  private XMLStreamReader reader(String xml) throws XMLStreamException {
+    return xmlInputFactory.createXMLStreamReader(new StringReader(xml));
+  }
+}
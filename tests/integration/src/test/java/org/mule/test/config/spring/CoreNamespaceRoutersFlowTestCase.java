@@ -46,7 +46,7 @@ public class CoreNamespaceRoutersFlowTestCase extends AbstractIntegrationTestCas
     assertEquals(1001, store.getExpirationInterval());
     assertEquals(1001, store.getMaxEntries());
     assertEquals("xyz", store.getName());
-    assertNotNull(store.getScheduler());
+    assertNotNull(store.getExpirationTimeout());
   }
 
   @Test
@@ -65,7 +65,7 @@ public class CoreNamespaceRoutersFlowTestCase extends AbstractIntegrationTestCas
     assertEquals(10000000, store.getMaxEntries());
     assertEquals("foo", store.getDirectory());
     assertNotNull(store.getName());
-    assertNotNull(store.getScheduler());
+    assertNotNull(store.getExpirationTimeout());
   }
 
   @Test
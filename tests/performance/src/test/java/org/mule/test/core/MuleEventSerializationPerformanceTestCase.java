@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static org.mule.runtime.core.MessageExchangePattern.ONE_WAY;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.serialization.internal.CompactObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.IOException;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares writing and reading back events with the {@link JavaObjectSerializer} and the {@link CompactObjectSerializer}.
+ */
+public class MuleEventSerializationPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final int repetitions = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private String payload;
+  private Event muleEventWith0Properties;
+  private Event muleEventWith50Properties;
+  private ObjectSerializer javaSerializer;
+  private ObjectSerializer compactSerializer;
+
+  @Before
+  public void before() throws IOException {
+    payload = IOUtils.getResourceAsString("test-data.json", getClass());
+    muleEventWith0Properties = createMuleEventWithFlowVarsAndProperties(0);
+    muleEventWith50Properties = createMuleEventWithFlowVarsAndProperties(50);
+
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    this.javaSerializer = javaSerializer;
+    CompactObjectSerializer compactSerializer = new CompactObjectSerializer();
+    compactSerializer.setMuleContext(muleContext);
+    this.compactSerializer = compactSerializer;
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void javaSerialization() throws Exception {
+    roundTrip(javaSerializer, muleEventWith0Properties);
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void compactSerialization() throws Exception {
+    roundTrip(compactSerializer, muleEventWith0Properties);
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void javaSerializationWith50FlowVarsAnd50Properties() throws Exception {
+    roundTrip(javaSerializer, muleEventWith50Properties);
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void compactSerializationWith50FlowVarsAnd50Properties() throws Exception {
+    roundTrip(compactSerializer, muleEventWith50Properties);
+  }
+
+  private void roundTrip(ObjectSerializer serializer, Event event) {
+    for (int i = 0; i < repetitions; i++) {
+      serializer.deserialize(serializer.serialize(event));
+    }
+  }
+
+  private Event createMuleEventWithFlowVarsAndProperties(int numProperties) {
+    InternalMessage.Builder messageBuilder = InternalMessage.builder().payload(payload);
+    for (int i = 1; i <= numProperties; i++) {
+      messageBuilder.addInboundProperty("InBoUnDpRoPeRtYkEy" + i, "val");
+    }
+
+    final Event.Builder builder;
+    try {
+      builder = eventBuilder().message(messageBuilder.build()).exchangePattern(ONE_WAY);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    for (int i = 1; i <= numProperties; i++) {
+      builder.addVariable("FlOwVaRiAbLeKeY" + i, "val");
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core.routing;
+
+import static org.junit.Assert.assertEquals;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.routing.MessageChunkAggregator;
+import org.mule.runtime.core.routing.MessageChunkSplitter;
+import org.mule.runtime.core.routing.StreamingMessageChunkAggregator;
+import org.mule.runtime.core.routing.StreamingMessageChunkSplitter;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.testmodels.fruit.Apple;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares splitting a payload into chunks and reassembling it with the {@link MessageChunkSplitter} and
+ * {@link MessageChunkAggregator} against the {@link StreamingMessageChunkSplitter} and {@link StreamingMessageChunkAggregator}.
+ */
+public class MessageChunkingPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final int PAYLOAD_SIZE = 16 * 1024 * 1024;
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private byte[] data;
+  private long reassembledSize;
+  private Processor inMemoryChunking;
+  private Processor streamingChunking;
+
+  public MessageChunkingPerformanceTestCase() {
+    setStartContext(true);
+  }
+
+  @Before
+  public void before() throws Exception {
+    data = new byte[PAYLOAD_SIZE];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) ('a' + i % 26);
+    }
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+    Processor sizeRecorder = event -> {
+      try {
+        reassembledSize = sizeOf(event.getMessage().getPayload().getValue());
+      } catch (IOException e) {
+        throw new DefaultMuleException(e);
+      }
+      return event;
+    };
+
+    MessageChunkAggregator aggregator = new MessageChunkAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setFlowConstruct(flow);
+    aggregator.setListener(sizeRecorder);
+    aggregator.initialise();
+    MessageChunkSplitter splitter = new MessageChunkSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMessageSize(CHUNK_SIZE);
+    splitter.setListener(aggregator);
+    inMemoryChunking = splitter;
+
+    StreamingMessageChunkAggregator streamingAggregator = new StreamingMessageChunkAggregator();
+    streamingAggregator.setMuleContext(muleContext);
+    streamingAggregator.setFlowConstruct(flow);
+    streamingAggregator.setListener(sizeRecorder);
+    streamingAggregator.initialise();
+    StreamingMessageChunkSplitter streamingSplitter = new StreamingMessageChunkSplitter();
+    streamingSplitter.setMuleContext(muleContext);
+    streamingSplitter.setMessageSize(CHUNK_SIZE);
+    streamingSplitter.setListener(streamingAggregator);
+    streamingSplitter.initialise();
+    streamingChunking = streamingSplitter;
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void inMemoryChunking() throws Exception {
+    inMemoryChunking.process(eventBuilder().message(InternalMessage.of(new ByteArrayInputStream(data))).build());
+    assertEquals(PAYLOAD_SIZE, reassembledSize);
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void streamingChunking() throws Exception {
+    streamingChunking.process(eventBuilder().message(InternalMessage.of(new ByteArrayInputStream(data))).build());
+    assertEquals(PAYLOAD_SIZE, reassembledSize);
+  }
+
+  private long sizeOf(Object payload) throws IOException {
+    if (payload instanceof byte[]) {
+      return ((byte[]) payload).length;
+    }
+    try (InputStream input = (InputStream) payload) {
+      return IOUtils.copyLarge(input, new NullOutputStream());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.test.module.extension.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.functional.junit4.FlowRunner;
+import org.mule.test.performance.util.AbstractIsolatedFunctionalPerformanceTestCase;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.junit.Test;
+
+public class ValidationPerformanceTestCase extends AbstractIsolatedFunctionalPerformanceTestCase {
+
+  private static final int REPETITIONS = 100;
+
+  @Override
+  protected String getConfigFile() {
+    return "validation-perf-test.xml";
+  }
+
+  @Test
+  @Required(throughput = 100, average = 10, percentile90 = 12)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void all() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      assertThat(order(flowRunner("all")).run().getError().isPresent(), is(false));
+    }
+  }
+
+  @Test
+  @Required(throughput = 100, average = 10, percentile90 = 12)
+  @PerfTest(duration = 15000, threads = 4, warmUp = 5000)
+  public void allConcurrently() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      assertThat(order(flowRunner("all")).run().getError().isPresent(), is(false));
+    }
+  }
+
+  @Test
+  @Required(throughput = 200, average = 5, percentile90 = 6)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void el() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      assertThat(order(flowRunner("el")).run().getMessage().getPayload().getValue(), is(true));
+    }
+  }
+
+  private FlowRunner order(FlowRunner runner) {
+    return runner.withVariable("name", "Jane Doe")
+        .withVariable("email", "jane.doe@mulesoft.com")
+        .withVariable("url", "http://www.mulesoft.com/orders")
+        .withVariable("zipCode", "94105-1234")
+        .withVariable("country", "US")
+        .withVariable("time", "18:45:00")
+        .withVariable("amount", "1,234.50")
+        .withVariable("quantity", "12");
+  }
+}
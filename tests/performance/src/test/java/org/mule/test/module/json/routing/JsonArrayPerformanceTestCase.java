@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.json.routing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.module.json.routing.JsonArrayAggregator;
+import org.mule.runtime.module.json.routing.JsonArraySplitter;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.testmodels.fruit.Apple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Measures splitting a JSON array with millions of elements with the {@link JsonArraySplitter}, alone and followed by the
+ * {@link JsonArrayAggregator}, which spills the reassembled array to disk.
+ */
+public class JsonArrayPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final int ELEMENTS = 2 * 1000 * 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private byte[] data;
+  private int splitCount;
+  private long aggregatedSize;
+  private Processor splitting;
+  private Processor splittingAndAggregating;
+
+  public JsonArrayPerformanceTestCase() {
+    setStartContext(true);
+  }
+
+  @Before
+  public void before() throws Exception {
+    ByteArrayOutputStream array = new ByteArrayOutputStream();
+    array.write('[');
+    for (int i = 0; i < ELEMENTS; ++i) {
+      if (i > 0) {
+        array.write(',');
+      }
+      array.write(("{\"id\":" + i + ",\"name\":\"item\"}").getBytes(UTF_8));
+    }
+    array.write(']');
+    data = array.toByteArray();
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+
+    JsonArraySplitter splitter = new JsonArraySplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setListener(event -> {
+      ++splitCount;
+      return null;
+    });
+    splitter.initialise();
+    splitting = splitter;
+
+    JsonArrayAggregator aggregator = new JsonArrayAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setFlowConstruct(flow);
+    aggregator.setListener(event -> {
+      try (InputStream input = (InputStream) event.getMessage().getPayload().getValue()) {
+        aggregatedSize = IOUtils.copyLarge(input, new NullOutputStream());
+      } catch (IOException e) {
+        throw new DefaultMuleException(e);
+      }
+      return event;
+    });
+    aggregator.initialise();
+    JsonArraySplitter aggregatedSplitter = new JsonArraySplitter();
+    aggregatedSplitter.setMuleContext(muleContext);
+    aggregatedSplitter.setListener(aggregator);
+    aggregatedSplitter.initialise();
+    splittingAndAggregating = aggregatedSplitter;
+  }
+
+  @Test
+  @PerfTest(duration = 30000, threads = 1, warmUp = 10000)
+  public void splitting() throws Exception {
+    splitCount = 0;
+    splitting.process(eventBuilder().message(InternalMessage.of(new ByteArrayInputStream(data))).build());
+    assertEquals(ELEMENTS, splitCount);
+  }
+
+  @Test
+  @PerfTest(duration = 30000, threads = 1, warmUp = 10000)
+  public void splittingAndAggregating() throws Exception {
+    aggregatedSize = 0;
+    splittingAndAggregating.process(eventBuilder().message(InternalMessage.of(new ByteArrayInputStream(data))).build());
+    assertEquals(data.length, aggregatedSize);
+  }
+}
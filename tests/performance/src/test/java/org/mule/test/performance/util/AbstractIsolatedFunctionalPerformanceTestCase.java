@@ -15,7 +15,7 @@ import org.junit.Rule;
 
 @ArtifactClassLoaderRunnerConfig(
     plugins = {"org.mule.modules:mule-module-ftp", "org.mule.modules:mule-module-file", "org.mule.modules:mule-module-http-ext",
-        "org.mule.modules:mule-module-sockets"})
+        "org.mule.modules:mule-module-sockets", "org.mule.modules:mule-module-validation"})
 public abstract class AbstractIsolatedFunctionalPerformanceTestCase extends MuleArtifactFunctionalTestCase {
 
   @Rule
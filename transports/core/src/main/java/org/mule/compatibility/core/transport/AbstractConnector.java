@@ -248,7 +248,7 @@ public abstract class AbstractConnector extends AbstractAnnotatedObject implemen
   private final AtomicReference<WorkManager> requesterWorkManager = new AtomicReference<>();
 
   /**
-   * A generic scheduling service for tasks that need to be performed periodically.
+   * A generic scheduling service for tasks that need to be performed periodically, created on first use.
    */
   private ScheduledExecutorService scheduler;
 
@@ -440,7 +440,6 @@ public abstract class AbstractConnector extends AbstractAnnotatedObject implemen
 
     lifecycleManager.fireStartPhase((phaseName, object) -> {
       initWorkManagers();
-      scheduler = createScheduler();
       doStart();
 
       if (receivers != null) {
@@ -608,6 +607,11 @@ public abstract class AbstractConnector extends AbstractAnnotatedObject implemen
   }
 
   protected void shutdownScheduler() {
+    final ScheduledExecutorService scheduler;
+    synchronized (this) {
+      scheduler = this.scheduler;
+      this.scheduler = null;
+    }
     if (scheduler != null) {
       // Disable new tasks from being submitted
       scheduler.shutdown();
@@ -634,8 +638,6 @@ public abstract class AbstractConnector extends AbstractAnnotatedObject implemen
         scheduler.shutdownNow();
         // Preserve interrupt status
         Thread.currentThread().interrupt();
-      } finally {
-        scheduler = null;
       }
     }
   }
@@ -1683,8 +1685,16 @@ public abstract class AbstractConnector extends AbstractAnnotatedObject implemen
   /**
    * Returns a Scheduler service for periodic tasks, currently limited to internal use. Note: getScheduler() currently conflicts
    * with the same method in the Quartz transport
+   * <p>
+   * The threads of the scheduler are only created when this method is first invoked while the connector is started, since
+   * polling receivers run on the {@link org.mule.runtime.core.api.timer.TimerService} of the {@link MuleContext} instead.
+   *
+   * @return the scheduler of this connector, or {@code null} if it is not started
    */
-  public ScheduledExecutorService getScheduler() {
+  public synchronized ScheduledExecutorService getScheduler() {
+    if (scheduler == null && (isStarted() || isStarting())) {
+      scheduler = createScheduler();
+    }
     return scheduler;
   }
 
@@ -6,27 +6,29 @@
  */
 package org.mule.compatibility.core.transport;
 
+import static org.mule.runtime.core.timer.HierarchicalTimingWheel.getTimerService;
 import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.api.timer.Timeout;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.ObjectUtils;
 
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * <code>AbstractPollingMessageReceiver</code> implements a base class for polling message receivers. The receiver provides a
  * {@link #poll()} method that implementations must implement to execute their custom code. Note that the receiver will not poll
  * if the associated connector is not started.
+ * <p>
+ * Polls are triggered by the {@link org.mule.runtime.core.api.timer.TimerService} of the
+ * {@link org.mule.runtime.core.api.MuleContext}, and run on the receiver's work manager.
  */
 public abstract class AbstractPollingMessageReceiver extends AbstractMessageReceiver {
 
@@ -39,7 +41,7 @@ public abstract class AbstractPollingMessageReceiver extends AbstractMessageRece
   private TimeUnit timeUnit = DEFAULT_POLL_TIMEUNIT;
 
   // @GuardedBy(itself)
-  protected final Map<ScheduledFuture, PollingReceiverWorker> schedules = new HashMap<ScheduledFuture, PollingReceiverWorker>();
+  protected final Map<Timeout, PollingReceiverWorker> schedules = new HashMap<Timeout, PollingReceiverWorker>();
 
   public AbstractPollingMessageReceiver(Connector connector, FlowConstruct flowConstruct, final InboundEndpoint endpoint)
       throws CreateException {
@@ -63,13 +65,13 @@ public abstract class AbstractPollingMessageReceiver extends AbstractMessageRece
   }
 
   /**
-   * This method registers this receiver for periodic polling ticks with the connectors scheduler. Subclasses can override this in
-   * case they want to handle their polling differently.
+   * This method registers this receiver for periodic polling ticks with the timer service of the context. Subclasses can override
+   * this in case they want to handle their polling differently.
    *
    * @throws RejectedExecutionException
    * @throws NullPointerException
    * @throws IllegalArgumentException
-   * @see ScheduledExecutorService#scheduleWithFixedDelay(Runnable, long, long, TimeUnit)
+   * @see org.mule.runtime.core.api.timer.TimerService#scheduleWithFixedDelay(String, Runnable, long, long, TimeUnit)
    */
   protected void schedule() throws RejectedExecutionException, NullPointerException, IllegalArgumentException {
     synchronized (schedules) {
@@ -78,9 +80,9 @@ public abstract class AbstractPollingMessageReceiver extends AbstractMessageRece
       // polled database or network is slow or returns large amounts of
       // data.
       PollingReceiverWorker pollingReceiverWorker = this.createWork();
-      ScheduledFuture schedule =
-          connector.getScheduler().scheduleWithFixedDelay(new PollingReceiverWorkerSchedule(pollingReceiverWorker),
-                                                          DEFAULT_STARTUP_DELAY, this.getFrequency(), this.getTimeUnit());
+      Timeout schedule = getTimerService(endpoint.getMuleContext())
+          .scheduleWithFixedDelay(connector.getName() + ".scheduler", new PollingReceiverWorkerSchedule(pollingReceiverWorker),
+                                  DEFAULT_STARTUP_DELAY, this.getFrequency(), this.getTimeUnit());
       schedules.put(schedule, pollingReceiverWorker);
 
       if (logger.isDebugEnabled()) {
@@ -93,14 +95,14 @@ public abstract class AbstractPollingMessageReceiver extends AbstractMessageRece
   /**
    * This method cancels the schedules which were created in {@link #schedule()}.
    *
-   * @see Future#cancel(boolean)
+   * @see Timeout#cancel()
    */
   protected void unschedule() {
     synchronized (schedules) {
       // cancel our schedules gently: do not interrupt when polling is in progress
-      for (Iterator<ScheduledFuture> i = schedules.keySet().iterator(); i.hasNext();) {
-        ScheduledFuture schedule = i.next();
-        schedule.cancel(false);
+      for (Iterator<Timeout> i = schedules.keySet().iterator(); i.hasNext();) {
+        Timeout schedule = i.next();
+        schedule.cancel();
         // Wait until in-progress PollingRecevierWorker completes.
         int shutdownTimeout = endpoint.getMuleContext().getConfiguration().getShutdownTimeout();
         PollingReceiverWorker worker = schedules.get(schedule);
@@ -111,6 +111,16 @@ public class FileConnector extends AbstractConnector {
 
   private boolean recursive = false;
 
+  /**
+   * Maximum number of files read from the directory on each poll. When 0 the whole directory is listed on every poll.
+   */
+  private int scanBatchSize = 0;
+
+  /**
+   * Whether to skip polls in which the directory did not change when the directory is read in batches
+   */
+  private boolean watchDirectory = false;
+
   public FileConnector(MuleContext context) {
     super(context);
     filenameParser = new ExpressionFilenameParser();
@@ -513,4 +523,20 @@ public class FileConnector extends AbstractConnector {
   public void setRecursive(boolean recursive) {
     this.recursive = recursive;
   }
+
+  public int getScanBatchSize() {
+    return scanBatchSize;
+  }
+
+  public void setScanBatchSize(int scanBatchSize) {
+    this.scanBatchSize = scanBatchSize;
+  }
+
+  public boolean isWatchDirectory() {
+    return watchDirectory;
+  }
+
+  public void setWatchDirectory(boolean watchDirectory) {
+    this.watchDirectory = watchDirectory;
+  }
 }
@@ -84,6 +84,7 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver {
   private LockFactory lockFactory;
   private boolean poolOnPrimaryInstanceOnly;
   private ObjectStore<String> filesBeingProcessingObjectStore;
+  private IncrementalDirectoryScanner directoryScanner;
 
   public FileMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint, String readDir,
                              String moveDir, String moveToPattern, long frequency)
@@ -148,6 +149,13 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver {
       } else {
         logger.debug("Listening on endpointUri: " + readDirectory.getAbsolutePath());
       }
+
+      if (fileConnector.getScanBatchSize() > 0) {
+        directoryScanner = new IncrementalDirectoryScanner(readDirectory, fileConnector.isRecursive(), this::acceptFile,
+                                                           fileConnector.getScanBatchSize(),
+                                                           fileConnector.getCheckFileAge() ? fileConnector.getFileAge() : 0,
+                                                           fileConnector.isWatchDirectory());
+      }
     }
 
     if (moveDir != null) {
@@ -160,7 +168,10 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver {
 
   @Override
   protected void doDisconnect() throws Exception {
-    // template method
+    if (directoryScanner != null) {
+      directoryScanner.close();
+      directoryScanner = null;
+    }
   }
 
   @Override
@@ -171,14 +182,19 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver {
   @Override
   public void poll() {
     try {
-      List<File> files = this.listFiles();
+      Comparator<File> comparator = getComparator();
+      List<File> files;
+      if (directoryScanner != null) {
+        files = this.scanFiles(comparator);
+      } else {
+        files = this.listFiles();
+        if (comparator != null) {
+          Collections.sort(files, comparator);
+        }
+      }
       if (logger.isDebugEnabled()) {
         logger.debug("Files: " + files.toString());
       }
-      Comparator<File> comparator = getComparator();
-      if (comparator != null) {
-        Collections.sort(files, comparator);
-      }
       for (File file : files) {
         if (getLifecycleState().isStopping()) {
           break;
@@ -571,6 +587,30 @@ public class FileMessageReceiver extends AbstractPollingMessageReceiver {
     }
   }
 
+  /**
+   * Get the next batch of files to be processed when the directory is scanned incrementally.
+   *
+   * @param comparator the order in which the files should be processed, or null if there is none.
+   * @return the files to be processed, in the order of the {@code comparator}.
+   * @throws org.mule.api.MuleException which will wrap any other exceptions or errors.
+   */
+  List<File> scanFiles(Comparator<File> comparator) throws MuleException {
+    try {
+      return directoryScanner.nextBatch(comparator);
+    } catch (Exception e) {
+      throw new DefaultMuleException(FileMessages.errorWhileListingFiles(), e);
+    }
+  }
+
+  private boolean acceptFile(File file) {
+    if (fileFilter != null) {
+      return fileFilter.accept(file);
+    } else if (filenameFilter != null) {
+      return filenameFilter.accept(file.getParentFile(), file.getName());
+    }
+    return true;
+  }
+
   protected void basicListFiles(File currentDirectory, List<File> discoveredFiles) {
     File[] files = currentDirectory.listFiles();
 
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.file;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Collections.emptyList;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lists the files of a directory a bounded batch at a time, so that the time and memory spent on each poll of a
+ * {@link FileMessageReceiver} don't depend on the number of files accumulated in the directory.
+ * <p>
+ * The directory is read through a {@link DirectoryStream}, with only one directory open at a time. Without a comparator, each
+ * batch continues reading where the previous one stopped, and a new pass over the directory starts once it has been completely
+ * read. With a comparator, each batch reads the whole directory but only keeps the first files in the order of the comparator.
+ * <p>
+ * Files which are not old enough yet are kept in an index with the time at which they will be, so that they are not read again
+ * until then. If a {@link WatchService} is used, a new pass is started only if the directory changed, if files that were
+ * returned may still be there or if files in the index became old enough.
+ *
+ * @since 4.0
+ */
+public class IncrementalDirectoryScanner implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncrementalDirectoryScanner.class);
+
+  private final Path directory;
+  private final boolean recursive;
+  private final Predicate<File> filter;
+  private final int batchSize;
+  private final long fileAge;
+  private final WatchService watchService;
+  private final Set<Path> watchedDirectories = new HashSet<>();
+
+  private final Deque<Path> pendingDirectories = new ArrayDeque<>();
+  private DirectoryStream<Path> currentStream;
+  private Iterator<Path> currentIterator;
+  private boolean scanning = false;
+  private boolean rescanRequired = true;
+  private int candidatesInPass;
+  private long now;
+
+  private Map<Path, Long> youngFiles = new HashMap<>();
+  private Map<Path, Long> nextYoungFiles = new HashMap<>();
+  private long nextEligibleTime = MAX_VALUE;
+
+  /**
+   * @param directory the directory to scan
+   * @param recursive whether to scan the sub-directories too
+   * @param filter the {@link Predicate} the files must match to be returned
+   * @param batchSize the maximum number of files returned by each call to {@link #nextBatch(Comparator)}
+   * @param fileAge the minimum age in milliseconds of the returned files, or {@code 0} to return files of any age
+   * @param watch whether to rely on a {@link WatchService} to avoid scanning a directory which did not change
+   * @throws IOException if the {@link WatchService} could not be created
+   */
+  public IncrementalDirectoryScanner(File directory, boolean recursive, Predicate<File> filter, int batchSize, long fileAge,
+                                     boolean watch)
+      throws IOException {
+    this.directory = directory.toPath();
+    this.recursive = recursive;
+    this.filter = filter;
+    this.batchSize = batchSize;
+    this.fileAge = fileAge;
+    this.watchService = watch ? this.directory.getFileSystem().newWatchService() : null;
+  }
+
+  /**
+   * Returns the next batch of files.
+   *
+   * @param comparator the order in which the files should be returned, or {@code null} to return them in the order they are read
+   * @return the next files to process, at most {@code batchSize} of them
+   * @throws IOException if the directory could not be read
+   */
+  public synchronized List<File> nextBatch(Comparator<File> comparator) throws IOException {
+    now = currentTimeMillis();
+    if (!scanning) {
+      if (!shouldStartPass()) {
+        return emptyList();
+      }
+      startPass();
+    }
+
+    try {
+      return comparator == null ? nextUnorderedBatch() : nextOrderedBatch(comparator);
+    } catch (IOException | RuntimeException e) {
+      reset();
+      throw e;
+    }
+  }
+
+  private List<File> nextUnorderedBatch() throws IOException {
+    List<File> batch = new ArrayList<>(batchSize);
+    File file;
+    while (batch.size() < batchSize && (file = nextCandidate()) != null) {
+      batch.add(file);
+    }
+    return batch;
+  }
+
+  private List<File> nextOrderedBatch(Comparator<File> comparator) throws IOException {
+    // keeps the first files in the order of the comparator, with the last of them at the head so it can be replaced
+    PriorityQueue<File> firstFiles = new PriorityQueue<>(batchSize + 1, comparator.reversed());
+    File file;
+    while ((file = nextCandidate()) != null) {
+      firstFiles.offer(file);
+      if (firstFiles.size() > batchSize) {
+        firstFiles.poll();
+      }
+    }
+
+    List<File> batch = new ArrayList<>(firstFiles);
+    batch.sort(comparator);
+    return batch;
+  }
+
+  private boolean shouldStartPass() {
+    if (watchService == null) {
+      return true;
+    }
+
+    boolean changed = false;
+    WatchKey key;
+    while ((key = watchService.poll()) != null) {
+      key.pollEvents();
+      changed = true;
+      if (!key.reset()) {
+        watchedDirectories.remove(key.watchable());
+      }
+    }
+    return changed || rescanRequired || nextEligibleTime <= now;
+  }
+
+  private void startPass() {
+    scanning = true;
+    candidatesInPass = 0;
+    pendingDirectories.push(directory);
+  }
+
+  private void finishPass() {
+    scanning = false;
+    rescanRequired = candidatesInPass > 0;
+    youngFiles = nextYoungFiles;
+    nextYoungFiles = new HashMap<>();
+    nextEligibleTime = youngFiles.values().stream().min(Long::compare).orElse(MAX_VALUE);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Finished scanning " + directory + ", found " + candidatesInPass + " files to process and " + youngFiles.size()
+          + " files not old enough yet");
+    }
+  }
+
+  /**
+   * @return the next file to process in the current pass, or {@code null} if the pass is complete
+   */
+  private File nextCandidate() throws IOException {
+    while (true) {
+      if (currentIterator == null) {
+        Path nextDirectory = pendingDirectories.poll();
+        if (nextDirectory == null) {
+          finishPass();
+          return null;
+        }
+        openDirectory(nextDirectory);
+        continue;
+      }
+
+      if (!currentIterator.hasNext()) {
+        closeCurrentDirectory();
+        continue;
+      }
+
+      Path path = currentIterator.next();
+      Long eligibleTime = youngFiles.get(path);
+      if (eligibleTime != null && eligibleTime > now) {
+        nextYoungFiles.put(path, eligibleTime);
+        continue;
+      }
+
+      File file = path.toFile();
+      if (recursive || fileAge > 0) {
+        BasicFileAttributes attributes;
+        try {
+          attributes = readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+          // processed by someone else since it was listed
+          continue;
+        }
+
+        if (attributes.isDirectory()) {
+          if (recursive) {
+            pendingDirectories.push(path);
+          }
+          continue;
+        }
+
+        if (!filter.test(file)) {
+          continue;
+        }
+
+        if (fileAge > 0) {
+          long fileEligibleTime = attributes.lastModifiedTime().toMillis() + fileAge;
+          if (fileEligibleTime > now) {
+            nextYoungFiles.put(path, fileEligibleTime);
+            continue;
+          }
+        }
+      } else if (isDirectory(path) || !filter.test(file)) {
+        continue;
+      }
+
+      candidatesInPass++;
+      return file;
+    }
+  }
+
+  private void openDirectory(Path path) throws IOException {
+    try {
+      currentStream = newDirectoryStream(path);
+    } catch (NoSuchFileException e) {
+      if (path.equals(directory)) {
+        throw e;
+      }
+      // a sub-directory removed since it was listed
+      return;
+    }
+    currentIterator = currentStream.iterator();
+
+    if (watchService != null && watchedDirectories.add(path)) {
+      path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    }
+  }
+
+  private void closeCurrentDirectory() throws IOException {
+    currentIterator = null;
+    if (currentStream != null) {
+      try {
+        currentStream.close();
+      } finally {
+        currentStream = null;
+      }
+    }
+  }
+
+  private void reset() {
+    try {
+      closeCurrentDirectory();
+    } catch (IOException e) {
+      logger.debug("Error closing directory stream: " + e.getMessage());
+    }
+    pendingDirectories.clear();
+    nextYoungFiles.clear();
+    scanning = false;
+    rescanRequired = true;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    reset();
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+}
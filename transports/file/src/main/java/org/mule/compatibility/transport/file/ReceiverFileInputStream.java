@@ -8,6 +8,7 @@ package org.mule.compatibility.transport.file;
 
 import org.mule.compatibility.transport.file.i18n.FileMessages;
 import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.streaming.FileBackedStream;
 import org.mule.runtime.core.util.FileUtils;
 
 import java.io.File;
@@ -22,7 +23,7 @@ import org.slf4j.LoggerFactory;
 /**
  * This implementation is used when streaming and will move or delete the source file when the stream is closed.
  */
-class ReceiverFileInputStream extends FileInputStream {
+class ReceiverFileInputStream extends FileInputStream implements FileBackedStream {
 
   protected transient Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -73,6 +74,15 @@ class ReceiverFileInputStream extends FileInputStream {
     return currentFile;
   }
 
+  @Override
+  public File getBackingFile() {
+    try {
+      return alreadyClosed.get() || getChannel().position() != 0 ? null : currentFile;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
   public boolean isStreamProcessingError() {
     return streamProcessingError;
   }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.file;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.client.MuleClient;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileScanBatchSizeTestCase extends FunctionalTestCase {
+
+  private static final int FILES = 5;
+
+  @Override
+  protected String getConfigFile() {
+    return "file-scan-batch-size-config.xml";
+  }
+
+  @Before
+  public void setUpFiles() throws Exception {
+    File root = FileTestUtils.createFolder(workingDirectory.getRoot(), "root");
+    for (int i = 0; i < FILES; i++) {
+      FileTestUtils.createDataFile(root, TEST_MESSAGE);
+    }
+    File subfolder = FileTestUtils.createFolder(root, "subfolder");
+    FileTestUtils.createDataFile(subfolder, TEST_MESSAGE);
+  }
+
+  @Test
+  public void scanBatchSizeIsConfigured() throws Exception {
+    FileConnector connector = (FileConnector) muleContext.getRegistry().lookupObject("File");
+
+    assertThat(connector.getScanBatchSize(), is(2));
+  }
+
+  @Test
+  public void readsAllFilesInBatches() throws Exception {
+    MuleClient client = muleContext.getClient();
+
+    for (int i = 0; i < FILES; i++) {
+      assertThat(client.request("vm://testOut", RECEIVE_TIMEOUT).getRight().isPresent(), is(true));
+    }
+    assertThat("Found a file from a sub directory", client.request("vm://testOut", RECEIVE_TIMEOUT).getRight().isPresent(),
+               is(false));
+  }
+}
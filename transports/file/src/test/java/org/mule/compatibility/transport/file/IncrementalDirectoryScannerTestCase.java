@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.file;
+
+import static java.util.Comparator.comparing;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class IncrementalDirectoryScannerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder directory = new TemporaryFolder();
+
+  private IncrementalDirectoryScanner scanner;
+
+  @After
+  public void closeScanner() throws Exception {
+    if (scanner != null) {
+      scanner.close();
+    }
+  }
+
+  @Test
+  public void batchesContinueWhereThePreviousOneStopped() throws Exception {
+    createFiles("a", "b", "c", "d", "e");
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> true, 2, 0, false);
+
+    Set<String> scanned = new HashSet<>();
+    scanned.addAll(names(assertBatchSize(scanner.nextBatch(null), 2)));
+    scanned.addAll(names(assertBatchSize(scanner.nextBatch(null), 2)));
+    scanned.addAll(names(assertBatchSize(scanner.nextBatch(null), 1)));
+    assertThat(scanned, containsInAnyOrder("a", "b", "c", "d", "e"));
+
+    // the directory is read again once it was completely read
+    assertThat(scanner.nextBatch(null), hasSize(2));
+  }
+
+  @Test
+  public void orderedBatchKeepsFirstFiles() throws Exception {
+    createFiles("e", "c", "a", "d", "b");
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> true, 3, 0, false);
+
+    assertThat(names(scanner.nextBatch(comparing(File::getName))), contains("a", "b", "c"));
+  }
+
+  @Test
+  public void filteredFilesAreSkipped() throws Exception {
+    createFiles("a.txt", "b.xml", "c.txt");
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> file.getName().endsWith(".txt"), 10, 0, false);
+
+    assertThat(names(scanner.nextBatch(null)), containsInAnyOrder("a.txt", "c.txt"));
+  }
+
+  @Test
+  public void subDirectoriesAreSkippedWhenNotRecursive() throws Exception {
+    createFiles("a");
+    File subDirectory = directory.newFolder("sub");
+    new File(subDirectory, "b").createNewFile();
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> true, 10, 0, false);
+
+    assertThat(names(scanner.nextBatch(null)), contains("a"));
+  }
+
+  @Test
+  public void recursiveScanReadsSubDirectories() throws Exception {
+    createFiles("a");
+    File subDirectory = directory.newFolder("sub");
+    new File(subDirectory, "b").createNewFile();
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), true, file -> true, 10, 0, false);
+
+    assertThat(names(scanner.nextBatch(null)), containsInAnyOrder("a", "b"));
+  }
+
+  @Test
+  public void youngFilesAreNotReturned() throws Exception {
+    createFiles("young");
+    File old = directory.newFile("old");
+    old.setLastModified(System.currentTimeMillis() - 60000);
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> true, 10, 30000, false);
+
+    assertThat(names(scanner.nextBatch(null)), contains("old"));
+  }
+
+  @Test
+  public void watchedDirectoryIsNotReadUntilItChanges() throws Exception {
+    scanner = new IncrementalDirectoryScanner(directory.getRoot(), false, file -> true, 10, 0, true);
+
+    assertThat(scanner.nextBatch(null), is(empty()));
+    assertThat(scanner.nextBatch(null), is(empty()));
+
+    createFiles("a");
+    List<File> batch = null;
+    for (int i = 0; i < 100 && (batch == null || batch.isEmpty()); ++i) {
+      Thread.sleep(100);
+      batch = scanner.nextBatch(null);
+    }
+    assertThat(names(batch), contains("a"));
+  }
+
+  private void createFiles(String... names) throws Exception {
+    for (String name : names) {
+      directory.newFile(name);
+    }
+  }
+
+  private List<File> assertBatchSize(List<File> batch, int size) {
+    assertThat(batch, hasSize(size));
+    return batch;
+  }
+
+  private List<String> names(List<File> files) {
+    return files.stream().map(File::getName).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives the messages of a {@link MessageConsumer} in batches from a thread of the receiver's work manager, instead of having
+ * them delivered one at a time to a {@link MessageListener}, so that a receiver can process each batch in a single transaction and commit or
+ * acknowledge it at once.
+ * <p>
+ * A batch is complete once it holds {@code batchSize} messages, or once {@code batchTimeout} milliseconds have elapsed since its
+ * first message was received, whichever happens first. Each batch is handed to the {@link BatchHandler} before receiving the
+ * next one.
+ *
+ * @since 4.0
+ */
+public class JmsBatchConsumer {
+
+  private static final Logger logger = LoggerFactory.getLogger(JmsBatchConsumer.class);
+
+  /**
+   * How long to wait for the first message of a batch before checking whether the consumer was stopped.
+   */
+  private static final long IDLE_RECEIVE_TIMEOUT = 1000;
+
+  /**
+   * Processes a batch of messages.
+   */
+  public interface BatchHandler {
+
+    /**
+     * @param batch the messages received, in the order they were received
+     * @return {@code true} if the batch was committed, {@code false} if it was rolled back
+     */
+    boolean handle(List<Message> batch);
+  }
+
+  private final String name;
+  private final Executor workManager;
+  private final MessageConsumer consumer;
+  private final int batchSize;
+  private final long batchTimeout;
+  private final BatchHandler handler;
+  private final JmsBatchStatistics statistics;
+
+  private volatile boolean running;
+  private CountDownLatch finished;
+  private volatile Thread consumerThread;
+  // only accessed from the consumer thread
+  private long firstReceiveTime;
+
+  /**
+   * @param name the name of the thread while it receives messages
+   * @param workManager the work manager of the receiver, which provides the thread the messages are received from
+   */
+  public JmsBatchConsumer(String name, Executor workManager, MessageConsumer consumer, int batchSize, long batchTimeout,
+                          BatchHandler handler, JmsBatchStatistics statistics) {
+    this.name = name;
+    this.workManager = workManager;
+    this.consumer = consumer;
+    this.batchSize = batchSize;
+    this.batchTimeout = batchTimeout;
+    this.handler = handler;
+    this.statistics = statistics;
+  }
+
+  public synchronized void start() {
+    if (finished != null) {
+      return;
+    }
+    running = true;
+    final CountDownLatch latch = new CountDownLatch(1);
+    finished = latch;
+    try {
+      workManager.execute(() -> consume(latch));
+    } catch (RuntimeException e) {
+      running = false;
+      finished = null;
+      throw e;
+    }
+  }
+
+  /**
+   * Stops receiving messages, waiting for the batch being processed, if any, for a while.
+   */
+  public synchronized void stop() {
+    running = false;
+    if (finished != null && consumerThread != Thread.currentThread()) {
+      try {
+        if (!finished.await(IDLE_RECEIVE_TIMEOUT + batchTimeout, MILLISECONDS)) {
+          logger.warn("Batch consumer " + name + " did not stop in time, the batch being processed may be rolled back");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    finished = null;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void consume(CountDownLatch finished) {
+    final Thread currentThread = Thread.currentThread();
+    final String originalName = currentThread.getName();
+    consumerThread = currentThread;
+    currentThread.setName(name);
+    try {
+      while (running) {
+        List<Message> batch;
+        try {
+          batch = receiveBatch();
+        } catch (JMSException e) {
+          if (running) {
+            logger.warn("Failed to receive messages on batch consumer " + name + ": " + e.getMessage());
+            pause();
+          }
+          continue;
+        }
+
+        if (!batch.isEmpty()) {
+          long batchStart = firstReceiveTime;
+          boolean committed = handler.handle(batch);
+          statistics.incBatch(batch.size(), nanoTime() - batchStart, committed);
+        }
+      }
+    } finally {
+      consumerThread = null;
+      currentThread.setName(originalName);
+      finished.countDown();
+    }
+  }
+
+  private List<Message> receiveBatch() throws JMSException {
+    Message message = consumer.receive(IDLE_RECEIVE_TIMEOUT);
+    if (message == null) {
+      return new ArrayList<>(0);
+    }
+
+    firstReceiveTime = nanoTime();
+    long deadline = firstReceiveTime + MILLISECONDS.toNanos(batchTimeout);
+    List<Message> batch = new ArrayList<>(batchSize);
+    batch.add(message);
+    while (batch.size() < batchSize && running) {
+      long remaining = NANOSECONDS.toMillis(deadline - nanoTime());
+      if (remaining <= 0) {
+        break;
+      }
+      try {
+        message = consumer.receive(remaining);
+      } catch (JMSException e) {
+        // process the messages already received anyway, the error will show up again on the next receive
+        logger.warn("Failed to receive messages on batch consumer " + name + ": " + e.getMessage());
+        break;
+      }
+      if (message == null) {
+        break;
+      }
+      batch.add(message);
+    }
+    return batch;
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(IDLE_RECEIVE_TIMEOUT);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the batches of messages received by the receivers of a {@link JmsConnector} in batch mode.
+ * <p>
+ * Commit latency is the time elapsed between receiving the first message of a batch and committing, or rolling back, the whole
+ * batch, which is how long the first message of the batch waits for its outcome.
+ *
+ * @since 4.0
+ */
+public class JmsBatchStatistics implements Statistics {
+
+  private static final long serialVersionUID = -4021785431260911837L;
+
+  private final LongAdder committedBatches = new LongAdder();
+  private final LongAdder rolledBackBatches = new LongAdder();
+  private final LongAdder messages = new LongAdder();
+  private final AtomicLong maxBatchSize = new AtomicLong();
+  private final LongAdder totalCommitLatency = new LongAdder();
+  private final AtomicLong maxCommitLatency = new AtomicLong();
+
+  /**
+   * Records a processed batch.
+   *
+   * @param size the number of messages in the batch
+   * @param commitLatencyNanos the time elapsed since the first message of the batch was received, in nanoseconds
+   * @param committed whether the batch was committed, or rolled back otherwise
+   */
+  public void incBatch(int size, long commitLatencyNanos, boolean committed) {
+    long latency = Math.max(commitLatencyNanos, 0);
+    if (committed) {
+      committedBatches.increment();
+    } else {
+      rolledBackBatches.increment();
+    }
+    messages.add(size);
+    maxBatchSize.accumulateAndGet(size, Math::max);
+    totalCommitLatency.add(latency);
+    maxCommitLatency.accumulateAndGet(latency, Math::max);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Resets all the counters.
+   */
+  public void clear() {
+    committedBatches.reset();
+    rolledBackBatches.reset();
+    messages.reset();
+    maxBatchSize.set(0);
+    totalCommitLatency.reset();
+    maxCommitLatency.set(0);
+  }
+
+  public long getBatches() {
+    return committedBatches.sum() + rolledBackBatches.sum();
+  }
+
+  public long getCommittedBatches() {
+    return committedBatches.sum();
+  }
+
+  public long getRolledBackBatches() {
+    return rolledBackBatches.sum();
+  }
+
+  /**
+   * @return the number of messages in all the batches, including the ones rolled back and received again later
+   */
+  public long getMessages() {
+    return messages.sum();
+  }
+
+  public long getAverageBatchSize() {
+    long batches = getBatches();
+    return batches == 0 ? 0 : messages.sum() / batches;
+  }
+
+  public long getMaxBatchSize() {
+    return maxBatchSize.get();
+  }
+
+  /**
+   * @return the average commit latency of the batches, in milliseconds
+   */
+  public long getAverageCommitLatency() {
+    long batches = getBatches();
+    return batches == 0 ? 0 : NANOSECONDS.toMillis(totalCommitLatency.sum() / batches);
+  }
+
+  /**
+   * @return the maximum commit latency of the batches, in milliseconds
+   */
+  public long getMaxCommitLatency() {
+    return NANOSECONDS.toMillis(maxCommitLatency.get());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import org.mule.compatibility.core.transport.AbstractMessageReceiver;
+import org.mule.compatibility.core.transport.AbstractReceiverWorker;
+import org.mule.compatibility.transport.jms.redelivery.RedeliveryHandler;
+import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.api.transaction.TransactionException;
+import org.mule.runtime.core.transaction.TransactionCollection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jms.Message;
+import javax.jms.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes a batch of JMS messages received by a {@link JmsBatchConsumer} in a single transaction, either routing each message
+ * as an event of its own or routing a single event whose payload is the list of messages.
+ * <p>
+ * If any message causes the transaction to be rolled back, the whole batch is rolled back and the broker redelivers all of its
+ * messages, the ones already processed included.
+ *
+ * @since 4.0
+ */
+public class JmsBatchWorker extends AbstractReceiverWorker {
+
+  private static final Logger logger = LoggerFactory.getLogger(JmsBatchWorker.class);
+
+  private final JmsConnector connector;
+  private final Session session;
+  private final RedeliveryHandler redeliveryHandler;
+  private final Message lastMessage;
+  private Transaction transaction;
+
+  /**
+   * @param batch the messages to process
+   * @param asCollection whether to route a single event with all the messages instead of an event for each one
+   * @param receiver the receiver of the messages
+   * @param session the session the messages were received with
+   * @param redeliveryHandler the handler of the messages the broker is redelivering
+   */
+  public JmsBatchWorker(List<Message> batch, boolean asCollection, AbstractMessageReceiver receiver, Session session,
+                        RedeliveryHandler redeliveryHandler) {
+    super(new ArrayList<>(asCollection ? 1 : batch.size()), receiver);
+    this.connector = (JmsConnector) receiver.getConnector();
+    this.session = session;
+    this.redeliveryHandler = redeliveryHandler;
+    this.lastMessage = batch.get(batch.size() - 1);
+    if (asCollection) {
+      messages.add(batch);
+    } else {
+      messages.addAll(batch);
+    }
+  }
+
+  @Override
+  protected Object preProcessMessage(Object message) throws Exception {
+    if (message instanceof List) {
+      for (Object batchMessage : (List<?>) message) {
+        handleRedelivery((Message) batchMessage);
+      }
+    } else {
+      handleRedelivery((Message) message);
+    }
+    return message;
+  }
+
+  private void handleRedelivery(Message message) throws Exception {
+    if (message.getJMSRedelivered()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Message with correlationId: " + message.getJMSCorrelationID()
+            + " has redelivered flag set, handing off to Redelivery Handler");
+      }
+      redeliveryHandler.handleRedelivery(message, receiver.getEndpoint(), receiver.getFlowConstruct());
+    }
+  }
+
+  /**
+   * Whether the batch was committed once {@link #processMessages()} returns. An exception strategy may roll back the transaction
+   * of the batch without rethrowing the exception, so this checks the outcome of the transaction instead.
+   *
+   * @return {@code true} if no transaction was bound to the batch or if it was committed
+   */
+  public boolean isCommitted() {
+    if (transaction == null) {
+      return true;
+    }
+    try {
+      return transaction.isCommitted();
+    } catch (TransactionException e) {
+      logger.warn("Cannot get the status of the transaction of the batch: " + e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  protected void bindTransaction(Transaction tx) throws TransactionException {
+    transaction = tx;
+    if (tx instanceof JmsTransaction || tx instanceof TransactionCollection) {
+      tx.bindResource(connector.getConnection(), ReusableSessionWrapperFactory.createWrapper(session));
+    } else if (tx instanceof JmsClientAcknowledgeTransaction) {
+      // acknowledging a message acknowledges every message received before it by the same session
+      ((JmsClientAcknowledgeTransaction) tx).setMessage(lastMessage);
+    }
+  }
+}
@@ -168,6 +168,37 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
    */
   private boolean returnOriginalMessageAsReply = false;
 
+  /**
+   * Whether each dispatcher keeps its JMS session and producer between non-transacted dispatches instead of getting them for
+   * each one.
+   */
+  private boolean cacheDispatcherSessions = false;
+
+  /**
+   * Whether request-response calls get their replies from a {@link SharedReplyToQueue} instead of a temporary destination per
+   * call.
+   */
+  private boolean useSharedReplyToQueue = false;
+
+  private final SharedReplyToQueue sharedReplyToQueue = new SharedReplyToQueue(this);
+
+  /**
+   * The maximum number of messages receivers process in a single transaction. {@code 1} disables batching.
+   */
+  private int batchSize = 1;
+
+  /**
+   * The time in milliseconds receivers wait for a batch to be complete since its first message was received.
+   */
+  private long batchTimeout = 100;
+
+  /**
+   * Whether receivers route each batch as a single event whose payload is the list of messages.
+   */
+  private boolean batchAsCollection = false;
+
+  private final JmsBatchStatistics batchStatistics = new JmsBatchStatistics();
+
   /**
    * In-container embedded mode disables some features for strict Java EE compliance.
    */
@@ -330,6 +361,7 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
 
   @Override
   protected void doDispose() {
+    sharedReplyToQueue.close();
     if (connection != null) {
       try {
         connection.close();
@@ -486,6 +518,7 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
 
   @Override
   protected void doDisconnect() throws Exception {
+    sharedReplyToQueue.close();
     try {
       if (connection != null) {
         disconnecting = true;
@@ -1124,6 +1157,84 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
     this.returnOriginalMessageAsReply = returnOriginalMessageAsReply;
   }
 
+  public boolean isCacheDispatcherSessions() {
+    return cacheDispatcherSessions;
+  }
+
+  /**
+   * @param cacheDispatcherSessions true if each dispatcher should keep its session and producer between non-transacted
+   *        dispatches. Useful when {@link #setCacheJmsSessions(boolean) cacheJmsSessions} does not apply, such as with JMS 1.0.2b
+   *        or XA connection factories.
+   */
+  public void setCacheDispatcherSessions(boolean cacheDispatcherSessions) {
+    this.cacheDispatcherSessions = cacheDispatcherSessions;
+  }
+
+  public boolean isUseSharedReplyToQueue() {
+    return useSharedReplyToQueue;
+  }
+
+  /**
+   * @param useSharedReplyToQueue true if request-response calls should get their replies from a single temporary queue
+   *        instead of creating a temporary destination for each call. Replies are matched by the
+   *        {@link JmsConstants#SHARED_REPLY_ID_PROPERTY} property of the request, not by JMSCorrelationID, so a party replying
+   *        which is not Mule must copy that property to the reply, otherwise the reply is discarded and the call times out.
+   */
+  public void setUseSharedReplyToQueue(boolean useSharedReplyToQueue) {
+    this.useSharedReplyToQueue = useSharedReplyToQueue;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * @param batchSize the maximum number of messages receivers process in a single transaction, committing or acknowledging them
+   *        at once. {@code 1}, the default, disables batching. Can be overridden on each endpoint with the {@code batchSize}
+   *        property.
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getBatchTimeout() {
+    return batchTimeout;
+  }
+
+  /**
+   * @param batchTimeout the time in milliseconds receivers wait for a batch to be complete since its first message was received.
+   *        Can be overridden on each endpoint with the {@code batchTimeout} property.
+   */
+  public void setBatchTimeout(long batchTimeout) {
+    this.batchTimeout = batchTimeout;
+  }
+
+  public boolean isBatchAsCollection() {
+    return batchAsCollection;
+  }
+
+  /**
+   * @param batchAsCollection true if receivers should route each batch as a single event whose payload is the list of messages,
+   *        instead of an event for each message. Can be overridden on each endpoint with the {@code batchAsCollection} property.
+   */
+  public void setBatchAsCollection(boolean batchAsCollection) {
+    this.batchAsCollection = batchAsCollection;
+  }
+
+  /**
+   * @return the statistics of the batches processed by all the receivers of this connector in batch mode
+   */
+  public JmsBatchStatistics getBatchStatistics() {
+    return batchStatistics;
+  }
+
+  /**
+   * @return the queue shared by the request-response calls to receive their replies when {@link #isUseSharedReplyToQueue()}
+   */
+  public SharedReplyToQueue getSharedReplyToQueue() {
+    return sharedReplyToQueue;
+  }
+
   /**
    * @return Returns underlying connection factory properties.
    */
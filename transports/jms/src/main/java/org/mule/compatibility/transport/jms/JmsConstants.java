@@ -31,6 +31,9 @@ public class JmsConstants {
   // extended properties
   public static final String JMS_X_DELIVERY_COUNT = "JMSXDeliveryCount";
 
+  // identifies each request whose reply is received from the shared replyTo queue, replies must carry it back
+  public static final String SHARED_REPLY_ID_PROPERTY = "MULE_SHARED_REPLY_ID";
+
   // QoS properties
   public static final String TIME_TO_LIVE_PROPERTY = "timeToLive";
   public static final String PERSISTENT_DELIVERY_PROPERTY = "persistentDelivery";
@@ -42,6 +45,9 @@ public class JmsConstants {
   public static final String CACHE_JMS_SESSIONS_PROPERTY = "cacheJmsSessions";
   public static final String DISABLE_TEMP_DESTINATIONS_PROPERTY = "disableTemporaryReplyToDestinations";
   public static final String RETURN_ORIGINAL_MESSAGE_PROPERTY = "returnOriginalMessageAsReply";
+  public static final String BATCH_SIZE_PROPERTY = "batchSize";
+  public static final String BATCH_TIMEOUT_PROPERTY = "batchTimeout";
+  public static final String BATCH_AS_COLLECTION_PROPERTY = "batchAsCollection";
 
   public static final Set JMS_PROPERTY_NAMES =
       Collections.unmodifiableSet(new HashSet(Arrays.asList(new String[] {JMS_SPECIFICATION_102B, JMS_SPECIFICATION_11,
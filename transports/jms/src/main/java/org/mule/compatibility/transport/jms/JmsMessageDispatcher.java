@@ -7,6 +7,7 @@
 package org.mule.compatibility.transport.jms;
 
 import static org.mule.compatibility.core.registry.MuleRegistryTransportHelper.lookupEndpointBuilder;
+import static org.mule.compatibility.transport.jms.JmsConstants.SHARED_REPLY_ID_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_CORRELATION_ID_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_REPLY_TO_PROPERTY;
 import static org.mule.runtime.core.util.NumberUtils.toInt;
@@ -15,6 +16,7 @@ import org.mule.compatibility.core.api.endpoint.EndpointBuilder;
 import org.mule.compatibility.core.api.endpoint.EndpointException;
 import org.mule.compatibility.core.api.endpoint.OutboundEndpoint;
 import org.mule.compatibility.core.transport.AbstractMessageDispatcher;
+import org.mule.compatibility.transport.jms.SharedReplyToQueue.PendingReply;
 import org.mule.compatibility.transport.jms.i18n.JmsMessages;
 import org.mule.runtime.api.execution.CompletionHandler;
 import org.mule.runtime.api.execution.ExceptionCallback;
@@ -56,6 +58,13 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
   private boolean disableTemporaryDestinations = false;
   private boolean returnOriginalMessageAsReply = false;
 
+  /**
+   * Session and producer kept between dispatches when the connector caches dispatcher sessions. Dispatchers are only used by one
+   * thread at a time, and are disposed when the connection is lost, releasing them.
+   */
+  private Session cachedSession;
+  private MessageProducer cachedProducer;
+
   public JmsMessageDispatcher(OutboundEndpoint endpoint) {
     super(endpoint);
     this.connector = (JmsConnector) endpoint.getConnector();
@@ -85,7 +94,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
 
   @Override
   protected void doDisconnect() throws Exception {
-    // template method
+    releaseCachedSession();
   }
 
   protected boolean isDisableTemporaryDestinations() {
@@ -126,6 +135,11 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       }
     }
 
+    // A reply consumer listening on the session would prevent using the session from other threads
+    final PendingReply sharedReply = useReplyToDestination ? registerSharedReply(jmsMessage, event) : null;
+    final boolean useCachedSession = !transacted && connector.isCacheDispatcherSessions()
+        && !(useReplyToDestination && sharedReply == null && completionHandler != null);
+
     Session session = null;
     MessageProducer producer = null;
     boolean delayedCleanup = false;
@@ -139,10 +153,16 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
             + "\n  JMSReplyTo=" + jmsMessage.getJMSReplyTo());
       }
 
-      session = connector.getTransactionalResource(endpoint);
-      producer = createProducer(session, topic);
+      if (useCachedSession) {
+        producer = getCachedProducer(topic);
+        session = cachedSession;
+      } else {
+        session = connector.getTransactionalResource(endpoint);
+        producer = createProducer(session, topic);
+      }
 
-      final Destination replyTo = getReplyToDestination(jmsMessage, session, event, useReplyToDestination, topic);
+      final Destination replyTo = sharedReply != null ? connector.getSharedReplyToQueue().getDestination()
+          : getReplyToDestination(jmsMessage, session, event, useReplyToDestination, topic);
 
       // Set the replyTo property
       if (replyTo != null) {
@@ -155,7 +175,18 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       // Allow overrides to alter the message if necessary
       processMessage(jmsMessage, event);
 
-      if (useReplyToDestination && replyTo != null) {
+      if (sharedReply != null) {
+        final int timeout = endpoint.getResponseTimeout();
+
+        if (completionHandler != null) {
+          internalNonBlockingSendAndAwaitSharedReply(producer, sharedReply, replyTo, jmsMessage, topic, ttl, priority, persistent,
+                                                     timeout, completionHandler);
+          return null;
+        } else {
+          return internalBlockingSendAndAwaitSharedReply(producer, sharedReply, replyTo, jmsMessage, topic, ttl, priority,
+                                                         persistent, timeout);
+        }
+      } else if (useReplyToDestination && replyTo != null) {
         final MessageConsumer consumer = createReplyToConsumer(jmsMessage, event, session, replyTo, topic);
         final int timeout = endpoint.getResponseTimeout();
 
@@ -182,8 +213,17 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       } else {
         return internalSend(producer, jmsMessage, topic, ttl, priority, persistent);
       }
+    } catch (Exception e) {
+      if (sharedReply != null) {
+        sharedReply.cancel();
+      }
+      if (useCachedSession) {
+        // the session may be unusable after a failure
+        releaseCachedSession();
+      }
+      throw e;
     } finally {
-      if (!delayedCleanup) {
+      if (!delayedCleanup && !useCachedSession) {
         connector.closeQuietly(producer);
         closeSession(session);
       }
@@ -282,12 +322,98 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
     connector.scheduleTimeoutTask(closeConsumerTask, endpoint.getResponseTimeout());
   }
 
+  private InternalMessage internalBlockingSendAndAwaitSharedReply(MessageProducer producer, PendingReply sharedReply,
+                                                                  Destination replyTo, Message jmsMessage, boolean topic,
+                                                                  long ttl, int priority, boolean persistent, int timeout)
+      throws Exception {
+    connector.getJmsSupport().send(producer, jmsMessage, persistent, priority, ttl, topic, endpoint);
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Waiting for response event for: " + timeout + " ms on " + replyTo);
+    }
+
+    return createResponseMuleMessage(sharedReply.await(timeout), replyTo);
+  }
+
+  private void internalNonBlockingSendAndAwaitSharedReply(MessageProducer producer, final PendingReply sharedReply,
+                                                          final Destination replyTo, Message jmsMessage, boolean topic,
+                                                          long ttl, int priority, boolean persistent, int timeout,
+                                                          final CompletionHandler<InternalMessage, Exception, Void> handler)
+      throws JMSException {
+    final TimerTask timeoutTask = new TimerTask() {
+
+      @Override
+      public void run() {
+        if (sharedReply.cancel()) {
+          try {
+            handler.onCompletion(createMuleMessage(null), (exception -> {
+              return null;
+            }));
+          } catch (MuleException e) {
+            handler.onFailure(e);
+          }
+        }
+      }
+    };
+    sharedReply.whenReceived(result -> {
+      timeoutTask.cancel();
+      try {
+        handler.onCompletion(createResponseMuleMessage(result, replyTo), (exception -> {
+          // TODO MULE-9629
+          return null;
+        }));
+      } catch (Exception e) {
+        handler.onFailure(e);
+      }
+    }, getWorkManager());
+    // scheduled before sending, since a quick reply cancels it
+    connector.scheduleTimeoutTask(timeoutTask, timeout);
+    connector.getJmsSupport().send(producer, jmsMessage, persistent, priority, ttl, topic, endpoint);
+  }
+
   private void cleanup(MessageProducer producer, Session session, MessageConsumer consumer, Destination replyTo) {
     closeProducer(producer);
     closeConsumer(session, consumer, replyTo);
     closeSession(session);
   }
 
+  /**
+   * Registers the call in the connector's shared replyTo queue, if it is to be used for this call.
+   *
+   * @return the reply to wait for, or {@code null} if the reply is to be received some other way
+   */
+  private PendingReply registerSharedReply(Message jmsMessage, Event event) throws JMSException {
+    if (!connector.isUseSharedReplyToQueue() || disableTemporaryDestinations || !isHandleReplyTo(jmsMessage, event)
+        || event.getMessage().getOutboundProperty(JmsConstants.JMS_REPLY_TO) != null
+        || event.getMessage().getOutboundProperty(MULE_REPLY_TO_PROPERTY) != null) {
+      return null;
+    }
+
+    PendingReply sharedReply = connector.getSharedReplyToQueue().register();
+    jmsMessage.setStringProperty(SHARED_REPLY_ID_PROPERTY, sharedReply.getId());
+    return sharedReply;
+  }
+
+  private MessageProducer getCachedProducer(boolean topic) throws JMSException {
+    if (cachedProducer == null) {
+      cachedSession = connector.createSession(endpoint);
+      try {
+        cachedProducer = createProducer(cachedSession, topic);
+      } catch (JMSException e) {
+        releaseCachedSession();
+        throw e;
+      }
+    }
+    return cachedProducer;
+  }
+
+  private void releaseCachedSession() {
+    connector.closeQuietly(cachedProducer);
+    connector.closeQuietly(cachedSession);
+    cachedProducer = null;
+    cachedSession = null;
+  }
+
   private MessageProducer createProducer(Session session, boolean topic) throws JMSException {
     final Destination dest = connector.getJmsSupport().createDestination(session, endpoint);
     return connector.getJmsSupport().createProducer(session, dest, topic);
@@ -401,7 +527,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
 
   @Override
   protected void doDispose() {
-    // template method
+    releaseCachedSession();
   }
 
   /**
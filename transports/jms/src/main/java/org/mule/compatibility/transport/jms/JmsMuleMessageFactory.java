@@ -17,6 +17,7 @@ import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.jms.Destination;
@@ -30,9 +31,13 @@ public class JmsMuleMessageFactory extends AbstractMuleMessageFactory {
 
   private static final Logger logger = LoggerFactory.getLogger(JmsMuleMessageFactory.class);
 
+  /**
+   * Besides single JMS messages, a {@link List} of JMS messages received as a batch is supported, resulting in a message whose
+   * payload is that list.
+   */
   @Override
   protected Class<?>[] getSupportedTransportMessageTypes() {
-    return new Class[] {Message.class};
+    return new Class[] {Message.class, List.class};
   }
 
   @Override
@@ -42,6 +47,11 @@ public class JmsMuleMessageFactory extends AbstractMuleMessageFactory {
 
   @Override
   protected void addProperties(MuleCompatibilityMessageBuilder messageBuilder, Object transportMessage) throws Exception {
+    if (!(transportMessage instanceof Message)) {
+      // the properties of each message of a batch are kept in the messages themselves, only the type of the items is added
+      messageBuilder.collectionPayload((List<?>) transportMessage, Message.class);
+      return;
+    }
     Message jmsMessage = (Message) transportMessage;
 
     Map<String, Serializable> messageProperties = new HashMap<>();
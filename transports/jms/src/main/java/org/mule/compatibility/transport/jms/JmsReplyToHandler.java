@@ -6,6 +6,7 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static org.mule.compatibility.transport.jms.JmsConstants.SHARED_REPLY_ID_PROPERTY;
 import org.mule.compatibility.core.api.config.MuleEndpointProperties;
 import org.mule.compatibility.core.api.endpoint.EndpointBuilder;
 import org.mule.compatibility.core.api.endpoint.EndpointFactory;
@@ -162,6 +163,10 @@ public class JmsReplyToHandler extends EndpointReplyToHandler {
     if (jmsCorrelationId != null) {
       replyToMessage.setJMSCorrelationID(jmsCorrelationId);
     }
+    Object sharedReplyId = eventMsg.getInboundProperty(SHARED_REPLY_ID_PROPERTY);
+    if (sharedReplyId != null) {
+      replyToMessage.setStringProperty(SHARED_REPLY_ID_PROPERTY, sharedReplyId.toString());
+    }
     if (logger.isDebugEnabled()) {
       logger.debug("replyTo message is " + replyToMessage);
     }
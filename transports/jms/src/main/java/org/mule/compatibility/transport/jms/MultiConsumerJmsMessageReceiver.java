@@ -6,7 +6,11 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_AS_COLLECTION_PROPERTY;
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_SIZE_PROPERTY;
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_TIMEOUT_PROPERTY;
 import static org.mule.compatibility.transport.jms.JmsConstants.JMS_REPLY_TO;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.receiver;
 import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.connector.EndpointConnectException;
@@ -29,6 +33,7 @@ import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.api.transaction.TransactionException;
 import org.mule.runtime.core.transaction.TransactionCollection;
 import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.core.util.MapUtils;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -64,6 +69,10 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
   private boolean reconnecting = false;
   private boolean started = false;
 
+  private final int batchSize;
+  private final long batchTimeout;
+  private final boolean batchAsCollection;
+
   public MultiConsumerJmsMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
       throws CreateException {
     super(connector, flowConstruct, endpoint);
@@ -86,6 +95,11 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
     consumers = new CopyOnWriteArrayList<SubReceiver>();
     reconnectWorkManager = new ReconnectWorkManager(getEndpoint().getMuleContext());
+
+    batchSize = MapUtils.getIntValue(endpoint.getProperties(), BATCH_SIZE_PROPERTY, jmsConnector.getBatchSize());
+    batchTimeout = MapUtils.getLongValue(endpoint.getProperties(), BATCH_TIMEOUT_PROPERTY, jmsConnector.getBatchTimeout());
+    batchAsCollection =
+        MapUtils.getBooleanValue(endpoint.getProperties(), BATCH_AS_COLLECTION_PROPERTY, jmsConnector.isBatchAsCollection());
   }
 
 
@@ -107,8 +121,6 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
   @Override
   protected void doStop() throws MuleException {
-    super.doStop();
-
     logger.debug("doStop()");
     if (consumers != null) {
       SubReceiver sub;
@@ -118,6 +130,9 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
       }
     }
     reconnectWorkManager.dispose();
+
+    // batch consumers run on the work manager, which waits for them when disposed
+    super.doStop();
   }
 
   @Override
@@ -207,12 +222,22 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     return !this.isTopic;
   }
 
+  /**
+   * @return whether messages are received in batches, each processed in a single transaction
+   */
+  public boolean isBatchMode() {
+    return batchSize > 1;
+  }
+
+
   protected class SubReceiver implements MessageListener {
 
     private final Logger subLogger = LoggerFactory.getLogger(getClass());
 
     private volatile Session session;
     private volatile MessageConsumer consumer;
+    private volatile JmsBatchConsumer batchConsumer;
+    private RedeliveryHandler batchRedeliveryHandler;
 
     protected volatile boolean connected;
     protected volatile boolean started;
@@ -262,6 +287,18 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
         doConnect();
       }
 
+      if (isBatchMode()) {
+        if (batchConsumer == null) {
+          String name = receiver(getEndpoint().getMuleContext(), jmsConnector.getName()) + ".batch."
+              + endpoint.getEndpointURI().getAddress();
+          batchConsumer = new JmsBatchConsumer(name, getWorkManager(), consumer, batchSize, batchTimeout, this::processBatch,
+                                               jmsConnector.getBatchStatistics());
+          batchConsumer.start();
+        }
+        started = true;
+        return;
+      }
+
       try {
         MessageListener currentMessageListener = consumer.getMessageListener();
         if (currentMessageListener == null || currentMessageListener != this) {
@@ -282,7 +319,11 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     protected void doStop(boolean force) throws MuleException {
       subLogger.debug("SUB doStop()");
 
-      if (consumer != null) {
+      if (batchConsumer != null) {
+        batchConsumer.stop();
+        batchConsumer = null;
+        started = false;
+      } else if (consumer != null) {
         try {
           consumer.setMessageListener(null);
           started = false;
@@ -367,27 +408,55 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
         JmsWorker worker = new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this);
         worker.processMessages();
       } catch (Exception e) {
-        // Use this rollback method in case a transaction has not been configured on the endpoint.
-        RollbackSourceCallback rollbackMethod = new RollbackSourceCallback() {
-
-          @Override
-          public void rollback() {
-            recoverSession();
-          }
-        };
+        handleProcessingException(e);
+      } finally {
+        isProcessingMessage = false;
+      }
+    }
 
-        if (e instanceof MessagingException) {
-          MessagingException messagingException = (MessagingException) e;
-          if (!messagingException.getEvent().isTransacted() && messagingException.causedRollback()) {
-            rollbackMethod.rollback();
-          }
-        } else {
-          getEndpoint().getMuleContext().getExceptionListener().handleException(e, rollbackMethod);
+    /**
+     * Processes a batch of messages received by the {@link JmsBatchConsumer} in a single transaction.
+     *
+     * @return {@code true} if the batch was committed
+     */
+    protected boolean processBatch(List<Message> batch) {
+      try {
+        isProcessingMessage = true;
+        if (batchRedeliveryHandler == null) {
+          batchRedeliveryHandler = jmsConnector.getRedeliveryHandlerFactory().create();
+          batchRedeliveryHandler.setConnector(jmsConnector);
         }
+        JmsBatchWorker worker =
+            new JmsBatchWorker(batch, batchAsCollection, MultiConsumerJmsMessageReceiver.this, session, batchRedeliveryHandler);
+        worker.processMessages();
+        return worker.isCommitted();
+      } catch (Exception e) {
+        handleProcessingException(e);
+        return false;
       } finally {
         isProcessingMessage = false;
       }
     }
+
+    private void handleProcessingException(Exception e) {
+      // Use this rollback method in case a transaction has not been configured on the endpoint.
+      RollbackSourceCallback rollbackMethod = new RollbackSourceCallback() {
+
+        @Override
+        public void rollback() {
+          recoverSession();
+        }
+      };
+
+      if (e instanceof MessagingException) {
+        MessagingException messagingException = (MessagingException) e;
+        if (!messagingException.getEvent().isTransacted() && messagingException.causedRollback()) {
+          rollbackMethod.rollback();
+        }
+      } else {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(e, rollbackMethod);
+      }
+    }
   }
 
   protected class JmsWorker extends AbstractReceiverWorker {
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.compatibility.transport.jms.JmsConstants.SHARED_REPLY_ID_PROPERTY;
+import org.mule.runtime.core.util.UUID;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.TemporaryQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A temporary queue shared by all the request-response calls of a {@link JmsConnector} to receive their replies, instead of
+ * creating a temporary destination and a consumer for each call. Each call gets a unique id, sent in the
+ * {@link JmsConstants#SHARED_REPLY_ID_PROPERTY} property of the request, and replies are matched to the calls waiting for them by
+ * that property, so the party replying must copy it from the request, as the {@link JmsReplyToHandler} does. The
+ * {@code JMSCorrelationID} is not used for this since it is the same for all the requests of a flow execution, so a late reply
+ * to a request that timed out could be taken for the reply to the next one.
+ * <p>
+ * The queue is created on first use and discarded when the connector disconnects, in which case the calls still waiting get no
+ * reply and time out. A new queue is created on the first use after reconnecting.
+ *
+ * @since 4.0
+ */
+public class SharedReplyToQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedReplyToQueue.class);
+
+  private final JmsConnector connector;
+  private final ConcurrentMap<String, PendingReply> pendingReplies = new ConcurrentHashMap<>();
+
+  private Session session;
+  private Destination destination;
+  private MessageConsumer consumer;
+
+  public SharedReplyToQueue(JmsConnector connector) {
+    this.connector = connector;
+  }
+
+  /**
+   * @return the queue to set as the {@code JMSReplyTo} of the requests, created if needed
+   * @throws JMSException if the queue could not be created
+   */
+  public synchronized Destination getDestination() throws JMSException {
+    if (destination == null) {
+      Connection connection = connector.getConnection();
+      if (connection == null) {
+        throw new IllegalStateException("No JMS Connection");
+      }
+
+      JmsSupport jmsSupport = connector.getJmsSupport();
+      Session newSession = jmsSupport.createSession(connection, false, false, Session.AUTO_ACKNOWLEDGE, false);
+      try {
+        Destination newDestination = jmsSupport.createTemporaryDestination(newSession, false);
+        consumer = jmsSupport.createConsumer(newSession, newDestination, null, false, null, false, null);
+        consumer.setMessageListener(this::onReply);
+        session = newSession;
+        destination = newDestination;
+      } catch (JMSException e) {
+        consumer = null;
+        connector.closeQuietly(newSession);
+        throw e;
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Created shared replyTo queue " + destination + " for connector " + connector.getName());
+      }
+    }
+    return destination;
+  }
+
+  /**
+   * Registers a call that is about to send a request. Must be done before sending the request, so the reply can't be missed.
+   * The request must carry the {@link PendingReply#getId() id} of the returned reply in its
+   * {@link JmsConstants#SHARED_REPLY_ID_PROPERTY} property.
+   *
+   * @return the reply to wait for
+   */
+  public PendingReply register() {
+    PendingReply pendingReply = new PendingReply(UUID.getUUID());
+    pendingReplies.put(pendingReply.id, pendingReply);
+    return pendingReply;
+  }
+
+  /**
+   * @return the number of calls waiting for a reply
+   */
+  public int getPendingRepliesCount() {
+    return pendingReplies.size();
+  }
+
+  private void onReply(Message reply) {
+    String id;
+    try {
+      id = reply.getStringProperty(SHARED_REPLY_ID_PROPERTY);
+    } catch (JMSException e) {
+      logger.warn("Discarding reply whose " + SHARED_REPLY_ID_PROPERTY + " could not be read: " + e.getMessage());
+      return;
+    }
+
+    if (id == null) {
+      logger.warn("Discarding reply with no " + SHARED_REPLY_ID_PROPERTY + " received on the shared replyTo queue of connector "
+          + connector.getName() + ". The party replying must copy it from the request");
+      return;
+    }
+
+    PendingReply pendingReply = pendingReplies.remove(id);
+    if (pendingReply == null) {
+      logger.warn("Discarding reply with " + SHARED_REPLY_ID_PROPERTY + " " + id + " since no call is waiting for it");
+      return;
+    }
+    pendingReply.reply.complete(reply);
+  }
+
+  /**
+   * Closes the queue, along with its consumer and session.
+   */
+  public synchronized void close() {
+    connector.closeQuietly(consumer);
+    if (destination instanceof TemporaryQueue) {
+      connector.closeQuietly((TemporaryQueue) destination);
+    }
+    connector.closeQuietly(session);
+    consumer = null;
+    destination = null;
+    session = null;
+  }
+
+  /**
+   * The reply a call is waiting for.
+   */
+  public class PendingReply {
+
+    private final String id;
+    private final CompletableFuture<Message> reply = new CompletableFuture<>();
+
+    private PendingReply(String id) {
+      this.id = id;
+    }
+
+    /**
+     * @return the unique id of the call, to be sent in the {@link JmsConstants#SHARED_REPLY_ID_PROPERTY} of the request
+     */
+    public String getId() {
+      return id;
+    }
+
+    /**
+     * Waits for the reply, giving up waiting for it after the given time.
+     *
+     * @param timeout the time in milliseconds to wait
+     * @return the reply, or {@code null} if it did not arrive in time
+     */
+    public Message await(long timeout) throws InterruptedException {
+      try {
+        return reply.get(timeout, MILLISECONDS);
+      } catch (TimeoutException e) {
+        // if it can't be cancelled, the reply has just been received and is about to be completed
+        return cancel() ? null : reply.join();
+      } catch (ExecutionException e) {
+        // the future is never completed exceptionally
+        return null;
+      }
+    }
+
+    /**
+     * Calls {@code callback} with the reply once it arrives. The callback is run by {@code executor}, so the single thread that
+     * receives the replies of all the calls is not kept busy by any of them. Without an {@code executor}, the callback is run by
+     * the thread that receives the reply.
+     */
+    public void whenReceived(Consumer<Message> callback, Executor executor) {
+      if (executor != null) {
+        reply.thenAcceptAsync(callback, executor);
+      } else {
+        reply.thenAccept(callback);
+      }
+    }
+
+    /**
+     * Gives up waiting for the reply.
+     *
+     * @return {@code true} if the reply had not arrived yet, so it never will
+     */
+    public boolean cancel() {
+      return pendingReplies.remove(id, this);
+    }
+  }
+}
@@ -6,6 +6,10 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_AS_COLLECTION_PROPERTY;
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_SIZE_PROPERTY;
+import static org.mule.compatibility.transport.jms.JmsConstants.BATCH_TIMEOUT_PROPERTY;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.receiver;
 import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.api.transport.MessageReceiver;
@@ -27,8 +31,10 @@ import org.mule.runtime.core.api.lifecycle.StopException;
 import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.transaction.TransactionCoordination;
 import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.core.util.MapUtils;
 
 import java.nio.charset.Charset;
+import java.util.List;
 
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -53,6 +59,11 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
   protected boolean useMultipleReceivers = true;
   private final boolean topic;
 
+  private final int batchSize;
+  private final long batchTimeout;
+  private final boolean batchAsCollection;
+  private JmsBatchConsumer batchConsumer;
+
 
   public TransactedSingleResourceJmsMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
       throws CreateException {
@@ -70,6 +81,11 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
     } catch (Exception e) {
       throw new CreateException(e, this);
     }
+
+    batchSize = MapUtils.getIntValue(endpoint.getProperties(), BATCH_SIZE_PROPERTY, this.connector.getBatchSize());
+    batchTimeout = MapUtils.getLongValue(endpoint.getProperties(), BATCH_TIMEOUT_PROPERTY, this.connector.getBatchTimeout());
+    batchAsCollection =
+        MapUtils.getBooleanValue(endpoint.getProperties(), BATCH_AS_COLLECTION_PROPERTY, this.connector.isBatchAsCollection());
   }
 
   @Override
@@ -128,6 +144,15 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
       // run in a separate thread and hasn't managed to connect yet.
       if (consumer == null) {
         startOnConnect = true;
+      } else if (isBatchMode()) {
+        startOnConnect = false;
+        if (batchConsumer == null) {
+          String name = receiver(getEndpoint().getMuleContext(), connector.getName()) + ".batch."
+              + endpoint.getEndpointURI().getAddress();
+          batchConsumer = new JmsBatchConsumer(name, getWorkManager(), consumer, batchSize, batchTimeout, this::processBatch,
+                                               connector.getBatchStatistics());
+          batchConsumer.start();
+        }
       } else {
         startOnConnect = false;
         this.consumer.setMessageListener(this);
@@ -139,19 +164,27 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
 
   @Override
   protected void doStop() throws MuleException {
-    super.doStop();
-
     try {
-      if (consumer != null) {
+      if (batchConsumer != null) {
+        batchConsumer.stop();
+        batchConsumer = null;
+      } else if (consumer != null) {
         consumer.setMessageListener(null);
       }
     } catch (JMSException e) {
       throw new StopException(e, this);
     }
+
+    // the batch consumer runs on the work manager, which waits for it when disposed
+    super.doStop();
   }
 
   @Override
   public void doDisconnect() throws Exception {
+    if (batchConsumer != null) {
+      batchConsumer.stop();
+      batchConsumer = null;
+    }
     closeConsumer();
   }
 
@@ -181,6 +214,45 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
     }
   }
 
+  /**
+   * Processes a batch of messages received by the {@link JmsBatchConsumer} in a single transaction.
+   *
+   * @return {@code true} if the batch was committed
+   */
+  protected boolean processBatch(List<Message> batch) {
+    try {
+      JmsBatchWorker worker = new JmsBatchWorker(batch, batchAsCollection, this, session, redeliveryHandler);
+      worker.processMessages();
+      if (!worker.isCommitted()) {
+        return false;
+      }
+      // Just in case we're not using AUTO_ACKNOWLEDGE (which is the default)
+      batch.get(batch.size() - 1).acknowledge();
+      return true;
+    } catch (MessagingException e) {
+      // already handled by TransactionTemplate
+      recoverSession();
+      return false;
+    } catch (Exception e) {
+      getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+      recoverSession();
+      return false;
+    }
+  }
+
+  /**
+   * Has the messages not acknowledged yet redelivered when no transaction rolled them back.
+   */
+  private void recoverSession() {
+    try {
+      if (session != null && !session.getTransacted()) {
+        session.recover();
+      }
+    } catch (JMSException e) {
+      logger.warn("Cannot recover session: " + e.getMessage());
+    }
+  }
+
   public void processMessages(final Message message, final MessageReceiver receiver) throws Exception {
     ExecutionTemplate<Event> executionTemplate = createExecutionTemplate();
 
@@ -235,4 +307,12 @@ public class TransactedSingleResourceJmsMessageReceiver extends AbstractMessageR
   public boolean shouldConsumeInEveryNode() {
     return !this.topic;
   }
+
+  /**
+   * @return whether messages are received in batches, each processed in a single transaction
+   */
+  public boolean isBatchMode() {
+    return batchSize > 1;
+  }
+
 }
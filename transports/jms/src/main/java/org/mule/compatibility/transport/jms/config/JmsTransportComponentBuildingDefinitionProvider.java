@@ -88,6 +88,11 @@ public class JmsTransportComponentBuildingDefinitionProvider extends TransportCo
         .withSetterParameterDefinition("noLocal", fromSimpleParameter("noLocal").build())
         .withSetterParameterDefinition("persistentDelivery", fromSimpleParameter("persistentDelivery").build())
         .withSetterParameterDefinition("cacheJmsSessions", fromSimpleParameter("cacheJmsSessions").build())
+        .withSetterParameterDefinition("cacheDispatcherSessions", fromSimpleParameter("cacheDispatcherSessions").build())
+        .withSetterParameterDefinition("useSharedReplyToQueue", fromSimpleParameter("useSharedReplyToQueue").build())
+        .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("batchTimeout", fromSimpleParameter("batchTimeout").build())
+        .withSetterParameterDefinition("batchAsCollection", fromSimpleParameter("batchAsCollection").build())
         .withSetterParameterDefinition("eagerConsumer", fromSimpleParameter("eagerConsumer").build())
         .withSetterParameterDefinition("username", fromSimpleParameter("username").build())
         .withSetterParameterDefinition("password", fromSimpleParameter("password").build())
@@ -6,6 +6,7 @@
  */
 package org.mule.compatibility.transport.jms.transformers;
 
+import org.mule.runtime.api.metadata.CollectionDataType;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.InternalMessage;
@@ -13,6 +14,8 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.util.ClassUtils;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.jms.BytesMessage;
 import javax.jms.MapMessage;
@@ -32,6 +35,7 @@ import javax.jms.TextMessage;
  * <li>javax.jms.MapMessage - java.util.Map</li>
  * <li>javax.jms.StreamMessage - java.util.Vector of objects from the Stream Message.</li>
  * </ul>
+ * A {@link List} of messages received as a batch is converted into a list with the object of each message.
  */
 public class JMSMessageToObject extends AbstractJmsTransformer {
 
@@ -49,6 +53,20 @@ public class JMSMessageToObject extends AbstractJmsTransformer {
     registerSourceType(DataType.fromType(StreamMessage.class));
   }
 
+  @Override
+  public boolean isSourceDataTypeSupported(DataType dataType, boolean exactMatch) {
+    // not registered as a source type so it is not discovered for any list
+    return super.isSourceDataTypeSupported(dataType, exactMatch) || (!exactMatch && isBatch(dataType));
+  }
+
+  /**
+   * @return whether {@code dataType} is the one of a batch of JMS messages, a {@link List} whose items are {@link Message}s
+   */
+  private boolean isBatch(DataType dataType) {
+    return dataType instanceof CollectionDataType && List.class.isAssignableFrom(dataType.getType())
+        && Message.class.isAssignableFrom(((CollectionDataType) dataType).getItemDataType().getType());
+  }
+
   @Override
   public Object transformMessage(Event event, Charset outputEncoding) throws TransformerException {
     final InternalMessage message = event.getMessage();
@@ -57,14 +75,16 @@ public class JMSMessageToObject extends AbstractJmsTransformer {
         logger.debug("Source object is " + ClassUtils.getSimpleName(message.getPayload().getDataType().getType()));
       }
 
-      Object result = transformFromMessage((Message) message.getPayload().getValue(), outputEncoding);
-
-      // We need to handle String / byte[] explicitly since this transformer does not define
-      // a single return type
-      if (byte[].class.isAssignableFrom(getReturnDataType().getType()) && result instanceof String) {
-        result = result.toString().getBytes(outputEncoding);
-      } else if (String.class.isAssignableFrom(getReturnDataType().getType()) && result instanceof byte[]) {
-        result = new String((byte[]) result, outputEncoding);
+      Object payload = message.getPayload().getValue();
+      Object result;
+      if (payload instanceof List) {
+        List<Object> results = new ArrayList<>(((List<?>) payload).size());
+        for (Object batchMessage : (List<?>) payload) {
+          results.add(batchMessage instanceof Message ? transformPayload((Message) batchMessage, outputEncoding) : batchMessage);
+        }
+        result = results;
+      } else {
+        result = transformPayload((Message) payload, outputEncoding);
       }
 
 
@@ -77,4 +97,17 @@ public class JMSMessageToObject extends AbstractJmsTransformer {
       throw new TransformerException(this, e);
     }
   }
+
+  private Object transformPayload(Message message, Charset outputEncoding) throws Exception {
+    Object result = transformFromMessage(message, outputEncoding);
+
+    // We need to handle String / byte[] explicitly since this transformer does not define
+    // a single return type
+    if (byte[].class.isAssignableFrom(getReturnDataType().getType()) && result instanceof String) {
+      result = result.toString().getBytes(outputEncoding);
+    } else if (String.class.isAssignableFrom(getReturnDataType().getType()) && result instanceof byte[]) {
+      result = new String((byte[]) result, outputEncoding);
+    }
+    return result;
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.compatibility.core.api.transport.MessageReceiver;
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Tests transacted JMS receivers consuming messages in batches, each committed in a single transaction.
+ */
+public class JmsBatchConsumptionTestCase extends FunctionalTestCase {
+
+  private static final int MESSAGES = 25;
+  private static final int BATCH_SIZE = 10;
+  private static final long TIMEOUT = 10000;
+
+  @Override
+  protected String getConfigFile() {
+    return "jms-batch-consumption-config.xml";
+  }
+
+  @Test
+  public void messagesAreProcessedInBatches() throws Exception {
+    MuleClient client = muleContext.getClient();
+    for (int i = 0; i < MESSAGES; ++i) {
+      client.dispatch("jms://batch?connector=outJms", "test" + i, null);
+    }
+
+    Set<String> received = new HashSet<>();
+    for (int i = 0; i < MESSAGES; ++i) {
+      InternalMessage message = client.request("vm://batchOut", TIMEOUT).getRight().get();
+      received.add(getPayloadAsString(message));
+    }
+    assertThat(received.size(), is(MESSAGES));
+
+    JmsBatchStatistics statistics = getBatchConnector("batchJms").getBatchStatistics();
+    assertThat(statistics.getMessages(), is((long) MESSAGES));
+    assertThat(statistics.getBatches(), lessThan((long) MESSAGES));
+    assertThat(statistics.getMaxBatchSize(), lessThanOrEqualTo((long) BATCH_SIZE));
+    assertThat(statistics.getRolledBackBatches(), is(0L));
+  }
+
+  @Test
+  public void batchIsRoutedAsCollection() throws Exception {
+    MuleClient client = muleContext.getClient();
+    for (int i = 0; i < MESSAGES; ++i) {
+      client.dispatch("jms://collection?connector=outJms", "test" + i, null);
+    }
+
+    Set<Object> received = new HashSet<>();
+    while (received.size() < MESSAGES) {
+      InternalMessage message = client.request("vm://collectionOut", TIMEOUT).getRight().get();
+      assertThat(message, notNullValue());
+      assertThat(message.getPayload().getValue(), instanceOf(List.class));
+      List<?> batch = (List<?>) message.getPayload().getValue();
+      assertThat(batch.size(), lessThanOrEqualTo(BATCH_SIZE));
+      received.addAll(batch);
+    }
+    assertThat(received.size(), is(MESSAGES));
+    assertThat(received.contains("test0"), is(true));
+
+    JmsBatchStatistics statistics = getBatchConnector("collectionJms").getBatchStatistics();
+    assertThat(statistics.getMessages(), equalTo((long) MESSAGES));
+  }
+
+  @Test
+  public void failedMessageRollsBackWholeBatch() throws Exception {
+    MuleClient client = muleContext.getClient();
+    for (int i = 0; i < MESSAGES; ++i) {
+      client.dispatch("jms://partial?connector=outJms", "test" + i, null);
+    }
+
+    List<String> received = new ArrayList<>();
+    for (int i = 0; i < MESSAGES; ++i) {
+      InternalMessage message = client.request("jms://partialOut?connector=outJms", TIMEOUT).getRight().get();
+      received.add(getPayloadAsString(message));
+    }
+    // the messages processed before the failed one in its batch were rolled back along with it
+    assertThat(client.request("jms://partialOut?connector=outJms", 1000).getRight().isPresent(), is(false));
+    assertThat(new HashSet<>(received).size(), is(MESSAGES));
+    assertThat(FailOnce.failed.get(), is(true));
+
+    JmsBatchStatistics statistics = getBatchConnector("partialJms").getBatchStatistics();
+    assertThat(statistics.getRolledBackBatches(), greaterThan(0L));
+    assertThat(statistics.getMessages(), greaterThan((long) MESSAGES));
+  }
+
+  @Test
+  public void singleResourceReceiverProcessesInBatches() throws Exception {
+    MuleClient client = muleContext.getClient();
+    for (int i = 0; i < MESSAGES; ++i) {
+      client.dispatch("jms://singleResource?connector=outJms", "test" + i, null);
+    }
+
+    Set<String> received = new HashSet<>();
+    for (int i = 0; i < MESSAGES; ++i) {
+      InternalMessage message = client.request("vm://singleResourceOut", TIMEOUT).getRight().get();
+      received.add(getPayloadAsString(message));
+    }
+    assertThat(received.size(), is(MESSAGES));
+
+    JmsConnector connector = getBatchConnector("singleResourceJms");
+    MessageReceiver receiver = connector.getReceivers().values().iterator().next();
+    assertThat(receiver, instanceOf(TransactedSingleResourceJmsMessageReceiver.class));
+    assertThat(((TransactedSingleResourceJmsMessageReceiver) receiver).isBatchMode(), is(true));
+
+    JmsBatchStatistics statistics = connector.getBatchStatistics();
+    assertThat(statistics.getMessages(), is((long) MESSAGES));
+    assertThat(statistics.getBatches(), lessThan((long) MESSAGES));
+    assertThat(statistics.getMaxBatchSize(), lessThanOrEqualTo((long) BATCH_SIZE));
+  }
+
+  private JmsConnector getBatchConnector(String connectorName) {
+    JmsConnector connector = (JmsConnector) muleContext.getRegistry().lookupObject(connectorName);
+    MessageReceiver receiver = connector.getReceivers().values().iterator().next();
+    if (receiver instanceof MultiConsumerJmsMessageReceiver) {
+      assertThat(((MultiConsumerJmsMessageReceiver) receiver).isBatchMode(), is(true));
+    }
+    return connector;
+  }
+
+  /**
+   * Fails processing the message {@code test5} the first time it is received.
+   */
+  public static class FailOnce implements Processor {
+
+    private static final AtomicBoolean failed = new AtomicBoolean();
+
+    @Override
+    public Event process(Event event) throws MuleException {
+      if ("test5".equals(event.getMessage().getPayload().getValue()) && failed.compareAndSet(false, true)) {
+        throw new DefaultMuleException("Failing test5 the first time");
+      }
+      return event;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.compatibility.transport.jms.JmsConstants.SHARED_REPLY_ID_PROPERTY;
+import org.mule.compatibility.transport.jms.SharedReplyToQueue.PendingReply;
+import org.mule.functional.junit4.FunctionalTestCase;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.runtime.core.api.message.InternalMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.jms.Destination;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.junit.Test;
+
+/**
+ * Tests request-response calls that get their replies from the shared replyTo queue of the connector, sending with the session
+ * and producer kept by the dispatcher.
+ */
+public class JmsSharedReplyToQueueTestCase extends FunctionalTestCase {
+
+  private static final int CONCURRENT_REQUESTS = 20;
+
+  @Override
+  protected String getConfigFile() {
+    return "jms-shared-reply-to-queue-config.xml";
+  }
+
+  @Test
+  public void repliesAreReceivedFromSharedQueue() throws Exception {
+    MuleClient client = muleContext.getClient();
+    JmsConnector connector = (JmsConnector) muleContext.getRegistry().lookupObject("JMS");
+
+    assertThat(getPayloadAsString(client.send("vm://in", "test1", null).getRight()), equalTo("test1 Received"));
+    Destination replyTo = connector.getSharedReplyToQueue().getDestination();
+    assertThat(getPayloadAsString(client.send("vm://in", "test2", null).getRight()), equalTo("test2 Received"));
+
+    assertThat(connector.getSharedReplyToQueue().getDestination(), is(replyTo));
+    assertThat(connector.getSharedReplyToQueue().getPendingRepliesCount(), is(0));
+  }
+
+  @Test
+  public void concurrentRepliesAreMatchedToTheirRequests() throws Exception {
+    final MuleClient client = muleContext.getClient();
+    ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    try {
+      List<Future<InternalMessage>> responses = new ArrayList<>();
+      for (int i = 0; i < CONCURRENT_REQUESTS; ++i) {
+        final String payload = "test" + i;
+        responses.add(executor.submit((Callable<InternalMessage>) () -> client.send("vm://in", payload, null).getRight()));
+      }
+
+      for (int i = 0; i < CONCURRENT_REQUESTS; ++i) {
+        assertThat(getPayloadAsString(responses.get(i).get()), equalTo("test" + i + " Received"));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void sharedQueueIsRecreatedOnReconnection() throws Exception {
+    MuleClient client = muleContext.getClient();
+    JmsConnector connector = (JmsConnector) muleContext.getRegistry().lookupObject("JMS");
+
+    assertThat(getPayloadAsString(client.send("vm://in", "test1", null).getRight()), equalTo("test1 Received"));
+    Destination replyTo = connector.getSharedReplyToQueue().getDestination();
+
+    connector.disconnect();
+    connector.connect();
+
+    assertThat(getPayloadAsString(client.send("vm://in", "test2", null).getRight()), equalTo("test2 Received"));
+    assertThat(connector.getSharedReplyToQueue().getDestination(), not(equalTo(replyTo)));
+  }
+
+  @Test
+  public void lateReplyIsNotTakenForTheReplyOfTheNextCall() throws Exception {
+    JmsConnector connector = (JmsConnector) muleContext.getRegistry().lookupObject("JMS");
+    SharedReplyToQueue sharedReplyToQueue = connector.getSharedReplyToQueue();
+    Destination replyTo = sharedReplyToQueue.getDestination();
+
+    PendingReply timedOut = sharedReplyToQueue.register();
+    timedOut.cancel();
+    PendingReply next = sharedReplyToQueue.register();
+
+    Session session = connector.getConnection().createSession(false, Session.AUTO_ACKNOWLEDGE);
+    try {
+      MessageProducer producer = session.createProducer(replyTo);
+      // both calls belong to the same flow execution, so they have the same correlation id
+      producer.send(createReply(session, "late", timedOut));
+      assertThat(next.await(RECEIVE_TIMEOUT / 10), is(nullValue()));
+
+      producer.send(createReply(session, "expected", next));
+      assertThat(next.await(RECEIVE_TIMEOUT).getStringProperty("payload"), equalTo("expected"));
+    } finally {
+      session.close();
+    }
+    assertThat(sharedReplyToQueue.getPendingRepliesCount(), is(0));
+  }
+
+  private Message createReply(Session session, String payload, PendingReply pendingReply) throws Exception {
+    Message reply = session.createMessage();
+    reply.setJMSCorrelationID("sameCorrelationId");
+    reply.setStringProperty(SHARED_REPLY_ID_PROPERTY, pendingReply.getId());
+    reply.setStringProperty("payload", payload);
+    return reply;
+  }
+}
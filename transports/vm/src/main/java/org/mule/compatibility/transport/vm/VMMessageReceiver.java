@@ -27,7 +27,6 @@ import org.mule.runtime.core.util.queue.QueueSession;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -142,24 +141,15 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
     QueueSession qs = connector.getTransactionalResource(endpoint);
     Queue queue = qs.getQueue(endpoint.getEndpointURI().getAddress());
 
-    // The list of retrieved messages that will be returned
-    List<InternalMessage> messages = new LinkedList<>();
-
     int batchSize = getBatchSize(queue.size());
 
-    // try to get the first event off the queue
-    InternalMessage message = getMessage(queue, connector.getQueueTimeout());
+    // wait for the first event and take as many more as available in a single operation
+    List<Serializable> polledItems = queue.drain(batchSize + 1, connector.getQueueTimeout());
 
-    if (message != null) {
-      messages.add(message);
-
-      // keep batching if more events are available
-      for (int i = 0; i < batchSize && message != null; i++) {
-        message = getMessage(queue, 0);
-        if (message != null) {
-          messages.add(message);
-        }
-      }
+    // The list of retrieved messages that will be returned
+    List<InternalMessage> messages = new ArrayList<>(polledItems.size());
+    for (Serializable polledItem : polledItems) {
+      messages.add(toMessage(polledItem));
     }
 
     // let our workManager handle the batch of events
@@ -167,7 +157,10 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
   }
 
   private InternalMessage getMessage(Queue queue, int timeout) throws InterruptedException {
-    Serializable polledItem = queue.poll(timeout);
+    return toMessage(queue.poll(timeout));
+  }
+
+  private InternalMessage toMessage(Serializable polledItem) {
     if (polledItem instanceof Event) {
       return ((Event) polledItem).getMessage();
     } else {